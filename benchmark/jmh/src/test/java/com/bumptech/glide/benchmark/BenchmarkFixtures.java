@@ -0,0 +1,128 @@
+package com.bumptech.glide.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Loads and generates the images used by the JVM benchmarks.
+ *
+ * <p>Images named like the files in the exifsamples directory are read from the classpath. {@link
+ * #GENERATED_PNG} and {@link #GENERATED_GIF} are generated with {@link ImageIO} so that the
+ * benchmarks cover formats that exifsamples doesn't contain.
+ */
+public final class BenchmarkFixtures {
+  public static final String GENERATED_PNG = "generated.png";
+  public static final String GENERATED_GIF = "generated.gif";
+
+  private static final int GENERATED_SIZE = 256;
+  private static final int GENERATED_GIF_FRAMES = 10;
+
+  private BenchmarkFixtures() {
+    // Utility class.
+  }
+
+  public static byte[] image(String name) throws IOException {
+    if (GENERATED_PNG.equals(name)) {
+      return generatePng(GENERATED_SIZE, GENERATED_SIZE);
+    } else if (GENERATED_GIF.equals(name)) {
+      return generateGif(GENERATED_SIZE, GENERATED_SIZE, GENERATED_GIF_FRAMES);
+    }
+    return readResource(name);
+  }
+
+  public static byte[] readResource(String name) throws IOException {
+    InputStream is = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(name);
+    if (is == null) {
+      throw new IOException("Missing resource: " + name);
+    }
+    try {
+      ByteArrayOutputStream os = new ByteArrayOutputStream();
+      byte[] buffer = new byte[16 * 1024];
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        os.write(buffer, 0, read);
+      }
+      return os.toByteArray();
+    } finally {
+      is.close();
+    }
+  }
+
+  /** Returns a PNG with an alpha channel containing a noisy gradient. */
+  public static byte[] generatePng(int width, int height) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    fill(image, /* seed= */ 0, /* hasAlpha= */ true);
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    if (!ImageIO.write(image, "png", os)) {
+      throw new IOException("No PNG writer available");
+    }
+    return os.toByteArray();
+  }
+
+  /** Returns an animated GIF whose frames each contain a different noisy gradient. */
+  public static byte[] generateGif(int width, int height, int frameCount) throws IOException {
+    ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    ImageOutputStream ios = ImageIO.createImageOutputStream(os);
+    try {
+      writer.setOutput(ios);
+      writer.prepareWriteSequence(/* streamMetadata= */ null);
+      for (int i = 0; i < frameCount; i++) {
+        BufferedImage frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        fill(frame, /* seed= */ i, /* hasAlpha= */ false);
+        writer.writeToSequence(
+            new IIOImage(frame, /* thumbnails= */ null, /* metadata= */ null), /* param= */ null);
+      }
+      writer.endWriteSequence();
+    } finally {
+      ios.close();
+      writer.dispose();
+    }
+    return os.toByteArray();
+  }
+
+  public static File createTempDir(String prefix) throws IOException {
+    File dir = File.createTempFile(prefix, /* suffix= */ null);
+    if (!dir.delete() || !dir.mkdir()) {
+      throw new IOException("Failed to create: " + dir);
+    }
+    return dir;
+  }
+
+  public static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    // Best effort, these are temporary files.
+    //noinspection ResultOfMethodCallIgnored
+    file.delete();
+  }
+
+  // Gradients compress and decode like photos more than random noise does, a little noise avoids
+  // the long runs that would make GIF's LZW compression unrealistically effective.
+  private static void fill(BufferedImage image, int seed, boolean hasAlpha) {
+    Random random = new Random(seed);
+    int width = image.getWidth();
+    int height = image.getHeight();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        int red = (x * 255 / width + seed * 16) & 0xFF;
+        int green = (y * 255 / height) & 0xFF;
+        int blue = random.nextInt(32);
+        int alpha = hasAlpha ? (x + y) * 255 / (width + height) : 0xFF;
+        image.setRGB(x, y, alpha << 24 | red << 16 | green << 8 | blue);
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.bumptech.glide.disklrucache;
+
+import com.bumptech.glide.benchmark.BenchmarkFixtures;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading and writing entries in {@link DiskLruCache}, including the journal writes that
+ * each operation makes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDiskLruCache {
+  private static final int APP_VERSION = 1;
+  private static final int VALUE_COUNT = 1;
+  private static final long MAX_SIZE = 250 * 1024 * 1024;
+  // Shaped like the SHA-256 keys Glide's SafeKeyGenerator produces.
+  private static final String KEY =
+      "6f7a2b3c1d4e5f60718293a4b5c6d7e8" + "f90a1b2c3d4e5f60718293a4b5c6d7e8";
+  private static final String WRITTEN_KEY_PREFIX = "written_";
+  // Keep a bounded number of written entries so the cache's size doesn't grow without limit.
+  private static final int WRITTEN_KEY_COUNT = 100;
+
+  private final byte[] entry = new byte[16 * 1024];
+  private File directory;
+  private DiskLruCache cache;
+  private int index;
+
+  @Setup
+  public void setUp() throws IOException {
+    directory = BenchmarkFixtures.createTempDir("disk_lru_cache_benchmark");
+    cache = DiskLruCache.open(directory, APP_VERSION, VALUE_COUNT, MAX_SIZE);
+    write(KEY);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    cache.delete();
+    BenchmarkFixtures.deleteRecursively(directory);
+  }
+
+  @Benchmark
+  public File get_hit() throws IOException {
+    return cache.get(KEY).getFile(0);
+  }
+
+  @Benchmark
+  public DiskLruCache.Value get_miss() throws IOException {
+    return cache.get("missing");
+  }
+
+  @Benchmark
+  public void editAndCommit() throws IOException {
+    index = (index + 1) % WRITTEN_KEY_COUNT;
+    write(WRITTEN_KEY_PREFIX + index);
+  }
+
+  private void write(String key) throws IOException {
+    DiskLruCache.Editor editor = cache.edit(key);
+    try {
+      OutputStream os = new FileOutputStream(editor.getFile(0));
+      try {
+        os.write(entry);
+      } finally {
+        os.close();
+      }
+      editor.commit();
+    } finally {
+      editor.abortUnlessCommitted();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.bumptech.glide.gifdecoder;
+
+import static org.mockito.Mockito.mock;
+
+import android.graphics.Bitmap;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.benchmark.BenchmarkFixtures;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures parsing GIF headers with {@link GifHeaderParser} and decoding frames with {@link
+ * StandardGifDecoder}.
+ *
+ * <p>Bitmaps can't be created on the JVM, so frames are decoded into the decoder's pixel arrays
+ * and then copied into a mock {@link Bitmap}. That leaves out the cost of {@link
+ * Bitmap#setPixels(int[], int, int, int, int, int, int)}, which is the same for any decoder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkGifDecoder {
+  private static final int FRAME_COUNT = 10;
+
+  @Param({"64", "256"})
+  public int size;
+
+  private final GifHeaderParser parser = new GifHeaderParser();
+  private ByteBuffer data;
+  private StandardGifDecoder decoder;
+
+  @Setup
+  public void setUp() throws IOException {
+    data = ByteBuffer.wrap(BenchmarkFixtures.generateGif(size, size, FRAME_COUNT));
+    GifHeader header = parser.setData(data).parseHeader();
+    if (header.getNumFrames() != FRAME_COUNT) {
+      throw new IllegalStateException("Unexpected frame count: " + header.getNumFrames());
+    }
+    decoder = new StandardGifDecoder(new SimpleBitmapProvider(), header, data);
+  }
+
+  @Benchmark
+  public GifHeader parseHeader() {
+    GifHeader header = parser.setData(data).parseHeader();
+    parser.clear();
+    return header;
+  }
+
+  @Benchmark
+  public void decodeAllFrames(Blackhole blackhole) {
+    decoder.resetFrameIndex();
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      decoder.advance();
+      blackhole.consume(decoder.getNextFrame());
+    }
+  }
+
+  private static final class SimpleBitmapProvider implements GifDecoder.BitmapProvider {
+    private final Bitmap bitmap = mock(Bitmap.class);
+
+    @NonNull
+    @Override
+    public Bitmap obtain(int width, int height, @NonNull Bitmap.Config config) {
+      return bitmap;
+    }
+
+    @Override
+    public void release(@NonNull Bitmap bitmap) {
+      // Do nothing.
+    }
+
+    @NonNull
+    @Override
+    public byte[] obtainByteArray(int size) {
+      return new byte[size];
+    }
+
+    @Override
+    public void release(@NonNull byte[] bytes) {
+      // Do nothing.
+    }
+
+    @NonNull
+    @Override
+    public int[] obtainIntArray(int size) {
+      return new int[size];
+    }
+
+    @Override
+    public void release(@NonNull int[] array) {
+      // Do nothing.
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.bumptech.glide.load.engine;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.resource.bitmap.CenterCrop;
+import com.bumptech.glide.load.resource.bitmap.Downsampler;
+import com.bumptech.glide.signature.ObjectKey;
+import com.bumptech.glide.util.CachedHashCodeArrayMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building {@link EngineKey}s and looking them up, which {@link Engine} does for every
+ * load to check the memory caches and in progress jobs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkEngineKey {
+  private static final String MODEL = "https://www.example.com/images/1.jpg?w=1080&h=1920";
+  private static final int WIDTH = 1080;
+  private static final int HEIGHT = 1920;
+
+  private final EngineKeyFactory keyFactory = new EngineKeyFactory();
+  private final ObjectKey signature = new ObjectKey(MODEL);
+  private final Map<Class<?>, Transformation<?>> transformations =
+      new CachedHashCodeArrayMap<>();
+  private final Options options = new Options();
+  private final Map<EngineKey, Object> keys = new HashMap<>();
+
+  @Setup
+  public void setUp() {
+    transformations.put(Bitmap.class, new CenterCrop());
+    options.set(Downsampler.DECODE_FORMAT, DecodeFormat.PREFER_ARGB_8888);
+    keys.put(buildKey(), new Object());
+  }
+
+  @Benchmark
+  public int buildKeyAndHashCode() {
+    return buildKey().hashCode();
+  }
+
+  @Benchmark
+  public Object buildKeyAndLookup() {
+    return keys.get(buildKey());
+  }
+
+  private EngineKey buildKey() {
+    return keyFactory.buildKey(
+        MODEL, signature, WIDTH, HEIGHT, transformations, Bitmap.class, Drawable.class, options);
+  }
+}
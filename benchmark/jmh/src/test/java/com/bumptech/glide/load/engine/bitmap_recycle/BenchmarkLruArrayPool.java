@@ -0,0 +1,58 @@
+package com.bumptech.glide.load.engine.bitmap_recycle;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures obtaining and returning arrays from {@link LruArrayPool}, which happens several times
+ * for every decode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkLruArrayPool {
+  // Roughly the sizes of the buffers used for reading streams and parsing headers.
+  private static final int[] MIXED_SIZES = {64 * 1024, 8 * 1024, 64 * 1024, 16 * 1024, 4 * 1024};
+
+  @Param({"8192", "65536"})
+  public int size;
+
+  private final LruArrayPool pool = new LruArrayPool();
+  private int index;
+
+  @Setup
+  public void setUp() {
+    for (int mixedSize : MIXED_SIZES) {
+      pool.put(new byte[mixedSize]);
+    }
+    pool.put(new byte[size]);
+  }
+
+  @Benchmark
+  public byte[] getAndPut() {
+    byte[] array = pool.get(size, byte[].class);
+    pool.put(array);
+    return array;
+  }
+
+  @Benchmark
+  public byte[] getAndPut_mixedSizes() {
+    index = (index + 1) % MIXED_SIZES.length;
+    byte[] array = pool.get(MIXED_SIZES[index], byte[].class);
+    pool.put(array);
+    return array;
+  }
+}
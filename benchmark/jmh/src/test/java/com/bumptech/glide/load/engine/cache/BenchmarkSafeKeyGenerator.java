@@ -0,0 +1,52 @@
+package com.bumptech.glide.load.engine.cache;
+
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.signature.ObjectKey;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SafeKeyGenerator}, which hashes the key of every disk cache lookup and caches
+ * recent results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkSafeKeyGenerator {
+  // More keys than SafeKeyGenerator caches, so cycling through them always misses.
+  private static final int KEY_COUNT = 2000;
+
+  private final SafeKeyGenerator generator = new SafeKeyGenerator();
+  private final Key[] keys = new Key[KEY_COUNT];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < KEY_COUNT; i++) {
+      keys[i] = new ObjectKey("https://www.example.com/images/" + i + ".jpg?w=1080&h=1920");
+    }
+  }
+
+  @Benchmark
+  public String getSafeKey_cached() {
+    return generator.getSafeKey(keys[0]);
+  }
+
+  @Benchmark
+  public String getSafeKey_uncached() {
+    index = (index + 1) % KEY_COUNT;
+    return generator.getSafeKey(keys[index]);
+  }
+}
@@ -0,0 +1,70 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import com.bumptech.glide.benchmark.BenchmarkFixtures;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DefaultImageHeaderParser}, which runs for every image Glide decodes, reading
+ * from both streams and buffers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkDefaultImageHeaderParser {
+  @Param({
+    "Landscape_1.jpg",
+    "Portrait_6.jpg",
+    BenchmarkFixtures.GENERATED_PNG,
+    BenchmarkFixtures.GENERATED_GIF
+  })
+  public String image;
+
+  private final DefaultImageHeaderParser parser = new DefaultImageHeaderParser();
+  private final ArrayPool arrayPool = new LruArrayPool();
+  private byte[] data;
+
+  @Setup
+  public void setUp() throws IOException {
+    data = BenchmarkFixtures.image(image);
+  }
+
+  @Benchmark
+  public ImageType getType_stream() throws IOException {
+    return parser.getType(new ByteArrayInputStream(data));
+  }
+
+  @Benchmark
+  public ImageType getType_byteBuffer() throws IOException {
+    return parser.getType(ByteBuffer.wrap(data));
+  }
+
+  @Benchmark
+  public int getOrientation_stream() throws IOException {
+    return parser.getOrientation(new ByteArrayInputStream(data), arrayPool);
+  }
+
+  @Benchmark
+  public int getOrientation_byteBuffer() throws IOException {
+    return parser.getOrientation(ByteBuffer.wrap(data), arrayPool);
+  }
+}
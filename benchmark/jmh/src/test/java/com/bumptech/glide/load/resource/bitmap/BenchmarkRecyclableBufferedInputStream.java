@@ -0,0 +1,67 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import com.bumptech.glide.benchmark.BenchmarkFixtures;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures reading an image through {@link RecyclableBufferedInputStream} the way {@link
+ * com.bumptech.glide.load.data.InputStreamRewinder} and {@link Downsampler} do: mark, parse the
+ * header, reset and then read the whole stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkRecyclableBufferedInputStream {
+  // Matches InputStreamRewinder.
+  private static final int MARK_READ_LIMIT = 5 * 1024 * 1024;
+
+  @Param({"Landscape_1.jpg", BenchmarkFixtures.GENERATED_PNG})
+  public String image;
+
+  private final ArrayPool arrayPool = new LruArrayPool();
+  private final DefaultImageHeaderParser parser = new DefaultImageHeaderParser();
+  private final byte[] readBuffer = new byte[16 * 1024];
+  private byte[] data;
+
+  @Setup
+  public void setUp() throws IOException {
+    data = BenchmarkFixtures.image(image);
+  }
+
+  @Benchmark
+  public int markParseResetAndRead() throws IOException {
+    RecyclableBufferedInputStream is =
+        new RecyclableBufferedInputStream(new ByteArrayInputStream(data), arrayPool);
+    try {
+      is.mark(MARK_READ_LIMIT);
+      parser.getOrientation(is, arrayPool);
+      is.reset();
+      int total = 0;
+      int read;
+      while ((read = is.read(readBuffer)) != -1) {
+        total += read;
+      }
+      return total;
+    } finally {
+      is.release();
+    }
+  }
+}
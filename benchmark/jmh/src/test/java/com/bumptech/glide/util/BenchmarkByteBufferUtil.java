@@ -0,0 +1,68 @@
+package com.bumptech.glide.util;
+
+import com.bumptech.glide.benchmark.BenchmarkFixtures;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the {@link ByteBufferUtil} conversions used when images are loaded and cached as
+ * {@link ByteBuffer}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkByteBufferUtil {
+  @Param({"Landscape_1.jpg", BenchmarkFixtures.GENERATED_PNG})
+  public String image;
+
+  private final byte[] readBuffer = new byte[16 * 1024];
+  private byte[] data;
+  private ByteBuffer directBuffer;
+
+  @Setup
+  public void setUp() throws IOException {
+    data = BenchmarkFixtures.image(image);
+    directBuffer = ByteBuffer.allocateDirect(data.length);
+    directBuffer.put(data);
+    directBuffer.flip();
+  }
+
+  @Benchmark
+  public ByteBuffer fromStream() throws IOException {
+    return ByteBufferUtil.fromStream(new ByteArrayInputStream(data));
+  }
+
+  @Benchmark
+  public byte[] toBytes_direct() {
+    return ByteBufferUtil.toBytes(directBuffer);
+  }
+
+  @Benchmark
+  public int toStream_readAll() throws IOException {
+    InputStream is = ByteBufferUtil.toStream(directBuffer);
+    int total = 0;
+    int read;
+    while ((read = is.read(readBuffer)) != -1) {
+      total += read;
+    }
+    ByteBufferUtil.rewind(directBuffer);
+    return total;
+  }
+}
@@ -0,0 +1,61 @@
+package com.bumptech.glide.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link LruCache}, which backs the memory cache and several of Glide's internal key
+ * caches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkLruCache {
+  private static final int MAX_SIZE = 1000;
+
+  private final LruCache<Integer, Object> cache = new LruCache<>(MAX_SIZE);
+  private final Object value = new Object();
+  // Twice the cache's size so that puts of new keys evict.
+  private final Integer[] keys = new Integer[MAX_SIZE * 2];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = i;
+    }
+    for (int i = 0; i < MAX_SIZE; i++) {
+      cache.put(keys[i], value);
+    }
+  }
+
+  @Benchmark
+  public Object get_hit() {
+    index = (index + 1) % MAX_SIZE;
+    return cache.get(keys[index]);
+  }
+
+  @Benchmark
+  public Object get_miss() {
+    index = (index + 1) % MAX_SIZE;
+    return cache.get(keys[MAX_SIZE + index]);
+  }
+
+  @Benchmark
+  public Object put_evicting() {
+    index = (index + 1) % keys.length;
+    return cache.put(keys[index], value);
+  }
+}
@@ -0,0 +1,51 @@
+package com.bumptech.glide.benchmark;
+
+import android.app.Application;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.testutil.TearDownGlide;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the time to initialize Glide and create its {@link com.bumptech.glide.Registry}, which
+ * happens when the first load starts, with and without {@link
+ * GlideBuilder#setLazilyCreateRegistryComponents(boolean)}.
+ *
+ * <p>Classes are only loaded once per process, so these numbers don't include class loading and
+ * understate the difference on a real cold start.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkGlideInitialization {
+  @Rule public final TearDownGlide tearDownGlide = new TearDownGlide();
+  @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  private final Application app = ApplicationProvider.getApplicationContext();
+
+  @Test
+  public void initAndCreateRegistry_eagerComponents() {
+    runBenchmark(/* isLazy= */ false);
+  }
+
+  @Test
+  public void initAndCreateRegistry_lazyComponents() {
+    runBenchmark(/* isLazy= */ true);
+  }
+
+  private void runBenchmark(boolean isLazy) {
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      Glide.init(app, new GlideBuilder().setLazilyCreateRegistryComponents(isLazy));
+      Glide.get(app).getRegistry();
+
+      state.pauseTiming();
+      Glide.tearDown();
+      state.resumeTiming();
+    }
+  }
+}
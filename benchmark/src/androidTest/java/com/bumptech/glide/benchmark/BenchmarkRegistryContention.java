@@ -0,0 +1,120 @@
+package com.bumptech.glide.benchmark;
+
+import android.app.Application;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.testutil.TearDownGlide;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the {@link Registry} lookups made for every load by {@code DecodeHelper#getLoadData},
+ * both alone and while other threads make the same lookups, like Glide's executors do when many
+ * loads start at once.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkRegistryContention {
+  // Roughly the number of threads in Glide's source executor on a mid range device.
+  private static final int CONTENDING_THREADS = 4;
+  private static final String MODEL = "https://www.example.com/image.jpg";
+
+  @Rule public final TearDownGlide tearDownGlide = new TearDownGlide();
+  @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  private final Application app = ApplicationProvider.getApplicationContext();
+  private final Options options = new Options();
+  private final AtomicBoolean isRunning = new AtomicBoolean();
+  private final List<Thread> threads = new ArrayList<>();
+  private final ThreadLocal<List<ModelLoader<String, ?>>> modelLoaders =
+      new ThreadLocal<List<ModelLoader<String, ?>>>() {
+        @Override
+        protected List<ModelLoader<String, ?>> initialValue() {
+          return new ArrayList<>();
+        }
+      };
+  private Registry registry;
+
+  @Before
+  public void setUp() {
+    registry = Glide.get(app).getRegistry();
+    // Build and cache the loaders before measuring.
+    getLoadData();
+  }
+
+  @After
+  public void tearDown() throws InterruptedException {
+    isRunning.set(false);
+    for (Thread thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  @Test
+  public void getLoadData_uncontended() {
+    runBenchmark();
+  }
+
+  @Test
+  public void getLoadData_contended() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(CONTENDING_THREADS);
+    isRunning.set(true);
+    for (int i = 0; i < CONTENDING_THREADS; i++) {
+      Thread thread =
+          new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  started.countDown();
+                  while (isRunning.get()) {
+                    getLoadData();
+                  }
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    started.await();
+
+    runBenchmark();
+  }
+
+  private void runBenchmark() {
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      getLoadData();
+    }
+  }
+
+  // Mirrors DecodeHelper#getLoadData.
+  @SuppressWarnings("UnusedReturnValue")
+  int getLoadData() {
+    int count = 0;
+    List<ModelLoader<String, ?>> loaders = modelLoaders.get();
+    try {
+      registry.getModelLoaders(MODEL, loaders);
+      //noinspection ForLoopReplaceableByForEach to improve perf
+      for (int i = 0, size = loaders.size(); i < size; i++) {
+        if (loaders.get(i).buildLoadData(MODEL, 100, 100, options) != null) {
+          count++;
+        }
+      }
+    } finally {
+      loaders.clear();
+    }
+    return count;
+  }
+}
@@ -0,0 +1,76 @@
+package com.bumptech.glide.benchmark;
+
+import android.app.Application;
+import android.graphics.drawable.Drawable;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.resource.bitmap.Downsampler;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.testutil.TearDownGlide;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Measures the main thread cost of building the requests for a RecyclerView sized batch of items
+ * that share the same options, including the hash codes computed for their memory cache keys.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkRequestOptions {
+  // Roughly the number of cells bound when a grid is first displayed.
+  private static final int BATCH_SIZE = 30;
+  private static final Option<Boolean> PER_REQUEST_OPTION =
+      Option.memory("com.bumptech.glide.benchmark.PerRequest", false);
+
+  @Rule public final TearDownGlide tearDownGlide = new TearDownGlide();
+  @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  private final Application app = ApplicationProvider.getApplicationContext();
+  private final RequestOptions sharedOptions =
+      new RequestOptions()
+          .centerCrop()
+          .override(200, 200)
+          .diskCacheStrategy(DiskCacheStrategy.RESOURCE)
+          .set(Downsampler.ALLOW_HARDWARE_CONFIG, false)
+          .lock();
+  private RequestManager requestManager;
+
+  @Before
+  public void setUp() {
+    requestManager = Glide.with(app);
+  }
+
+  @Test
+  public void bindBatchWithSharedOptions() {
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        hashKeyInputs(requestManager.load(i).apply(sharedOptions));
+      }
+    }
+  }
+
+  @Test
+  public void bindBatchWithPerRequestOption() {
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        hashKeyInputs(
+            requestManager.load(i).apply(sharedOptions).set(PER_REQUEST_OPTION, i % 2 == 0));
+      }
+    }
+  }
+
+  // Mirrors the work done by EngineKey for each request.
+  private static int hashKeyInputs(RequestBuilder<Drawable> requestBuilder) {
+    return requestBuilder.getOptions().hashCode() + requestBuilder.getTransformations().hashCode();
+  }
+}
@@ -0,0 +1,127 @@
+package com.bumptech.glide.integration.gifencoder;
+
+import android.app.Application;
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.GifHeader;
+import com.bumptech.glide.gifdecoder.GifHeaderParser;
+import com.bumptech.glide.gifdecoder.StandardGifDecoder;
+import com.bumptech.glide.gifencoder.AnimatedGifEncoder;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.resource.bitmap.CenterCrop;
+import com.bumptech.glide.load.resource.gif.GifBitmapProvider;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import com.bumptech.glide.load.resource.gif.GifDrawableResource;
+import com.bumptech.glide.testutil.TearDownGlide;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares re-encoding transformed GIFs to the disk cache one frame at a time with encoding frames
+ * in parallel, with and without a shared palette.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkReEncodingGifResourceEncoder {
+  private static final int FRAME_COUNT = 24;
+  private static final int SIZE = 256;
+  @Rule public final TearDownGlide tearDownGlide = new TearDownGlide();
+  @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  private final Application app = ApplicationProvider.getApplicationContext();
+  private GifDrawableResource resource;
+  private ReEncodingGifResourceEncoder encoder;
+  private File file;
+
+  @Before
+  public void setUp() {
+    Glide glide = Glide.get(app);
+    ByteBuffer data = ByteBuffer.wrap(newAnimatedGif());
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    GifDecoder decoder =
+        new StandardGifDecoder(
+            new GifBitmapProvider(glide.getBitmapPool(), glide.getArrayPool()), header, data);
+    decoder.advance();
+    Bitmap firstFrame = decoder.getNextFrame();
+    resource =
+        new GifDrawableResource(
+            new GifDrawable(app, decoder, new CenterCrop(), SIZE, SIZE, firstFrame));
+    encoder =
+        new ReEncodingGifResourceEncoder(app, glide.getBitmapPool(), glide.getArrayPool());
+    file = new File(app.getCacheDir(), "benchmark.gif");
+  }
+
+  @After
+  public void tearDown() {
+    resource.recycle();
+    // Best effort, the file is overwritten by each benchmark anyway.
+    //noinspection ResultOfMethodCallIgnored
+    file.delete();
+  }
+
+  @Test
+  public void sequential() {
+    runBenchmark(/* parallel= */ false, /* sharedPalette= */ false);
+  }
+
+  @Test
+  public void parallel() {
+    runBenchmark(/* parallel= */ true, /* sharedPalette= */ false);
+  }
+
+  @Test
+  public void parallel_withSharedPalette() {
+    runBenchmark(/* parallel= */ true, /* sharedPalette= */ true);
+  }
+
+  private void runBenchmark(boolean parallel, boolean sharedPalette) {
+    Options options = new Options();
+    options.set(ReEncodingGifResourceEncoder.ENCODE_TRANSFORMATION, true);
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, parallel);
+    options.set(ReEncodingGifResourceEncoder.SHARED_PALETTE, sharedPalette);
+
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      if (!encoder.encode(resource, file, options)) {
+        throw new IllegalStateException("Failed to encode GIF");
+      }
+    }
+  }
+
+  /** Returns a GIF whose frames are gradients with different hues so that each needs a palette. */
+  private static byte[] newAnimatedGif() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    AnimatedGifEncoder gifEncoder = new AnimatedGifEncoder();
+    gifEncoder.start(os);
+    gifEncoder.setDelay(100);
+    gifEncoder.setRepeat(0);
+    int[] pixels = new int[SIZE * SIZE];
+    float[] hsv = new float[3];
+    for (int frame = 0; frame < FRAME_COUNT; frame++) {
+      for (int y = 0; y < SIZE; y++) {
+        for (int x = 0; x < SIZE; x++) {
+          hsv[0] = (360f * frame / FRAME_COUNT + x) % 360f;
+          hsv[1] = y / (float) SIZE;
+          hsv[2] = 1f;
+          pixels[y * SIZE + x] = Color.HSVToColor(hsv);
+        }
+      }
+      Bitmap bitmap = Bitmap.createBitmap(pixels, SIZE, SIZE, Bitmap.Config.ARGB_8888);
+      gifEncoder.addFrame(bitmap);
+      bitmap.recycle();
+    }
+    gifEncoder.finish();
+    return os.toByteArray();
+  }
+}
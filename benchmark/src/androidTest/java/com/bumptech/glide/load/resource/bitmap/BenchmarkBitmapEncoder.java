@@ -0,0 +1,187 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.app.Application;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.bumptech.glide.benchmark.R;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.resource.bitmap.BitmapEncoder.CompressFormatStrategy;
+import java.io.File;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares the time to write transformed thumbnails to the disk cache, their size, and the time to
+ * decode them again with each {@link CompressFormatStrategy}.
+ *
+ * <p>Opaque thumbnails are center cropped, thumbnails with alpha are circle cropped. File sizes are
+ * logged with the {@link #TAG} tag since they're not timings.
+ */
+@RunWith(AndroidJUnit4.class)
+public class BenchmarkBitmapEncoder {
+  private static final String TAG = "BenchmarkEncoder";
+  private static final int SMALL = 128;
+  private static final int LARGE = 512;
+  private final Application app = ApplicationProvider.getApplicationContext();
+  private final BitmapPool bitmapPool = new BitmapPoolAdapter();
+  private final File file = new File(app.getCacheDir(), "benchmark_encoder");
+
+  @Rule public final BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+  @After
+  public void tearDown() {
+    // Best effort, the file is overwritten by each benchmark anyway.
+    //noinspection ResultOfMethodCallIgnored
+    file.delete();
+  }
+
+  @Test
+  public void encode_opaque_small_jpegOrPng() {
+    runEncodeBenchmark(SMALL, /* hasAlpha= */ false, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void encode_opaque_small_webp() {
+    runEncodeBenchmark(SMALL, /* hasAlpha= */ false, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void encode_opaque_large_jpegOrPng() {
+    runEncodeBenchmark(LARGE, /* hasAlpha= */ false, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void encode_opaque_large_webp() {
+    runEncodeBenchmark(LARGE, /* hasAlpha= */ false, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void encode_alpha_small_jpegOrPng() {
+    runEncodeBenchmark(SMALL, /* hasAlpha= */ true, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void encode_alpha_small_webp() {
+    runEncodeBenchmark(SMALL, /* hasAlpha= */ true, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void encode_alpha_large_jpegOrPng() {
+    runEncodeBenchmark(LARGE, /* hasAlpha= */ true, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void encode_alpha_large_webp() {
+    runEncodeBenchmark(LARGE, /* hasAlpha= */ true, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void decode_opaque_small_jpegOrPng() {
+    runDecodeBenchmark(SMALL, /* hasAlpha= */ false, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void decode_opaque_small_webp() {
+    runDecodeBenchmark(SMALL, /* hasAlpha= */ false, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void decode_opaque_large_jpegOrPng() {
+    runDecodeBenchmark(LARGE, /* hasAlpha= */ false, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void decode_opaque_large_webp() {
+    runDecodeBenchmark(LARGE, /* hasAlpha= */ false, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void decode_alpha_small_jpegOrPng() {
+    runDecodeBenchmark(SMALL, /* hasAlpha= */ true, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void decode_alpha_small_webp() {
+    runDecodeBenchmark(SMALL, /* hasAlpha= */ true, CompressFormatStrategy.WEBP);
+  }
+
+  @Test
+  public void decode_alpha_large_jpegOrPng() {
+    runDecodeBenchmark(LARGE, /* hasAlpha= */ true, CompressFormatStrategy.JPEG_OR_PNG);
+  }
+
+  @Test
+  public void decode_alpha_large_webp() {
+    runDecodeBenchmark(LARGE, /* hasAlpha= */ true, CompressFormatStrategy.WEBP);
+  }
+
+  private void runEncodeBenchmark(int size, boolean hasAlpha, CompressFormatStrategy strategy) {
+    Resource<Bitmap> resource = newThumbnail(size, hasAlpha);
+    BitmapEncoder encoder = new BitmapEncoder(new LruArrayPool());
+    Options options = newOptions(strategy);
+
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      if (!encoder.encode(resource, file, options)) {
+        throw new IllegalStateException("Failed to encode thumbnail");
+      }
+    }
+    Log.i(
+        TAG,
+        strategy + ", size: " + size + ", hasAlpha: " + hasAlpha + ", bytes: " + file.length());
+    resource.recycle();
+  }
+
+  private void runDecodeBenchmark(int size, boolean hasAlpha, CompressFormatStrategy strategy) {
+    Resource<Bitmap> resource = newThumbnail(size, hasAlpha);
+    if (!new BitmapEncoder(new LruArrayPool()).encode(resource, file, newOptions(strategy))) {
+      throw new IllegalStateException("Failed to encode thumbnail");
+    }
+    resource.recycle();
+    String path = file.getAbsolutePath();
+
+    BenchmarkState state = benchmarkRule.getState();
+    while (state.keepRunning()) {
+      Bitmap decoded = BitmapFactory.decodeFile(path);
+      if (decoded == null) {
+        throw new IllegalStateException("Failed to decode thumbnail");
+      }
+      state.pauseTiming();
+      decoded.recycle();
+      state.resumeTiming();
+    }
+  }
+
+  private static Options newOptions(CompressFormatStrategy strategy) {
+    Options options = new Options();
+    options.set(BitmapEncoder.COMPRESSION_FORMAT_STRATEGY, strategy);
+    return options;
+  }
+
+  private Resource<Bitmap> newThumbnail(int size, boolean hasAlpha) {
+    BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+    // The source is much larger than the largest thumbnail, sampling keeps decoding it fast.
+    decodeOptions.inSampleSize = 4;
+    Bitmap source =
+        BitmapFactory.decodeResource(app.getResources(), R.raw.pixel3a_portrait, decodeOptions);
+    Bitmap thumbnail =
+        hasAlpha
+            ? TransformationUtils.circleCrop(bitmapPool, source, size, size)
+            : TransformationUtils.centerCrop(bitmapPool, source, size, size);
+    if (thumbnail != source) {
+      source.recycle();
+    }
+    return new BitmapResource(thumbnail, bitmapPool);
+  }
+}
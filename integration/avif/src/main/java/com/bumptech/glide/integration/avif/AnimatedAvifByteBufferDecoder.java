@@ -0,0 +1,215 @@
+package com.bumptech.glide.integration.avif;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.util.Log;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.resource.UnitTransformation;
+import com.bumptech.glide.load.resource.gif.GifBitmapProvider;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import com.bumptech.glide.load.resource.gif.GifDrawableResource;
+import com.bumptech.glide.load.resource.gif.GifOptions;
+import com.bumptech.glide.util.Preconditions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.aomedia.avif.android.AvifDecoder;
+
+/**
+ * A Glide {@link ResourceDecoder} that decodes animated Avif images into {@link GifDrawable}s that
+ * decode one frame at a time.
+ *
+ * <p>Unlike {@link android.graphics.drawable.AnimatedImageDrawable}, frames are decoded on Glide's
+ * animation executor into {@link Bitmap}s from the {@link BitmapPool}, the animation is started and
+ * stopped along with the {@link com.bumptech.glide.RequestManager} that loaded it and at most two
+ * frames are held in memory at a time.
+ */
+public final class AnimatedAvifByteBufferDecoder
+    implements ResourceDecoder<ByteBuffer, GifDrawable> {
+  private static final String TAG = "AnimatedAvifDecoder";
+
+  private static final AvifAnimationFactory AVIF_ANIMATION_FACTORY = new AvifAnimationFactory();
+
+  private final Context context;
+  private final List<ImageHeaderParser> parsers;
+  private final GifDecoder.BitmapProvider provider;
+  private final AvifAnimationFactory avifAnimationFactory;
+
+  public AnimatedAvifByteBufferDecoder(
+      Context context,
+      List<ImageHeaderParser> parsers,
+      BitmapPool bitmapPool,
+      ArrayPool arrayPool) {
+    this(context, parsers, bitmapPool, arrayPool, AVIF_ANIMATION_FACTORY);
+  }
+
+  @VisibleForTesting
+  AnimatedAvifByteBufferDecoder(
+      Context context,
+      List<ImageHeaderParser> parsers,
+      BitmapPool bitmapPool,
+      ArrayPool arrayPool,
+      AvifAnimationFactory avifAnimationFactory) {
+    this.context = context.getApplicationContext();
+    this.parsers = Preconditions.checkNotNull(parsers);
+    this.provider = new GifBitmapProvider(bitmapPool, arrayPool);
+    this.avifAnimationFactory = Preconditions.checkNotNull(avifAnimationFactory);
+  }
+
+  @Override
+  @Nullable
+  public Resource<GifDrawable> decode(ByteBuffer source, int width, int height, Options options) {
+    ByteBuffer sourceCopy = AvifByteBufferBitmapDecoder.maybeCopyBuffer(source);
+    AvifAnimation avifDecoder = avifAnimationFactory.create(sourceCopy);
+    if (avifDecoder == null) {
+      if (Log.isLoggable(TAG, Log.ERROR)) {
+        Log.e(TAG, "Requested to decode byte buffer which cannot be handled by AvifDecoder");
+      }
+      return null;
+    }
+    if (avifDecoder.getFrameCount() <= 0) {
+      avifDecoder.release();
+      return null;
+    }
+    Bitmap.Config config;
+    if (options.get(GifOptions.DECODE_FORMAT) == DecodeFormat.PREFER_RGB_565) {
+      config = Bitmap.Config.RGB_565;
+    } else {
+      config = (avifDecoder.getDepth() == 8) ? Bitmap.Config.ARGB_8888 : Bitmap.Config.RGBA_F16;
+    }
+
+    int sampleSize = getSampleSize(avifDecoder, width, height);
+    AvifFrameDecoder frameDecoder =
+        new AvifFrameDecoder(provider, avifDecoder, sourceCopy, config, sampleSize);
+    frameDecoder.advance();
+    Bitmap firstFrame = frameDecoder.getNextFrame();
+    if (firstFrame == null) {
+      if (Log.isLoggable(TAG, Log.ERROR)) {
+        Log.e(TAG, "Failed to decode the first frame of an animated Avif.");
+      }
+      frameDecoder.clear();
+      return null;
+    }
+
+    GifDrawable drawable =
+        new GifDrawable(
+            context, frameDecoder, UnitTransformation.<Bitmap>get(), width, height, firstFrame);
+    return new GifDrawableResource(drawable);
+  }
+
+  // Matches the sample size ByteBufferGifDecoder uses for GIFs, so frames are at most twice the
+  // target size in each dimension.
+  private static int getSampleSize(AvifAnimation decoder, int targetWidth, int targetHeight) {
+    int exactSampleSize =
+        Math.min(decoder.getHeight() / targetHeight, decoder.getWidth() / targetWidth);
+    int powerOfTwoSampleSize = exactSampleSize == 0 ? 0 : Integer.highestOneBit(exactSampleSize);
+    int sampleSize = Math.max(1, powerOfTwoSampleSize);
+    if (Log.isLoggable(TAG, Log.VERBOSE) && sampleSize > 1) {
+      Log.v(
+          TAG,
+          "Downsampling animated Avif"
+              + ", sampleSize: "
+              + sampleSize
+              + ", target dimens: ["
+              + targetWidth
+              + "x"
+              + targetHeight
+              + "]"
+              + ", actual dimens: ["
+              + decoder.getWidth()
+              + "x"
+              + decoder.getHeight()
+              + "]");
+    }
+    return sampleSize;
+  }
+
+  @Override
+  public boolean handles(ByteBuffer source, Options options) throws IOException {
+    return !options.get(GifOptions.DISABLE_ANIMATION)
+        && ImageHeaderParserUtils.getType(parsers, source) == ImageType.ANIMATED_AVIF;
+  }
+
+  @VisibleForTesting
+  static class AvifAnimationFactory {
+    @Nullable
+    AvifAnimation create(ByteBuffer data) {
+      AvifDecoder decoder = AvifDecoder.create(data);
+      return decoder == null ? null : new LibAvifAnimation(decoder);
+    }
+  }
+
+  private static final class LibAvifAnimation implements AvifAnimation {
+    private final AvifDecoder decoder;
+
+    LibAvifAnimation(AvifDecoder decoder) {
+      this.decoder = decoder;
+    }
+
+    @Override
+    public int getWidth() {
+      return decoder.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+      return decoder.getHeight();
+    }
+
+    @Override
+    public int getDepth() {
+      return decoder.getDepth();
+    }
+
+    @Override
+    public int getFrameCount() {
+      return decoder.getFrameCount();
+    }
+
+    @Override
+    public int getRepetitionCount() {
+      return decoder.getRepetitionCount();
+    }
+
+    @Override
+    public double[] getFrameDurations() {
+      return decoder.getFrameDurations();
+    }
+
+    @Override
+    public int nextFrameIndex() {
+      return decoder.nextFrameIndex();
+    }
+
+    @Override
+    public int nextFrame(Bitmap bitmap) {
+      return decoder.nextFrame(bitmap);
+    }
+
+    @Override
+    public int nthFrame(int n, Bitmap bitmap) {
+      return decoder.nthFrame(n, bitmap);
+    }
+
+    @Override
+    public String resultToString(int avifResult) {
+      return AvifDecoder.resultToString(avifResult);
+    }
+
+    @Override
+    public void release() {
+      decoder.release();
+    }
+  }
+}
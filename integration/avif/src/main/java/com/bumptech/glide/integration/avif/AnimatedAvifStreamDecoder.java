@@ -0,0 +1,47 @@
+package com.bumptech.glide.integration.avif;
+
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.ImageHeaderParser.ImageType;
+import com.bumptech.glide.load.ImageHeaderParserUtils;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import com.bumptech.glide.load.resource.gif.GifOptions;
+import com.bumptech.glide.util.ByteBufferUtil;
+import com.bumptech.glide.util.Preconditions;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/** A Glide {@link ResourceDecoder} capable of decoding animated Avif Images. */
+public final class AnimatedAvifStreamDecoder implements ResourceDecoder<InputStream, GifDrawable> {
+
+  private final List<ImageHeaderParser> parsers;
+  private final AnimatedAvifByteBufferDecoder byteBufferDecoder;
+  private final ArrayPool arrayPool;
+
+  public AnimatedAvifStreamDecoder(
+      List<ImageHeaderParser> parsers,
+      AnimatedAvifByteBufferDecoder byteBufferDecoder,
+      ArrayPool arrayPool) {
+    this.parsers = parsers;
+    this.byteBufferDecoder = Preconditions.checkNotNull(byteBufferDecoder);
+    this.arrayPool = Preconditions.checkNotNull(arrayPool);
+  }
+
+  @Override
+  @Nullable
+  public Resource<GifDrawable> decode(InputStream source, int width, int height, Options options)
+      throws IOException {
+    return byteBufferDecoder.decode(ByteBufferUtil.fromStream(source), width, height, options);
+  }
+
+  @Override
+  public boolean handles(InputStream source, Options options) throws IOException {
+    return !options.get(GifOptions.DISABLE_ANIMATION)
+        && ImageHeaderParserUtils.getType(parsers, source, arrayPool) == ImageType.ANIMATED_AVIF;
+  }
+}
@@ -0,0 +1,62 @@
+package com.bumptech.glide.integration.avif;
+
+import android.graphics.Bitmap;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The frames of an animated AVIF image, as decoded by libavif's {@link
+ * org.aomedia.avif.android.AvifDecoder}.
+ *
+ * <p>Separate from {@link org.aomedia.avif.android.AvifDecoder} so that {@link AvifFrameDecoder}
+ * doesn't depend on libavif's native library directly.
+ */
+interface AvifAnimation {
+
+  /** Returns the width of each frame before it's scaled. */
+  int getWidth();
+
+  /** Returns the height of each frame before it's scaled. */
+  int getHeight();
+
+  /** Returns the number of bits per color channel. */
+  int getDepth();
+
+  int getFrameCount();
+
+  /**
+   * Returns the number of times the animation repeats after the first iteration, or a negative
+   * value if it repeats forever or the count is unknown.
+   */
+  int getRepetitionCount();
+
+  /** Returns the display duration of each frame in seconds. */
+  @Nullable
+  double[] getFrameDurations();
+
+  /** Returns the index of the frame the next call to {@link #nextFrame(Bitmap)} decodes. */
+  int nextFrameIndex();
+
+  /**
+   * Decodes the frame after the most recently decoded frame into the given {@link Bitmap}, scaling
+   * it to the size of the {@link Bitmap}.
+   *
+   * @return The avifResult of the decode, see avif.h.
+   */
+  int nextFrame(@NonNull Bitmap bitmap);
+
+  /**
+   * Decodes the frame at the given index into the given {@link Bitmap}, scaling it to the size of
+   * the {@link Bitmap}.
+   *
+   * @return The avifResult of the decode, see avif.h.
+   */
+  int nthFrame(int n, @NonNull Bitmap bitmap);
+
+  /** Returns a description of an avifResult returned by this object for logging. */
+  @NonNull
+  String resultToString(int avifResult);
+
+  /** Releases the native resources held by this object. */
+  void release();
+}
@@ -26,7 +26,7 @@ public final class AvifByteBufferBitmapDecoder implements ResourceDecoder<ByteBu
     this.bitmapPool = Preconditions.checkNotNull(bitmapPool);
   }
 
-  private ByteBuffer maybeCopyBuffer(ByteBuffer source) {
+  static ByteBuffer maybeCopyBuffer(ByteBuffer source) {
     // Native calls can only access ByteBuffer if isDirect() is true. Otherwise, we would have to
     // make a copy into a direct ByteBuffer.
     if (source.isDirect()) {
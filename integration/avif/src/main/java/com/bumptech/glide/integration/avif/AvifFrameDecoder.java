@@ -0,0 +1,179 @@
+package com.bumptech.glide.integration.avif;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.SeekableFrameSource;
+import com.bumptech.glide.util.Preconditions;
+import java.nio.ByteBuffer;
+
+/**
+ * Implements {@link SeekableFrameSource} for animated AVIF images by decoding one frame at a time
+ * with libavif, see {@link AvifAnimation}.
+ *
+ * <p>Implementing {@link SeekableFrameSource} lets animated AVIFs reuse {@link
+ * com.bumptech.glide.load.resource.gif.GifDrawable} and its frame loader, so frames are decoded on
+ * Glide's animation executor into {@link Bitmap}s from the {@link GifDecoder.BitmapProvider} and
+ * only the current and the next frame are kept in memory.
+ */
+final class AvifFrameDecoder implements SeekableFrameSource {
+  private static final String TAG = "AvifFrameDecoder";
+  // avifResult value for a successful call, see avif.h.
+  private static final int AVIF_RESULT_OK = 0;
+
+  private final GifDecoder.BitmapProvider bitmapProvider;
+  private final ByteBuffer data;
+  private final Bitmap.Config bitmapConfig;
+  private final int width;
+  private final int height;
+  private final int decodedFrameSize;
+  private final int frameCount;
+  private final int repetitionCount;
+  private final double[] frameDurations;
+
+  @Nullable private AvifAnimation decoder;
+  private int framePointer = -1;
+
+  /**
+   * @param data The direct {@link ByteBuffer} {@code decoder} was created from. The native decoder
+   *     reads from this buffer while decoding frames, so it must not be modified.
+   * @param sampleSize The factor to reduce the width and height of each frame by, libavif scales
+   *     frames to the size of the {@link Bitmap} they're decoded into.
+   */
+  AvifFrameDecoder(
+      @NonNull GifDecoder.BitmapProvider bitmapProvider,
+      @NonNull AvifAnimation decoder,
+      @NonNull ByteBuffer data,
+      @NonNull Bitmap.Config bitmapConfig,
+      int sampleSize) {
+    Preconditions.checkArgument(sampleSize > 0, "Sample size must be > 0: " + sampleSize);
+    this.bitmapProvider = Preconditions.checkNotNull(bitmapProvider);
+    this.decoder = Preconditions.checkNotNull(decoder);
+    this.data = Preconditions.checkNotNull(data);
+    this.bitmapConfig = Preconditions.checkNotNull(bitmapConfig);
+    width = Math.max(1, decoder.getWidth() / sampleSize);
+    height = Math.max(1, decoder.getHeight() / sampleSize);
+    // The native decoder keeps one full size decoded frame that's scaled into each Bitmap.
+    decodedFrameSize = decoder.getWidth() * decoder.getHeight() * 4;
+    frameCount = decoder.getFrameCount();
+    repetitionCount = decoder.getRepetitionCount();
+    frameDurations = decoder.getFrameDurations();
+  }
+
+  @NonNull
+  @Override
+  public ByteBuffer getData() {
+    return data;
+  }
+
+  @Override
+  public void advance() {
+    framePointer = (framePointer + 1) % frameCount;
+  }
+
+  private int getDelay(int n) {
+    int delay = -1;
+    if (n >= 0 && n < frameCount && frameDurations != null && n < frameDurations.length) {
+      // libavif reports durations in seconds.
+      delay = (int) Math.round(frameDurations[n] * 1000);
+    }
+    return delay;
+  }
+
+  @Override
+  public int getNextDelay() {
+    if (frameCount <= 0 || framePointer < 0) {
+      return 0;
+    }
+
+    return getDelay(framePointer);
+  }
+
+  @Override
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  @Override
+  public int getCurrentFrameIndex() {
+    return framePointer;
+  }
+
+  @Override
+  public void resetFrameIndex() {
+    framePointer = -1;
+  }
+
+  @Override
+  public void seekTo(int frameIndex) {
+    Preconditions.checkArgument(
+        frameIndex >= 0 && frameIndex < frameCount,
+        "Frame index out of range: " + frameIndex + ", frame count: " + frameCount);
+    framePointer = frameIndex;
+  }
+
+  @Override
+  public int getTotalIterationCount() {
+    // AVIF counts repetitions after the first iteration like GIF, but uses negative values for
+    // "forever" or "unknown", both of which we treat as forever.
+    if (repetitionCount < 0) {
+      return TOTAL_ITERATION_COUNT_FOREVER;
+    }
+    return repetitionCount + 1;
+  }
+
+  @Override
+  public int getByteSize() {
+    return data.limit() + decodedFrameSize;
+  }
+
+  @Nullable
+  @Override
+  public synchronized Bitmap getNextFrame() {
+    if (decoder == null || frameCount <= 0 || framePointer < 0) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(
+            TAG,
+            "Unable to decode frame"
+                + ", frameCount="
+                + frameCount
+                + ", framePointer="
+                + framePointer
+                + ", cleared="
+                + (decoder == null));
+      }
+      return null;
+    }
+
+    Bitmap result = bitmapProvider.obtain(width, height, bitmapConfig);
+    // Decoding the frame after the previous one is cheap, anything else requires libavif to seek
+    // from the nearest sync sample.
+    int avifResult =
+        framePointer == decoder.nextFrameIndex()
+            ? decoder.nextFrame(result)
+            : decoder.nthFrame(framePointer, result);
+    if (avifResult != AVIF_RESULT_OK) {
+      if (Log.isLoggable(TAG, Log.WARN)) {
+        Log.w(
+            TAG,
+            "Failed to decode frame: "
+                + framePointer
+                + ", result: "
+                + decoder.resultToString(avifResult));
+      }
+      bitmapProvider.release(result);
+      return null;
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void clear() {
+    if (decoder != null) {
+      decoder.release();
+      decoder = null;
+    }
+  }
+}
@@ -8,6 +8,7 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.Registry;
 import com.bumptech.glide.annotation.GlideModule;
 import com.bumptech.glide.load.resource.bitmap.BitmapDrawableDecoder;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
 import com.bumptech.glide.module.LibraryGlideModule;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
@@ -39,5 +40,20 @@ public final class AvifGlideModule extends LibraryGlideModule {
         InputStream.class,
         BitmapDrawable.class,
         new BitmapDrawableDecoder<>(context.getResources(), streamBitmapDecoder));
+
+    // Animated Avifs are decoded one frame at a time into a GifDrawable, rather than as a static
+    // Bitmap or by the platform's AnimatedImageDrawable, which holds the animation outside of
+    // Glide's pools and isn't available before Android S.
+    AnimatedAvifByteBufferDecoder animatedByteBufferDecoder =
+        new AnimatedAvifByteBufferDecoder(
+            context, registry.getImageHeaderParsers(), glide.getBitmapPool(), glide.getArrayPool());
+    registry.prepend(
+        Registry.BUCKET_ANIMATION, ByteBuffer.class, GifDrawable.class, animatedByteBufferDecoder);
+    registry.prepend(
+        Registry.BUCKET_ANIMATION,
+        InputStream.class,
+        GifDrawable.class,
+        new AnimatedAvifStreamDecoder(
+            registry.getImageHeaderParsers(), animatedByteBufferDecoder, glide.getArrayPool()));
   }
 }
@@ -0,0 +1,172 @@
+package com.bumptech.glide.integration.avif;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import com.bumptech.glide.load.resource.gif.GifOptions;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class AnimatedAvifByteBufferDecoderTest {
+  private static final int ARRAY_POOL_SIZE_BYTES = 4 * 1024 * 1024;
+  private static final int AVIF_RESULT_OK = 0;
+  private static final int AVIF_RESULT_DECODE_COLOR_FAILED = 12;
+
+  @Mock private BitmapPool bitmapPool;
+  @Mock private AvifAnimation animation;
+  @Mock private AnimatedAvifByteBufferDecoder.AvifAnimationFactory animationFactory;
+  private AnimatedAvifByteBufferDecoder decoder;
+  private Options options;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(animationFactory.create(any(ByteBuffer.class))).thenReturn(animation);
+    when(animation.getWidth()).thenReturn(400);
+    when(animation.getHeight()).thenReturn(200);
+    when(animation.getDepth()).thenReturn(8);
+    when(animation.getFrameCount()).thenReturn(4);
+    when(animation.getRepetitionCount()).thenReturn(-1);
+    when(animation.getFrameDurations()).thenReturn(new double[] {0.1, 0.1, 0.1, 0.1});
+    when(animation.resultToString(anyInt())).thenReturn("error");
+    when(animation.nextFrame(any(Bitmap.class))).thenReturn(AVIF_RESULT_OK);
+    when(bitmapPool.getDirty(anyInt(), anyInt(), any(Bitmap.Config.class)))
+        .thenReturn(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+
+    List<ImageHeaderParser> parsers = new ArrayList<>();
+    parsers.add(new DefaultImageHeaderParser());
+    options = new Options();
+    decoder =
+        new AnimatedAvifByteBufferDecoder(
+            ApplicationProvider.getApplicationContext(),
+            parsers,
+            bitmapPool,
+            new LruArrayPool(ARRAY_POOL_SIZE_BYTES),
+            animationFactory);
+  }
+
+  @After
+  public void tearDown() {
+    // Decoding creates a GifDrawable, which initializes Glide.
+    Glide.tearDown();
+  }
+
+  @Test
+  public void handles_withAnimatedAvif_returnsTrue() throws IOException {
+    assertThat(decoder.handles(ByteBuffer.wrap(AvifTestUtil.animatedAvifHeader()), options))
+        .isTrue();
+  }
+
+  @Test
+  public void handles_withStillAvif_returnsFalse() throws IOException {
+    assertThat(decoder.handles(ByteBuffer.wrap(AvifTestUtil.stillAvifHeader()), options))
+        .isFalse();
+  }
+
+  @Test
+  public void handles_withAnimationDisabled_returnsFalse() throws IOException {
+    options.set(GifOptions.DISABLE_ANIMATION, true);
+
+    assertThat(decoder.handles(ByteBuffer.wrap(AvifTestUtil.animatedAvifHeader()), options))
+        .isFalse();
+  }
+
+  @Test
+  public void decode_returnsGifDrawableWithFirstFrame() {
+    Resource<GifDrawable> resource = decoder.decode(newData(), 400, 200, options);
+
+    GifDrawable drawable = resource.get();
+    assertThat(drawable.getFrameCount()).isEqualTo(4);
+    assertThat(drawable.getFirstFrame()).isNotNull();
+    verify(animation).nextFrame(any(Bitmap.class));
+  }
+
+  @Test
+  public void decode_withSmallerTarget_decodesDownsampledFrames() {
+    decoder.decode(newData(), 100, 50, options);
+
+    ArgumentCaptor<Integer> width = ArgumentCaptor.forClass(Integer.class);
+    ArgumentCaptor<Integer> height = ArgumentCaptor.forClass(Integer.class);
+    verify(bitmapPool).getDirty(width.capture(), height.capture(), eq(Bitmap.Config.ARGB_8888));
+    assertThat(width.getValue()).isEqualTo(100);
+    assertThat(height.getValue()).isEqualTo(50);
+  }
+
+  @Test
+  public void decode_withPreferRgb565_decodesRgb565Frames() {
+    options.set(GifOptions.DECODE_FORMAT, DecodeFormat.PREFER_RGB_565);
+
+    decoder.decode(newData(), 400, 200, options);
+
+    verify(bitmapPool).getDirty(400, 200, Bitmap.Config.RGB_565);
+  }
+
+  @Test
+  public void decode_withUnsupportedData_returnsNull() {
+    when(animationFactory.create(any(ByteBuffer.class))).thenReturn(null);
+
+    assertThat(decoder.decode(newData(), 400, 200, options)).isNull();
+  }
+
+  @Test
+  public void decode_withoutFrames_returnsNullAndReleasesDecoder() {
+    when(animation.getFrameCount()).thenReturn(0);
+
+    assertThat(decoder.decode(newData(), 400, 200, options)).isNull();
+    verify(animation).release();
+  }
+
+  @Test
+  public void decode_withFirstFrameFailure_returnsNullAndReleasesDecoder() {
+    when(animation.nextFrame(any(Bitmap.class))).thenReturn(AVIF_RESULT_DECODE_COLOR_FAILED);
+
+    assertThat(decoder.decode(newData(), 400, 200, options)).isNull();
+    verify(animation).release();
+  }
+
+  @Test
+  public void decode_withHeapBuffer_passesDirectCopyToDecoder() {
+    decoder.decode(ByteBuffer.wrap(AvifTestUtil.animatedAvifHeader()), 400, 200, options);
+
+    ArgumentCaptor<ByteBuffer> data = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(animationFactory).create(data.capture());
+    assertThat(data.getValue().isDirect()).isTrue();
+  }
+
+  private static ByteBuffer newData() {
+    byte[] header = AvifTestUtil.animatedAvifHeader();
+    ByteBuffer data = ByteBuffer.allocateDirect(header.length);
+    data.put(header);
+    data.flip();
+    return data;
+  }
+}
@@ -0,0 +1,72 @@
+package com.bumptech.glide.integration.avif;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.load.resource.gif.GifOptions;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class AnimatedAvifStreamDecoderTest {
+  private static final int ARRAY_POOL_SIZE_BYTES = 4 * 1024 * 1024;
+
+  private AnimatedAvifStreamDecoder decoder;
+  private Options options;
+
+  @Before
+  public void setUp() {
+    List<ImageHeaderParser> parsers = new ArrayList<>();
+    parsers.add(new DefaultImageHeaderParser());
+    LruArrayPool arrayPool = new LruArrayPool(ARRAY_POOL_SIZE_BYTES);
+    options = new Options();
+    decoder =
+        new AnimatedAvifStreamDecoder(
+            parsers,
+            new AnimatedAvifByteBufferDecoder(
+                ApplicationProvider.getApplicationContext(),
+                parsers,
+                new BitmapPoolAdapter(),
+                arrayPool),
+            arrayPool);
+  }
+
+  @Test
+  public void handles_withAnimatedAvif_returnsTrue() throws IOException {
+    assertThat(
+            decoder.handles(
+                new ByteArrayInputStream(AvifTestUtil.animatedAvifHeader()), options))
+        .isTrue();
+  }
+
+  @Test
+  public void handles_withStillAvif_returnsFalse() throws IOException {
+    assertThat(
+            decoder.handles(new ByteArrayInputStream(AvifTestUtil.stillAvifHeader()), options))
+        .isFalse();
+  }
+
+  @Test
+  public void handles_withAnimationDisabled_returnsFalse() throws IOException {
+    options.set(GifOptions.DISABLE_ANIMATION, true);
+
+    assertThat(
+            decoder.handles(
+                new ByteArrayInputStream(AvifTestUtil.animatedAvifHeader()), options))
+        .isFalse();
+  }
+}
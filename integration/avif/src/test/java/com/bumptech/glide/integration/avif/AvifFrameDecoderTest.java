@@ -0,0 +1,230 @@
+package com.bumptech.glide.integration.avif;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import com.bumptech.glide.gifdecoder.AnimatedFrameSource;
+import com.bumptech.glide.gifdecoder.GifDecoder;
+import java.nio.ByteBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class AvifFrameDecoderTest {
+  private static final int WIDTH = 100;
+  private static final int HEIGHT = 60;
+  private static final int FRAME_COUNT = 3;
+  private static final int AVIF_RESULT_OK = 0;
+  private static final int AVIF_RESULT_DECODE_COLOR_FAILED = 12;
+
+  @Mock private GifDecoder.BitmapProvider bitmapProvider;
+  @Mock private AvifAnimation animation;
+  private final ByteBuffer data = ByteBuffer.allocateDirect(10);
+  private int nextFrameIndex;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(animation.getWidth()).thenReturn(WIDTH);
+    when(animation.getHeight()).thenReturn(HEIGHT);
+    when(animation.getFrameCount()).thenReturn(FRAME_COUNT);
+    when(animation.getRepetitionCount()).thenReturn(-1);
+    when(animation.getFrameDurations()).thenReturn(new double[] {0.1, 0.0504, 1});
+    when(animation.resultToString(anyInt())).thenReturn("error");
+    when(bitmapProvider.obtain(anyInt(), anyInt(), any(Bitmap.Config.class)))
+        .thenAnswer(
+            new Answer<Bitmap>() {
+              @Override
+              public Bitmap answer(InvocationOnMock invocation) {
+                return Bitmap.createBitmap(
+                    (Integer) invocation.getArgument(0),
+                    (Integer) invocation.getArgument(1),
+                    (Bitmap.Config) invocation.getArgument(2));
+              }
+            });
+    // Mirror libavif, which decodes frames in order unless asked for a specific frame.
+    when(animation.nextFrameIndex())
+        .thenAnswer(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) {
+                return nextFrameIndex;
+              }
+            });
+    when(animation.nextFrame(any(Bitmap.class)))
+        .thenAnswer(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) {
+                nextFrameIndex++;
+                return AVIF_RESULT_OK;
+              }
+            });
+    when(animation.nthFrame(anyInt(), any(Bitmap.class)))
+        .thenAnswer(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) {
+                nextFrameIndex = (Integer) invocation.getArgument(0) + 1;
+                return AVIF_RESULT_OK;
+              }
+            });
+  }
+
+  @Test
+  public void getNextFrame_beforeAdvance_returnsNull() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+
+    assertThat(decoder.getNextFrame()).isNull();
+    verify(bitmapProvider, never()).obtain(anyInt(), anyInt(), any(Bitmap.Config.class));
+  }
+
+  @Test
+  public void getNextFrame_inOrder_decodesNextFrames() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      decoder.advance();
+      assertThat(decoder.getCurrentFrameIndex()).isEqualTo(i);
+      assertThat(decoder.getNextFrame()).isNotNull();
+    }
+
+    verify(animation, never()).nthFrame(anyInt(), any(Bitmap.class));
+  }
+
+  @Test
+  public void getNextFrame_afterLastFrame_loopsToFirstFrame() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      decoder.advance();
+      decoder.getNextFrame();
+    }
+
+    decoder.advance();
+    decoder.getNextFrame();
+
+    assertThat(decoder.getCurrentFrameIndex()).isEqualTo(0);
+    verify(animation).nthFrame(eq(0), any(Bitmap.class));
+  }
+
+  @Test
+  public void getNextFrame_afterSeekTo_decodesRequestedFrameThenContinuesInOrder() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+
+    decoder.seekTo(1);
+    decoder.getNextFrame();
+    decoder.advance();
+    decoder.getNextFrame();
+
+    assertThat(decoder.getCurrentFrameIndex()).isEqualTo(2);
+    InOrder inOrder = inOrder(animation);
+    inOrder.verify(animation).nthFrame(eq(1), any(Bitmap.class));
+    inOrder.verify(animation).nextFrame(any(Bitmap.class));
+  }
+
+  @Test
+  public void getNextFrame_withSampleSize_decodesIntoScaledBitmap() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 2);
+    decoder.advance();
+
+    Bitmap frame = decoder.getNextFrame();
+
+    assertThat(frame.getWidth()).isEqualTo(WIDTH / 2);
+    assertThat(frame.getHeight()).isEqualTo(HEIGHT / 2);
+  }
+
+  @Test
+  public void getNextFrame_withDecodeFailure_releasesBitmapAndReturnsNull() {
+    when(animation.nextFrame(any(Bitmap.class))).thenReturn(AVIF_RESULT_DECODE_COLOR_FAILED);
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    decoder.advance();
+
+    assertThat(decoder.getNextFrame()).isNull();
+    verify(bitmapProvider).release(any(Bitmap.class));
+  }
+
+  @Test
+  public void getNextFrame_afterClear_returnsNullAndReleasesDecoder() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    decoder.advance();
+
+    decoder.clear();
+
+    assertThat(decoder.getNextFrame()).isNull();
+    verify(animation).release();
+  }
+
+  @Test
+  public void getNextDelay_returnsFrameDurationsInMillis() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    assertThat(decoder.getNextDelay()).isEqualTo(0);
+
+    decoder.advance();
+    assertThat(decoder.getNextDelay()).isEqualTo(100);
+    decoder.advance();
+    assertThat(decoder.getNextDelay()).isEqualTo(50);
+    decoder.advance();
+    assertThat(decoder.getNextDelay()).isEqualTo(1000);
+  }
+
+  @Test
+  public void getNextDelay_withoutDurations_returnsUnknownDelay() {
+    when(animation.getFrameDurations()).thenReturn(null);
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    decoder.advance();
+
+    assertThat(decoder.getNextDelay()).isEqualTo(-1);
+  }
+
+  @Test
+  public void getTotalIterationCount_withNegativeRepetitionCount_repeatsForever() {
+    assertThat(newDecoder(/* sampleSize= */ 1).getTotalIterationCount())
+        .isEqualTo(AnimatedFrameSource.TOTAL_ITERATION_COUNT_FOREVER);
+  }
+
+  @Test
+  public void getTotalIterationCount_includesFirstIteration() {
+    when(animation.getRepetitionCount()).thenReturn(2);
+
+    assertThat(newDecoder(/* sampleSize= */ 1).getTotalIterationCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void resetFrameIndex_restartsFromFirstFrame() {
+    AvifFrameDecoder decoder = newDecoder(/* sampleSize= */ 1);
+    decoder.advance();
+    decoder.advance();
+
+    decoder.resetFrameIndex();
+    decoder.advance();
+
+    assertThat(decoder.getCurrentFrameIndex()).isEqualTo(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void seekTo_withFrameOutOfRange_throws() {
+    newDecoder(/* sampleSize= */ 1).seekTo(FRAME_COUNT);
+  }
+
+  private AvifFrameDecoder newDecoder(int sampleSize) {
+    return new AvifFrameDecoder(
+        bitmapProvider, animation, data, Bitmap.Config.ARGB_8888, sampleSize);
+  }
+}
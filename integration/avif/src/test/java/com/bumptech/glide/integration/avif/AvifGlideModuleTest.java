@@ -0,0 +1,124 @@
+package com.bumptech.glide.integration.avif;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.load.ImageHeaderParser;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.load.resource.gif.GifDrawable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class AvifGlideModuleTest {
+  private final Registry registry = mock(Registry.class);
+  private final Options options = new Options();
+
+  @Before
+  public void setUp() {
+    Context context = ApplicationProvider.getApplicationContext();
+    Glide glide = mock(Glide.class);
+    when(glide.getBitmapPool()).thenReturn(new BitmapPoolAdapter());
+    when(glide.getArrayPool()).thenReturn(new LruArrayPool());
+    List<ImageHeaderParser> parsers = new ArrayList<>();
+    parsers.add(new DefaultImageHeaderParser());
+    when(registry.getImageHeaderParsers()).thenReturn(parsers);
+
+    new AvifGlideModule().registerComponents(context, glide, registry);
+  }
+
+  @Test
+  public void registerComponents_prependsAnimatedDecodersToAnimationBucket() throws IOException {
+    ResourceDecoder<ByteBuffer, GifDrawable> byteBufferDecoder =
+        captureAnimationDecoder(ByteBuffer.class);
+    ResourceDecoder<InputStream, GifDrawable> streamDecoder =
+        captureAnimationDecoder(InputStream.class);
+
+    assertThat(byteBufferDecoder).isInstanceOf(AnimatedAvifByteBufferDecoder.class);
+    assertThat(streamDecoder).isInstanceOf(AnimatedAvifStreamDecoder.class);
+    assertThat(
+            byteBufferDecoder.handles(
+                ByteBuffer.wrap(AvifTestUtil.animatedAvifHeader()), options))
+        .isTrue();
+    assertThat(
+            streamDecoder.handles(
+                new ByteArrayInputStream(AvifTestUtil.animatedAvifHeader()), options))
+        .isTrue();
+  }
+
+  @Test
+  public void registerComponents_animatedDecodersDoNotHandleStillAvifs() throws IOException {
+    ResourceDecoder<ByteBuffer, GifDrawable> byteBufferDecoder =
+        captureAnimationDecoder(ByteBuffer.class);
+    ResourceDecoder<InputStream, GifDrawable> streamDecoder =
+        captureAnimationDecoder(InputStream.class);
+
+    assertThat(
+            byteBufferDecoder.handles(ByteBuffer.wrap(AvifTestUtil.stillAvifHeader()), options))
+        .isFalse();
+    assertThat(
+            streamDecoder.handles(
+                new ByteArrayInputStream(AvifTestUtil.stillAvifHeader()), options))
+        .isFalse();
+  }
+
+  @Test
+  public void registerComponents_leavesStillAvifsToBitmapDecoders() {
+    verify(registry)
+        .prepend(
+            eq(Registry.BUCKET_BITMAP),
+            eq(ByteBuffer.class),
+            eq(Bitmap.class),
+            isA(AvifByteBufferBitmapDecoder.class));
+    verify(registry)
+        .prepend(
+            eq(Registry.BUCKET_BITMAP),
+            eq(InputStream.class),
+            eq(Bitmap.class),
+            isA(AvifStreamBitmapDecoder.class));
+    verify(registry, never())
+        .prepend(
+            eq(Registry.BUCKET_BITMAP),
+            any(Class.class),
+            any(Class.class),
+            isA(AnimatedAvifByteBufferDecoder.class));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <DataT> ResourceDecoder<DataT, GifDrawable> captureAnimationDecoder(
+      Class<DataT> dataClass) {
+    ArgumentCaptor<ResourceDecoder<DataT, GifDrawable>> captor =
+        ArgumentCaptor.forClass((Class) ResourceDecoder.class);
+    verify(registry)
+        .prepend(
+            eq(Registry.BUCKET_ANIMATION), eq(dataClass), eq(GifDrawable.class), captor.capture());
+    return captor.getValue();
+  }
+}
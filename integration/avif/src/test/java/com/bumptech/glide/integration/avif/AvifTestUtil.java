@@ -0,0 +1,41 @@
+package com.bumptech.glide.integration.avif;
+
+import java.nio.ByteBuffer;
+
+/** Creates the headers of AVIF images. */
+final class AvifTestUtil {
+
+  private AvifTestUtil() {
+    // Utility class.
+  }
+
+  /** Returns an ftyp box for an animated AVIF, which is enough to detect its type. */
+  static byte[] animatedAvifHeader() {
+    return ftypBox("avis");
+  }
+
+  /** Returns an ftyp box for a still AVIF, which is enough to detect its type. */
+  static byte[] stillAvifHeader() {
+    return ftypBox("avif");
+  }
+
+  private static byte[] ftypBox(String majorBrand) {
+    String[] compatibleBrands = new String[] {"mif1", "miaf"};
+    ByteBuffer box = ByteBuffer.allocate(16 + 4 * compatibleBrands.length);
+    box.putInt(box.capacity());
+    putBrand(box, "ftyp");
+    putBrand(box, majorBrand);
+    // Minor version.
+    box.putInt(0);
+    for (String brand : compatibleBrands) {
+      putBrand(box, brand);
+    }
+    return box.array();
+  }
+
+  private static void putBrand(ByteBuffer buffer, String brand) {
+    for (int i = 0; i < brand.length(); i++) {
+      buffer.put((byte) brand.charAt(i));
+    }
+  }
+}
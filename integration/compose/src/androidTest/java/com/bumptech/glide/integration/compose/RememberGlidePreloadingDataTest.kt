@@ -25,6 +25,7 @@ import androidx.test.core.app.ApplicationProvider
 import com.bumptech.glide.Glide
 import com.bumptech.glide.RequestBuilder
 import com.bumptech.glide.integration.compose.test.GlideComposeRule
+import com.bumptech.glide.load.engine.DiskCacheStrategy
 import com.bumptech.glide.request.target.Target
 import com.google.common.truth.Truth.assertThat
 import org.junit.Rule
@@ -54,6 +55,36 @@ class RememberGlidePreloadingDataTest {
     assertThatModelIsInMemoryCache(preloadModels[1])
   }
 
+  @Test
+  fun rememberGlidePreloadingData_withDiskCacheItems_preloadsItemsAfterMemoryItemsIntoDiskCache() {
+    glideComposeRule.setContent {
+      val preloadingData =
+        rememberGlidePreloadingData(
+          data = preloadModels,
+          preloadImageSize = Target.SIZE_ORIGINAL.toSize(),
+          numberOfItemsToPreload = 1,
+          fixedVisibleItemCount = 1,
+          numberOfItemsToPreloadIntoDiskCache = 1,
+        ) { model, requestBuilder ->
+          requestBuilder.load(model).removeTheme()
+        }
+
+      LazyRow(modifier = Modifier.testTag(listTestTag)) {
+        items(preloadingData.size) { index ->
+          preloadingData.triggerPreload(index)
+          GlideImage(
+            model = model,
+            contentDescription = imageContentDescription(index),
+            Modifier.fillParentMaxWidth(),
+          )
+        }
+      }
+    }
+
+    assertThatModelIsInMemoryCache(preloadModels[1])
+    assertThatModelIsInDiskCache(preloadModels[2])
+  }
+
   @Test
   fun glideLazyListPreloader_onScroll_preloadsAheadInDirectionOfScroll() {
     glideComposeRule.setContent {
@@ -208,6 +239,20 @@ class RememberGlidePreloadingDataTest {
     assertThat(nextPreloadModel).isNotNull()
   }
 
+  private fun assertThatModelIsInDiskCache(@DrawableRes model: Int) {
+    glideComposeRule.waitForIdle()
+    val nextPreloadModel: Drawable =
+      Glide.with(context)
+        .load(model)
+        .removeTheme()
+        .diskCacheStrategy(DiskCacheStrategy.DATA)
+        .skipMemoryCache(true)
+        .onlyRetrieveFromCache(true)
+        .submit()
+        .get()
+    assertThat(nextPreloadModel).isNotNull()
+  }
+
   // We're loading the same resource across two different Contexts. One is the Context from the
   // instrumentation package, the other is the package under test. Each Context has it's own Theme,
   // neither of which are equal to each other. So that we can verify an item is loaded into memory,
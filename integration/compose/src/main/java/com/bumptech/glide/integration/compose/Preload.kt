@@ -86,6 +86,39 @@ public fun <DataT : Any> rememberGlidePreloadingData(
   numberOfItemsToPreload: Int = DEFAULT_ITEMS_TO_PRELOAD,
   fixedVisibleItemCount: Int? = null,
   requestBuilderTransform: PreloadRequestBuilderTransform<DataT>,
+): GlidePreloadingData<DataT> {
+  return rememberGlidePreloadingData(
+    dataSize = dataSize,
+    dataGetter = dataGetter,
+    preloadImageSize = preloadImageSize,
+    numberOfItemsToPreload = numberOfItemsToPreload,
+    fixedVisibleItemCount = fixedVisibleItemCount,
+    numberOfItemsToPreloadIntoDiskCache = 0,
+    requestBuilderTransform = requestBuilderTransform,
+  )
+}
+
+/**
+ * A version of [rememberGlidePreloadingData] that also preloads items beyond the first
+ * [numberOfItemsToPreload] items into the disk cache, see [ListPreloader]. See the more general
+ * equivalent for details on the other parameters.
+ *
+ * Items that are only preloaded into the disk cache are fetched and written to the disk cache
+ * without being decoded, so many more of them can be preloaded than can fit in the memory cache.
+ * They're decoded once they're within [numberOfItemsToPreload] items of the user's position.
+ *
+ * @param numberOfItemsToPreloadIntoDiskCache The number of items beyond the first
+ * [numberOfItemsToPreload] items to preload only into the disk cache.
+ */
+@Composable
+public fun <DataT : Any> rememberGlidePreloadingData(
+  dataSize: Int,
+  dataGetter: (Int) -> DataT,
+  preloadImageSize: Size,
+  numberOfItemsToPreload: Int = DEFAULT_ITEMS_TO_PRELOAD,
+  fixedVisibleItemCount: Int? = null,
+  numberOfItemsToPreloadIntoDiskCache: Int,
+  requestBuilderTransform: PreloadRequestBuilderTransform<DataT>,
 ): GlidePreloadingData<DataT> {
   val requestManager = LocalContext.current.let { remember(it) { Glide.with(it) } }
   return remember(
@@ -95,6 +128,7 @@ public fun <DataT : Any> rememberGlidePreloadingData(
     preloadImageSize,
     numberOfItemsToPreload,
     fixedVisibleItemCount,
+    numberOfItemsToPreloadIntoDiskCache,
     requestBuilderTransform,
   ) {
     val preloaderData =
@@ -108,6 +142,7 @@ public fun <DataT : Any> rememberGlidePreloadingData(
         ),
         PreloadDimensionsProvider(preloaderData),
         numberOfItemsToPreload,
+        numberOfItemsToPreloadIntoDiskCache,
       )
     PreloadDataImpl(
       dataSize,
@@ -143,6 +178,30 @@ public fun <DataT : Any> rememberGlidePreloadingData(
   )
 }
 
+/**
+ * A helper for [rememberGlidePreloadingData] that accepts a [List] and also preloads items into the
+ * disk cache. See the more general equivalent for details.
+ */
+@Composable
+public fun <DataT : Any> rememberGlidePreloadingData(
+  data: List<DataT>,
+  preloadImageSize: Size,
+  numberOfItemsToPreload: Int = DEFAULT_ITEMS_TO_PRELOAD,
+  fixedVisibleItemCount: Int? = null,
+  numberOfItemsToPreloadIntoDiskCache: Int,
+  requestBuilderTransform: PreloadRequestBuilderTransform<DataT>,
+): GlidePreloadingData<DataT> {
+  return rememberGlidePreloadingData(
+    dataSize = data.size,
+    dataGetter = data::get,
+    preloadImageSize = preloadImageSize,
+    numberOfItemsToPreload = numberOfItemsToPreload,
+    fixedVisibleItemCount = fixedVisibleItemCount,
+    numberOfItemsToPreloadIntoDiskCache = numberOfItemsToPreloadIntoDiskCache,
+    requestBuilderTransform = requestBuilderTransform,
+  )
+}
+
 private data class PreloaderData<DataT>(
   val dataSize: Int,
   val dataAccessor: (Int) -> DataT,
@@ -4,9 +4,11 @@ import android.util.Log;
 import androidx.annotation.Nullable;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.HttpException;
+import com.bumptech.glide.load.data.CancelledFetchMetrics;
 import com.bumptech.glide.load.engine.executor.GlideExecutor;
 import com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy;
 import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.util.ContentLengthInputStream;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import java.io.IOException;
@@ -165,6 +167,23 @@ final class ChromiumRequestSerializer {
     }
   }
 
+  // The received byte count includes headers, so this underestimates the bytes saved.
+  private static long getRemainingByteCount(@Nullable UrlResponseInfo info) {
+    if (info == null) {
+      return ContentLengthInputStream.UNKNOWN;
+    }
+    for (Map.Entry<String, String> header : info.getAllHeadersAsList()) {
+      if (BufferQueue.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+        try {
+          return Long.parseLong(header.getValue().trim()) - info.getReceivedByteCount();
+        } catch (NumberFormatException e) {
+          return ContentLengthInputStream.UNKNOWN;
+        }
+      }
+    }
+    return ContentLengthInputStream.UNKNOWN;
+  }
+
   private static IOException getExceptionIfFailed(
       UrlResponseInfo info, IOException e, boolean wasCancelled) {
     if (wasCancelled) {
@@ -309,6 +328,9 @@ final class ChromiumRequestSerializer {
       boolean isSuccess = exception == null && !wasCancelled;
 
       endTimeMs = System.currentTimeMillis();
+      if (wasCancelled) {
+        CancelledFetchMetrics.onFetchCancelled(getRemainingByteCount(info));
+      }
 
       maybeLogResult(isSuccess, exception, wasCancelled, buffer);
       if (isSuccess) {
@@ -17,6 +17,7 @@ import static org.mockito.Mockito.when;
 import androidx.annotation.NonNull;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.HttpException;
+import com.bumptech.glide.load.data.CancelledFetchMetrics;
 import com.bumptech.glide.load.data.DataFetcher.DataCallback;
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.load.model.LazyHeaders;
@@ -352,6 +353,21 @@ public class ChromiumUrlFetcherTest {
     verify(callback, timeout(1000)).onLoadFailed(ArgumentMatchers.<Exception>isNull());
   }
 
+  @Test
+  public void testRequestComplete_whenCancelled_recordsRemainingBytesAsSaved() throws Exception {
+    CancelledFetchMetrics.reset();
+    UrlResponseInfo info = getInfo(100, 200);
+    fetcher.loadData(Priority.LOW, callback);
+    Callback urlCallback = urlRequestListenerCaptor.getValue();
+    urlCallback.onResponseStarted(request, info);
+    urlCallback.onCanceled(request, info);
+
+    verify(callback, timeout(1000)).onLoadFailed(ArgumentMatchers.<Exception>isNull());
+    assertThat(CancelledFetchMetrics.getCancelledFetchCount()).isEqualTo(1);
+    assertThat(CancelledFetchMetrics.getBytesSaved()).isEqualTo(100);
+    CancelledFetchMetrics.reset();
+  }
+
   @Test
   public void testRequestComplete_with200NotCancelledMatchingLength_callsCallbackWithValidData()
       throws Exception {
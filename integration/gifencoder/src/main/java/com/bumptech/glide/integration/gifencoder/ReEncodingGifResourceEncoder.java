@@ -4,6 +4,7 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.gifdecoder.GifHeader;
@@ -16,7 +17,9 @@ import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceEncoder;
 import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
 import com.bumptech.glide.load.resource.UnitTransformation;
 import com.bumptech.glide.load.resource.bitmap.BitmapResource;
 import com.bumptech.glide.load.resource.gif.GifBitmapProvider;
@@ -30,6 +33,14 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * An {@link com.bumptech.glide.load.ResourceEncoder} that can write {@link
@@ -67,24 +78,76 @@ public class ReEncodingGifResourceEncoder implements ResourceEncoder<GifDrawable
             }
           });
 
+  /**
+   * A boolean option that, if set to <code>true</code>, quantizes and compresses the frames of
+   * transformed GIFs on multiple threads when {@link #ENCODE_TRANSFORMATION} is set. Encoded frames
+   * are written to the cache file in order as soon as they're available.
+   *
+   * <p>Defaults to <code>false</code>.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public static final Option<Boolean> PARALLEL_ENCODE =
+      Option.memory(
+          "com.bumptech.glide.integration.gifencoder.ReEncodingGifResourceEncoder.ParallelEncode",
+          false);
+
+  /**
+   * A boolean option that, if set to <code>true</code> along with {@link #PARALLEL_ENCODE}, builds
+   * a single palette from the first transformed frame and uses it for every frame instead of
+   * building a palette per frame.
+   *
+   * <p>Sharing a palette is significantly faster and produces smaller files, but frames with
+   * colors that differ from the first frame lose color accuracy.
+   *
+   * <p>Defaults to <code>false</code>.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public static final Option<Boolean> SHARED_PALETTE =
+      Option.memory(
+          "com.bumptech.glide.integration.gifencoder.ReEncodingGifResourceEncoder.SharedPalette",
+          false);
+
   private static final Factory FACTORY = new Factory();
   private static final String TAG = "GifEncoder";
+  // Bounds the number of decoded and encoded frames held in memory at once.
+  private static final int MAX_PENDING_FRAMES_PER_THREAD = 2;
   private final GifDecoder.BitmapProvider provider;
   private final Context context;
   private final BitmapPool bitmapPool;
+  @Nullable private final ArrayPool arrayPool;
   private final Factory factory;
 
   // Public API.
   @SuppressWarnings("unused")
   public ReEncodingGifResourceEncoder(@NonNull Context context, @NonNull BitmapPool bitmapPool) {
-    this(context, bitmapPool, FACTORY);
+    this(context, bitmapPool, /* arrayPool= */ null, FACTORY);
+  }
+
+  /**
+   * Creates an encoder that obtains the pixel buffers used to encode frames in parallel from the
+   * given {@link ArrayPool}.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  public ReEncodingGifResourceEncoder(
+      @NonNull Context context, @NonNull BitmapPool bitmapPool, @NonNull ArrayPool arrayPool) {
+    this(context, bitmapPool, arrayPool, FACTORY);
   }
 
   @VisibleForTesting
   ReEncodingGifResourceEncoder(Context context, BitmapPool bitmapPool, Factory factory) {
+    this(context, bitmapPool, /* arrayPool= */ null, factory);
+  }
+
+  @VisibleForTesting
+  ReEncodingGifResourceEncoder(
+      Context context, BitmapPool bitmapPool, @Nullable ArrayPool arrayPool, Factory factory) {
     this.context = context;
     this.bitmapPool = bitmapPool;
-    provider = new GifBitmapProvider(bitmapPool);
+    this.arrayPool = arrayPool;
+    provider = new GifBitmapProvider(bitmapPool, arrayPool);
     this.factory = factory;
   }
 
@@ -104,19 +167,22 @@ public class ReEncodingGifResourceEncoder implements ResourceEncoder<GifDrawable
     Transformation<Bitmap> transformation = drawable.getFrameTransformation();
     boolean isTransformed = !(transformation instanceof UnitTransformation);
     if (isTransformed && options.get(ENCODE_TRANSFORMATION)) {
-      return encodeTransformedToFile(drawable, file);
+      return encodeTransformedToFile(drawable, file, options);
     } else {
       return writeDataDirect(drawable.getBuffer(), file);
     }
   }
 
-  private boolean encodeTransformedToFile(GifDrawable drawable, File file) {
+  private boolean encodeTransformedToFile(GifDrawable drawable, File file, Options options) {
     long startTime = LogTime.getLogTime();
     OutputStream os = null;
     boolean success = false;
     try {
       os = new BufferedOutputStream(new FileOutputStream(file));
-      success = encodeTransformedToStream(drawable, os);
+      success =
+          options.get(PARALLEL_ENCODE)
+              ? encodeTransformedToStreamInParallel(drawable, os, options.get(SHARED_PALETTE))
+              : encodeTransformedToStream(drawable, os);
       os.close();
     } catch (IOException e) {
       if (Log.isLoggable(TAG, Log.DEBUG)) {
@@ -175,6 +241,102 @@ public class ReEncodingGifResourceEncoder implements ResourceEncoder<GifDrawable
     return encoder.finish();
   }
 
+  private boolean encodeTransformedToStreamInParallel(
+      GifDrawable drawable, OutputStream os, boolean useSharedPalette) {
+    Transformation<Bitmap> transformation = drawable.getFrameTransformation();
+    GifDecoder decoder = decodeHeaders(drawable.getBuffer());
+    AnimatedGifEncoder encoder = factory.buildEncoder();
+    if (!encoder.start(os)) {
+      return false;
+    }
+
+    ExecutorService executor = factory.getEncodeExecutor();
+    int maxPendingFrames = MAX_PENDING_FRAMES_PER_THREAD * GlideExecutor.calculateBestThreadCount();
+    // Frames have to be decoded in order and written in order, but can be transformed, quantized
+    // and compressed in any order.
+    Queue<PendingFrame> pendingFrames = new ArrayDeque<>(maxPendingFrames);
+    AnimatedGifEncoder.Palette palette = null;
+    try {
+      for (int i = 0; i < decoder.getFrameCount(); i++) {
+        Bitmap currentFrame = decoder.getNextFrame();
+        if (currentFrame == null) {
+          return false;
+        }
+        Resource<Bitmap> transformedResource =
+            getTransformedFrame(currentFrame, transformation, drawable);
+        if (useSharedPalette && palette == null) {
+          palette = buildPalette(transformedResource.get());
+        }
+        int delay = decoder.getDelay(decoder.getCurrentFrameIndex());
+        EncodeFrameTask task = new EncodeFrameTask(transformedResource, palette);
+        pendingFrames.add(new PendingFrame(task, executor.submit(task), delay));
+        decoder.advance();
+
+        if (pendingFrames.size() >= maxPendingFrames && !writeFrame(encoder, pendingFrames)) {
+          return false;
+        }
+      }
+      while (!pendingFrames.isEmpty()) {
+        if (!writeFrame(encoder, pendingFrames)) {
+          return false;
+        }
+      }
+    } finally {
+      for (PendingFrame pendingFrame : pendingFrames) {
+        pendingFrame.cancel();
+      }
+    }
+
+    return encoder.finish();
+  }
+
+  private static boolean writeFrame(AnimatedGifEncoder encoder, Queue<PendingFrame> pendingFrames) {
+    PendingFrame pendingFrame = pendingFrames.remove();
+    AnimatedGifEncoder.EncodedFrame encodedFrame;
+    try {
+      encodedFrame = pendingFrame.future.get();
+    } catch (InterruptedException e) {
+      pendingFrame.cancel();
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Failed to encode GIF frame", e.getCause());
+      }
+      return false;
+    }
+    encoder.setDelay(pendingFrame.delay);
+    return encoder.addFrame(encodedFrame);
+  }
+
+  private AnimatedGifEncoder.Palette buildPalette(Bitmap firstFrame) {
+    int pixelCount = firstFrame.getWidth() * firstFrame.getHeight();
+    int[] argbBuffer = obtainArray(pixelCount, int[].class);
+    byte[] bgrBuffer = obtainArray(pixelCount * 3, byte[].class);
+    try {
+      return AnimatedGifEncoder.buildPalette(
+          firstFrame, AnimatedGifEncoder.DEFAULT_QUALITY, argbBuffer, bgrBuffer);
+    } finally {
+      releaseArray(argbBuffer, int[].class);
+      releaseArray(bgrBuffer, byte[].class);
+    }
+  }
+
+  private <T> T obtainArray(int size, Class<T> arrayClass) {
+    if (arrayPool == null) {
+      return arrayClass == int[].class
+          ? arrayClass.cast(new int[size])
+          : arrayClass.cast(new byte[size]);
+    }
+    return arrayPool.get(size, arrayClass);
+  }
+
+  private <T> void releaseArray(T array, Class<T> arrayClass) {
+    if (arrayPool != null) {
+      arrayPool.put(array, arrayClass);
+    }
+  }
+
   private boolean writeDataDirect(ByteBuffer data, File file) {
     try {
       ByteBufferUtil.toFile(data, file);
@@ -212,6 +374,85 @@ public class ReEncodingGifResourceEncoder implements ResourceEncoder<GifDrawable
     return transformedResource;
   }
 
+  /**
+   * Quantizes and compresses a single transformed frame and then recycles it, or recycles it
+   * without encoding it if the task is cancelled before it starts.
+   */
+  private final class EncodeFrameTask implements Callable<AnimatedGifEncoder.EncodedFrame> {
+    private final Resource<Bitmap> frame;
+    @Nullable private final AnimatedGifEncoder.Palette palette;
+    // Set by whichever of call() and cancel() runs first, which then recycles the frame.
+    private final AtomicBoolean isFrameClaimed = new AtomicBoolean();
+
+    EncodeFrameTask(Resource<Bitmap> frame, @Nullable AnimatedGifEncoder.Palette palette) {
+      this.frame = frame;
+      this.palette = palette;
+    }
+
+    @Override
+    public AnimatedGifEncoder.EncodedFrame call() throws IOException {
+      if (!isFrameClaimed.compareAndSet(false, true)) {
+        throw new CancellationException("Cancelled before encoding started");
+      }
+      Bitmap bitmap = frame.get();
+      int pixelCount = bitmap.getWidth() * bitmap.getHeight();
+      int[] argbBuffer = obtainArray(pixelCount, int[].class);
+      byte[] bgrBuffer = obtainArray(pixelCount * 3, byte[].class);
+      byte[] indexBuffer = obtainArray(pixelCount, byte[].class);
+      try {
+        return AnimatedGifEncoder.encodeFrame(
+            bitmap,
+            palette,
+            AnimatedGifEncoder.DEFAULT_QUALITY,
+            argbBuffer,
+            bgrBuffer,
+            indexBuffer);
+      } finally {
+        releaseArray(argbBuffer, int[].class);
+        releaseArray(bgrBuffer, byte[].class);
+        releaseArray(indexBuffer, byte[].class);
+        frame.recycle();
+      }
+    }
+
+    void cancel() {
+      // Cancelling the Future doesn't stop a task that's running or guarantee that a queued task
+      // is never started, so the frame is only recycled here if call() hasn't claimed it.
+      if (isFrameClaimed.compareAndSet(false, true)) {
+        frame.recycle();
+      }
+    }
+  }
+
+  private static final class PendingFrame {
+    private final EncodeFrameTask task;
+    final Future<AnimatedGifEncoder.EncodedFrame> future;
+    final int delay;
+
+    PendingFrame(
+        EncodeFrameTask task, Future<AnimatedGifEncoder.EncodedFrame> future, int delay) {
+      this.task = task;
+      this.future = future;
+      this.delay = delay;
+    }
+
+    void cancel() {
+      future.cancel(/* mayInterruptIfRunning= */ false);
+      task.cancel();
+    }
+  }
+
+  /** Lazily creates the executor shared by all encoders to encode frames in parallel. */
+  private static final class EncodeExecutorHolder {
+    static final ExecutorService EXECUTOR =
+        GlideExecutor.newBackgroundExecutor(
+            "gif-encode", GlideExecutor.calculateBestThreadCount());
+
+    private EncodeExecutorHolder() {
+      // Utility class.
+    }
+  }
+
   @VisibleForTesting
   static class Factory {
 
@@ -231,5 +472,9 @@ public class ReEncodingGifResourceEncoder implements ResourceEncoder<GifDrawable
     Resource<Bitmap> buildFrameResource(@NonNull Bitmap bitmap, @NonNull BitmapPool bitmapPool) {
       return new BitmapResource(bitmap, bitmapPool);
     }
+
+    ExecutorService getEncodeExecutor() {
+      return EncodeExecutorHolder.EXECUTOR;
+    }
   }
 }
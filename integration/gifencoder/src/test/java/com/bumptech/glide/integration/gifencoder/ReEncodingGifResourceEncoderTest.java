@@ -32,6 +32,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -55,6 +59,8 @@ public class ReEncodingGifResourceEncoderTest {
   @Mock private Transformation<Bitmap> frameTransformation;
   @Mock private Resource<Bitmap> transformedResource;
 
+  private ReEncodingGifResourceEncoder.Factory factory;
+  private ExecutorService executorService;
   private ReEncodingGifResourceEncoder encoder;
   private Options options;
   private File file;
@@ -66,7 +72,8 @@ public class ReEncodingGifResourceEncoderTest {
 
     Application context = ApplicationProvider.getApplicationContext();
 
-    ReEncodingGifResourceEncoder.Factory factory = mock(ReEncodingGifResourceEncoder.Factory.class);
+    factory = mock(ReEncodingGifResourceEncoder.Factory.class);
+    executorService = Executors.newFixedThreadPool(2);
     when(decoder.getNextFrame()).thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
     when(factory.buildDecoder(any(GifDecoder.BitmapProvider.class))).thenReturn(decoder);
     when(factory.buildParser()).thenReturn(parser);
@@ -92,6 +99,7 @@ public class ReEncodingGifResourceEncoderTest {
 
   @After
   public void tearDown() {
+    executorService.shutdownNow();
     // GC before delete() to release files on Windows (https://stackoverflow.com/a/4213208/253468)
     System.gc();
     if (file.exists() && !file.delete()) {
@@ -322,6 +330,105 @@ public class ReEncodingGifResourceEncoderTest {
     verify(parser, never()).parseHeader();
   }
 
+  @Test
+  public void testParallelEncode_writesAllFramesInOrder() throws IOException {
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, true);
+    GifHeader header = encodeInParallelWithRealEncoder(/* frameCount= */ 5);
+
+    assertThat(header.getStatus()).isEqualTo(GifDecoder.STATUS_OK);
+    assertThat(header.getNumFrames()).isEqualTo(5);
+    assertThat(header.getWidth()).isEqualTo(20);
+    assertThat(header.getHeight()).isEqualTo(10);
+  }
+
+  @Test
+  public void testParallelEncode_withSharedPalette_writesAllFramesInOrder() throws IOException {
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, true);
+    options.set(ReEncodingGifResourceEncoder.SHARED_PALETTE, true);
+    GifHeader header = encodeInParallelWithRealEncoder(/* frameCount= */ 5);
+
+    assertThat(header.getStatus()).isEqualTo(GifDecoder.STATUS_OK);
+    assertThat(header.getNumFrames()).isEqualTo(5);
+  }
+
+  @Test
+  public void testParallelEncode_setsDelayBeforeAddingEachFrame() {
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, true);
+    when(factory.getEncodeExecutor()).thenReturn(executorService);
+    when(frameResource.get()).thenReturn(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+    when(decoder.getFrameCount()).thenReturn(2);
+    when(decoder.getCurrentFrameIndex()).thenReturn(0, 1);
+    when(decoder.getDelay(0)).thenReturn(100);
+    when(decoder.getDelay(1)).thenReturn(200);
+    when(gifEncoder.start(any(OutputStream.class))).thenReturn(true);
+    when(gifEncoder.addFrame(any(AnimatedGifEncoder.EncodedFrame.class))).thenReturn(true);
+    when(gifEncoder.finish()).thenReturn(true);
+
+    assertTrue(encoder.encode(resource, file, options));
+
+    InOrder order = inOrder(gifEncoder);
+    order.verify(gifEncoder).setDelay(100);
+    order.verify(gifEncoder).addFrame(any(AnimatedGifEncoder.EncodedFrame.class));
+    order.verify(gifEncoder).setDelay(200);
+    order.verify(gifEncoder).addFrame(any(AnimatedGifEncoder.EncodedFrame.class));
+    order.verify(gifEncoder).finish();
+  }
+
+  @Test
+  public void testParallelEncode_returnsFalseIfFrameCannotBeDecoded() {
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, true);
+    when(factory.getEncodeExecutor()).thenReturn(executorService);
+    when(decoder.getFrameCount()).thenReturn(1);
+    when(decoder.getNextFrame()).thenReturn(null);
+    when(gifEncoder.start(any(OutputStream.class))).thenReturn(true);
+    when(gifEncoder.finish()).thenReturn(true);
+
+    assertFalse(encoder.encode(resource, file, options));
+    verify(gifEncoder, never()).finish();
+  }
+
+  @Test
+  public void testParallelEncode_recyclesFramesThatWereNotEncoded() throws InterruptedException {
+    options.set(ReEncodingGifResourceEncoder.PARALLEL_ENCODE, true);
+    ExecutorService blockedExecutor = Executors.newSingleThreadExecutor();
+    final CountDownLatch latch = new CountDownLatch(1);
+    blockedExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              latch.await();
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+          }
+        });
+    when(factory.getEncodeExecutor()).thenReturn(blockedExecutor);
+    when(decoder.getFrameCount()).thenReturn(2);
+    when(decoder.getNextFrame())
+        .thenReturn(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888), (Bitmap) null);
+    when(gifEncoder.start(any(OutputStream.class))).thenReturn(true);
+
+    assertFalse(encoder.encode(resource, file, options));
+    verify(frameResource).recycle();
+
+    latch.countDown();
+    blockedExecutor.shutdown();
+    assertTrue(blockedExecutor.awaitTermination(5, TimeUnit.SECONDS));
+    verify(frameResource).recycle();
+  }
+
+  private GifHeader encodeInParallelWithRealEncoder(int frameCount) throws IOException {
+    when(factory.getEncodeExecutor()).thenReturn(executorService);
+    when(factory.buildEncoder()).thenReturn(new AnimatedGifEncoder());
+    when(decoder.getFrameCount()).thenReturn(frameCount);
+    when(frameResource.get()).thenReturn(Bitmap.createBitmap(20, 10, Bitmap.Config.ARGB_8888));
+
+    assertTrue(encoder.encode(resource, file, options));
+
+    return new GifHeaderParser().setData(ByteBufferUtil.fromFile(file)).parseHeader();
+  }
+
   private String getEncodedData() {
     try {
       return new String(ByteBufferUtil.toBytes(ByteBufferUtil.fromFile(file)));
@@ -2,9 +2,11 @@ package com.bumptech.glide.integration.okhttp3;
 
 import android.util.Log;
 import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.HttpException;
+import com.bumptech.glide.load.data.CancelledFetchMetrics;
 import com.bumptech.glide.load.data.DataFetcher;
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.util.ContentLengthInputStream;
@@ -17,23 +19,54 @@ import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
-/** Fetches an {@link InputStream} using the okhttp library. */
+/**
+ * Fetches an {@link InputStream} using the okhttp library.
+ *
+ * <p>Requests are run asynchronously on the client's dispatcher, so no Glide thread waits for the
+ * response headers. If the response body is buffered, see {@link #OkHttpStreamFetcher(Call.Factory,
+ * GlideUrl, boolean)}, no Glide thread waits for the body either.
+ */
 public class OkHttpStreamFetcher implements DataFetcher<InputStream>, okhttp3.Callback {
   private static final String TAG = "OkHttpFetcher";
+
+  /**
+   * The largest response body that's buffered when buffering is enabled, larger bodies are
+   * streamed.
+   */
+  @VisibleForTesting static final long MAX_BUFFERED_BODY_BYTES = 4 * 1024 * 1024;
+
   private final Call.Factory client;
   private final GlideUrl url;
-  private InputStream stream;
+  private final boolean isResponseBodyBuffered;
   private ResponseBody responseBody;
   private DataCallback<? super InputStream> callback;
-  // call may be accessed on the main thread while the object is in use on other threads. All other
-  // accesses to variables may occur on different threads, but only one at a time.
+  // call and stream may be accessed on the main thread while the object is in use on other
+  // threads. All other accesses to variables may occur on different threads, but only one at a
+  // time.
   private volatile Call call;
+  private volatile InputStream stream;
 
   // Public API.
   @SuppressWarnings("WeakerAccess")
   public OkHttpStreamFetcher(Call.Factory client, GlideUrl url) {
+    this(client, url, /* isResponseBodyBuffered= */ false);
+  }
+
+  /**
+   * @param isResponseBodyBuffered {@code true} to download the entire response body into memory
+   *     on the client's thread before returning the stream, so that Glide's threads only decode
+   *     data that's already available. {@code false} to return the stream once the headers arrive,
+   *     in which case the body is downloaded on a Glide thread as it's decoded. At most 4 MiB of
+   *     each body is buffered. Bodies whose content length is larger are streamed as if buffering
+   *     were disabled, and bodies of unknown length that turn out to be larger are streamed after
+   *     their first 4 MiB.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public OkHttpStreamFetcher(Call.Factory client, GlideUrl url, boolean isResponseBodyBuffered) {
     this.client = client;
     this.url = url;
+    this.isResponseBodyBuffered = isResponseBodyBuffered;
   }
 
   @Override
@@ -65,6 +98,17 @@ public class OkHttpStreamFetcher implements DataFetcher<InputStream>, okhttp3.Ca
     responseBody = response.body();
     if (response.isSuccessful()) {
       long contentLength = Preconditions.checkNotNull(responseBody).contentLength();
+      if (isResponseBodyBuffered && contentLength <= MAX_BUFFERED_BODY_BYTES) {
+        try {
+          // Reads until the end of the body, which keeps the whole body in the source's buffer,
+          // or until the body is known to be too large to buffer, in which case the rest of it is
+          // read from the stream as it's decoded.
+          responseBody.source().request(MAX_BUFFERED_BODY_BYTES + 1);
+        } catch (IOException e) {
+          onFailure(call, e);
+          return;
+        }
+      }
       stream = ContentLengthInputStream.obtain(responseBody.byteStream(), contentLength);
       callback.onDataReady(stream);
     } else {
@@ -74,6 +118,8 @@ public class OkHttpStreamFetcher implements DataFetcher<InputStream>, okhttp3.Ca
 
   @Override
   public void cleanup() {
+    // The fetch is finished, there's nothing left to cancel.
+    call = null;
     try {
       if (stream != null) {
         stream.close();
@@ -87,11 +133,16 @@ public class OkHttpStreamFetcher implements DataFetcher<InputStream>, okhttp3.Ca
     callback = null;
   }
 
+  /**
+   * Cancels the {@link Call}, which closes its connection and aborts any reads from the response
+   * body that are in progress on other threads.
+   */
   @Override
   public void cancel() {
     Call local = call;
-    if (local != null) {
+    if (local != null && !local.isCanceled()) {
       local.cancel();
+      CancelledFetchMetrics.onFetchCancelled(stream);
     }
   }
 
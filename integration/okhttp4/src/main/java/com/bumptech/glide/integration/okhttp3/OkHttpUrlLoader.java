@@ -14,11 +14,23 @@ import okhttp3.OkHttpClient;
 public class OkHttpUrlLoader implements ModelLoader<GlideUrl, InputStream> {
 
   private final Call.Factory client;
+  private final boolean isResponseBodyBuffered;
 
   // Public API.
   @SuppressWarnings("WeakerAccess")
   public OkHttpUrlLoader(@NonNull Call.Factory client) {
+    this(client, /* isResponseBodyBuffered= */ false);
+  }
+
+  /**
+   * @param isResponseBodyBuffered See {@link OkHttpStreamFetcher#OkHttpStreamFetcher(Call.Factory,
+   *     GlideUrl, boolean)}.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public OkHttpUrlLoader(@NonNull Call.Factory client, boolean isResponseBodyBuffered) {
     this.client = client;
+    this.isResponseBodyBuffered = isResponseBodyBuffered;
   }
 
   @Override
@@ -29,7 +41,7 @@ public class OkHttpUrlLoader implements ModelLoader<GlideUrl, InputStream> {
   @Override
   public LoadData<InputStream> buildLoadData(
       @NonNull GlideUrl model, int width, int height, @NonNull Options options) {
-    return new LoadData<>(model, new OkHttpStreamFetcher(client, model));
+    return new LoadData<>(model, new OkHttpStreamFetcher(client, model, isResponseBodyBuffered));
   }
 
   /** The default factory for {@link OkHttpUrlLoader}s. */
@@ -38,6 +50,7 @@ public class OkHttpUrlLoader implements ModelLoader<GlideUrl, InputStream> {
   public static class Factory implements ModelLoaderFactory<GlideUrl, InputStream> {
     private static volatile Call.Factory internalClient;
     private final Call.Factory client;
+    private final boolean isResponseBodyBuffered;
 
     private static Call.Factory getInternalClient() {
       if (internalClient == null) {
@@ -61,13 +74,30 @@ public class OkHttpUrlLoader implements ModelLoader<GlideUrl, InputStream> {
      * @param client this is typically an instance of {@code OkHttpClient}.
      */
     public Factory(@NonNull Call.Factory client) {
+      this(client, /* isResponseBodyBuffered= */ false);
+    }
+
+    /**
+     * Constructor for a new Factory that runs requests using given client.
+     *
+     * <p>Buffering the response body lets a few Glide threads decode the results of many
+     * concurrent requests because no Glide thread waits on the network. The cost is that each
+     * response is held in memory until it's decoded.
+     *
+     * @param client this is typically an instance of {@code OkHttpClient}.
+     * @param isResponseBodyBuffered {@code true} to download the entire response body on the
+     *     client's threads before decoding it, up to the limit described in {@link
+     *     OkHttpStreamFetcher#OkHttpStreamFetcher(Call.Factory, GlideUrl, boolean)}.
+     */
+    public Factory(@NonNull Call.Factory client, boolean isResponseBodyBuffered) {
       this.client = client;
+      this.isResponseBodyBuffered = isResponseBodyBuffered;
     }
 
     @NonNull
     @Override
     public ModelLoader<GlideUrl, InputStream> build(MultiModelLoaderFactory multiFactory) {
-      return new OkHttpUrlLoader(client);
+      return new OkHttpUrlLoader(client, isResponseBodyBuffered);
     }
 
     @Override
@@ -0,0 +1,207 @@
+package com.bumptech.glide.integration.okhttp3;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.bumptech.glide.testutil.TestUtil.assertStreamOf;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.GlideUrl;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/** Tests {@link OkHttpStreamFetcher} with buffered response bodies against server responses. */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = ROBOLECTRIC_SDK)
+public class OkHttpStreamFetcherServerTest {
+  private static final String DEFAULT_PATH = "/fakepath";
+  private static final String BODY = newBody(4 * 1024);
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @Mock private DataFetcher.DataCallback<InputStream> callback;
+
+  private final CountDownLatch waitForResponseLatch = new CountDownLatch(1);
+  private final CountDownLatch bodyStartedLatch = new CountDownLatch(1);
+  // The number of body bytes OkHttp had read when it stopped reading the body, or -1 if it hasn't
+  // stopped.
+  private final AtomicLong bodyBytesRead = new AtomicLong(-1);
+  private MockWebServer mockWebServer;
+  private OkHttpClient client;
+
+  @Before
+  public void setUp() throws IOException {
+    MockitoAnnotations.initMocks(this);
+
+    doAnswer(new CountDown()).when(callback).onDataReady(any(InputStream.class));
+    doAnswer(new CountDown()).when(callback).onLoadFailed(any(Exception.class));
+    client = new OkHttpClient.Builder().eventListener(new BodyEventListener()).build();
+    mockWebServer = new MockWebServer();
+    mockWebServer.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    mockWebServer.shutdown();
+  }
+
+  @Test
+  public void loadData_withBufferedBody_callsOnDataReadyAfterBodyIsRead() throws Exception {
+    mockWebServer.enqueue(
+        new MockResponse().setBody(BODY).throttleBody(1024, 50, TimeUnit.MILLISECONDS));
+    final AtomicLong bodyBytesReadWhenReady = new AtomicLong();
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                bodyBytesReadWhenReady.set(bodyBytesRead.get());
+                waitForResponseLatch.countDown();
+                return null;
+              }
+            })
+        .when(callback)
+        .onDataReady(any(InputStream.class));
+
+    OkHttpStreamFetcher fetcher = getFetcher();
+    fetcher.loadData(Priority.NORMAL, callback);
+
+    assertThat(waitForResponseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(bodyBytesReadWhenReady.get()).isEqualTo(BODY.length());
+    ArgumentCaptor<InputStream> streamCaptor = ArgumentCaptor.forClass(InputStream.class);
+    verify(callback).onDataReady(streamCaptor.capture());
+    assertStreamOf(BODY, streamCaptor.getValue());
+    fetcher.cleanup();
+  }
+
+  @Test
+  public void loadData_withBufferedBody_largerThanMax_streamsBody() throws Exception {
+    String body = newBody((int) OkHttpStreamFetcher.MAX_BUFFERED_BODY_BYTES + 1);
+    mockWebServer.enqueue(new MockResponse().setBody(body));
+
+    assertBodyStreamed(body);
+  }
+
+  @Test
+  public void loadData_withBufferedBody_ofUnknownLengthLargerThanMax_streamsRestOfBody()
+      throws Exception {
+    String body = newBody((int) OkHttpStreamFetcher.MAX_BUFFERED_BODY_BYTES * 2);
+    mockWebServer.enqueue(new MockResponse().setChunkedBody(body, /* maxChunkSize= */ 64 * 1024));
+
+    assertBodyStreamed(body);
+  }
+
+  @Test
+  public void loadData_withBufferedBody_andReadFailure_callsOnLoadFailed() throws Exception {
+    mockWebServer.enqueue(
+        new MockResponse()
+            .setBody(BODY)
+            .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+
+    getFetcher().loadData(Priority.NORMAL, callback);
+
+    assertThat(waitForResponseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    verify(callback).onLoadFailed(isA(IOException.class));
+    verify(callback, never()).onDataReady(any(InputStream.class));
+  }
+
+  @Test
+  public void cancel_whileBufferingBody_abortsReadAndCallsOnLoadFailed() throws Exception {
+    // Sending the whole body at this rate would take more than an hour.
+    mockWebServer.enqueue(new MockResponse().setBody(BODY).throttleBody(1, 1, TimeUnit.SECONDS));
+    OkHttpStreamFetcher fetcher = getFetcher();
+    fetcher.loadData(Priority.NORMAL, callback);
+    assertThat(bodyStartedLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+    fetcher.cancel();
+
+    assertThat(waitForResponseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    verify(callback).onLoadFailed(isA(IOException.class));
+    verify(callback, never()).onDataReady(any(InputStream.class));
+    assertThat(bodyBytesRead.get()).isLessThan((long) BODY.length());
+  }
+
+  private void assertBodyStreamed(String body) throws Exception {
+    final AtomicLong bodyBytesReadWhenReady = new AtomicLong();
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                bodyBytesReadWhenReady.set(bodyBytesRead.get());
+                waitForResponseLatch.countDown();
+                return null;
+              }
+            })
+        .when(callback)
+        .onDataReady(any(InputStream.class));
+
+    OkHttpStreamFetcher fetcher = getFetcher();
+    fetcher.loadData(Priority.NORMAL, callback);
+
+    assertThat(waitForResponseLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(bodyBytesReadWhenReady.get()).isEqualTo(-1);
+    ArgumentCaptor<InputStream> streamCaptor = ArgumentCaptor.forClass(InputStream.class);
+    verify(callback).onDataReady(streamCaptor.capture());
+    assertStreamOf(body, streamCaptor.getValue());
+    fetcher.cleanup();
+  }
+
+  private OkHttpStreamFetcher getFetcher() {
+    return new OkHttpStreamFetcher(
+        client,
+        new GlideUrl(mockWebServer.url(DEFAULT_PATH).toString()),
+        /* isResponseBodyBuffered= */ true);
+  }
+
+  private static String newBody(int length) {
+    char[] body = new char[length];
+    Arrays.fill(body, 'a');
+    return new String(body);
+  }
+
+  private class CountDown implements Answer<Void> {
+
+    @Override
+    public Void answer(InvocationOnMock invocation) throws Throwable {
+      waitForResponseLatch.countDown();
+      return null;
+    }
+  }
+
+  private class BodyEventListener extends EventListener {
+
+    @Override
+    public void responseBodyStart(Call call) {
+      bodyStartedLatch.countDown();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+      bodyBytesRead.set(byteCount);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import androidx.annotation.NonNull;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentActivity;
 import androidx.recyclerview.widget.RecyclerView;
+import com.bumptech.glide.AdaptiveListPreloader;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.ListPreloader;
 import com.bumptech.glide.ListPreloader.PreloadModelProvider;
@@ -94,6 +95,16 @@ public final class RecyclerViewPreloader<T> extends RecyclerView.OnScrollListene
     recyclerScrollListener = new RecyclerToListViewScrollListener(listPreloader);
   }
 
+  /**
+   * Constructor that uses an {@link AdaptiveListPreloader}, which adjusts the number of items it
+   * preloads to the scroll velocity and the time preloads take to complete.
+   *
+   * @param preloader The preloader to forward scroll events to.
+   */
+  public RecyclerViewPreloader(@NonNull AdaptiveListPreloader<T> preloader) {
+    recyclerScrollListener = new RecyclerToListViewScrollListener(preloader);
+  }
+
   @Override
   public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
     recyclerScrollListener.onScrolled(recyclerView, dx, dy);
@@ -0,0 +1,286 @@
+package com.bumptech.glide;
+
+import android.graphics.drawable.Drawable;
+import android.os.SystemClock;
+import android.widget.AbsListView;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.ListPreloader.PreloadModelProvider;
+import com.bumptech.glide.ListPreloader.PreloadSizeProvider;
+import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.Util;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Loads resources ahead in the direction of scrolling in any {@link AbsListView}, like {@link
+ * ListPreloader}, but sizes the number of items it preloads based on how fast the list is scrolled
+ * and how long preloads take to finish.
+ *
+ * <p>The preload window covers the items expected to scroll into view while a preload is in
+ * progress, measured from the rate at which the first visible position changes and from the time
+ * between starting each preload and its completion. Slow scrolls preload only {@code maxInFlight}
+ * items, fast flings preload up to {@code maxPreload} items.
+ *
+ * <p>At most {@code maxInFlight} preloads run at a time. Rather than cancelling every preload when
+ * the scroll direction changes, only the unfinished preloads that are behind the visible range,
+ * either because the list scrolled past them or because the direction changed, are cancelled.
+ *
+ * <p>Must be put using {@link
+ * AbsListView#setOnScrollListener(android.widget.AbsListView.OnScrollListener)}, or have its
+ * corresponding methods called from another {@link android.widget.AbsListView.OnScrollListener} to
+ * function.
+ *
+ * @param <T> The type of the model being displayed in the list.
+ */
+public class AdaptiveListPreloader<T> implements AbsListView.OnScrollListener {
+  // Used until the first preload completes.
+  private static final float DEFAULT_LOAD_LATENCY_MS = 100f;
+  // Scroll events further apart than this start a new velocity measurement.
+  private static final long VELOCITY_RESET_MS = 500;
+  // The weight of each new sample in the running averages of velocity and latency.
+  private static final float SMOOTHING_FACTOR = 0.3f;
+  // Preload enough items to cover loads that take up to twice as long as the average.
+  private static final float LATENCY_HEADROOM = 2f;
+  private static final int UNSET = Integer.MIN_VALUE;
+
+  private final RequestManager requestManager;
+  private final ItemPreloader<T> itemPreloader;
+  private final int maxPreload;
+  private final int maxInFlight;
+  private final Queue<AdaptivePreloadTarget> targets;
+  private final ItemPreloader.TargetProvider targetProvider =
+      new ItemPreloader.TargetProvider() {
+        @Nullable
+        @Override
+        public PreloadTarget obtainTarget(int position) {
+          return startPreload(position);
+        }
+      };
+
+  private int totalItemCount;
+  private int lastFirstVisible = -1;
+  private long lastScrollTime;
+  private boolean isIncreasing = true;
+  private boolean isPreloading;
+  // The next position to preload and the first position after the end of the preload window.
+  private int nextPosition = UNSET;
+  private int windowEnd = UNSET;
+
+  private float itemsPerMs;
+  private float loadLatencyMs = DEFAULT_LOAD_LATENCY_MS;
+  private int inFlight;
+
+  /**
+   * @param preloadModelProvider Provides models to load and requests capable of loading them.
+   * @param preloadDimensionProvider Provides the dimensions of images to load.
+   * @param maxPreload Maximum number of items to preload, used while the list is scrolled quickly.
+   * @param maxInFlight Maximum number of preloads that may be running at the same time, at most
+   *     {@code maxPreload}.
+   */
+  public AdaptiveListPreloader(
+      @NonNull RequestManager requestManager,
+      @NonNull PreloadModelProvider<T> preloadModelProvider,
+      @NonNull PreloadSizeProvider<T> preloadDimensionProvider,
+      int maxPreload,
+      int maxInFlight) {
+    Preconditions.checkArgument(maxPreload > 0, "maxPreload must be > 0: " + maxPreload);
+    Preconditions.checkArgument(
+        maxInFlight > 0 && maxInFlight <= maxPreload,
+        "maxInFlight must be > 0 and <= maxPreload: " + maxInFlight);
+    this.requestManager = requestManager;
+    itemPreloader = new ItemPreloader<>(preloadModelProvider, preloadDimensionProvider);
+    this.maxPreload = maxPreload;
+    this.maxInFlight = maxInFlight;
+    targets = createTargets(maxPreload + 1);
+  }
+
+  @Override
+  public void onScrollStateChanged(AbsListView absListView, int scrollState) {
+    // Do nothing.
+  }
+
+  @Override
+  public void onScroll(
+      AbsListView absListView, int firstVisible, int visibleCount, int totalCount) {
+    if (totalItemCount == 0 && totalCount == 0) {
+      return;
+    }
+    totalItemCount = totalCount;
+    if (firstVisible == lastFirstVisible) {
+      return;
+    }
+    long now = SystemClock.uptimeMillis();
+    if (lastFirstVisible != -1) {
+      updateVelocity(Math.abs(firstVisible - lastFirstVisible), now - lastScrollTime);
+    }
+    boolean increasing = firstVisible > lastFirstVisible;
+    lastFirstVisible = firstVisible;
+    lastScrollTime = now;
+
+    int endVisible = firstVisible + visibleCount;
+    cancelStale(increasing, firstVisible, endVisible);
+
+    int start = increasing ? endVisible : firstVisible - 1;
+    int window = getPreloadWindow();
+    windowEnd =
+        increasing ? Math.min(totalItemCount, start + window) : Math.max(-1, start - window);
+    if (increasing != isIncreasing || nextPosition == UNSET || isBefore(nextPosition, start)) {
+      nextPosition = start;
+    }
+    isIncreasing = increasing;
+    preloadWindow();
+  }
+
+  @VisibleForTesting
+  int getPreloadWindow() {
+    int expectedItems = (int) Math.ceil(itemsPerMs * loadLatencyMs * LATENCY_HEADROOM);
+    return Math.max(maxInFlight, Math.min(maxPreload, expectedItems));
+  }
+
+  @VisibleForTesting
+  int getInFlightCount() {
+    return inFlight;
+  }
+
+  private void updateVelocity(int items, long elapsedMs) {
+    float velocity = items / (float) Math.max(1, elapsedMs);
+    if (elapsedMs > VELOCITY_RESET_MS) {
+      itemsPerMs = velocity;
+    } else {
+      itemsPerMs += SMOOTHING_FACTOR * (velocity - itemsPerMs);
+    }
+  }
+
+  private boolean isBefore(int position, int other) {
+    return isIncreasing ? position < other : position > other;
+  }
+
+  private void cancelStale(boolean increasing, int firstVisible, int endVisible) {
+    for (AdaptivePreloadTarget target : targets) {
+      if (!target.isInFlight) {
+        continue;
+      }
+      boolean isBehind =
+          increasing ? target.position < firstVisible : target.position >= endVisible;
+      if (isBehind) {
+        onPreloadCancelled(target);
+        requestManager.clear(target);
+      }
+    }
+  }
+
+  private void preloadWindow() {
+    // Preloads may complete synchronously, which calls back into this method.
+    if (isPreloading || nextPosition == UNSET) {
+      return;
+    }
+    isPreloading = true;
+    try {
+      while (inFlight < maxInFlight && isBefore(nextPosition, windowEnd)) {
+        int position = nextPosition;
+        List<T> items = itemPreloader.getPreloadItems(position);
+        // Wait for running preloads to finish rather than dropping the items that there aren't
+        // idle targets for, unless the position has more items than there are targets.
+        if (inFlight > 0 && items.size() > targets.size() - inFlight) {
+          break;
+        }
+        nextPosition += isIncreasing ? 1 : -1;
+        itemPreloader.preloadAdapterPosition(
+            items, position, isIncreasing, /* isDiskOnly= */ false, targetProvider);
+      }
+    } finally {
+      isPreloading = false;
+    }
+  }
+
+  @Synthetic
+  @Nullable
+  PreloadTarget startPreload(int position) {
+    AdaptivePreloadTarget target = nextIdleTarget();
+    if (target == null) {
+      return null;
+    }
+    // Release the previously preloaded resource now so that clearing the old request isn't
+    // mistaken for cancelling the new one.
+    requestManager.clear(target);
+    target.position = position;
+    target.startTime = SystemClock.uptimeMillis();
+    target.isInFlight = true;
+    inFlight++;
+    return target;
+  }
+
+  // Reuses the least recently used target that isn't loading. Targets that finished loading keep
+  // their resource until they're reused, which keeps recently preloaded resources in memory.
+  @Nullable
+  private AdaptivePreloadTarget nextIdleTarget() {
+    for (int i = 0; i < targets.size(); i++) {
+      AdaptivePreloadTarget target = targets.poll();
+      targets.offer(target);
+      if (!target.isInFlight) {
+        return target;
+      }
+    }
+    // Only possible if a position contains more items than there are targets.
+    return null;
+  }
+
+  @Synthetic
+  void onPreloadFinished(AdaptivePreloadTarget target) {
+    if (!target.isInFlight) {
+      return;
+    }
+    target.isInFlight = false;
+    inFlight--;
+    long latency = SystemClock.uptimeMillis() - target.startTime;
+    loadLatencyMs += SMOOTHING_FACTOR * (latency - loadLatencyMs);
+    preloadWindow();
+  }
+
+  @Synthetic
+  void onPreloadCancelled(AdaptivePreloadTarget target) {
+    if (target.isInFlight) {
+      target.isInFlight = false;
+      inFlight--;
+    }
+  }
+
+  // The loop is short and the only point is to create the objects.
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  private Queue<AdaptivePreloadTarget> createTargets(int size) {
+    Queue<AdaptivePreloadTarget> result = Util.createQueue(size);
+    for (int i = 0; i < size; i++) {
+      result.offer(new AdaptivePreloadTarget());
+    }
+    return result;
+  }
+
+  private final class AdaptivePreloadTarget extends PreloadTarget {
+    @Synthetic int position;
+    @Synthetic long startTime;
+    @Synthetic boolean isInFlight;
+
+    @Synthetic
+    AdaptivePreloadTarget() {}
+
+    @Override
+    public void onLoadFailed(@Nullable Drawable errorDrawable) {
+      onPreloadFinished(this);
+    }
+
+    @Override
+    public void onResourceReady(
+        @NonNull Object resource, @Nullable Transition<? super Object> transition) {
+      onPreloadFinished(this);
+    }
+
+    @Override
+    public void onLoadCleared(@Nullable Drawable placeholder) {
+      onPreloadCancelled(this);
+    }
+  }
+}
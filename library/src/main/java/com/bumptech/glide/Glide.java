@@ -15,15 +15,20 @@ import androidx.annotation.VisibleForTesting;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentActivity;
 import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DeferredEncodeQueue;
 import com.bumptech.glide.load.engine.Engine;
+import com.bumptech.glide.load.engine.NetworkFetchScheduler;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.engine.cache.MemoryCache;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
+import com.bumptech.glide.load.engine.prefill.AutoBitmapPreFiller;
 import com.bumptech.glide.load.engine.prefill.BitmapPreFiller;
 import com.bumptech.glide.load.engine.prefill.PreFillType;
 import com.bumptech.glide.load.engine.prefill.PreFillType.Builder;
 import com.bumptech.glide.load.resource.bitmap.Downsampler;
 import com.bumptech.glide.load.resource.bitmap.HardwareConfigState;
+import com.bumptech.glide.manager.AnimationThrottler;
 import com.bumptech.glide.manager.ConnectivityMonitorFactory;
 import com.bumptech.glide.manager.RequestManagerRetriever;
 import com.bumptech.glide.module.AppGlideModule;
@@ -33,6 +38,7 @@ import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.RequestOptions;
 import com.bumptech.glide.request.target.ImageViewTargetFactory;
 import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.Executors;
 import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
 import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Util;
@@ -70,6 +76,10 @@ public class Glide implements ComponentCallbacks2 {
   private final ArrayPool arrayPool;
   private final RequestManagerRetriever requestManagerRetriever;
   private final ConnectivityMonitorFactory connectivityMonitorFactory;
+  private final AnimationThrottler animationThrottler;
+  @Nullable private final DeferredEncodeQueue deferredEncodeQueue;
+  @Nullable private final AutoBitmapPreFiller autoBitmapPreFiller;
+  private final GlideExecutor gifIndexingExecutor;
 
   @GuardedBy("managers")
   private final List<RequestManager> managers = new ArrayList<>();
@@ -207,6 +217,13 @@ public class Glide implements ComponentCallbacks2 {
       if (glide != null) {
         glide.getContext().getApplicationContext().unregisterComponentCallbacks(glide);
         glide.engine.shutdown();
+        if (glide.deferredEncodeQueue != null) {
+          glide.deferredEncodeQueue.clear();
+        }
+        if (glide.autoBitmapPreFiller != null) {
+          glide.autoBitmapPreFiller.stop();
+        }
+        Executors.shutdownAndAwaitTermination(glide.gifIndexingExecutor);
       }
       glide = null;
     }
@@ -323,13 +340,22 @@ public class Glide implements ComponentCallbacks2 {
       @NonNull List<RequestListener<Object>> defaultRequestListeners,
       @NonNull List<GlideModule> manifestModules,
       @Nullable AppGlideModule annotationGeneratedModule,
-      @NonNull GlideExperiments experiments) {
+      @NonNull GlideExperiments experiments,
+      @NonNull AnimationThrottler animationThrottler,
+      @Nullable NetworkFetchScheduler networkFetchScheduler,
+      @Nullable DeferredEncodeQueue deferredEncodeQueue,
+      @Nullable AutoBitmapPreFiller autoBitmapPreFiller,
+      @NonNull GlideExecutor gifIndexingExecutor) {
     this.engine = engine;
     this.bitmapPool = bitmapPool;
     this.arrayPool = arrayPool;
     this.memoryCache = memoryCache;
     this.requestManagerRetriever = requestManagerRetriever;
     this.connectivityMonitorFactory = connectivityMonitorFactory;
+    this.animationThrottler = animationThrottler;
+    this.deferredEncodeQueue = deferredEncodeQueue;
+    this.autoBitmapPreFiller = autoBitmapPreFiller;
+    this.gifIndexingExecutor = gifIndexingExecutor;
     this.defaultRequestOptionsFactory = defaultRequestOptionsFactory;
 
     // This has a circular relationship with Glide and GlideContext in that it depends on both,
@@ -351,7 +377,13 @@ public class Glide implements ComponentCallbacks2 {
             defaultRequestListeners,
             engine,
             experiments,
-            logLevel);
+            logLevel,
+            networkFetchScheduler,
+            deferredEncodeQueue);
+
+    if (autoBitmapPreFiller != null) {
+      autoBitmapPreFiller.start();
+    }
   }
 
   /**
@@ -394,6 +426,39 @@ public class Glide implements ComponentCallbacks2 {
     return connectivityMonitorFactory;
   }
 
+  /**
+   * Returns the executor that indexes the frames of GIFs decoded with {@link
+   * com.bumptech.glide.load.resource.gif.GifOptions#LAZY_HEADER_PARSING}.
+   */
+  @NonNull
+  GlideExecutor getGifIndexingExecutor() {
+    return gifIndexingExecutor;
+  }
+
+  /**
+   * Returns the {@link AnimationThrottler} that decides which animations may load frames.
+   *
+   * @see GlideBuilder#setMaxRunningAnimations(int)
+   */
+  @NonNull
+  public AnimationThrottler getAnimationThrottler() {
+    return animationThrottler;
+  }
+
+  /**
+   * Returns the queue that writes resources to the disk cache after their loads complete, which
+   * can be paused while a list is scrolling, or {@code null} if resources are written by the thread
+   * that decoded them.
+   *
+   * @see GlideBuilder#setDeferResourceCacheEncodes(boolean)
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @Nullable
+  public DeferredEncodeQueue getDeferredEncodeQueue() {
+    return deferredEncodeQueue;
+  }
+
   @NonNull
   GlideContext getGlideContext() {
     return glideContext;
@@ -407,7 +472,8 @@ public class Glide implements ComponentCallbacks2 {
    * given sizes, where each size gets (weight / prefillWeightSum) percent of the pool to fill.
    *
    * <p>Note - Pre-filling is done asynchronously using and {@link IdleHandler}. Any currently
-   * running pre-fill will be cancelled and replaced by a call to this method.
+   * running pre-fill will be cancelled and replaced by a call to this method, including the
+   * pre-fill enabled by {@link GlideBuilder#setAutoPreFillBitmapPool(float)}.
    *
    * <p>This method should be used with caution, overly aggressive pre-filling is substantially
    * worse than not pre-filling at all. Pre-filling should only be started in onCreate to avoid
@@ -422,6 +488,9 @@ public class Glide implements ComponentCallbacks2 {
   @SuppressWarnings("unused") // Public API
   public synchronized void preFillBitmapPool(
       @NonNull PreFillType.Builder... bitmapAttributeBuilders) {
+    if (autoBitmapPreFiller != null) {
+      autoBitmapPreFiller.cancelPreFill();
+    }
     if (bitmapPreFiller == null) {
       DecodeFormat decodeFormat =
           defaultRequestOptionsFactory.build().getOptions().get(Downsampler.DECODE_FORMAT);
@@ -440,6 +509,11 @@ public class Glide implements ComponentCallbacks2 {
   public void clearMemory() {
     // Engine asserts this anyway when removing resources, fail faster and consistently
     Util.assertMainThread();
+    // Queued encodes hold on to their resources, so they need to be dropped first for the memory
+    // cache and bitmap pool to be able to free them.
+    if (deferredEncodeQueue != null) {
+      deferredEncodeQueue.clear();
+    }
     // memory cache needs to be cleared before bitmap pool to clear re-pooled Bitmaps too. See #687.
     memoryCache.clearMemory();
     bitmapPool.clearMemory();
@@ -461,6 +535,12 @@ public class Glide implements ComponentCallbacks2 {
         manager.onTrimMemory(level);
       }
     }
+    if (deferredEncodeQueue != null) {
+      deferredEncodeQueue.trimMemory(level);
+    }
+    if (autoBitmapPreFiller != null) {
+      autoBitmapPreFiller.trimMemory(level);
+    }
     // memory cache needs to be trimmed before bitmap pool to trim re-pooled Bitmaps too. See #687.
     memoryCache.trimMemory(level);
     bitmapPool.trimMemory(level);
@@ -10,8 +10,10 @@ import androidx.collection.ArrayMap;
 import com.bumptech.glide.Glide.RequestOptionsFactory;
 import com.bumptech.glide.GlideExperiments.Experiment;
 import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.engine.DeferredEncodeQueue;
 import com.bumptech.glide.load.engine.Engine;
 import com.bumptech.glide.load.engine.GlideException;
+import com.bumptech.glide.load.engine.NetworkFetchScheduler;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
@@ -23,6 +25,8 @@ import com.bumptech.glide.load.engine.cache.LruResourceCache;
 import com.bumptech.glide.load.engine.cache.MemoryCache;
 import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
 import com.bumptech.glide.load.engine.executor.GlideExecutor;
+import com.bumptech.glide.load.engine.prefill.AutoBitmapPreFiller;
+import com.bumptech.glide.manager.AnimationThrottler;
 import com.bumptech.glide.manager.ConnectivityMonitorFactory;
 import com.bumptech.glide.manager.DefaultConnectivityMonitorFactory;
 import com.bumptech.glide.manager.RequestManagerRetriever;
@@ -65,6 +69,12 @@ public final class GlideBuilder {
   @Nullable private RequestManagerFactory requestManagerFactory;
   private GlideExecutor animationExecutor;
   private boolean isActiveResourceRetentionAllowed;
+  private boolean isStartLoadsOffMainThread;
+  private boolean isVirtualThreadsForIoEnabled;
+  private boolean isDeferResourceCacheEncodes;
+  private int maxRunningAnimations = AnimationThrottler.UNLIMITED;
+  private int maxConcurrentNetworkFetchesPerHost;
+  private float autoPreFillBitmapPoolFraction;
   @Nullable private List<RequestListener<Object>> defaultRequestListeners;
 
   /**
@@ -414,6 +424,163 @@ public final class GlideBuilder {
     return this;
   }
 
+  /**
+   * If set to {@code true}, checks the memory caches and starts or joins jobs for loads on a
+   * dedicated background thread, rather than on the main thread once the size of the {@link
+   * Target} is known.
+   *
+   * <p>Building cache keys and acquiring the locks that guard the memory caches is usually fast,
+   * but may add up on busy main threads that start lots of loads at once, for example when a list
+   * is first displayed. The {@link Target}'s size is still determined on the main thread.
+   *
+   * <p>The downside is that resources found in memory are no longer set synchronously when {@link
+   * RequestBuilder#into(Target)} is called and the size is already known. Instead they're posted
+   * back to the main thread, so the {@link Target} shows its placeholder for at least one frame.
+   *
+   * <p>Ignored if a custom {@link Engine} is set using {@link #setEngine(Engine)}. Defaults to
+   * {@code false}.
+   *
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setStartLoadsOffMainThread(boolean isEnabled) {
+    isStartLoadsOffMainThread = isEnabled;
+    return this;
+  }
+
+  /**
+   * If set to {@code true} and the runtime supports virtual threads, uses executors backed by
+   * virtual threads for the source and disk cache stages, which fetch data from the network and
+   * read from disk, see {@link GlideExecutor#newVirtualThreadSourceExecutor()}.
+   *
+   * <p>Useful when Glide runs on a JVM host, JDK 21 or above, where blocking fetches like {@link
+   * com.bumptech.glide.load.data.HttpUrlFetcher} would otherwise hold on to one of a few platform
+   * threads each. The number of jobs that decode at once is still limited to the number of threads
+   * the platform executors would use, see {@link GlideExecutor#getDecodePermits()}. The animation
+   * executor keeps its small pool of platform threads.
+   *
+   * <p>Ignored on runtimes without virtual threads, including Android, for executors set using
+   * {@link #setSourceExecutor(GlideExecutor)} or {@link #setDiskCacheExecutor(GlideExecutor)}, and
+   * if a custom {@link Engine} is set using {@link #setEngine(Engine)}. Defaults to {@code false}.
+   *
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setUseVirtualThreadsForIo(boolean isEnabled) {
+    isVirtualThreadsForIoEnabled = isEnabled;
+    return this;
+  }
+
+  /**
+   * If set to {@code true}, transformed resources are written to the disk cache on a single low
+   * priority thread after their loads complete, rather than by the thread that decoded them.
+   *
+   * <p>Encoding a resource, for example compressing a {@link android.graphics.Bitmap}, can take as
+   * long as decoding it. Deferring encodes frees source threads to start new loads as soon as each
+   * resource is delivered, which helps when many loads complete at once, for example when a list
+   * is first displayed.
+   *
+   * <p>At most {@link DeferredEncodeQueue#DEFAULT_MAX_PENDING_ENCODES} encodes are queued. Encodes
+   * beyond that, duplicate encodes and queued encodes when memory is low are dropped, so some
+   * resources won't be in the disk cache and will be decoded again. Encodes can be paused while a
+   * list is scrolling using {@link Glide#getDeferredEncodeQueue()}.
+   *
+   * <p>Defaults to {@code false}.
+   *
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setDeferResourceCacheEncodes(boolean isEnabled) {
+    isDeferResourceCacheEncodes = isEnabled;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of animations, like {@link
+   * com.bumptech.glide.load.resource.gif.GifDrawable}s, that may load frames at the same time.
+   *
+   * <p>Once the limit is reached, starting another animation pauses the animation that was least
+   * recently drawn until one of the running animations stops. Useful for screens that show many
+   * animated images at once, like grids in a {@code RecyclerView}.
+   *
+   * <p>Defaults to {@link AnimationThrottler#UNLIMITED}.
+   *
+   * @param maxRunningAnimations The maximum number of running animations, or {@link
+   *     AnimationThrottler#UNLIMITED}.
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setMaxRunningAnimations(int maxRunningAnimations) {
+    Preconditions.checkArgument(
+        maxRunningAnimations >= 0, "maxRunningAnimations must be >= 0: " + maxRunningAnimations);
+    this.maxRunningAnimations = maxRunningAnimations;
+    return this;
+  }
+
+  /**
+   * Sets the maximum number of network fetches that may run at the same time for each host.
+   *
+   * <p>By default every source thread may fetch at once. On slow networks the fetches then share
+   * the available bandwidth and all finish late together. With a limit, queued fetches start in
+   * {@link com.bumptech.glide.Priority} order, so higher priority requests, usually for visible
+   * images, finish first. The limit for each host is lowered, down to one, when fetches slow down
+   * because they're competing for bandwidth and raised again, up to the given maximum, when they
+   * aren't.
+   *
+   * <p>Only applies to fetches of {@link com.bumptech.glide.load.DataSource#REMOTE} data. Defaults
+   * to {@code 0}, which doesn't limit fetches.
+   *
+   * @param maxFetchesPerHost The maximum number of concurrent fetches per host, or {@code 0} to
+   *     not limit fetches.
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setMaxConcurrentNetworkFetchesPerHost(int maxFetchesPerHost) {
+    Preconditions.checkArgument(
+        maxFetchesPerHost >= 0, "maxFetchesPerHost must be >= 0: " + maxFetchesPerHost);
+    this.maxConcurrentNetworkFetchesPerHost = maxFetchesPerHost;
+    return this;
+  }
+
+  /**
+   * Sets the fraction of the {@link BitmapPool}'s maximum size that Glide pre-fills at startup
+   * with the sizes of {@link Bitmap}s that the pool most often didn't contain in earlier runs of
+   * the app.
+   *
+   * <p>Glide counts the pool's misses by width, height and config and saves the counts in the app's
+   * cache directory when the app's UI is hidden. At startup the most missed sizes are allocated
+   * while the main thread is idle, like {@link Glide#preFillBitmapPool}, so that the first loads
+   * of those sizes can reuse a {@link Bitmap} instead of allocating one.
+   *
+   * <p>Only applies to the default {@link LruBitmapPool}, or one set with {@link
+   * #setBitmapPool(BitmapPool)}. Calling {@link Glide#preFillBitmapPool} cancels the automatic
+   * pre-fill. Defaults to {@code 0}, which doesn't record misses or pre-fill the pool.
+   *
+   * @param maxPoolFraction The fraction of the pool's maximum size to pre-fill, between {@code 0}
+   *     and {@code 1}.
+   * @return This builder.
+   */
+  // Public API.
+  @SuppressWarnings("unused")
+  @NonNull
+  public GlideBuilder setAutoPreFillBitmapPool(float maxPoolFraction) {
+    Preconditions.checkArgument(
+        maxPoolFraction >= 0 && maxPoolFraction <= 1,
+        "maxPoolFraction must be between 0 and 1: " + maxPoolFraction);
+    this.autoPreFillBitmapPoolFraction = maxPoolFraction;
+    return this;
+  }
+
   /**
    * Adds a global {@link RequestListener} that will be added to every request started with Glide.
    *
@@ -487,6 +654,30 @@ public final class GlideBuilder {
     return this;
   }
 
+  /**
+   * Set to {@code true} to spread the delivery of results to {@link Target}s on the main thread
+   * across frames, rather than delivering each result as soon as its load finishes.
+   *
+   * <p>When many loads finish at once, setting their resources and starting their transitions in
+   * the same frame can drop frames. With this flag enabled, results are queued and delivered at the
+   * start of each frame until a small per-frame time budget is spent, see {@link
+   * com.bumptech.glide.util.FrameBudgetScheduler}. Results for {@link
+   * com.bumptech.glide.request.target.ViewTarget}s and {@link
+   * com.bumptech.glide.request.target.CustomViewTarget}s, which are usually visible, are delivered
+   * before results for other {@link Target}s, like preloads. Resources found in the memory cache
+   * are still delivered immediately.
+   *
+   * <p>Calls to this method on versions of Android less than Jelly Bean are ignored.
+   *
+   * <p>This is an experimental API that may be removed in the future.
+   */
+  public GlideBuilder setSpreadResultDeliveryAcrossFrames(boolean isEnabled) {
+    glideExperimentsBuilder.update(
+        new SpreadResultDeliveryAcrossFrames(),
+        /* isEnabled= */ isEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN);
+    return this;
+  }
+
   /**
    * Override the OS thread priority of threads created in {@link
    * com.bumptech.glide.load.engine.executor.GlideExecutor#DefaultThreadFactory} with {@link
@@ -512,6 +703,24 @@ public final class GlideBuilder {
     return this;
   }
 
+  /**
+   * Set to {@code true} to make Glide create its default decoders, encoders and transcoders the
+   * first time a load needs them, rather than all at once when the {@link Registry} is created.
+   *
+   * <p>The {@link Registry} is created when the first load starts, so constructing every default
+   * component then delays the first image. With this flag enabled, components for types the app
+   * doesn't load, like videos or GIFs, are never created. {@link
+   * com.bumptech.glide.module.LibraryGlideModule}s and the {@link
+   * com.bumptech.glide.module.AppGlideModule} still register their components when the {@link
+   * Registry} is created.
+   *
+   * <p>This is an experimental API that may be removed in the future.
+   */
+  public GlideBuilder setLazilyCreateRegistryComponents(boolean isEnabled) {
+    glideExperimentsBuilder.update(new LazilyCreateRegistryComponents(), isEnabled);
+    return this;
+  }
+
   /**
    * @deprecated This method does nothing. It will be hard coded and removed in a future release
    *     without further warning.
@@ -554,12 +763,20 @@ public final class GlideBuilder {
       @NonNull Context context,
       List<GlideModule> manifestModules,
       AppGlideModule annotationGeneratedGlideModule) {
+    boolean useVirtualThreads =
+        isVirtualThreadsForIoEnabled && GlideExecutor.isVirtualThreadExecutorSupported();
     if (sourceExecutor == null) {
-      sourceExecutor = GlideExecutor.newSourceExecutor();
+      sourceExecutor =
+          useVirtualThreads
+              ? GlideExecutor.newVirtualThreadSourceExecutor()
+              : GlideExecutor.newSourceExecutor();
     }
 
     if (diskCacheExecutor == null) {
-      diskCacheExecutor = GlideExecutor.newDiskCacheExecutor();
+      diskCacheExecutor =
+          useVirtualThreads
+              ? GlideExecutor.newVirtualThreadDiskCacheExecutor()
+              : GlideExecutor.newDiskCacheExecutor();
     }
 
     if (animationExecutor == null) {
@@ -595,15 +812,23 @@ public final class GlideBuilder {
       diskCacheFactory = new InternalCacheDiskCacheFactory(context);
     }
 
+    // Queued network fetches start on the Engine's unlimited source executor, or on the source
+    // executor if a custom Engine is set.
+    GlideExecutor sourceUnlimitedExecutor = sourceExecutor;
     if (engine == null) {
+      sourceUnlimitedExecutor =
+          useVirtualThreads
+              ? GlideExecutor.newVirtualThreadSourceExecutor()
+              : GlideExecutor.newUnlimitedSourceExecutor();
       engine =
           new Engine(
               memoryCache,
               diskCacheFactory,
               diskCacheExecutor,
               sourceExecutor,
-              GlideExecutor.newUnlimitedSourceExecutor(),
+              sourceUnlimitedExecutor,
               animationExecutor,
+              isStartLoadsOffMainThread ? GlideExecutor.newLoadExecutor() : null,
               isActiveResourceRetentionAllowed);
     }
 
@@ -617,6 +842,17 @@ public final class GlideBuilder {
     RequestManagerRetriever requestManagerRetriever =
         new RequestManagerRetriever(requestManagerFactory);
 
+    AutoBitmapPreFiller autoBitmapPreFiller = null;
+    if (autoPreFillBitmapPoolFraction > 0 && bitmapPool instanceof LruBitmapPool) {
+      autoBitmapPreFiller =
+          new AutoBitmapPreFiller(
+              context,
+              (LruBitmapPool) bitmapPool,
+              memoryCache,
+              diskCacheExecutor,
+              autoPreFillBitmapPoolFraction);
+    }
+
     return new Glide(
         context,
         engine,
@@ -631,7 +867,17 @@ public final class GlideBuilder {
         defaultRequestListeners,
         manifestModules,
         annotationGeneratedGlideModule,
-        experiments);
+        experiments,
+        new AnimationThrottler(maxRunningAnimations),
+        maxConcurrentNetworkFetchesPerHost > 0
+            ? new NetworkFetchScheduler(
+                maxConcurrentNetworkFetchesPerHost, sourceUnlimitedExecutor)
+            : null,
+        isDeferResourceCacheEncodes
+            ? new DeferredEncodeQueue(DeferredEncodeQueue.DEFAULT_MAX_PENDING_ENCODES)
+            : null,
+        autoBitmapPreFiller,
+        GlideExecutor.newBackgroundExecutor("gif-indexing", /* threadCount= */ 1));
   }
 
   static final class ManualOverrideHardwareBitmapMaxFdCount implements Experiment {
@@ -653,4 +899,10 @@ public final class GlideBuilder {
 
   /** See {@link #setUseMediaStoreOpenFileApisIfPossible(boolean)}. */
   public static final class UseMediaStoreOpenFileApisIfPossible implements Experiment {}
+
+  /** See {@link #setSpreadResultDeliveryAcrossFrames(boolean)}. */
+  public static final class SpreadResultDeliveryAcrossFrames implements Experiment {}
+
+  /** See {@link #setLazilyCreateRegistryComponents(boolean)}. */
+  public static final class LazilyCreateRegistryComponents implements Experiment {}
 }
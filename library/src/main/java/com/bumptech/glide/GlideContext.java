@@ -8,7 +8,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.Glide.RequestOptionsFactory;
+import com.bumptech.glide.load.engine.DeferredEncodeQueue;
 import com.bumptech.glide.load.engine.Engine;
+import com.bumptech.glide.load.engine.NetworkFetchScheduler;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.RequestOptions;
@@ -39,6 +41,8 @@ public class GlideContext extends ContextWrapper {
   private final Engine engine;
   private final GlideExperiments experiments;
   private final int logLevel;
+  @Nullable private final NetworkFetchScheduler networkFetchScheduler;
+  @Nullable private final DeferredEncodeQueue deferredEncodeQueue;
 
   @Nullable
   @GuardedBy("this")
@@ -55,6 +59,34 @@ public class GlideContext extends ContextWrapper {
       @NonNull Engine engine,
       @NonNull GlideExperiments experiments,
       int logLevel) {
+    this(
+        context,
+        arrayPool,
+        registry,
+        imageViewTargetFactory,
+        defaultRequestOptionsFactory,
+        defaultTransitionOptions,
+        defaultRequestListeners,
+        engine,
+        experiments,
+        logLevel,
+        /* networkFetchScheduler= */ null,
+        /* deferredEncodeQueue= */ null);
+  }
+
+  public GlideContext(
+      @NonNull Context context,
+      @NonNull ArrayPool arrayPool,
+      @NonNull GlideSupplier<Registry> registry,
+      @NonNull ImageViewTargetFactory imageViewTargetFactory,
+      @NonNull RequestOptionsFactory defaultRequestOptionsFactory,
+      @NonNull Map<Class<?>, TransitionOptions<?, ?>> defaultTransitionOptions,
+      @NonNull List<RequestListener<Object>> defaultRequestListeners,
+      @NonNull Engine engine,
+      @NonNull GlideExperiments experiments,
+      int logLevel,
+      @Nullable NetworkFetchScheduler networkFetchScheduler,
+      @Nullable DeferredEncodeQueue deferredEncodeQueue) {
     super(context.getApplicationContext());
     this.arrayPool = arrayPool;
     this.imageViewTargetFactory = imageViewTargetFactory;
@@ -64,6 +96,8 @@ public class GlideContext extends ContextWrapper {
     this.engine = engine;
     this.experiments = experiments;
     this.logLevel = logLevel;
+    this.networkFetchScheduler = networkFetchScheduler;
+    this.deferredEncodeQueue = deferredEncodeQueue;
 
     this.registry = GlideSuppliers.memorize(registry);
   }
@@ -125,4 +159,22 @@ public class GlideContext extends ContextWrapper {
   public GlideExperiments getExperiments() {
     return experiments;
   }
+
+  /**
+   * Returns the scheduler that limits concurrent network fetches, or {@code null} if they're not
+   * limited.
+   */
+  @Nullable
+  public NetworkFetchScheduler getNetworkFetchScheduler() {
+    return networkFetchScheduler;
+  }
+
+  /**
+   * Returns the queue that writes resources to the disk cache after their loads complete, or
+   * {@code null} if resources are written by the thread that decoded them.
+   */
+  @Nullable
+  public DeferredEncodeQueue getDeferredEncodeQueue() {
+    return deferredEncodeQueue;
+  }
 }
@@ -0,0 +1,99 @@
+package com.bumptech.glide;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.ListPreloader.PreloadModelProvider;
+import com.bumptech.glide.ListPreloader.PreloadSizeProvider;
+import java.util.List;
+
+/**
+ * Starts the preloads for the items at adapter positions, shared by {@link ListPreloader} and
+ * {@link AdaptiveListPreloader}.
+ *
+ * @param <T> The type of the model being displayed in the list.
+ */
+final class ItemPreloader<T> {
+  private final PreloadModelProvider<T> preloadModelProvider;
+  private final PreloadSizeProvider<T> preloadDimensionProvider;
+
+  /** Provides the targets that preloads are started into. */
+  interface TargetProvider {
+    /**
+     * Returns the target to preload an item at the given adapter position into, or {@code null} if
+     * none is available.
+     */
+    @Nullable
+    PreloadTarget obtainTarget(int position);
+  }
+
+  ItemPreloader(
+      @NonNull PreloadModelProvider<T> preloadModelProvider,
+      @NonNull PreloadSizeProvider<T> preloadDimensionProvider) {
+    this.preloadModelProvider = preloadModelProvider;
+    this.preloadDimensionProvider = preloadDimensionProvider;
+  }
+
+  @NonNull
+  List<T> getPreloadItems(int position) {
+    return preloadModelProvider.getPreloadItems(position);
+  }
+
+  /**
+   * Preloads the given items from the given adapter position in the direction of scrolling.
+   *
+   * @param isDiskOnly {@code true} to only fetch the items into the disk cache without decoding
+   *     them.
+   */
+  void preloadAdapterPosition(
+      List<T> items,
+      int position,
+      boolean isIncreasing,
+      boolean isDiskOnly,
+      TargetProvider targetProvider) {
+    final int numItems = items.size();
+    if (isIncreasing) {
+      for (int i = 0; i < numItems; ++i) {
+        preloadItem(items.get(i), position, i, isDiskOnly, targetProvider);
+      }
+    } else {
+      for (int i = numItems - 1; i >= 0; --i) {
+        preloadItem(items.get(i), position, i, isDiskOnly, targetProvider);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void preloadItem(
+      @Nullable T item,
+      int position,
+      int perItemPosition,
+      boolean isDiskOnly,
+      TargetProvider targetProvider) {
+    if (item == null) {
+      return;
+    }
+    int[] dimensions = preloadDimensionProvider.getPreloadSize(item, position, perItemPosition);
+    if (dimensions == null) {
+      return;
+    }
+    RequestBuilder<Object> preloadRequestBuilder =
+        (RequestBuilder<Object>) preloadModelProvider.getPreloadRequestBuilder(item);
+    if (preloadRequestBuilder == null) {
+      return;
+    }
+
+    if (isDiskOnly) {
+      // Fetches the data into the disk cache without decoding it or using the memory cache.
+      RequestBuilder<?> downloadOnlyRequestBuilder = preloadRequestBuilder.getDownloadOnlyRequest();
+      preloadRequestBuilder = (RequestBuilder<Object>) downloadOnlyRequestBuilder;
+    }
+
+    PreloadTarget target = targetProvider.obtainTarget(position);
+    if (target == null) {
+      return;
+    }
+    target.photoWidth = dimensions[0];
+    target.photoHeight = dimensions[1];
+    preloadRequestBuilder.into(target);
+  }
+}
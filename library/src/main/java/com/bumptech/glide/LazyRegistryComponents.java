@@ -0,0 +1,111 @@
+package com.bumptech.glide;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.EncodeStrategy;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.resource.transcode.ResourceTranscoder;
+import com.bumptech.glide.util.GlideSuppliers;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Creates the default components registered by {@link RegistryFactory}, either immediately or, if
+ * {@link GlideBuilder#setLazilyCreateRegistryComponents(boolean)} is enabled, the first time a
+ * load asks them to handle or decode something.
+ *
+ * <p>The {@link Registry} only calls components whose classes match a load, so components for
+ * types the app never loads, like videos or GIFs, are never created in lazy mode.
+ */
+final class LazyRegistryComponents {
+  private final boolean isLazy;
+
+  LazyRegistryComponents(boolean isLazy) {
+    this.isLazy = isLazy;
+  }
+
+  /** Returns a supplier that creates the value at most once, eagerly unless lazy mode is on. */
+  <T> GlideSupplier<T> shared(@NonNull GlideSupplier<T> supplier) {
+    if (!isLazy) {
+      final T instance = supplier.get();
+      return new GlideSupplier<T>() {
+        @Override
+        public T get() {
+          return instance;
+        }
+      };
+    }
+    return GlideSuppliers.memorize(supplier);
+  }
+
+  <T, Z> ResourceDecoder<T, Z> decoder(@NonNull GlideSupplier<ResourceDecoder<T, Z>> supplier) {
+    return isLazy ? new LazyDecoder<>(supplier) : supplier.get();
+  }
+
+  <Z> ResourceEncoder<Z> encoder(@NonNull GlideSupplier<ResourceEncoder<Z>> supplier) {
+    return isLazy ? new LazyEncoder<>(supplier) : supplier.get();
+  }
+
+  <Z, R> ResourceTranscoder<Z, R> transcoder(
+      @NonNull GlideSupplier<ResourceTranscoder<Z, R>> supplier) {
+    return isLazy ? new LazyTranscoder<>(supplier) : supplier.get();
+  }
+
+  private static final class LazyDecoder<T, Z> implements ResourceDecoder<T, Z> {
+    private final GlideSupplier<ResourceDecoder<T, Z>> delegate;
+
+    LazyDecoder(GlideSupplier<ResourceDecoder<T, Z>> delegate) {
+      this.delegate = GlideSuppliers.memorize(delegate);
+    }
+
+    @Override
+    public boolean handles(@NonNull T source, @NonNull Options options) throws IOException {
+      return delegate.get().handles(source, options);
+    }
+
+    @Nullable
+    @Override
+    public Resource<Z> decode(@NonNull T source, int width, int height, @NonNull Options options)
+        throws IOException {
+      return delegate.get().decode(source, width, height, options);
+    }
+  }
+
+  private static final class LazyEncoder<Z> implements ResourceEncoder<Z> {
+    private final GlideSupplier<ResourceEncoder<Z>> delegate;
+
+    LazyEncoder(GlideSupplier<ResourceEncoder<Z>> delegate) {
+      this.delegate = GlideSuppliers.memorize(delegate);
+    }
+
+    @NonNull
+    @Override
+    public EncodeStrategy getEncodeStrategy(@NonNull Options options) {
+      return delegate.get().getEncodeStrategy(options);
+    }
+
+    @Override
+    public boolean encode(
+        @NonNull Resource<Z> data, @NonNull File file, @NonNull Options options) {
+      return delegate.get().encode(data, file, options);
+    }
+  }
+
+  private static final class LazyTranscoder<Z, R> implements ResourceTranscoder<Z, R> {
+    private final GlideSupplier<ResourceTranscoder<Z, R>> delegate;
+
+    LazyTranscoder(GlideSupplier<ResourceTranscoder<Z, R>> delegate) {
+      this.delegate = GlideSuppliers.memorize(delegate);
+    }
+
+    @Nullable
+    @Override
+    public Resource<R> transcode(@NonNull Resource<Z> toTranscode, @NonNull Options options) {
+      return delegate.get().transcode(toTranscode, options);
+    }
+  }
+}
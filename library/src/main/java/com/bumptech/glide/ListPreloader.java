@@ -1,13 +1,9 @@
 package com.bumptech.glide;
 
-import android.graphics.drawable.Drawable;
 import android.widget.AbsListView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import com.bumptech.glide.request.Request;
-import com.bumptech.glide.request.target.SizeReadyCallback;
-import com.bumptech.glide.request.target.Target;
-import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Synthetic;
 import com.bumptech.glide.util.Util;
 import java.util.List;
@@ -24,17 +20,22 @@ import java.util.Queue;
  * corresponding methods called from another {@link android.widget.AbsListView.OnScrollListener} to
  * function.
  *
+ * <p>Items further ahead can optionally be preloaded only into the disk cache, see {@link
+ * #ListPreloader(RequestManager, PreloadModelProvider, PreloadSizeProvider, int, int)}.
+ *
+ * <p>See {@link AdaptiveListPreloader} for a preloader that adjusts the number of items it preloads
+ * to the scroll velocity.
+ *
  * @param <T> The type of the model being displayed in the list.
  */
 public class ListPreloader<T> implements AbsListView.OnScrollListener {
   private final int maxPreload;
-  private final PreloadTargetQueue preloadTargetQueue;
+  private final int maxDiskOnlyPreload;
+  private final PreloadTier memoryTier;
+  private final PreloadTier diskOnlyTier;
   private final RequestManager requestManager;
-  private final PreloadModelProvider<T> preloadModelProvider;
-  private final PreloadSizeProvider<T> preloadDimensionProvider;
+  private final ItemPreloader<T> itemPreloader;
 
-  private int lastEnd;
-  private int lastStart;
   private int lastFirstVisible = -1;
   private int totalItemCount;
 
@@ -130,11 +131,45 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
       @NonNull PreloadModelProvider<T> preloadModelProvider,
       @NonNull PreloadSizeProvider<T> preloadDimensionProvider,
       int maxPreload) {
+    this(
+        requestManager,
+        preloadModelProvider,
+        preloadDimensionProvider,
+        maxPreload,
+        /* maxDiskOnlyPreload= */ 0);
+  }
+
+  /**
+   * Constructor for {@link com.bumptech.glide.ListPreloader} that preloads the {@code maxPreload}
+   * items closest to the visible range into memory and the next {@code maxDiskOnlyPreload} items
+   * only into the disk cache.
+   *
+   * <p>Items preloaded into memory are decoded and kept in the memory cache, so {@code maxPreload}
+   * should be small enough that the preloaded resources fit into the memory cache alongside the
+   * visible ones. Items that are only preloaded into the disk cache are fetched and written to the
+   * disk cache as data without being decoded, which makes it cheap to preload many more of them.
+   * Once an item moves into the first {@code maxPreload} items, it's decoded from the disk cache.
+   *
+   * @param preloadModelProvider Provides models to load and requests capable of loading them.
+   * @param preloadDimensionProvider Provides the dimensions of images to load.
+   * @param maxPreload Maximum number of items to preload into memory.
+   * @param maxDiskOnlyPreload Maximum number of items beyond the first {@code maxPreload} items to
+   *     preload only into the disk cache.
+   */
+  public ListPreloader(
+      @NonNull RequestManager requestManager,
+      @NonNull PreloadModelProvider<T> preloadModelProvider,
+      @NonNull PreloadSizeProvider<T> preloadDimensionProvider,
+      int maxPreload,
+      int maxDiskOnlyPreload) {
+    Preconditions.checkArgument(
+        maxDiskOnlyPreload >= 0, "maxDiskOnlyPreload must be >= 0: " + maxDiskOnlyPreload);
     this.requestManager = requestManager;
-    this.preloadModelProvider = preloadModelProvider;
-    this.preloadDimensionProvider = preloadDimensionProvider;
+    itemPreloader = new ItemPreloader<>(preloadModelProvider, preloadDimensionProvider);
     this.maxPreload = maxPreload;
-    preloadTargetQueue = new PreloadTargetQueue(maxPreload + 1);
+    this.maxDiskOnlyPreload = maxDiskOnlyPreload;
+    memoryTier = new PreloadTier(maxPreload + 1, /* isDiskOnly= */ false);
+    diskOnlyTier = new PreloadTier(maxDiskOnlyPreload + 1, /* isDiskOnly= */ true);
   }
 
   @Override
@@ -162,18 +197,25 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
       isIncreasing = increasing;
       cancelAll();
     }
-    preload(start, start + (increasing ? maxPreload : -maxPreload));
+    int memoryEnd = start + (increasing ? maxPreload : -maxPreload);
+    preload(memoryTier, start, memoryEnd);
+    if (maxDiskOnlyPreload > 0) {
+      preload(
+          diskOnlyTier,
+          memoryEnd,
+          memoryEnd + (increasing ? maxDiskOnlyPreload : -maxDiskOnlyPreload));
+    }
   }
 
-  private void preload(int from, int to) {
+  private void preload(PreloadTier tier, int from, int to) {
     int start;
     int end;
     if (from < to) {
-      start = Math.max(lastEnd, from);
+      start = Math.max(tier.lastEnd, from);
       end = to;
     } else {
       start = to;
-      end = Math.min(lastStart, from);
+      end = Math.min(tier.lastStart, from);
     }
     end = Math.min(totalItemCount, end);
     start = Math.min(totalItemCount, Math.max(0, start));
@@ -181,55 +223,54 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
     if (from < to) {
       // Increasing
       for (int i = start; i < end; i++) {
-        preloadAdapterPosition(
-            preloadModelProvider.getPreloadItems(i), /* position= */ i, /* isIncreasing= */ true);
+        itemPreloader.preloadAdapterPosition(
+            itemPreloader.getPreloadItems(i),
+            /* position= */ i,
+            /* isIncreasing= */ true,
+            tier.isDiskOnly,
+            tier);
       }
     } else {
       // Decreasing
       for (int i = end - 1; i >= start; i--) {
-        preloadAdapterPosition(
-            preloadModelProvider.getPreloadItems(i), /* position= */ i, /* isIncreasing= */ false);
+        itemPreloader.preloadAdapterPosition(
+            itemPreloader.getPreloadItems(i),
+            /* position= */ i,
+            /* isIncreasing= */ false,
+            tier.isDiskOnly,
+            tier);
       }
     }
 
-    lastStart = start;
-    lastEnd = end;
+    tier.lastStart = start;
+    tier.lastEnd = end;
   }
 
-  private void preloadAdapterPosition(List<T> items, int position, boolean isIncreasing) {
-    final int numItems = items.size();
-    if (isIncreasing) {
-      for (int i = 0; i < numItems; ++i) {
-        preloadItem(items.get(i), position, i);
-      }
-    } else {
-      for (int i = numItems - 1; i >= 0; --i) {
-        preloadItem(items.get(i), position, i);
-      }
-    }
+  private void cancelAll() {
+    cancelAll(memoryTier);
+    cancelAll(diskOnlyTier);
   }
 
-  @SuppressWarnings("unchecked")
-  private void preloadItem(@Nullable T item, int position, int perItemPosition) {
-    if (item == null) {
-      return;
+  private void cancelAll(PreloadTier tier) {
+    for (int i = 0; i < tier.targets.queue.size(); i++) {
+      requestManager.clear(tier.targets.next());
     }
-    int[] dimensions = preloadDimensionProvider.getPreloadSize(item, position, perItemPosition);
-    if (dimensions == null) {
-      return;
-    }
-    RequestBuilder<Object> preloadRequestBuilder =
-        (RequestBuilder<Object>) preloadModelProvider.getPreloadRequestBuilder(item);
-    if (preloadRequestBuilder == null) {
-      return;
-    }
-
-    preloadRequestBuilder.into(preloadTargetQueue.next(dimensions[0], dimensions[1]));
   }
 
-  private void cancelAll() {
-    for (int i = 0; i < preloadTargetQueue.queue.size(); i++) {
-      requestManager.clear(preloadTargetQueue.next(0, 0));
+  private static final class PreloadTier implements ItemPreloader.TargetProvider {
+    @Synthetic final PreloadTargetQueue targets;
+    @Synthetic final boolean isDiskOnly;
+    @Synthetic int lastEnd;
+    @Synthetic int lastStart;
+
+    PreloadTier(int size, boolean isDiskOnly) {
+      targets = new PreloadTargetQueue(size);
+      this.isDiskOnly = isDiskOnly;
+    }
+
+    @Override
+    public PreloadTarget obtainTarget(int position) {
+      return targets.next();
     }
   }
 
@@ -246,78 +287,10 @@ public class ListPreloader<T> implements AbsListView.OnScrollListener {
       }
     }
 
-    public PreloadTarget next(int width, int height) {
+    public PreloadTarget next() {
       final PreloadTarget result = queue.poll();
       queue.offer(result);
-      result.photoWidth = width;
-      result.photoHeight = height;
       return result;
     }
   }
-
-  private static final class PreloadTarget implements Target<Object> {
-    @Synthetic int photoHeight;
-    @Synthetic int photoWidth;
-    @Nullable private Request request;
-
-    @Synthetic
-    PreloadTarget() {}
-
-    @Override
-    public void onLoadStarted(@Nullable Drawable placeholder) {
-      // Do nothing.
-    }
-
-    @Override
-    public void onLoadFailed(@Nullable Drawable errorDrawable) {
-      // Do nothing.
-    }
-
-    @Override
-    public void onResourceReady(
-        @NonNull Object resource, @Nullable Transition<? super Object> transition) {
-      // Do nothing.
-    }
-
-    @Override
-    public void onLoadCleared(@Nullable Drawable placeholder) {
-      // Do nothing.
-    }
-
-    @Override
-    public void getSize(@NonNull SizeReadyCallback cb) {
-      cb.onSizeReady(photoWidth, photoHeight);
-    }
-
-    @Override
-    public void removeCallback(@NonNull SizeReadyCallback cb) {
-      // Do nothing because we don't retain references to SizeReadyCallbacks.
-    }
-
-    @Override
-    public void setRequest(@Nullable Request request) {
-      this.request = request;
-    }
-
-    @Nullable
-    @Override
-    public Request getRequest() {
-      return request;
-    }
-
-    @Override
-    public void onStart() {
-      // Do nothing.
-    }
-
-    @Override
-    public void onStop() {
-      // Do nothing.
-    }
-
-    @Override
-    public void onDestroy() {
-      // Do nothing.
-    }
-  }
 }
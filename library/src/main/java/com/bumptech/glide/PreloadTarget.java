@@ -0,0 +1,77 @@
+package com.bumptech.glide;
+
+import android.graphics.drawable.Drawable;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.request.Request;
+import com.bumptech.glide.request.target.SizeReadyCallback;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.request.transition.Transition;
+import com.bumptech.glide.util.Synthetic;
+
+/**
+ * A {@link Target} that preloads a resource for {@link ListPreloader} or {@link
+ * AdaptiveListPreloader} at the size set by {@link ItemPreloader} and ignores the result.
+ */
+class PreloadTarget implements Target<Object> {
+  @Synthetic int photoHeight;
+  @Synthetic int photoWidth;
+  @Nullable private Request request;
+
+  @Override
+  public void onLoadStarted(@Nullable Drawable placeholder) {
+    // Do nothing.
+  }
+
+  @Override
+  public void onLoadFailed(@Nullable Drawable errorDrawable) {
+    // Do nothing.
+  }
+
+  @Override
+  public void onResourceReady(
+      @NonNull Object resource, @Nullable Transition<? super Object> transition) {
+    // Do nothing.
+  }
+
+  @Override
+  public void onLoadCleared(@Nullable Drawable placeholder) {
+    // Do nothing.
+  }
+
+  @Override
+  public void getSize(@NonNull SizeReadyCallback cb) {
+    cb.onSizeReady(photoWidth, photoHeight);
+  }
+
+  @Override
+  public void removeCallback(@NonNull SizeReadyCallback cb) {
+    // Do nothing because we don't retain references to SizeReadyCallbacks.
+  }
+
+  @Override
+  public void setRequest(@Nullable Request request) {
+    this.request = request;
+  }
+
+  @Nullable
+  @Override
+  public Request getRequest() {
+    return request;
+  }
+
+  @Override
+  public void onStart() {
+    // Do nothing.
+  }
+
+  @Override
+  public void onStop() {
+    // Do nothing.
+  }
+
+  @Override
+  public void onDestroy() {
+    // Do nothing.
+  }
+}
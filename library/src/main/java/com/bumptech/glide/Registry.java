@@ -595,6 +595,17 @@ public class Registry {
     return modelLoaderRegistry.getModelLoaders(model);
   }
 
+  /**
+   * Adds the {@link ModelLoader}s that handle the given model to the given list without allocating
+   * a new one.
+   *
+   * @see #getModelLoaders(Object)
+   */
+  public <Model> void getModelLoaders(
+      @NonNull Model model, @NonNull List<ModelLoader<Model, ?>> result) {
+    modelLoaderRegistry.getModelLoaders(model, result);
+  }
+
   @NonNull
   public List<ImageHeaderParser> getImageHeaderParsers() {
     List<ImageHeaderParser> result = imageHeaderParserRegistry.getParsers();
@@ -13,10 +13,12 @@ import android.os.ParcelFileDescriptor;
 import androidx.annotation.Nullable;
 import androidx.tracing.Trace;
 import com.bumptech.glide.GlideBuilder.EnableImageDecoderForBitmaps;
+import com.bumptech.glide.GlideBuilder.LazilyCreateRegistryComponents;
 import com.bumptech.glide.GlideBuilder.UseMediaStoreOpenFileApisIfPossible;
-import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.AnimatedFrameSource;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.ResourceEncoder;
 import com.bumptech.glide.load.data.InputStreamRewinder;
 import com.bumptech.glide.load.data.ParcelFileDescriptorRewinder;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
@@ -53,6 +55,8 @@ import com.bumptech.glide.load.resource.bitmap.Downsampler;
 import com.bumptech.glide.load.resource.bitmap.ExifInterfaceImageHeaderParser;
 import com.bumptech.glide.load.resource.bitmap.InputStreamBitmapImageDecoderResourceDecoder;
 import com.bumptech.glide.load.resource.bitmap.ParcelFileDescriptorBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.RawBitmapDecoder;
+import com.bumptech.glide.load.resource.bitmap.RawBitmapEncoder;
 import com.bumptech.glide.load.resource.bitmap.ResourceBitmapDecoder;
 import com.bumptech.glide.load.resource.bitmap.StreamBitmapDecoder;
 import com.bumptech.glide.load.resource.bitmap.UnitBitmapDecoder;
@@ -71,6 +75,7 @@ import com.bumptech.glide.load.resource.transcode.BitmapBytesTranscoder;
 import com.bumptech.glide.load.resource.transcode.BitmapDrawableTranscoder;
 import com.bumptech.glide.load.resource.transcode.DrawableBytesTranscoder;
 import com.bumptech.glide.load.resource.transcode.GifDrawableBytesTranscoder;
+import com.bumptech.glide.load.resource.transcode.ResourceTranscoder;
 import com.bumptech.glide.module.AppGlideModule;
 import com.bumptech.glide.module.GlideModule;
 import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
@@ -80,6 +85,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 final class RegistryFactory {
 
@@ -127,17 +133,21 @@ final class RegistryFactory {
     GlideExperiments experiments = glide.getGlideContext().getExperiments();
 
     Registry registry = new Registry();
-    initializeDefaults(context, registry, bitmapPool, arrayPool, experiments);
+    initializeDefaults(
+        context, registry, bitmapPool, arrayPool, glide.getGifIndexingExecutor(), experiments);
     initializeModules(context, glide, registry, manifestModules, annotationGeneratedModule);
     return registry;
   }
 
   private static void initializeDefaults(
-      Context context,
+      final Context context,
       Registry registry,
-      BitmapPool bitmapPool,
-      ArrayPool arrayPool,
+      final BitmapPool bitmapPool,
+      final ArrayPool arrayPool,
+      final Executor gifIndexingExecutor,
       GlideExperiments experiments) {
+    LazyRegistryComponents components =
+        new LazyRegistryComponents(experiments.isEnabled(LazilyCreateRegistryComponents.class));
     registry.register(new DefaultImageHeaderParser());
     // Right now we're only using this parser for HEIF images, which are only supported on OMR1+.
     // If we need this for other file types, we should consider removing this restriction.
@@ -146,17 +156,36 @@ final class RegistryFactory {
     }
 
     final Resources resources = context.getResources();
-    List<ImageHeaderParser> imageHeaderParsers = registry.getImageHeaderParsers();
+    final List<ImageHeaderParser> imageHeaderParsers = registry.getImageHeaderParsers();
 
-    ByteBufferGifDecoder byteBufferGifDecoder =
-        new ByteBufferGifDecoder(context, imageHeaderParsers, bitmapPool, arrayPool);
+    final ResourceDecoder<ByteBuffer, GifDrawable> byteBufferGifDecoder =
+        components.decoder(
+            new GlideSupplier<ResourceDecoder<ByteBuffer, GifDrawable>>() {
+              @Override
+              public ResourceDecoder<ByteBuffer, GifDrawable> get() {
+                return new ByteBufferGifDecoder(
+                    context, imageHeaderParsers, bitmapPool, arrayPool, gifIndexingExecutor);
+              }
+            });
     ResourceDecoder<ParcelFileDescriptor, Bitmap> parcelFileDescriptorVideoDecoder =
-        VideoDecoder.parcel(bitmapPool);
+        components.decoder(
+            new GlideSupplier<ResourceDecoder<ParcelFileDescriptor, Bitmap>>() {
+              @Override
+              public ResourceDecoder<ParcelFileDescriptor, Bitmap> get() {
+                return VideoDecoder.parcel(bitmapPool);
+              }
+            });
 
     // TODO(judds): Make ParcelFileDescriptorBitmapDecoder work with ImageDecoder.
-    Downsampler downsampler =
-        new Downsampler(
-            registry.getImageHeaderParsers(), resources.getDisplayMetrics(), bitmapPool, arrayPool);
+    final GlideSupplier<Downsampler> downsampler =
+        components.shared(
+            new GlideSupplier<Downsampler>() {
+              @Override
+              public Downsampler get() {
+                return new Downsampler(
+                    imageHeaderParsers, resources.getDisplayMetrics(), bitmapPool, arrayPool);
+              }
+            });
 
     ResourceDecoder<ByteBuffer, Bitmap> byteBufferBitmapDecoder;
     ResourceDecoder<InputStream, Bitmap> streamBitmapDecoder;
@@ -165,8 +194,22 @@ final class RegistryFactory {
       streamBitmapDecoder = new InputStreamBitmapImageDecoderResourceDecoder();
       byteBufferBitmapDecoder = new ByteBufferBitmapImageDecoderResourceDecoder();
     } else {
-      byteBufferBitmapDecoder = new ByteBufferBitmapDecoder(downsampler);
-      streamBitmapDecoder = new StreamBitmapDecoder(downsampler, arrayPool);
+      byteBufferBitmapDecoder =
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<ByteBuffer, Bitmap>>() {
+                @Override
+                public ResourceDecoder<ByteBuffer, Bitmap> get() {
+                  return new ByteBufferBitmapDecoder(downsampler.get());
+                }
+              });
+      streamBitmapDecoder =
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<InputStream, Bitmap>>() {
+                @Override
+                public ResourceDecoder<InputStream, Bitmap> get() {
+                  return new StreamBitmapDecoder(downsampler.get(), arrayPool);
+                }
+              });
     }
 
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
@@ -174,20 +217,48 @@ final class RegistryFactory {
           Registry.BUCKET_ANIMATION,
           InputStream.class,
           Drawable.class,
-          AnimatedImageDecoder.streamDecoder(imageHeaderParsers, arrayPool));
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<InputStream, Drawable>>() {
+                @Override
+                public ResourceDecoder<InputStream, Drawable> get() {
+                  return AnimatedImageDecoder.streamDecoder(imageHeaderParsers, arrayPool);
+                }
+              }));
       registry.append(
           Registry.BUCKET_ANIMATION,
           ByteBuffer.class,
           Drawable.class,
-          AnimatedImageDecoder.byteBufferDecoder(imageHeaderParsers, arrayPool));
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<ByteBuffer, Drawable>>() {
+                @Override
+                public ResourceDecoder<ByteBuffer, Drawable> get() {
+                  return AnimatedImageDecoder.byteBufferDecoder(imageHeaderParsers, arrayPool);
+                }
+              }));
     }
 
-    ResourceDrawableDecoder resourceDrawableDecoder = new ResourceDrawableDecoder(context);
+    final GlideSupplier<ResourceDrawableDecoder> resourceDrawableDecoder =
+        components.shared(
+            new GlideSupplier<ResourceDrawableDecoder>() {
+              @Override
+              public ResourceDrawableDecoder get() {
+                return new ResourceDrawableDecoder(context);
+              }
+            });
 
-    BitmapEncoder bitmapEncoder = new BitmapEncoder(arrayPool);
+    ResourceEncoder<Bitmap> bitmapEncoder =
+        new RawBitmapEncoder(new BitmapEncoder(arrayPool), arrayPool);
+    RawBitmapDecoder rawBitmapDecoder = new RawBitmapDecoder(bitmapPool);
 
     BitmapBytesTranscoder bitmapBytesTranscoder = new BitmapBytesTranscoder();
-    GifDrawableBytesTranscoder gifDrawableBytesTranscoder = new GifDrawableBytesTranscoder();
+    ResourceTranscoder<GifDrawable, byte[]> gifDrawableBytesTranscoder =
+        components.transcoder(
+            new GlideSupplier<ResourceTranscoder<GifDrawable, byte[]>>() {
+              @Override
+              public ResourceTranscoder<GifDrawable, byte[]> get() {
+                return new GifDrawableBytesTranscoder();
+              }
+            });
 
     ContentResolver contentResolver = context.getContentResolver();
 
@@ -195,6 +266,7 @@ final class RegistryFactory {
         .append(ByteBuffer.class, new ByteBufferEncoder())
         .append(InputStream.class, new StreamEncoder(arrayPool))
         /* Bitmaps */
+        .append(Registry.BUCKET_BITMAP, ByteBuffer.class, Bitmap.class, rawBitmapDecoder)
         .append(Registry.BUCKET_BITMAP, ByteBuffer.class, Bitmap.class, byteBufferBitmapDecoder)
         .append(Registry.BUCKET_BITMAP, InputStream.class, Bitmap.class, streamBitmapDecoder);
 
@@ -203,7 +275,13 @@ final class RegistryFactory {
           Registry.BUCKET_BITMAP,
           ParcelFileDescriptor.class,
           Bitmap.class,
-          new ParcelFileDescriptorBitmapDecoder(downsampler));
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<ParcelFileDescriptor, Bitmap>>() {
+                @Override
+                public ResourceDecoder<ParcelFileDescriptor, Bitmap> get() {
+                  return new ParcelFileDescriptorBitmapDecoder(downsampler.get());
+                }
+              }));
     }
 
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
@@ -211,7 +289,13 @@ final class RegistryFactory {
           Registry.BUCKET_BITMAP,
           AssetFileDescriptor.class,
           Bitmap.class,
-          VideoDecoder.asset(bitmapPool));
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<AssetFileDescriptor, Bitmap>>() {
+                @Override
+                public ResourceDecoder<AssetFileDescriptor, Bitmap> get() {
+                  return VideoDecoder.asset(bitmapPool);
+                }
+              }));
     }
 
     registry
@@ -224,6 +308,11 @@ final class RegistryFactory {
         .append(Registry.BUCKET_BITMAP, Bitmap.class, Bitmap.class, new UnitBitmapDecoder())
         .append(Bitmap.class, bitmapEncoder)
         /* BitmapDrawables */
+        .append(
+            Registry.BUCKET_BITMAP_DRAWABLE,
+            ByteBuffer.class,
+            BitmapDrawable.class,
+            new BitmapDrawableDecoder<>(resources, rawBitmapDecoder))
         .append(
             Registry.BUCKET_BITMAP_DRAWABLE,
             ByteBuffer.class,
@@ -245,23 +334,63 @@ final class RegistryFactory {
             Registry.BUCKET_ANIMATION,
             InputStream.class,
             GifDrawable.class,
-            new StreamGifDecoder(imageHeaderParsers, byteBufferGifDecoder, arrayPool))
+            components.decoder(
+                new GlideSupplier<ResourceDecoder<InputStream, GifDrawable>>() {
+                  @Override
+                  public ResourceDecoder<InputStream, GifDrawable> get() {
+                    return new StreamGifDecoder(
+                        imageHeaderParsers, byteBufferGifDecoder, arrayPool);
+                  }
+                }))
         .append(
             Registry.BUCKET_ANIMATION, ByteBuffer.class, GifDrawable.class, byteBufferGifDecoder)
-        .append(GifDrawable.class, new GifDrawableEncoder())
+        .append(
+            GifDrawable.class,
+            components.encoder(
+                new GlideSupplier<ResourceEncoder<GifDrawable>>() {
+                  @Override
+                  public ResourceEncoder<GifDrawable> get() {
+                    return new GifDrawableEncoder();
+                  }
+                }))
         /* GIF Frames */
         // Compilation with Gradle requires the type to be specified for UnitModelLoader here.
         .append(
-            GifDecoder.class, GifDecoder.class, UnitModelLoader.Factory.<GifDecoder>getInstance())
+            AnimatedFrameSource.class,
+            AnimatedFrameSource.class,
+            UnitModelLoader.Factory.<AnimatedFrameSource>getInstance())
         .append(
             Registry.BUCKET_BITMAP,
-            GifDecoder.class,
+            AnimatedFrameSource.class,
             Bitmap.class,
-            new GifFrameResourceDecoder(bitmapPool))
+            components.decoder(
+                new GlideSupplier<ResourceDecoder<AnimatedFrameSource, Bitmap>>() {
+                  @Override
+                  public ResourceDecoder<AnimatedFrameSource, Bitmap> get() {
+                    return new GifFrameResourceDecoder(bitmapPool);
+                  }
+                }))
         /* Drawables */
-        .append(Uri.class, Drawable.class, resourceDrawableDecoder)
         .append(
-            Uri.class, Bitmap.class, new ResourceBitmapDecoder(resourceDrawableDecoder, bitmapPool))
+            Uri.class,
+            Drawable.class,
+            components.decoder(
+                new GlideSupplier<ResourceDecoder<Uri, Drawable>>() {
+                  @Override
+                  public ResourceDecoder<Uri, Drawable> get() {
+                    return resourceDrawableDecoder.get();
+                  }
+                }))
+        .append(
+            Uri.class,
+            Bitmap.class,
+            components.decoder(
+                new GlideSupplier<ResourceDecoder<Uri, Bitmap>>() {
+                  @Override
+                  public ResourceDecoder<Uri, Bitmap> get() {
+                    return new ResourceBitmapDecoder(resourceDrawableDecoder.get(), bitmapPool);
+                  }
+                }))
         /* Files */
         .register(new ByteBufferRewinder.Factory())
         .append(File.class, ByteBuffer.class, new ByteBufferFileLoader.Factory())
@@ -377,7 +506,13 @@ final class RegistryFactory {
 
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
       ResourceDecoder<ByteBuffer, Bitmap> byteBufferVideoDecoder =
-          VideoDecoder.byteBuffer(bitmapPool);
+          components.decoder(
+              new GlideSupplier<ResourceDecoder<ByteBuffer, Bitmap>>() {
+                @Override
+                public ResourceDecoder<ByteBuffer, Bitmap> get() {
+                  return VideoDecoder.byteBuffer(bitmapPool);
+                }
+              });
       registry.append(ByteBuffer.class, Bitmap.class, byteBufferVideoDecoder);
       registry.append(
           ByteBuffer.class,
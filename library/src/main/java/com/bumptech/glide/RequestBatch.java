@@ -0,0 +1,115 @@
+package com.bumptech.glide;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.load.engine.Engine;
+import com.bumptech.glide.request.BaseRequestOptions;
+import com.bumptech.glide.request.target.Target;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Util;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts loads for many {@link Target}s at once, for example for all of the cells bound in a single
+ * frame of a grid or feed.
+ *
+ * <p>Every load uses the options of the {@link RequestBuilder} the batch was created with. The
+ * batch locks its copy of those options when it's created, so loads share its {@link
+ * com.bumptech.glide.load.Options} and transformations rather than copying them. Loads can add
+ * their own options on top using {@link #add(Object, Target, BaseRequestOptions)}, which copies
+ * only the options and transformations that those loads change.
+ *
+ * <p>When the batch is submitted, the memory caches are checked and new jobs are started for all
+ * loads whose size is already known while acquiring the {@link Engine}'s lock only once. Loads that
+ * wait for their {@link Target}'s size are started individually once the size is available.
+ *
+ * <p>Unlike {@link RequestBuilder#into(android.widget.ImageView)}, no transformations are applied
+ * based on the {@link android.widget.ImageView.ScaleType} of {@link android.widget.ImageView}s. Use
+ * {@link BaseRequestOptions#centerCrop()} or similar methods to set them explicitly.
+ *
+ * <p>Batches must be created, populated and submitted on the main thread. A batch can be reused
+ * after it is submitted.
+ *
+ * @param <TranscodeType> The type of resource that will be delivered to the {@link Target}s.
+ */
+public final class RequestBatch<TranscodeType> {
+  private final Engine engine;
+  private final RequestBuilder<TranscodeType> requestBuilder;
+  private final List<Object> models = new ArrayList<>();
+  private final List<Target<TranscodeType>> targets = new ArrayList<>();
+  private final List<BaseRequestOptions<?>> requestOptions = new ArrayList<>();
+
+  RequestBatch(@NonNull Engine engine, @NonNull RequestBuilder<TranscodeType> requestBuilder) {
+    this.engine = engine;
+    // Copy the builder so that later changes to it don't affect the loads in this batch, then lock
+    // the copy so that each load gets a clone that shares its options instead of copying them.
+    this.requestBuilder = requestBuilder.clone().autoClone();
+  }
+
+  /** Adds a load of the given model into the given {@link Target} to this batch. */
+  @NonNull
+  public RequestBatch<TranscodeType> add(
+      @Nullable Object model, @NonNull Target<TranscodeType> target) {
+    return addInternal(model, target, /* options= */ null);
+  }
+
+  /**
+   * Adds a load of the given model into the given {@link Target} to this batch, applying the given
+   * options on top of the batch's options.
+   */
+  @NonNull
+  public RequestBatch<TranscodeType> add(
+      @Nullable Object model,
+      @NonNull Target<TranscodeType> target,
+      @NonNull BaseRequestOptions<?> options) {
+    return addInternal(model, target, Preconditions.checkNotNull(options));
+  }
+
+  /** Returns the number of loads added since the batch was created or last submitted. */
+  public int size() {
+    return targets.size();
+  }
+
+  /**
+   * Starts all loads added since the batch was created or last submitted, replacing any previous
+   * loads into the same {@link Target}s, exactly as {@link RequestBuilder#into(Target)} would.
+   *
+   * <p>If starting a load throws, that load and the loads before it are removed from the batch.
+   * The loads after it aren't started and remain in the batch, so they can be started by calling
+   * this method again.
+   */
+  public void submit() {
+    Util.assertMainThread();
+    int submitted = 0;
+    engine.beginBatch();
+    try {
+      while (submitted < targets.size()) {
+        int i = submitted++;
+        // The builder auto clones, so this returns a new builder for each load.
+        RequestBuilder<TranscodeType> builder = requestBuilder.load(models.get(i));
+        BaseRequestOptions<?> options = requestOptions.get(i);
+        if (options != null) {
+          builder = builder.apply(options);
+        }
+        builder.into(targets.get(i));
+      }
+    } finally {
+      models.subList(0, submitted).clear();
+      targets.subList(0, submitted).clear();
+      requestOptions.subList(0, submitted).clear();
+      engine.endBatch();
+    }
+  }
+
+  private RequestBatch<TranscodeType> addInternal(
+      @Nullable Object model,
+      @NonNull Target<TranscodeType> target,
+      @Nullable BaseRequestOptions<?> options) {
+    Util.assertMainThread();
+    models.add(model);
+    targets.add(Preconditions.checkNotNull(target));
+    requestOptions.add(options);
+    return this;
+  }
+}
@@ -16,6 +16,7 @@ import androidx.annotation.DrawableRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RawRes;
+import com.bumptech.glide.GlideBuilder.SpreadResultDeliveryAcrossFrames;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
@@ -30,12 +31,14 @@ import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.RequestOptions;
 import com.bumptech.glide.request.SingleRequest;
 import com.bumptech.glide.request.ThumbnailRequestCoordinator;
+import com.bumptech.glide.request.target.CustomViewTarget;
 import com.bumptech.glide.request.target.PreloadTarget;
 import com.bumptech.glide.request.target.Target;
 import com.bumptech.glide.request.target.ViewTarget;
 import com.bumptech.glide.request.transition.Transition;
 import com.bumptech.glide.signature.AndroidResourceSignature;
 import com.bumptech.glide.util.Executors;
+import com.bumptech.glide.util.FrameBudgetScheduler;
 import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Util;
 import java.io.File;
@@ -815,7 +818,7 @@ public class RequestBuilder<TranscodeType> extends BaseRequestOptions<RequestBui
    */
   @NonNull
   public <Y extends Target<TranscodeType>> Y into(@NonNull Y target) {
-    return into(target, /* targetListener= */ null, Executors.mainThreadExecutor());
+    return into(target, /* targetListener= */ null, getMainThreadCallbackExecutor(target));
   }
 
   /**
@@ -831,6 +834,21 @@ public class RequestBuilder<TranscodeType> extends BaseRequestOptions<RequestBui
     return into(target, /* targetListener= */ null, Executors.mainThreadExecutorFront());
   }
 
+  private Executor getMainThreadCallbackExecutor(@NonNull Target<?> target) {
+    // View backed targets are usually visible, others are usually preloads or custom targets.
+    return getMainThreadCallbackExecutor(
+        target instanceof ViewTarget || target instanceof CustomViewTarget);
+  }
+
+  @SuppressLint("NewApi") // The experiment is only enabled on Jelly Bean and above.
+  private Executor getMainThreadCallbackExecutor(boolean isVisibleTarget) {
+    if (!glideContext.getExperiments().isEnabled(SpreadResultDeliveryAcrossFrames.class)) {
+      return Executors.mainThreadExecutor();
+    }
+    FrameBudgetScheduler scheduler = FrameBudgetScheduler.get();
+    return isVisibleTarget ? scheduler.highPriorityExecutor() : scheduler.lowPriorityExecutor();
+  }
+
   @NonNull
   <Y extends Target<TranscodeType>> Y into(
       @NonNull Y target,
@@ -932,7 +950,7 @@ public class RequestBuilder<TranscodeType> extends BaseRequestOptions<RequestBui
         glideContext.buildImageViewTarget(view, transcodeClass),
         /* targetListener= */ null,
         requestOptions,
-        Executors.mainThreadExecutor());
+        getMainThreadCallbackExecutor(/* isVisibleTarget= */ true));
   }
 
   /**
@@ -553,6 +553,24 @@ public class RequestManager
     return asDrawable().load(model);
   }
 
+  /**
+   * Returns a new {@link RequestBatch} that starts loads for many {@link Target}s at once using the
+   * options of the given {@link RequestBuilder}.
+   *
+   * <p>Batches reduce the main thread overhead of starting many loads in the same frame, for
+   * example when binding all of the visible cells of a grid. The given {@link RequestBuilder} is
+   * copied, so later changes to it don't affect the returned batch.
+   *
+   * @param requestBuilder A {@link RequestBuilder} obtained from this {@link RequestManager} with
+   *     the options shared by every load in the batch.
+   */
+  @NonNull
+  @CheckResult
+  public <ResourceType> RequestBatch<ResourceType> batch(
+      @NonNull RequestBuilder<ResourceType> requestBuilder) {
+    return new RequestBatch<>(glide.getGlideContext().getEngine(), requestBuilder);
+  }
+
   /**
    * Attempts always load the resource into the cache and return the {@link File} containing the
    * cached source data.
@@ -28,6 +28,11 @@ public final class Options implements Key {
     return this;
   }
 
+  /** Returns {@code true} if no {@link Option Options} are set. */
+  public boolean isEmpty() {
+    return values.isEmpty();
+  }
+
   @Nullable
   @SuppressWarnings("unchecked")
   public <T> T get(@NonNull Option<T> option) {
@@ -0,0 +1,83 @@
+package com.bumptech.glide.load.data;
+
+import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.util.ContentLengthInputStream;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts network fetches that were aborted because their load was cancelled while they were in
+ * progress, and the number of response bytes that weren't downloaded as a result.
+ *
+ * <p>Bytes saved are only counted for responses with a known content length, so the total is a
+ * lower bound.
+ */
+public final class CancelledFetchMetrics {
+  private static final String TAG = "CancelledFetches";
+  private static final AtomicLong CANCELLED_FETCH_COUNT = new AtomicLong();
+  private static final AtomicLong BYTES_SAVED = new AtomicLong();
+
+  private CancelledFetchMetrics() {
+    // Utility class.
+  }
+
+  /**
+   * Records a fetch cancelled after it started.
+   *
+   * @param stream The response body, if available. Bytes saved are only counted for streams
+   *     obtained from {@link ContentLengthInputStream#obtain(InputStream, long)} with a known
+   *     content length.
+   */
+  public static void onFetchCancelled(@Nullable InputStream stream) {
+    long remainingBytes = ContentLengthInputStream.UNKNOWN;
+    if (stream instanceof ContentLengthInputStream) {
+      remainingBytes = ((ContentLengthInputStream) stream).getRemainingByteCount();
+    }
+    onFetchCancelled(remainingBytes);
+  }
+
+  /**
+   * Records a fetch cancelled after it started.
+   *
+   * @param remainingBytes The number of response bytes that won't be downloaded, or a negative
+   *     value if unknown.
+   */
+  public static void onFetchCancelled(long remainingBytes) {
+    CANCELLED_FETCH_COUNT.incrementAndGet();
+    if (remainingBytes > 0) {
+      BYTES_SAVED.addAndGet(remainingBytes);
+    }
+    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+      Log.v(
+          TAG,
+          "Cancelled in progress fetch"
+              + ", remaining bytes: "
+              + remainingBytes
+              + ", total cancelled: "
+              + CANCELLED_FETCH_COUNT.get()
+              + ", total bytes saved: "
+              + BYTES_SAVED.get());
+    }
+  }
+
+  /** Returns the number of fetches cancelled while in progress since the process started. */
+  public static long getCancelledFetchCount() {
+    return CANCELLED_FETCH_COUNT.get();
+  }
+
+  /**
+   * Returns the number of response bytes not downloaded because of cancelled fetches since the
+   * process started.
+   */
+  public static long getBytesSaved() {
+    return BYTES_SAVED.get();
+  }
+
+  @VisibleForTesting
+  public static void reset() {
+    CANCELLED_FETCH_COUNT.set(0);
+    BYTES_SAVED.set(0);
+  }
+}
@@ -51,6 +51,10 @@ public interface DataFetcher<T> {
    * <b>MUST</b> use the {@link DataCallback} once the request is complete.
    *
    * <p>You are free to move the fetch work to another thread and call the callback from there.
+   * Glide's thread is released as soon as this method returns, and the load is rescheduled onto one
+   * of Glide's threads when the callback is called. Fetchers that use an asynchronous client and
+   * only call the callback once the data is in memory therefore don't occupy any of Glide's threads
+   * while waiting on the network.
    *
    * <p>This method will only be called when the corresponding resource is not in the cache.
    *
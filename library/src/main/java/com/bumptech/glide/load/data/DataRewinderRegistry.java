@@ -2,6 +2,7 @@ package com.bumptech.glide.load.data;
 
 import androidx.annotation.NonNull;
 import com.bumptech.glide.util.Preconditions;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -10,7 +11,8 @@ import java.util.Map;
  * allows registration of new types and factories.
  */
 public class DataRewinderRegistry {
-  private final Map<Class<?>, DataRewinder.Factory<?>> rewinders = new HashMap<>();
+  // Replaced rather than modified so that lookups, which happen for every decode, don't lock.
+  private volatile Map<Class<?>, DataRewinder.Factory<?>> rewinders = Collections.emptyMap();
   private static final DataRewinder.Factory<?> DEFAULT_FACTORY =
       new DataRewinder.Factory<Object>() {
         @NonNull
@@ -27,16 +29,19 @@ public class DataRewinderRegistry {
       };
 
   public synchronized void register(@NonNull DataRewinder.Factory<?> factory) {
-    rewinders.put(factory.getDataClass(), factory);
+    Map<Class<?>, DataRewinder.Factory<?>> updated = new HashMap<>(rewinders);
+    updated.put(factory.getDataClass(), factory);
+    rewinders = updated;
   }
 
   @NonNull
   @SuppressWarnings("unchecked")
-  public synchronized <T> DataRewinder<T> build(@NonNull T data) {
+  public <T> DataRewinder<T> build(@NonNull T data) {
     Preconditions.checkNotNull(data);
-    DataRewinder.Factory<T> result = (DataRewinder.Factory<T>) rewinders.get(data.getClass());
+    Map<Class<?>, DataRewinder.Factory<?>> current = rewinders;
+    DataRewinder.Factory<T> result = (DataRewinder.Factory<T>) current.get(data.getClass());
     if (result == null) {
-      for (DataRewinder.Factory<?> registeredFactory : rewinders.values()) {
+      for (DataRewinder.Factory<?> registeredFactory : current.values()) {
         if (registeredFactory.getDataClass().isAssignableFrom(data.getClass())) {
           result = (DataRewinder.Factory<T>) registeredFactory;
           break;
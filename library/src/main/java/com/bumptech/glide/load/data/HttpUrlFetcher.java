@@ -7,8 +7,11 @@ import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.HttpException;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.util.ContentLengthInputStream;
+import com.bumptech.glide.util.GlideSuppliers;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
 import com.bumptech.glide.util.LogTime;
 import com.bumptech.glide.util.Synthetic;
 import java.io.IOException;
@@ -18,6 +21,8 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /** A DataFetcher that retrieves an {@link java.io.InputStream} for a Url. */
 public class HttpUrlFetcher implements DataFetcher<InputStream> {
@@ -32,12 +37,34 @@ public class HttpUrlFetcher implements DataFetcher<InputStream> {
   /** Returned when a connection error prevented us from receiving an http error. */
   @VisibleForTesting static final int INVALID_STATUS_CODE = -1;
 
+  private static final String DISCONNECT_EXECUTOR_NAME = "disconnect";
+  private static final long DISCONNECT_THREAD_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
+
+  // Created lazily because most fetches finish before they're cancelled. A single thread is
+  // enough because disconnecting only closes the connection's socket. The thread is allowed to
+  // perform network operations, which disconnecting may do.
+  private static final GlideSupplier<Executor> DEFAULT_DISCONNECT_EXECUTOR =
+      GlideSuppliers.memorize(
+          new GlideSupplier<Executor>() {
+            @Override
+            public Executor get() {
+              return GlideExecutor.newSourceBuilder()
+                  .setThreadCount(1)
+                  .setName(DISCONNECT_EXECUTOR_NAME)
+                  .setThreadTimeoutMillis(DISCONNECT_THREAD_TIMEOUT_MS)
+                  .build();
+            }
+          });
+
   private final GlideUrl glideUrl;
   private final int timeout;
   private final HttpUrlConnectionFactory connectionFactory;
+  private final GlideSupplier<Executor> disconnectExecutor;
 
-  private HttpURLConnection urlConnection;
-  private InputStream stream;
+  // Written on the thread running the fetch, but read by cancel(), which may be called on any
+  // thread.
+  private volatile HttpURLConnection urlConnection;
+  private volatile InputStream stream;
   private volatile boolean isCancelled;
 
   public HttpUrlFetcher(GlideUrl glideUrl, int timeout) {
@@ -46,9 +73,19 @@ public class HttpUrlFetcher implements DataFetcher<InputStream> {
 
   @VisibleForTesting
   HttpUrlFetcher(GlideUrl glideUrl, int timeout, HttpUrlConnectionFactory connectionFactory) {
+    this(glideUrl, timeout, connectionFactory, DEFAULT_DISCONNECT_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  HttpUrlFetcher(
+      GlideUrl glideUrl,
+      int timeout,
+      HttpUrlConnectionFactory connectionFactory,
+      GlideSupplier<Executor> disconnectExecutor) {
     this.glideUrl = glideUrl;
     this.timeout = timeout;
     this.connectionFactory = connectionFactory;
+    this.disconnectExecutor = disconnectExecutor;
   }
 
   @Override
@@ -87,6 +124,10 @@ public class HttpUrlFetcher implements DataFetcher<InputStream> {
       }
     }
 
+    // Avoid following redirects for cancelled fetches.
+    if (isCancelled) {
+      return null;
+    }
     urlConnection = buildAndConfigureConnection(url, headers);
 
     try {
@@ -195,24 +236,39 @@ public class HttpUrlFetcher implements DataFetcher<InputStream> {
 
   @Override
   public void cleanup() {
-    if (stream != null) {
+    InputStream localStream = stream;
+    if (localStream != null) {
       try {
-        stream.close();
+        localStream.close();
       } catch (IOException e) {
         // Ignore
       }
     }
-    if (urlConnection != null) {
-      urlConnection.disconnect();
+    HttpURLConnection localConnection = urlConnection;
+    if (localConnection != null) {
+      localConnection.disconnect();
     }
     urlConnection = null;
   }
 
+  /**
+   * Stops the fetch, including any reads from the response that are in progress on other threads.
+   *
+   * <p>Reads are aborted by disconnecting the connection, which closes its socket. Disconnecting
+   * may perform network I/O, so it's done on a background thread because cancel is often called on
+   * the main thread.
+   */
   @Override
   public void cancel() {
-    // TODO: we should consider disconnecting the url connection here, but we can't do so
-    // directly because cancel is often called on the main thread.
     isCancelled = true;
+    final HttpURLConnection localConnection = urlConnection;
+    // Either the fetch hasn't connected yet and will notice that it was cancelled before it does,
+    // or it has already been cleaned up.
+    if (localConnection == null) {
+      return;
+    }
+    CancelledFetchMetrics.onFetchCancelled(stream);
+    disconnectExecutor.get().execute(new DisconnectRunnable(localConnection));
   }
 
   @NonNull
@@ -227,6 +283,31 @@ public class HttpUrlFetcher implements DataFetcher<InputStream> {
     return DataSource.REMOTE;
   }
 
+  /**
+   * Disconnects a connection.
+   *
+   * <p>{@link GlideExecutor}s order the work they're given by priority, so this is {@link
+   * Comparable}. All disconnects have the same priority.
+   */
+  private static final class DisconnectRunnable
+      implements Runnable, Comparable<DisconnectRunnable> {
+    private final HttpURLConnection connection;
+
+    DisconnectRunnable(HttpURLConnection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public void run() {
+      connection.disconnect();
+    }
+
+    @Override
+    public int compareTo(@NonNull DisconnectRunnable other) {
+      return 0;
+    }
+  }
+
   interface HttpUrlConnectionFactory {
     HttpURLConnection build(URL url) throws IOException;
   }
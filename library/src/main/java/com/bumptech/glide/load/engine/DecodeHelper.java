@@ -1,5 +1,6 @@
 package com.bumptech.glide.load.engine;
 
+import androidx.annotation.Nullable;
 import com.bumptech.glide.GlideContext;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.Registry;
@@ -23,8 +24,10 @@ import java.util.Map.Entry;
 
 final class DecodeHelper<Transcode> {
 
+  // These lists are reused by every job that reuses this helper, see DecodeJobFactory.
   private final List<LoadData<?>> loadData = new ArrayList<>();
   private final List<Key> cacheKeys = new ArrayList<>();
+  private final List<ModelLoader<Object, ?>> modelLoaders = new ArrayList<>();
 
   private GlideContext glideContext;
   private Object model;
@@ -128,6 +131,11 @@ final class DecodeHelper<Transcode> {
     return glideContext.getArrayPool();
   }
 
+  @Nullable
+  NetworkFetchScheduler getNetworkFetchScheduler() {
+    return glideContext.getNetworkFetchScheduler();
+  }
+
   Class<?> getTranscodeClass() {
     return transcodeClass;
   }
@@ -209,14 +217,18 @@ final class DecodeHelper<Transcode> {
     if (!isLoadDataSet) {
       isLoadDataSet = true;
       loadData.clear();
-      List<ModelLoader<Object, ?>> modelLoaders = glideContext.getRegistry().getModelLoaders(model);
-      //noinspection ForLoopReplaceableByForEach to improve perf
-      for (int i = 0, size = modelLoaders.size(); i < size; i++) {
-        ModelLoader<Object, ?> modelLoader = modelLoaders.get(i);
-        LoadData<?> current = modelLoader.buildLoadData(model, width, height, options);
-        if (current != null) {
-          loadData.add(current);
+      try {
+        glideContext.getRegistry().getModelLoaders(model, modelLoaders);
+        //noinspection ForLoopReplaceableByForEach to improve perf
+        for (int i = 0, size = modelLoaders.size(); i < size; i++) {
+          ModelLoader<Object, ?> modelLoader = modelLoaders.get(i);
+          LoadData<?> current = modelLoader.buildLoadData(model, width, height, options);
+          if (current != null) {
+            loadData.add(current);
+          }
         }
+      } finally {
+        modelLoaders.clear();
       }
     }
     return loadData;
@@ -31,6 +31,7 @@ import com.bumptech.glide.util.pool.StateVerifier;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 import java.util.function.Supplier;
 
 /**
@@ -91,6 +92,8 @@ class DecodeJob<R>
   private Object model;
   private GlideExperiments experiments;
   @Nullable private Supplier<Integer> glideThreadPriorityOverride;
+  // Set before each time the job is executed, see GlideExecutor#getDecodePermits().
+  @Nullable private Semaphore decodePermits;
 
   private Thread currentThread;
   private Key currentSourceKey;
@@ -160,6 +163,14 @@ class DecodeJob<R>
     return this;
   }
 
+  /**
+   * Sets the permits, if any, that this job holds while it decodes on the executor it's about to be
+   * executed on.
+   */
+  void setDecodePermits(@Nullable Semaphore decodePermits) {
+    this.decodePermits = decodePermits;
+  }
+
   /**
    * Returns true if this job will attempt to decode a resource from the disk cache, and false if it
    * will always decode from source.
@@ -212,6 +223,7 @@ class DecodeJob<R>
     stage = null;
     currentGenerator = null;
     currentThread = null;
+    decodePermits = null;
     currentSourceKey = null;
     currentData = null;
     currentDataSource = null;
@@ -502,11 +514,19 @@ class DecodeJob<R>
       }
     }
     Resource<R> resource = null;
+    Semaphore permits = decodePermits;
+    if (permits != null) {
+      permits.acquireUninterruptibly();
+    }
     try {
       resource = decodeFromData(currentFetcher, currentData, currentDataSource);
     } catch (GlideException e) {
       e.setLoggingDetails(currentAttemptingKey, currentDataSource);
       throwables.add(e);
+    } finally {
+      if (permits != null) {
+        permits.release();
+      }
     }
     if (resource != null) {
       notifyEncodeAndRelease(resource, currentDataSource, isLoadingFromAlternateCacheKey);
@@ -535,7 +555,14 @@ class DecodeJob<R>
       stage = Stage.ENCODE;
       try {
         if (deferredEncodeManager.hasResourceToEncode()) {
-          deferredEncodeManager.encode(diskCacheProvider, options);
+          DeferredEncodeQueue encodeQueue = glideContext.getDeferredEncodeQueue();
+          if (encodeQueue != null) {
+            // The queue owns and unlocks both resources from now on.
+            deferredEncodeManager.enqueue(encodeQueue, diskCacheProvider, options, lockedResource);
+            lockedResource = null;
+          } else {
+            deferredEncodeManager.encode(diskCacheProvider, options);
+          }
         }
       } finally {
         if (lockedResource != null) {
@@ -784,6 +811,14 @@ class DecodeJob<R>
       }
     }
 
+    void enqueue(
+        DeferredEncodeQueue encodeQueue,
+        DiskCacheProvider diskCacheProvider,
+        Options options,
+        @Nullable LockedResource<?> result) {
+      encodeQueue.enqueue(diskCacheProvider, key, encoder, toEncode, options, result);
+    }
+
     boolean hasResourceToEncode() {
       return toEncode != null;
     }
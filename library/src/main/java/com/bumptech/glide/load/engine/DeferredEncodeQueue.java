@@ -0,0 +1,242 @@
+package com.bumptech.glide.load.engine;
+
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.engine.DecodeJob.DiskCacheProvider;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
+import com.bumptech.glide.util.GlideSuppliers;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.pool.GlideTrace;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Writes transformed resources to the disk cache on a single low priority thread after their loads
+ * complete, rather than on the thread that decoded them.
+ *
+ * <p>Encoding, for example compressing a {@link android.graphics.Bitmap}, can take as long as
+ * decoding. Without this queue, a burst of decodes keeps Glide's source threads busy encoding while
+ * new loads wait for them. With this queue, the thread that decoded a resource is free to start
+ * another load as soon as the resource is delivered.
+ *
+ * <p>Queued resources can't be recycled until they're encoded, so the number of queued encodes is
+ * limited. Encodes that don't fit, that are for a key that's already queued or that are queued
+ * when memory is low are dropped. Dropping an encode only means that the resource is decoded again
+ * the next time it's loaded.
+ *
+ * <p>Encodes can be paused, for example while a list is scrolling, using {@link #pause()} and
+ * {@link #resume()}.
+ */
+public final class DeferredEncodeQueue {
+  private static final String TAG = "DeferredEncodeQueue";
+  /** The default maximum number of queued encodes. */
+  public static final int DEFAULT_MAX_PENDING_ENCODES = 20;
+
+  private final int maxPendingEncodes;
+  private final GlideSupplier<Executor> executor;
+
+  @GuardedBy("this")
+  private final Map<Key, PendingEncode<?>> pending = new LinkedHashMap<>();
+
+  @GuardedBy("this")
+  private boolean isPaused;
+
+  @GuardedBy("this")
+  private boolean isEncodeScheduled;
+
+  private final Runnable encodeNext =
+      new Runnable() {
+        @Override
+        public void run() {
+          encodeNext();
+        }
+      };
+
+  /** @param maxPendingEncodes The maximum number of encodes that may wait to be written. */
+  public DeferredEncodeQueue(int maxPendingEncodes) {
+    this(
+        maxPendingEncodes,
+        GlideSuppliers.memorize(
+            new GlideSupplier<Executor>() {
+              @Override
+              public Executor get() {
+                return GlideExecutor.newEncodeExecutor();
+              }
+            }));
+  }
+
+  @VisibleForTesting
+  DeferredEncodeQueue(int maxPendingEncodes, GlideSupplier<Executor> executor) {
+    Preconditions.checkArgument(
+        maxPendingEncodes > 0, "maxPendingEncodes must be > 0: " + maxPendingEncodes);
+    this.maxPendingEncodes = maxPendingEncodes;
+    this.executor = executor;
+  }
+
+  /**
+   * Queues the given resource to be written to the disk cache.
+   *
+   * <p>Takes ownership of the given {@link LockedResource}s, which are unlocked once the encode is
+   * written or dropped.
+   *
+   * @param result The resource delivered to the load, which holds on to {@code toEncode} and must
+   *     not be recycled until the encode is written, or {@code null} if there isn't one.
+   */
+  <Z> void enqueue(
+      @NonNull DiskCacheProvider diskCacheProvider,
+      @NonNull Key key,
+      @NonNull ResourceEncoder<Z> encoder,
+      @NonNull LockedResource<Z> toEncode,
+      @NonNull Options options,
+      @Nullable LockedResource<?> result) {
+    PendingEncode<Z> encode =
+        new PendingEncode<>(diskCacheProvider, key, encoder, toEncode, options, result);
+    boolean isQueued = false;
+    synchronized (this) {
+      if (!pending.containsKey(key) && pending.size() < maxPendingEncodes) {
+        pending.put(key, encode);
+        isQueued = true;
+      }
+    }
+    if (!isQueued) {
+      if (Log.isLoggable(TAG, Log.VERBOSE)) {
+        Log.v(TAG, "Dropped duplicate or excess encode for: " + key);
+      }
+      encode.unlock();
+      return;
+    }
+    maybeScheduleEncode();
+  }
+
+  /** Stops writing queued encodes until {@link #resume()} is called. */
+  public void pause() {
+    synchronized (this) {
+      isPaused = true;
+    }
+  }
+
+  /** Resumes writing queued encodes after {@link #pause()}. */
+  public void resume() {
+    synchronized (this) {
+      isPaused = false;
+    }
+    maybeScheduleEncode();
+  }
+
+  /** Drops all queued encodes so that their resources may be recycled. */
+  public void clear() {
+    List<PendingEncode<?>> toDrop;
+    synchronized (this) {
+      toDrop = new ArrayList<>(pending.values());
+      pending.clear();
+    }
+    for (PendingEncode<?> encode : toDrop) {
+      encode.unlock();
+    }
+  }
+
+  /**
+   * Drops all queued encodes if memory is low.
+   *
+   * @see android.content.ComponentCallbacks2#onTrimMemory(int)
+   */
+  public void trimMemory(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+      clear();
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getPendingCount() {
+    return pending.size();
+  }
+
+  private void maybeScheduleEncode() {
+    synchronized (this) {
+      if (isPaused || isEncodeScheduled || pending.isEmpty()) {
+        return;
+      }
+      isEncodeScheduled = true;
+    }
+    executor.get().execute(encodeNext);
+  }
+
+  @Synthetic
+  void encodeNext() {
+    PendingEncode<?> next;
+    synchronized (this) {
+      Iterator<PendingEncode<?>> iterator = pending.values().iterator();
+      if (isPaused || !iterator.hasNext()) {
+        isEncodeScheduled = false;
+        return;
+      }
+      next = iterator.next();
+      iterator.remove();
+    }
+    // Encode one resource per task so that the queue can be paused or cleared in between.
+    try {
+      next.encode();
+    } finally {
+      synchronized (this) {
+        isEncodeScheduled = false;
+      }
+      maybeScheduleEncode();
+    }
+  }
+
+  private static final class PendingEncode<Z> {
+    private final DiskCacheProvider diskCacheProvider;
+    private final Key key;
+    private final ResourceEncoder<Z> encoder;
+    private final LockedResource<Z> toEncode;
+    private final Options options;
+    @Nullable private final LockedResource<?> result;
+
+    PendingEncode(
+        DiskCacheProvider diskCacheProvider,
+        Key key,
+        ResourceEncoder<Z> encoder,
+        LockedResource<Z> toEncode,
+        Options options,
+        @Nullable LockedResource<?> result) {
+      this.diskCacheProvider = diskCacheProvider;
+      this.key = key;
+      this.encoder = encoder;
+      this.toEncode = toEncode;
+      this.options = options;
+      this.result = result;
+    }
+
+    void encode() {
+      GlideTrace.beginSection("DeferredEncodeQueue.encode");
+      try {
+        diskCacheProvider
+            .getDiskCache()
+            .put(key, new DataCacheWriter<>(encoder, toEncode, options));
+      } finally {
+        unlock();
+        GlideTrace.endSection();
+      }
+    }
+
+    void unlock() {
+      toEncode.unlock();
+      if (result != null) {
+        result.unlock();
+      }
+    }
+  }
+}
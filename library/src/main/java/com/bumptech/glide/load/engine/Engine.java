@@ -21,7 +21,10 @@ import com.bumptech.glide.util.Executors;
 import com.bumptech.glide.util.LogTime;
 import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.Util;
 import com.bumptech.glide.util.pool.FactoryPools;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 
@@ -34,14 +37,43 @@ public class Engine
   private static final int JOB_POOL_SIZE = 150;
   private static final boolean VERBOSE_IS_LOGGABLE = Log.isLoggable(TAG, Log.VERBOSE);
   private final Jobs jobs;
-  private final EngineKeyFactory keyFactory;
+  @Synthetic final EngineKeyFactory keyFactory;
   private final MemoryCache cache;
   private final EngineJobFactory engineJobFactory;
   private final ResourceRecycler resourceRecycler;
   private final LazyDiskCacheProvider diskCacheProvider;
   private final DecodeJobFactory decodeJobFactory;
   private final ActiveResources activeResources;
+  @Nullable private final GlideExecutor loadExecutor;
 
+  // Only modified on the main thread. Other threads may read a stale value, but the main thread
+  // check in load() means that they never add to the list.
+  @Nullable private List<BatchedLoad> batchedLoads;
+  private int batchDepth;
+
+  public Engine(
+      MemoryCache memoryCache,
+      DiskCache.Factory diskCacheFactory,
+      GlideExecutor diskCacheExecutor,
+      GlideExecutor sourceExecutor,
+      GlideExecutor sourceUnlimitedExecutor,
+      GlideExecutor animationExecutor,
+      boolean isActiveResourceRetentionAllowed) {
+    this(
+        memoryCache,
+        diskCacheFactory,
+        diskCacheExecutor,
+        sourceExecutor,
+        sourceUnlimitedExecutor,
+        animationExecutor,
+        /* loadExecutor= */ null,
+        isActiveResourceRetentionAllowed);
+  }
+
+  /**
+   * @param loadExecutor If non-null, loads started on the main thread check the memory caches and
+   *     start or join jobs on this executor instead, see {@link #load}.
+   */
   public Engine(
       MemoryCache memoryCache,
       DiskCache.Factory diskCacheFactory,
@@ -49,6 +81,7 @@ public class Engine
       GlideExecutor sourceExecutor,
       GlideExecutor sourceUnlimitedExecutor,
       GlideExecutor animationExecutor,
+      @Nullable GlideExecutor loadExecutor,
       boolean isActiveResourceRetentionAllowed) {
     this(
         memoryCache,
@@ -57,6 +90,7 @@ public class Engine
         sourceExecutor,
         sourceUnlimitedExecutor,
         animationExecutor,
+        loadExecutor,
         /* jobs= */ null,
         /* keyFactory= */ null,
         /* activeResources= */ null,
@@ -74,6 +108,7 @@ public class Engine
       GlideExecutor sourceExecutor,
       GlideExecutor sourceUnlimitedExecutor,
       GlideExecutor animationExecutor,
+      @Nullable GlideExecutor loadExecutor,
       Jobs jobs,
       EngineKeyFactory keyFactory,
       ActiveResources activeResources,
@@ -82,6 +117,7 @@ public class Engine
       ResourceRecycler resourceRecycler,
       boolean isActiveResourceRetentionAllowed) {
     this.cache = cache;
+    this.loadExecutor = loadExecutor;
     this.diskCacheProvider = new LazyDiskCacheProvider(diskCacheFactory);
 
     if (activeResources == null) {
@@ -130,6 +166,12 @@ public class Engine
    *
    * <p>Must be called on the main thread.
    *
+   * <p>If the engine has a load executor, loads started on the main thread return a {@link
+   * LoadStatus} immediately and the flow below runs on the load executor instead. Resources found
+   * in memory are then passed to {@code cb} using {@code callbackExecutor}, like the results of
+   * new loads, rather than before this method returns. Loads started off the main thread, or while
+   * a batch is in progress, aren't affected.
+   *
    * <p>The flow for any request is as follows:
    *
    * <ul>
@@ -174,6 +216,36 @@ public class Engine
       Executor callbackExecutor) {
     long startTime = VERBOSE_IS_LOGGABLE ? LogTime.getLogTime() : 0;
 
+    boolean isDeferred =
+        (loadExecutor != null || batchedLoads != null) && Util.isOnMainThread();
+    if (isDeferred) {
+      LoadRequest<R> request =
+          new LoadRequest<>(
+              glideContext,
+              model,
+              signature,
+              width,
+              height,
+              resourceClass,
+              transcodeClass,
+              priority,
+              diskCacheStrategy,
+              transformations,
+              isTransformationRequired,
+              isScaleOnlyOrNoTransform,
+              options,
+              isMemoryCacheable,
+              useUnlimitedSourceExecutorPool,
+              useAnimationPool,
+              onlyRetrieveFromCache,
+              cb,
+              callbackExecutor,
+              startTime);
+      return batchedLoads != null
+          ? addToBatch(request)
+          : loadOnExecutor(Preconditions.checkNotNull(loadExecutor), request);
+    }
+
     EngineKey key =
         keyFactory.buildKey(
             model,
@@ -190,28 +262,30 @@ public class Engine
       memoryResource = loadFromMemory(key, isMemoryCacheable, startTime);
 
       if (memoryResource == null) {
-        return waitForExistingOrStartNewJob(
-            glideContext,
-            model,
-            signature,
-            width,
-            height,
-            resourceClass,
-            transcodeClass,
-            priority,
-            diskCacheStrategy,
-            transformations,
-            isTransformationRequired,
-            isScaleOnlyOrNoTransform,
-            options,
-            isMemoryCacheable,
-            useUnlimitedSourceExecutorPool,
-            useAnimationPool,
-            onlyRetrieveFromCache,
-            cb,
-            callbackExecutor,
-            key,
-            startTime);
+        EngineJob<?> engineJob =
+            waitForExistingOrStartNewJob(
+                glideContext,
+                model,
+                signature,
+                width,
+                height,
+                resourceClass,
+                transcodeClass,
+                priority,
+                diskCacheStrategy,
+                transformations,
+                isTransformationRequired,
+                isScaleOnlyOrNoTransform,
+                options,
+                isMemoryCacheable,
+                useUnlimitedSourceExecutorPool,
+                useAnimationPool,
+                onlyRetrieveFromCache,
+                cb,
+                callbackExecutor,
+                key,
+                startTime);
+        return new LoadStatus(cb, engineJob);
       }
     }
 
@@ -222,7 +296,167 @@ public class Engine
     return null;
   }
 
-  private <R> LoadStatus waitForExistingOrStartNewJob(
+  private LoadStatus loadOnExecutor(Executor loadExecutor, final LoadRequest<?> request) {
+    final LoadStatus loadStatus = new LoadStatus(request.cb, /* engineJob= */ null);
+    loadExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            EngineKey key = buildKey(request);
+
+            final EngineResource<?> memoryResource;
+            synchronized (Engine.this) {
+              if (loadStatus.isCancelled) {
+                return;
+              }
+              memoryResource = loadFromMemoryOrStartJob(request, key, loadStatus);
+              if (memoryResource == null) {
+                return;
+              }
+            }
+
+            request.callbackExecutor.execute(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    deliverMemoryResource(loadStatus, memoryResource);
+                  }
+                });
+          }
+        });
+    return loadStatus;
+  }
+
+  @Synthetic
+  void deliverMemoryResource(LoadStatus loadStatus, EngineResource<?> memoryResource) {
+    boolean isCancelled;
+    synchronized (this) {
+      isCancelled = loadStatus.isCancelled;
+    }
+    // The request may have been cleared while the resource was posted, in which case it's no
+    // longer the request's responsibility to release it.
+    if (isCancelled) {
+      memoryResource.release();
+    } else {
+      // Avoid calling back while holding the engine lock, see load().
+      loadStatus.cb.onResourceReady(
+          memoryResource, DataSource.MEMORY_CACHE, /* isLoadedFromAlternateCacheKey= */ false);
+    }
+  }
+
+  /**
+   * Defers loads started on the main thread until the matching call to {@link #endBatch()}.
+   *
+   * <p>Batches let callers that start many loads at once, like {@link
+   * com.bumptech.glide.RequestBatch}, check the memory caches and start or join jobs for all of the
+   * loads while acquiring the engine lock only once.
+   *
+   * <p>Batches may be nested, deferred loads are started when the outermost batch ends. Must be
+   * called on the main thread.
+   */
+  public void beginBatch() {
+    Util.assertMainThread();
+    if (batchDepth++ == 0) {
+      batchedLoads = new ArrayList<>();
+    }
+  }
+
+  /**
+   * Starts all loads deferred since the matching call to {@link #beginBatch()}, unless they were
+   * cancelled in the meantime.
+   *
+   * <p>Must be called on the main thread.
+   */
+  public void endBatch() {
+    Util.assertMainThread();
+    Preconditions.checkArgument(batchDepth > 0, "endBatch() called without beginBatch()");
+    if (--batchDepth > 0) {
+      return;
+    }
+    List<BatchedLoad> loads = Preconditions.checkNotNull(batchedLoads);
+    batchedLoads = null;
+
+    synchronized (this) {
+      for (BatchedLoad load : loads) {
+        if (load.loadStatus.isCancelled) {
+          continue;
+        }
+        load.memoryResource = loadFromMemoryOrStartJob(load.request, load.key, load.loadStatus);
+      }
+    }
+
+    // Avoid calling back while holding the engine lock, see load().
+    for (BatchedLoad load : loads) {
+      if (load.memoryResource != null) {
+        load.loadStatus.cb.onResourceReady(
+            load.memoryResource,
+            DataSource.MEMORY_CACHE,
+            /* isLoadedFromAlternateCacheKey= */ false);
+      }
+    }
+  }
+
+  private LoadStatus addToBatch(LoadRequest<?> request) {
+    LoadStatus loadStatus = new LoadStatus(request.cb, /* engineJob= */ null);
+    Preconditions.checkNotNull(batchedLoads)
+        .add(new BatchedLoad(request, buildKey(request), loadStatus));
+    return loadStatus;
+  }
+
+  @Synthetic
+  EngineKey buildKey(LoadRequest<?> request) {
+    return keyFactory.buildKey(
+        request.model,
+        request.signature,
+        request.width,
+        request.height,
+        request.transformations,
+        request.resourceClass,
+        request.transcodeClass,
+        request.options);
+  }
+
+  /**
+   * Returns the resource for the given request if it's in memory, or otherwise starts or joins a
+   * job for it and sets the job on {@code loadStatus}.
+   *
+   * <p>Must be called while holding the engine lock.
+   */
+  @Synthetic
+  @Nullable
+  EngineResource<?> loadFromMemoryOrStartJob(
+      LoadRequest<?> request, EngineKey key, LoadStatus loadStatus) {
+    EngineResource<?> memoryResource =
+        loadFromMemory(key, request.isMemoryCacheable, request.startTime);
+    if (memoryResource == null) {
+      loadStatus.engineJob =
+          waitForExistingOrStartNewJob(
+              request.glideContext,
+              request.model,
+              request.signature,
+              request.width,
+              request.height,
+              request.resourceClass,
+              request.transcodeClass,
+              request.priority,
+              request.diskCacheStrategy,
+              request.transformations,
+              request.isTransformationRequired,
+              request.isScaleOnlyOrNoTransform,
+              request.options,
+              request.isMemoryCacheable,
+              request.useUnlimitedSourceExecutorPool,
+              request.useAnimationPool,
+              request.onlyRetrieveFromCache,
+              request.cb,
+              request.callbackExecutor,
+              key,
+              request.startTime);
+    }
+    return memoryResource;
+  }
+
+  private <R> EngineJob<?> waitForExistingOrStartNewJob(
       GlideContext glideContext,
       Object model,
       Key signature,
@@ -251,7 +485,7 @@ public class Engine
       if (VERBOSE_IS_LOGGABLE) {
         logWithTimeAndKey("Added to existing load", startTime, key);
       }
-      return new LoadStatus(cb, current);
+      return current;
     }
 
     EngineJob<R> engineJob =
@@ -289,11 +523,12 @@ public class Engine
     if (VERBOSE_IS_LOGGABLE) {
       logWithTimeAndKey("Started new load", startTime, key);
     }
-    return new LoadStatus(cb, engineJob);
+    return engineJob;
   }
 
+  @Synthetic
   @Nullable
-  private EngineResource<?> loadFromMemory(
+  EngineResource<?> loadFromMemory(
       EngineKey key, boolean isMemoryCacheable, long startTime) {
     if (!isMemoryCacheable) {
       return null;
@@ -411,6 +646,9 @@ public class Engine
   @VisibleForTesting
   public void shutdown() {
     engineJobFactory.shutdown();
+    if (loadExecutor != null) {
+      Executors.shutdownAndAwaitTermination(loadExecutor);
+    }
     diskCacheProvider.clearDiskCacheIfCreated();
     activeResources.shutdown();
   }
@@ -421,10 +659,13 @@ public class Engine
    * <p>Non-final for mocking.
    */
   public class LoadStatus {
-    private final EngineJob<?> engineJob;
-    private final ResourceCallback cb;
+    @Synthetic final ResourceCallback cb;
+    // Null until the load is started if the load was deferred by a batch or started on the load
+    // executor, and remains null if the resource was found in memory.
+    @Synthetic @Nullable EngineJob<?> engineJob;
+    @Synthetic boolean isCancelled;
 
-    LoadStatus(ResourceCallback cb, EngineJob<?> engineJob) {
+    LoadStatus(ResourceCallback cb, @Nullable EngineJob<?> engineJob) {
       this.cb = cb;
       this.engineJob = engineJob;
     }
@@ -435,11 +676,96 @@ public class Engine
       // to find the cancelling EngineJob in our Jobs data structure. With this lock, the EngineJob
       // is both cancelled and removed from Jobs atomically.
       synchronized (Engine.this) {
-        engineJob.removeCallback(cb);
+        if (engineJob != null) {
+          engineJob.removeCallback(cb);
+        } else {
+          isCancelled = true;
+        }
       }
     }
   }
 
+  /** The arguments of a call to {@link #load} that was deferred to a batch or the load executor. */
+  private static final class LoadRequest<R> {
+    @Synthetic final GlideContext glideContext;
+    @Synthetic final Object model;
+    @Synthetic final Key signature;
+    @Synthetic final int width;
+    @Synthetic final int height;
+    @Synthetic final Class<?> resourceClass;
+    @Synthetic final Class<R> transcodeClass;
+    @Synthetic final Priority priority;
+    @Synthetic final DiskCacheStrategy diskCacheStrategy;
+    @Synthetic final Map<Class<?>, Transformation<?>> transformations;
+    @Synthetic final boolean isTransformationRequired;
+    @Synthetic final boolean isScaleOnlyOrNoTransform;
+    @Synthetic final Options options;
+    @Synthetic final boolean isMemoryCacheable;
+    @Synthetic final boolean useUnlimitedSourceExecutorPool;
+    @Synthetic final boolean useAnimationPool;
+    @Synthetic final boolean onlyRetrieveFromCache;
+    @Synthetic final ResourceCallback cb;
+    @Synthetic final Executor callbackExecutor;
+    @Synthetic final long startTime;
+
+    LoadRequest(
+        GlideContext glideContext,
+        Object model,
+        Key signature,
+        int width,
+        int height,
+        Class<?> resourceClass,
+        Class<R> transcodeClass,
+        Priority priority,
+        DiskCacheStrategy diskCacheStrategy,
+        Map<Class<?>, Transformation<?>> transformations,
+        boolean isTransformationRequired,
+        boolean isScaleOnlyOrNoTransform,
+        Options options,
+        boolean isMemoryCacheable,
+        boolean useUnlimitedSourceExecutorPool,
+        boolean useAnimationPool,
+        boolean onlyRetrieveFromCache,
+        ResourceCallback cb,
+        Executor callbackExecutor,
+        long startTime) {
+      this.glideContext = glideContext;
+      this.model = model;
+      this.signature = signature;
+      this.width = width;
+      this.height = height;
+      this.resourceClass = resourceClass;
+      this.transcodeClass = transcodeClass;
+      this.priority = priority;
+      this.diskCacheStrategy = diskCacheStrategy;
+      this.transformations = transformations;
+      this.isTransformationRequired = isTransformationRequired;
+      this.isScaleOnlyOrNoTransform = isScaleOnlyOrNoTransform;
+      this.options = options;
+      this.isMemoryCacheable = isMemoryCacheable;
+      this.useUnlimitedSourceExecutorPool = useUnlimitedSourceExecutorPool;
+      this.useAnimationPool = useAnimationPool;
+      this.onlyRetrieveFromCache = onlyRetrieveFromCache;
+      this.cb = cb;
+      this.callbackExecutor = callbackExecutor;
+      this.startTime = startTime;
+    }
+  }
+
+  /** A load deferred until the end of a batch, see {@link #beginBatch()}. */
+  private static final class BatchedLoad {
+    @Synthetic final LoadRequest<?> request;
+    @Synthetic final EngineKey key;
+    @Synthetic final LoadStatus loadStatus;
+    @Synthetic @Nullable EngineResource<?> memoryResource;
+
+    BatchedLoad(LoadRequest<?> request, EngineKey key, LoadStatus loadStatus) {
+      this.request = request;
+      this.key = key;
+      this.loadStatus = loadStatus;
+    }
+  }
+
   private static class LazyDiskCacheProvider implements DecodeJob.DiskCacheProvider {
 
     private final DiskCache.Factory factory;
@@ -129,6 +129,7 @@ class EngineJob<R> implements DecodeJob.Callback<R>, Poolable {
     this.decodeJob = decodeJob;
     GlideExecutor executor =
         decodeJob.willDecodeFromCache() ? diskCacheExecutor : getActiveSourceExecutor();
+    decodeJob.setDecodePermits(executor.getDecodePermits());
     executor.execute(decodeJob);
   }
 
@@ -336,7 +337,9 @@ class EngineJob<R> implements DecodeJob.Callback<R>, Poolable {
   public void reschedule(DecodeJob<?> job) {
     // Even if the job is cancelled here, it still needs to be scheduled so that it can clean itself
     // up.
-    getActiveSourceExecutor().execute(job);
+    GlideExecutor executor = getActiveSourceExecutor();
+    job.setDecodePermits(executor.getDecodePermits());
+    executor.execute(job);
   }
 
   // We have to post Runnables in a loop. Typically there will be very few callbacks. Acessor method
@@ -0,0 +1,432 @@
+package com.bumptech.glide.load.engine;
+
+import android.os.SystemClock;
+import android.util.Log;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader.LoadData;
+import com.bumptech.glide.util.ContentLengthInputStream;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Limits the number of fetches of {@link DataSource#REMOTE} data that run at the same time for
+ * each host and starts queued fetches in {@link Priority} order.
+ *
+ * <p>Without a limit every source thread may fetch at once, and on slow networks all of the
+ * fetches share the available bandwidth and finish late together. With a limit, higher priority
+ * fetches, usually for visible images, get more of the bandwidth and finish first.
+ *
+ * <p>The limit for each host adapts to the measured throughput of fetches of that host, between
+ * one and the maximum given to the constructor. If a fetch downloads much more slowly than the
+ * best recent fetch, the fetches are competing for bandwidth and the limit is lowered. If fetches
+ * download about as quickly as the best recent fetch while others are waiting, there's bandwidth
+ * to spare and the limit is raised. Only fetches of responses of a known size of at least {@link
+ * #MIN_SAMPLE_BYTES} are measured, smaller responses are dominated by latency. Throughput is
+ * measured up to the end of the response, not including the time taken to decode it.
+ *
+ * <p>Fetches that can't start immediately are started on the executor given to the constructor
+ * once a running fetch for the same host finishes. A fetch is finished when it fails, it's
+ * cancelled, the end of its {@link InputStream} is read, its {@link ByteBuffer} is ready or its
+ * data is cleaned up.
+ *
+ * <p>The limits of up to {@link #MAX_HOSTS} hosts are remembered. Once more hosts are fetched, the
+ * least recently used hosts without running or queued fetches are forgotten and start again from
+ * the maximum if they're fetched later.
+ */
+public final class NetworkFetchScheduler {
+  private static final String TAG = "NetworkScheduler";
+  @VisibleForTesting static final int MIN_SAMPLE_BYTES = 16 * 1024;
+  @VisibleForTesting static final int MAX_HOSTS = 32;
+  // Fetches slower than this fraction of the best recent throughput lower the limit.
+  private static final float SATURATED_THROUGHPUT_RATIO = 0.5f;
+  // Fetches at least this fraction of the best recent throughput may raise the limit.
+  private static final float UNSATURATED_THROUGHPUT_RATIO = 0.75f;
+  // Lets the best throughput decay so that the limit recovers when the network changes.
+  private static final float BEST_THROUGHPUT_DECAY = 0.95f;
+  // Used for models that don't have a host.
+  private static final String UNKNOWN_HOST = "";
+
+  private final int maxFetchesPerHost;
+  private final Executor startExecutor;
+
+  @GuardedBy("this")
+  private final Map<String, Host> hosts =
+      new LinkedHashMap<>(
+          /* initialCapacity= */ 16, /* loadFactor= */ 0.75f, /* accessOrder= */ true);
+
+  @GuardedBy("this")
+  private long nextOrder;
+
+  /**
+   * @param maxFetchesPerHost The maximum number of fetches that may run at the same time for each
+   *     host.
+   * @param startExecutor Starts queued fetches, which may block on the network. Usually the
+   *     {@link Engine}'s unlimited source executor.
+   */
+  public NetworkFetchScheduler(int maxFetchesPerHost, @NonNull Executor startExecutor) {
+    Preconditions.checkArgument(
+        maxFetchesPerHost > 0, "maxFetchesPerHost must be > 0: " + maxFetchesPerHost);
+    this.maxFetchesPerHost = maxFetchesPerHost;
+    this.startExecutor = Preconditions.checkNotNull(startExecutor);
+  }
+
+  /**
+   * Returns {@link LoadData} whose fetcher is started by this scheduler if the given {@link
+   * LoadData} fetches remote data, or the given {@link LoadData} otherwise.
+   */
+  @NonNull
+  <Data> LoadData<Data> schedule(@NonNull LoadData<Data> loadData) {
+    if (loadData.fetcher.getDataSource() != DataSource.REMOTE) {
+      return loadData;
+    }
+    ScheduledFetcher<Data> fetcher =
+        new ScheduledFetcher<>(loadData.fetcher, getHostName(loadData.sourceKey));
+    return new LoadData<>(loadData.sourceKey, loadData.alternateKeys, fetcher);
+  }
+
+  @VisibleForTesting
+  synchronized int getLimit(@NonNull String hostName) {
+    Host host = hosts.get(hostName);
+    return host == null ? maxFetchesPerHost : host.limit;
+  }
+
+  private static String getHostName(Key sourceKey) {
+    if (sourceKey instanceof GlideUrl) {
+      try {
+        String host = ((GlideUrl) sourceKey).toURL().getHost();
+        if (host != null) {
+          return host;
+        }
+      } catch (MalformedURLException e) {
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+          Log.d(TAG, "Failed to parse url: " + sourceKey, e);
+        }
+      }
+    }
+    return UNKNOWN_HOST;
+  }
+
+  @GuardedBy("this")
+  private Host getOrCreateHost(String hostName) {
+    Host host = hosts.get(hostName);
+    if (host == null) {
+      trimIdleHosts();
+      host = new Host(maxFetchesPerHost);
+      hosts.put(hostName, host);
+    }
+    return host;
+  }
+
+  /**
+   * Forgets the least recently used hosts without running or queued fetches until there's room for
+   * another host, or no idle hosts are left.
+   */
+  @GuardedBy("this")
+  private void trimIdleHosts() {
+    Iterator<Host> iterator = hosts.values().iterator();
+    while (hosts.size() >= MAX_HOSTS && iterator.hasNext()) {
+      Host host = iterator.next();
+      if (host.running == 0 && host.queued.isEmpty()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /** Returns {@code true} if the fetch may start now, or queues it and returns {@code false}. */
+  @Synthetic
+  synchronized boolean onLoadRequested(ScheduledFetcher<?> fetcher) {
+    Host host = getOrCreateHost(fetcher.hostName);
+    fetcher.order = nextOrder++;
+    if (host.running < host.limit) {
+      host.running++;
+      fetcher.state = ScheduledFetcher.RUNNING;
+      return true;
+    }
+    fetcher.state = ScheduledFetcher.QUEUED;
+    host.queued.add(fetcher);
+    return false;
+  }
+
+  /** Returns {@code true} if the fetch was queued and won't be started. */
+  @Synthetic
+  boolean onCancelled(ScheduledFetcher<?> fetcher) {
+    synchronized (this) {
+      if (fetcher.state == ScheduledFetcher.QUEUED) {
+        fetcher.state = ScheduledFetcher.FINISHED;
+        getOrCreateHost(fetcher.hostName).queued.remove(fetcher);
+        return true;
+      }
+    }
+    onFinished(fetcher, /* bytesPerMs= */ -1);
+    return false;
+  }
+
+  /**
+   * Releases the fetch's slot and starts queued fetches if possible.
+   *
+   * @param bytesPerMs The fetch's throughput, or a negative value if it wasn't measured.
+   */
+  @Synthetic
+  void onFinished(ScheduledFetcher<?> fetcher, float bytesPerMs) {
+    List<ScheduledFetcher<?>> toStart;
+    synchronized (this) {
+      if (fetcher.state != ScheduledFetcher.RUNNING) {
+        return;
+      }
+      fetcher.state = ScheduledFetcher.FINISHED;
+      Host host = getOrCreateHost(fetcher.hostName);
+      host.running--;
+      if (bytesPerMs >= 0) {
+        host.onThroughputMeasured(bytesPerMs, maxFetchesPerHost);
+      }
+      toStart = null;
+      while (host.running < host.limit && !host.queued.isEmpty()) {
+        ScheduledFetcher<?> next = host.queued.poll();
+        next.state = ScheduledFetcher.RUNNING;
+        host.running++;
+        if (toStart == null) {
+          toStart = new ArrayList<>();
+        }
+        toStart.add(next);
+      }
+    }
+    if (toStart != null) {
+      for (final ScheduledFetcher<?> next : toStart) {
+        startExecutor.execute(
+            new Runnable() {
+              @Override
+              public void run() {
+                next.start();
+              }
+            });
+      }
+    }
+  }
+
+  @Synthetic
+  void notifyCancelledWhileQueued(final ScheduledFetcher<?> fetcher) {
+    // Fail asynchronously, cancel() is usually called on the main thread while holding locks.
+    startExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            fetcher.notifyCancelled();
+          }
+        });
+  }
+
+  /** The fetches and limit for a single host. */
+  private static final class Host {
+    @Synthetic final PriorityQueue<ScheduledFetcher<?>> queued = new PriorityQueue<>();
+    @Synthetic int limit;
+    @Synthetic int running;
+    private float bestBytesPerMs;
+
+    Host(int limit) {
+      this.limit = limit;
+    }
+
+    void onThroughputMeasured(float bytesPerMs, int maxLimit) {
+      bestBytesPerMs = Math.max(bytesPerMs, bestBytesPerMs * BEST_THROUGHPUT_DECAY);
+      if (bytesPerMs < bestBytesPerMs * SATURATED_THROUGHPUT_RATIO) {
+        limit = Math.max(1, limit - 1);
+      } else if (bytesPerMs >= bestBytesPerMs * UNSATURATED_THROUGHPUT_RATIO
+          && !queued.isEmpty()) {
+        limit = Math.min(maxLimit, limit + 1);
+      }
+    }
+  }
+
+  /** Wraps a {@link DataFetcher} so that it's started by the scheduler. */
+  private final class ScheduledFetcher<T>
+      implements DataFetcher<T>, Comparable<ScheduledFetcher<?>> {
+    static final int IDLE = 0;
+    static final int QUEUED = 1;
+    static final int RUNNING = 2;
+    static final int FINISHED = 3;
+
+    @Synthetic final DataFetcher<T> delegate;
+    @Synthetic final String hostName;
+
+    // Guarded by the scheduler's lock.
+    @Synthetic int state = IDLE;
+    @Synthetic long order;
+
+    private volatile Priority priority;
+    private volatile DataCallback<? super T> callback;
+    @Synthetic volatile long startTimeMs;
+
+    ScheduledFetcher(DataFetcher<T> delegate, String hostName) {
+      this.delegate = delegate;
+      this.hostName = hostName;
+    }
+
+    @Override
+    public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super T> callback) {
+      this.priority = priority;
+      this.callback = callback;
+      if (onLoadRequested(this)) {
+        start();
+      }
+    }
+
+    @Synthetic
+    void start() {
+      startTimeMs = SystemClock.uptimeMillis();
+      delegate.loadData(
+          priority,
+          new DataCallback<T>() {
+            @Override
+            public void onDataReady(@Nullable T data) {
+              callback.onDataReady(onDataAvailable(data));
+            }
+
+            @Override
+            public void onLoadFailed(@NonNull Exception e) {
+              onFinished(ScheduledFetcher.this, /* bytesPerMs= */ -1);
+              callback.onLoadFailed(e);
+            }
+          });
+    }
+
+    /**
+     * Returns the data to pass on, which finishes this fetch once the response has been
+     * downloaded.
+     */
+    @Synthetic
+    @Nullable
+    T onDataAvailable(@Nullable T data) {
+      if (data instanceof ByteBuffer) {
+        // The response has already been downloaded.
+        onEndOfData(((ByteBuffer) data).remaining());
+      } else if (data instanceof InputStream) {
+        // The response is downloaded as it's read, so wait for the end of the stream.
+        EndOfDataInputStream stream = new EndOfDataInputStream((InputStream) data, this);
+        Class<T> dataClass = getDataClass();
+        if (dataClass.isInstance(stream)) {
+          return dataClass.cast(stream);
+        }
+      }
+      return data;
+    }
+
+    /**
+     * Finishes this fetch once all of its data has been downloaded.
+     *
+     * @param dataBytes The size of the data, or a negative value if it's unknown.
+     */
+    @Synthetic
+    void onEndOfData(long dataBytes) {
+      float bytesPerMs = -1;
+      if (dataBytes >= MIN_SAMPLE_BYTES) {
+        long elapsedMs = SystemClock.uptimeMillis() - startTimeMs;
+        bytesPerMs = dataBytes / (float) Math.max(1, elapsedMs);
+      }
+      onFinished(this, bytesPerMs);
+    }
+
+    @Synthetic
+    void notifyCancelled() {
+      callback.onLoadFailed(new IOException("Cancelled before the fetch started"));
+    }
+
+    @Override
+    public void cleanup() {
+      delegate.cleanup();
+      // Does nothing if the end of the data was already reached.
+      onFinished(this, /* bytesPerMs= */ -1);
+    }
+
+    @Override
+    public void cancel() {
+      if (onCancelled(this)) {
+        notifyCancelledWhileQueued(this);
+      } else {
+        delegate.cancel();
+      }
+    }
+
+    @NonNull
+    @Override
+    public Class<T> getDataClass() {
+      return delegate.getDataClass();
+    }
+
+    @NonNull
+    @Override
+    public DataSource getDataSource() {
+      return delegate.getDataSource();
+    }
+
+    @Override
+    public int compareTo(@NonNull ScheduledFetcher<?> other) {
+      int result = priority.ordinal() - other.priority.ordinal();
+      if (result == 0) {
+        result = Long.compare(order, other.order);
+      }
+      return result;
+    }
+  }
+  /**
+   * Finishes a {@link ScheduledFetcher} when the end of its response is read, so that throughput
+   * doesn't include the time taken to decode the response and queued fetches can start sooner.
+   */
+  private static final class EndOfDataInputStream extends FilterInputStream {
+    private final ScheduledFetcher<?> fetcher;
+    // The size of the response, or a negative value if it's unknown.
+    private final long dataBytes;
+    private boolean isAtEnd;
+
+    EndOfDataInputStream(InputStream in, ScheduledFetcher<?> fetcher) {
+      super(in);
+      this.fetcher = fetcher;
+      // Nothing has been read yet, so the remaining bytes are the size of the response.
+      dataBytes =
+          in instanceof ContentLengthInputStream
+              ? ((ContentLengthInputStream) in).getRemainingByteCount()
+              : ContentLengthInputStream.UNKNOWN;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return checkEndOfData(super.read());
+    }
+
+    @Override
+    public int read(@NonNull byte[] buffer, int byteOffset, int byteCount) throws IOException {
+      return checkEndOfData(super.read(buffer, byteOffset, byteCount));
+    }
+
+    private int checkEndOfData(int read) {
+      if (!isAtEnd && (read == -1 || isContentLengthRead())) {
+        isAtEnd = true;
+        fetcher.onEndOfData(dataBytes);
+      }
+      return read;
+    }
+
+    private boolean isContentLengthRead() {
+      return dataBytes >= 0 && ((ContentLengthInputStream) in).getRemainingByteCount() == 0;
+    }
+  }
+}
@@ -85,6 +85,10 @@ class SourceGenerator implements DataFetcherGenerator, DataFetcherGenerator.Fetc
           && (helper.getDiskCacheStrategy().isDataCacheable(loadData.fetcher.getDataSource())
               || helper.hasLoadPath(loadData.fetcher.getDataClass()))) {
         started = true;
+        NetworkFetchScheduler networkFetchScheduler = helper.getNetworkFetchScheduler();
+        if (networkFetchScheduler != null) {
+          loadData = networkFetchScheduler.schedule(loadData);
+        }
         startNextLoad(loadData);
       }
     }
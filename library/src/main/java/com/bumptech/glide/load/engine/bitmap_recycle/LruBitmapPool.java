@@ -30,6 +30,7 @@ public class LruBitmapPool implements BitmapPool {
   private final long initialMaxSize;
   private final BitmapTracker tracker;
 
+  @Nullable private MissListener missListener;
   private long maxSize;
   private long currentSize;
   private int hits;
@@ -78,6 +79,14 @@ public class LruBitmapPool implements BitmapPool {
     return misses;
   }
 
+  /**
+   * Sets a listener to notify each time the pool doesn't contain a {@link Bitmap} that can be
+   * reused for a request, or {@code null} to remove the current listener.
+   */
+  public synchronized void setMissListener(@Nullable MissListener listener) {
+    missListener = listener;
+  }
+
   /** Returns the number of bitmaps that have been evicted from the pool. */
   public long evictionCount() {
     return evictions;
@@ -203,6 +212,9 @@ public class LruBitmapPool implements BitmapPool {
         Log.d(TAG, "Missing bitmap=" + strategy.logBitmap(width, height, config));
       }
       misses++;
+      if (missListener != null) {
+        missListener.onMiss(width, height, config != null ? config : DEFAULT_CONFIG);
+      }
     } else {
       hits++;
       currentSize -= strategy.getSize(result);
@@ -329,6 +341,18 @@ public class LruBitmapPool implements BitmapPool {
     return Collections.unmodifiableSet(configs);
   }
 
+  /** Notified when a {@link LruBitmapPool} has to allocate a new {@link Bitmap}. */
+  public interface MissListener {
+
+    /**
+     * Called with the attributes of the requested {@link Bitmap} each time the pool misses.
+     *
+     * <p>Called while the pool is locked, so implementations must be fast and must not use the
+     * pool.
+     */
+    void onMiss(int width, int height, @NonNull Bitmap.Config config);
+  }
+
   private interface BitmapTracker {
     void add(Bitmap bitmap);
 
@@ -6,15 +6,21 @@ import android.text.TextUtils;
 import android.util.Log;
 import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.util.Synthetic;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -52,6 +58,12 @@ public final class GlideExecutor implements ExecutorService {
 
   static final String DEFAULT_ANIMATION_EXECUTOR_NAME = "animation";
 
+  /** The default thread name prefix for executors used to start loads off the main thread. */
+  static final String DEFAULT_LOAD_EXECUTOR_NAME = "load";
+
+  /** The default thread name prefix for executors used to write deferred resource encodes. */
+  static final String DEFAULT_ENCODE_EXECUTOR_NAME = "encode";
+
   /** The default keep alive time for threads in our cached thread pools in milliseconds. */
   private static final long KEEP_ALIVE_TIME_MS = TimeUnit.SECONDS.toMillis(10);
 
@@ -63,12 +75,24 @@ public final class GlideExecutor implements ExecutorService {
   private static volatile int bestThreadCount;
 
   private final ExecutorService delegate;
+  // Limits the number of jobs that decode at once if the number of threads doesn't.
+  @Nullable private final Semaphore decodePermits;
 
   /** The default priority for threads created by Glide. */
   public static final int DEFAULT_PRIORITY =
       android.os.Process.THREAD_PRIORITY_BACKGROUND
           + android.os.Process.THREAD_PRIORITY_MORE_FAVORABLE;
 
+  // Loads are started on behalf of the main thread, which is waiting for memory cache hits to
+  // display, so the load thread shouldn't queue behind background work.
+  private static final int LOAD_PRIORITY = android.os.Process.THREAD_PRIORITY_DEFAULT;
+
+  // Deferred encodes only populate the disk cache, so they shouldn't compete with loads for CPU.
+  private static final int ENCODE_PRIORITY = android.os.Process.THREAD_PRIORITY_LOWEST;
+
+  // Background work isn't needed to display loads, so it runs below the default priority.
+  private static final int BACKGROUND_PRIORITY = android.os.Process.THREAD_PRIORITY_BACKGROUND;
+
   /**
    * Returns a new {@link Builder} with the {@link #DEFAULT_DISK_CACHE_EXECUTOR_THREADS} threads,
    * {@link #DEFAULT_DISK_CACHE_EXECUTOR_NAME} name and {@link UncaughtThrowableStrategy#DEFAULT}
@@ -230,9 +254,218 @@ public final class GlideExecutor implements ExecutorService {
         .build();
   }
 
+  /**
+   * Returns a new single threaded executor that starts loads off the main thread, see {@link
+   * com.bumptech.glide.GlideBuilder#setStartLoadsOffMainThread(boolean)}.
+   *
+   * <p>Work on the load executor is short, so it runs tasks in the order they're submitted rather
+   * than by priority. The thread is created on demand and times out after {@link
+   * #KEEP_ALIVE_TIME_MS} without any work.
+   *
+   * <p>Load executors do not allow network operations on their threads.
+   */
+  public static GlideExecutor newLoadExecutor() {
+    return new GlideExecutor(
+        new ThreadPoolExecutor(
+            /* corePoolSize= */ 0,
+            /* maximumPoolSize= */ 1,
+            KEEP_ALIVE_TIME_MS,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DefaultThreadFactory(
+                new DefaultPriorityThreadFactory(LOAD_PRIORITY),
+                DEFAULT_LOAD_EXECUTOR_NAME,
+                UncaughtThrowableStrategy.DEFAULT,
+                /* preventNetworkOperations= */ true)));
+  }
+
+  /**
+   * Returns a new single threaded executor with the lowest thread priority that writes resources
+   * to the disk cache after their loads complete, see {@link
+   * com.bumptech.glide.load.engine.DeferredEncodeQueue}.
+   *
+   * <p>The thread is created on demand and times out after {@link #KEEP_ALIVE_TIME_MS} without any
+   * work.
+   *
+   * <p>Encode executors do not allow network operations on their threads.
+   */
+  public static GlideExecutor newEncodeExecutor() {
+    return new GlideExecutor(
+        new ThreadPoolExecutor(
+            /* corePoolSize= */ 0,
+            /* maximumPoolSize= */ 1,
+            KEEP_ALIVE_TIME_MS,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DefaultThreadFactory(
+                new DefaultPriorityThreadFactory(ENCODE_PRIORITY),
+                DEFAULT_ENCODE_EXECUTOR_NAME,
+                UncaughtThrowableStrategy.DEFAULT,
+                /* preventNetworkOperations= */ true)));
+  }
+
+  /**
+   * Returns a new executor with the given number of threads at {@link
+   * android.os.Process#THREAD_PRIORITY_BACKGROUND} priority for CPU bound work that loads don't
+   * wait on, like encoding or indexing the frames of animations.
+   *
+   * <p>Unlike executors built with a {@link Builder}, background executors run tasks in the order
+   * they're submitted, so tasks don't need to be {@link Comparable}. Threads are created on demand
+   * and time out after {@link #KEEP_ALIVE_TIME_MS} without any work.
+   *
+   * <p>Background executors do not allow network operations on their threads.
+   *
+   * @param name The prefix to use for the name of each thread.
+   * @param threadCount The maximum number of threads to use.
+   */
+  public static GlideExecutor newBackgroundExecutor(
+      String name, @IntRange(from = 1) int threadCount) {
+    if (TextUtils.isEmpty(name)) {
+      throw new IllegalArgumentException("Name must be non-null and non-empty, but given: " + name);
+    }
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            /* corePoolSize= */ threadCount,
+            /* maximumPoolSize= */ threadCount,
+            KEEP_ALIVE_TIME_MS,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<Runnable>(),
+            new DefaultThreadFactory(
+                new DefaultPriorityThreadFactory(BACKGROUND_PRIORITY),
+                name,
+                UncaughtThrowableStrategy.DEFAULT,
+                /* preventNetworkOperations= */ true));
+    // Core threads are only kept alive while there's work, and are needed for more than one
+    // thread to run at a time with an unbounded queue.
+    executor.allowCoreThreadTimeOut(true);
+    return new GlideExecutor(executor);
+  }
+
+  /**
+   * Returns {@code true} if the runtime supports virtual threads, which are available on JDK 21
+   * and above but not on Android.
+   *
+   * @see #newVirtualThreadSourceExecutor()
+   * @see #newVirtualThreadDiskCacheExecutor()
+   */
+  public static boolean isVirtualThreadExecutorSupported() {
+    return newVirtualThreadFactory() != null;
+  }
+
+  /**
+   * Returns a new executor that runs each job on its own virtual thread, with the {@link
+   * #DEFAULT_SOURCE_EXECUTOR_NAME} thread name prefix and the {@link
+   * com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy#DEFAULT}
+   * uncaught throwable strategy.
+   *
+   * <p>Virtual threads are cheap and don't hold on to a platform thread while they block, so jobs
+   * that wait on the network or on disk don't prevent other jobs from running. The number of jobs
+   * isn't limited and jobs run in the order they're submitted rather than by priority. The number
+   * of jobs that decode at once is limited to {@link #calculateBestThreadCount()}, the number of
+   * threads used by {@link #newSourceExecutor()}, see {@link #getDecodePermits()}.
+   *
+   * <p>Source executors allow network operations on their threads.
+   *
+   * @throws UnsupportedOperationException if {@link #isVirtualThreadExecutorSupported()} returns
+   *     {@code false}.
+   */
+  public static GlideExecutor newVirtualThreadSourceExecutor() {
+    return newVirtualThreadExecutor(
+        DEFAULT_SOURCE_EXECUTOR_NAME,
+        /* preventNetworkOperations= */ false,
+        /* maxConcurrentDecodes= */ calculateBestThreadCount());
+  }
+
+  /**
+   * Returns a new executor that runs each job on its own virtual thread, with the {@link
+   * #DEFAULT_DISK_CACHE_EXECUTOR_NAME} thread name prefix and the {@link
+   * com.bumptech.glide.load.engine.executor.GlideExecutor.UncaughtThrowableStrategy#DEFAULT}
+   * uncaught throwable strategy, see {@link #newVirtualThreadSourceExecutor()}.
+   *
+   * <p>The number of jobs that decode at once is limited to {@link
+   * #DEFAULT_DISK_CACHE_EXECUTOR_THREADS}, the number of threads used by {@link
+   * #newDiskCacheExecutor()}.
+   *
+   * <p>Disk cache executors do not allow network operations on their threads.
+   *
+   * @throws UnsupportedOperationException if {@link #isVirtualThreadExecutorSupported()} returns
+   *     {@code false}.
+   */
+  public static GlideExecutor newVirtualThreadDiskCacheExecutor() {
+    return newVirtualThreadExecutor(
+        DEFAULT_DISK_CACHE_EXECUTOR_NAME,
+        /* preventNetworkOperations= */ true,
+        /* maxConcurrentDecodes= */ DEFAULT_DISK_CACHE_EXECUTOR_THREADS);
+  }
+
+  private static GlideExecutor newVirtualThreadExecutor(
+      String name, boolean preventNetworkOperations, int maxConcurrentDecodes) {
+    ThreadFactory virtualThreadFactory = newVirtualThreadFactory();
+    if (virtualThreadFactory == null) {
+      throw new UnsupportedOperationException("Virtual threads are not supported");
+    }
+    ThreadFactory threadFactory =
+        new DefaultThreadFactory(
+            virtualThreadFactory,
+            name,
+            UncaughtThrowableStrategy.DEFAULT,
+            preventNetworkOperations);
+    try {
+      // Executors.newThreadPerTaskExecutor(ThreadFactory), which is only available on JDK 21+.
+      Method newThreadPerTaskExecutor =
+          Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+      return new GlideExecutor(
+          (ExecutorService) newThreadPerTaskExecutor.invoke(/* receiver= */ null, threadFactory),
+          new Semaphore(maxConcurrentDecodes));
+    } catch (NoSuchMethodException e) {
+      throw new UnsupportedOperationException("Virtual threads are not supported", e);
+    } catch (IllegalAccessException e) {
+      throw new UnsupportedOperationException("Virtual threads are not supported", e);
+    } catch (InvocationTargetException e) {
+      throw new UnsupportedOperationException("Virtual threads are not supported", e);
+    }
+  }
+
+  /** Returns a factory for virtual threads, or {@code null} if they're not supported. */
+  @Nullable
+  private static ThreadFactory newVirtualThreadFactory() {
+    try {
+      // Thread.ofVirtual().factory(), which is only available on JDK 21+.
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(/* receiver= */ null);
+      return (ThreadFactory)
+          Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (IllegalAccessException e) {
+      return null;
+    } catch (InvocationTargetException e) {
+      return null;
+    }
+  }
+
   @VisibleForTesting
   GlideExecutor(ExecutorService delegate) {
+    this(delegate, /* decodePermits= */ null);
+  }
+
+  private GlideExecutor(ExecutorService delegate, @Nullable Semaphore decodePermits) {
     this.delegate = delegate;
+    this.decodePermits = decodePermits;
+  }
+
+  /**
+   * Returns the permits that jobs running on this executor hold while they decode, or {@code null}
+   * if the number of jobs that decode at once is already limited by the number of threads.
+   *
+   * <p>Only executors that don't limit their number of threads, like {@link
+   * #newVirtualThreadSourceExecutor()}, have permits. Jobs that wait on the network or on disk
+   * don't hold a permit, so they don't prevent other jobs from decoding.
+   */
+  @Nullable
+  public Semaphore getDecodePermits() {
+    return decodePermits;
   }
 
   @Override
@@ -376,14 +609,22 @@ public final class GlideExecutor implements ExecutorService {
   }
 
   private static final class DefaultPriorityThreadFactory implements ThreadFactory {
+    @Synthetic final int priority;
+
+    DefaultPriorityThreadFactory() {
+      this(DEFAULT_PRIORITY);
+    }
+
+    DefaultPriorityThreadFactory(int priority) {
+      this.priority = priority;
+    }
 
     @Override
     public Thread newThread(@NonNull Runnable runnable) {
       return new Thread(runnable) {
         @Override
         public void run() {
-          // why PMD suppression is needed: https://github.com/pmd/pmd/issues/808
-          android.os.Process.setThreadPriority(DEFAULT_PRIORITY); // NOPMD AccessorMethodGeneration
+          android.os.Process.setThreadPriority(priority);
           super.run();
         }
       };
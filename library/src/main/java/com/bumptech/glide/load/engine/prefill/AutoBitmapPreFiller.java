@@ -0,0 +1,390 @@
+package com.bumptech.glide.load.engine.prefill;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.os.Looper;
+import android.os.MessageQueue.IdleHandler;
+import android.util.Log;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.MemoryCache;
+import com.bumptech.glide.util.GlideSuppliers;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
+import com.bumptech.glide.util.Util;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+
+/**
+ * Pre-fills a {@link LruBitmapPool} with the sizes of {@link Bitmap Bitmaps} that the pool most
+ * often didn't contain in earlier runs of the app.
+ *
+ * <p>Misses are counted by width, height and config and written to a file in the app's cache
+ * directory when the app's UI is hidden, once the counts of earlier runs are read. When started,
+ * the counts from the file are halved, so sizes the app stops using are forgotten after a few
+ * runs, and the most missed sizes are allocated by a {@link BitmapPreFillRunner} once the main
+ * thread is idle, up to a budget.
+ */
+public final class AutoBitmapPreFiller implements LruBitmapPool.MissListener {
+  private static final String TAG = "AutoPreFiller";
+  @VisibleForTesting static final String FILE_NAME = "glide_bitmap_pool_misses";
+  private static final int VERSION = 1;
+
+  /** The maximum number of sizes counted, the least missed is dropped to make room for more. */
+  @VisibleForTesting static final int MAX_COUNTED_SIZES = 64;
+
+  /** The maximum number of sizes pre-filled. */
+  @VisibleForTesting static final int MAX_PRE_FILL_SIZES = 8;
+
+  /**
+   * Sizes missed fewer times aren't pre-filled. Pre-filling a size misses once, so without a
+   * minimum every pre-filled size would be kept forever.
+   */
+  @VisibleForTesting static final int MIN_MISSES = 2;
+
+  private static final Comparator<Entry<PreFillType, Integer>> MOST_MISSED_FIRST =
+      new Comparator<Entry<PreFillType, Integer>>() {
+        @Override
+        public int compare(Entry<PreFillType, Integer> lhs, Entry<PreFillType, Integer> rhs) {
+          return rhs.getValue().compareTo(lhs.getValue());
+        }
+      };
+
+  private final LruBitmapPool bitmapPool;
+  private final MemoryCache memoryCache;
+  private final GlideSupplier<File> file;
+  private final Executor diskExecutor;
+  private final long maxPreFillBytes;
+
+  @GuardedBy("this")
+  private final Map<PreFillType, Integer> missCounts = new HashMap<>();
+
+  // Writing before the misses of earlier runs are restored would replace them with this run's.
+  @GuardedBy("this")
+  private boolean isRestored;
+
+  @GuardedBy("this")
+  private boolean isWritePending;
+
+  @Nullable private volatile BitmapPreFillRunner current;
+  private volatile boolean isCancelled;
+
+  /**
+   * @param context Used to find the app's cache directory.
+   * @param bitmapPool The pool to record misses from and pre-fill.
+   * @param memoryCache The memory cache, see {@link BitmapPreFillRunner}.
+   * @param diskExecutor Used to read and write the recorded misses.
+   * @param maxPoolFraction The fraction of the pool's maximum size to pre-fill, between 0 and 1.
+   */
+  public AutoBitmapPreFiller(
+      @NonNull final Context context,
+      @NonNull LruBitmapPool bitmapPool,
+      @NonNull MemoryCache memoryCache,
+      @NonNull Executor diskExecutor,
+      float maxPoolFraction) {
+    this(
+        bitmapPool,
+        memoryCache,
+        GlideSuppliers.memorize(
+            new GlideSupplier<File>() {
+              @Override
+              public File get() {
+                File cacheDir = context.getCacheDir();
+                return cacheDir != null ? new File(cacheDir, FILE_NAME) : null;
+              }
+            }),
+        diskExecutor,
+        maxPoolFraction);
+  }
+
+  @VisibleForTesting
+  AutoBitmapPreFiller(
+      LruBitmapPool bitmapPool,
+      MemoryCache memoryCache,
+      GlideSupplier<File> file,
+      Executor diskExecutor,
+      float maxPoolFraction) {
+    Preconditions.checkArgument(
+        maxPoolFraction >= 0 && maxPoolFraction <= 1,
+        "maxPoolFraction must be between 0 and 1: " + maxPoolFraction);
+    this.bitmapPool = bitmapPool;
+    this.memoryCache = memoryCache;
+    this.file = file;
+    this.diskExecutor = diskExecutor;
+    this.maxPreFillBytes = (long) (bitmapPool.getMaxSize() * maxPoolFraction);
+  }
+
+  /**
+   * Starts recording misses and, in the background, reads the misses recorded by earlier runs and
+   * schedules pre-filling the most missed sizes.
+   */
+  public void start() {
+    bitmapPool.setMissListener(this);
+    diskExecutor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            restoreMisses();
+            final PreFillQueue allocationOrder = generateAllocationOrder();
+            if (!allocationOrder.isEmpty()) {
+              Util.postOnUiThread(
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      preFillWhenIdle(allocationOrder);
+                    }
+                  });
+            }
+          }
+        });
+  }
+
+  /** Cancels any pre-fill that's scheduled or in progress, but keeps recording misses. */
+  public void cancelPreFill() {
+    isCancelled = true;
+    BitmapPreFillRunner runner = current;
+    if (runner != null) {
+      runner.cancel();
+    }
+  }
+
+  /** Cancels pre-filling and stops recording misses. */
+  public void stop() {
+    cancelPreFill();
+    bitmapPool.setMissListener(null);
+  }
+
+  /**
+   * Writes the recorded misses in the background when the app's UI is hidden, or once the misses
+   * of earlier runs are restored if {@link #start()} hasn't restored them yet.
+   */
+  public void trimMemory(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+      final Map<PreFillType, Integer> snapshot;
+      synchronized (this) {
+        if (!isRestored) {
+          isWritePending = true;
+          return;
+        }
+        snapshot = new HashMap<>(missCounts);
+      }
+      diskExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              writeMisses(snapshot);
+            }
+          });
+    }
+  }
+
+  @Override
+  public synchronized void onMiss(int width, int height, @NonNull Bitmap.Config config) {
+    PreFillType type = new PreFillType(width, height, config, /* weight= */ 1);
+    Integer count = missCounts.get(type);
+    if (count == null && missCounts.size() >= MAX_COUNTED_SIZES) {
+      removeLeastMissed();
+    }
+    missCounts.put(type, count == null ? 1 : count + 1);
+  }
+
+  @GuardedBy("this")
+  private void removeLeastMissed() {
+    Entry<PreFillType, Integer> leastMissed = null;
+    for (Entry<PreFillType, Integer> entry : missCounts.entrySet()) {
+      if (leastMissed == null || entry.getValue() < leastMissed.getValue()) {
+        leastMissed = entry;
+      }
+    }
+    if (leastMissed != null) {
+      missCounts.remove(leastMissed.getKey());
+    }
+  }
+
+  /**
+   * Returns the most missed sizes, each with at most as many {@link Bitmap Bitmaps} as it was
+   * missed, until the budget is used.
+   */
+  @VisibleForTesting
+  synchronized PreFillQueue generateAllocationOrder() {
+    List<Entry<PreFillType, Integer>> byMisses = new ArrayList<>(missCounts.entrySet());
+    Collections.sort(byMisses, MOST_MISSED_FIRST);
+
+    Map<PreFillType, Integer> attributeToCount = new HashMap<>();
+    long remainingBytes = maxPreFillBytes;
+    for (Entry<PreFillType, Integer> entry : byMisses) {
+      int misses = entry.getValue();
+      if (misses < MIN_MISSES || attributeToCount.size() >= MAX_PRE_FILL_SIZES) {
+        break;
+      }
+      PreFillType type = entry.getKey();
+      int bytesPerBitmap =
+          Util.getBitmapByteSize(type.getWidth(), type.getHeight(), type.getConfig());
+      int count = (int) Math.min(misses, remainingBytes / bytesPerBitmap);
+      if (count > 0) {
+        attributeToCount.put(type, count);
+        remainingBytes -= (long) count * bytesPerBitmap;
+      }
+    }
+    return new PreFillQueue(attributeToCount);
+  }
+
+  @Synthetic
+  void preFillWhenIdle(final PreFillQueue allocationOrder) {
+    Looper.myQueue()
+        .addIdleHandler(
+            new IdleHandler() {
+              @Override
+              public boolean queueIdle() {
+                if (!isCancelled) {
+                  BitmapPreFillRunner runner =
+                      new BitmapPreFillRunner(bitmapPool, memoryCache, allocationOrder);
+                  current = runner;
+                  runner.run();
+                }
+                return false;
+              }
+            });
+  }
+
+  /**
+   * Adds the misses recorded by earlier runs, halved, to the misses recorded by this run and then
+   * writes them if {@link #trimMemory(int)} asked for a write in the meantime.
+   */
+  @Synthetic
+  void restoreMisses() {
+    Map<PreFillType, Integer> previous = readMisses();
+    Map<PreFillType, Integer> pendingWrite = null;
+    synchronized (this) {
+      for (Entry<PreFillType, Integer> entry : previous.entrySet()) {
+        int decayed = entry.getValue() / 2;
+        if (decayed == 0) {
+          continue;
+        }
+        Integer count = missCounts.get(entry.getKey());
+        if (count == null && missCounts.size() >= MAX_COUNTED_SIZES) {
+          continue;
+        }
+        missCounts.put(entry.getKey(), count == null ? decayed : count + decayed);
+      }
+      isRestored = true;
+      if (isWritePending) {
+        isWritePending = false;
+        pendingWrite = new HashMap<>(missCounts);
+      }
+    }
+    if (pendingWrite != null) {
+      writeMisses(pendingWrite);
+    }
+  }
+
+  private Map<PreFillType, Integer> readMisses() {
+    Map<PreFillType, Integer> result = new HashMap<>();
+    File source = file.get();
+    if (source == null || !source.exists()) {
+      return result;
+    }
+    DataInputStream is = null;
+    try {
+      is = new DataInputStream(new BufferedInputStream(new FileInputStream(source)));
+      if (is.readInt() != VERSION) {
+        return result;
+      }
+      int size = is.readInt();
+      for (int i = 0; i < size; i++) {
+        int width = is.readInt();
+        int height = is.readInt();
+        String configName = is.readUTF();
+        int count = is.readInt();
+        Bitmap.Config config = parseConfig(configName);
+        if (config != null && width > 0 && height > 0 && count > 0) {
+          result.put(new PreFillType(width, height, config, /* weight= */ 1), count);
+        }
+      }
+    } catch (IOException e) {
+      if (Log.isLoggable(TAG, Log.WARN)) {
+        Log.w(TAG, "Failed to read bitmap pool misses", e);
+      }
+      result.clear();
+    } finally {
+      closeQuietly(is);
+    }
+    return result;
+  }
+
+  @Synthetic
+  void writeMisses(Map<PreFillType, Integer> misses) {
+    File destination = file.get();
+    if (destination == null) {
+      return;
+    }
+    // Write to a temporary file and rename it so that a partial write can't be read later.
+    File temp = new File(destination.getPath() + ".tmp");
+    DataOutputStream os = null;
+    boolean isWritten = false;
+    try {
+      os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+      os.writeInt(VERSION);
+      os.writeInt(misses.size());
+      for (Entry<PreFillType, Integer> entry : misses.entrySet()) {
+        PreFillType type = entry.getKey();
+        os.writeInt(type.getWidth());
+        os.writeInt(type.getHeight());
+        os.writeUTF(type.getConfig().name());
+        os.writeInt(entry.getValue());
+      }
+      os.close();
+      os = null;
+      isWritten = temp.renameTo(destination);
+    } catch (IOException e) {
+      if (Log.isLoggable(TAG, Log.WARN)) {
+        Log.w(TAG, "Failed to write bitmap pool misses", e);
+      }
+    } finally {
+      closeQuietly(os);
+      if (!isWritten && temp.exists() && !temp.delete() && Log.isLoggable(TAG, Log.WARN)) {
+        Log.w(TAG, "Failed to delete: " + temp);
+      }
+    }
+  }
+
+  @Nullable
+  private static Bitmap.Config parseConfig(String name) {
+    try {
+      return Bitmap.Config.valueOf(name);
+    } catch (IllegalArgumentException e) {
+      // Written by a newer version of Android before a downgrade, ignore it.
+      return null;
+    }
+  }
+
+  private static void closeQuietly(@Nullable Closeable closeable) {
+    if (closeable != null) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        // Ignored.
+      }
+    }
+  }
+}
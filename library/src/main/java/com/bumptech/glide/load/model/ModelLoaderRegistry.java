@@ -67,33 +67,37 @@ public class ModelLoaderRegistry {
     }
   }
 
-  // We're allocating in a loop to avoid allocating empty lists that will never have anything added
-  // to them.
-  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
   @NonNull
   public <A> List<ModelLoader<A, ?>> getModelLoaders(@NonNull A model) {
+    List<ModelLoader<A, ?>> result = new ArrayList<>();
+    getModelLoaders(model, result);
+    return result;
+  }
+
+  /**
+   * Adds the {@link ModelLoader}s that handle the given model to the given list in priority order.
+   *
+   * <p>Unlike {@link #getModelLoaders(Object)}, this doesn't allocate, so callers that load
+   * repeatedly can reuse the same list.
+   *
+   * @throws NoModelLoaderAvailableException If no {@link ModelLoader}s handle the given model.
+   */
+  public <A> void getModelLoaders(@NonNull A model, @NonNull List<ModelLoader<A, ?>> result) {
     List<ModelLoader<A, ?>> modelLoaders = getModelLoadersForClass(getClass(model));
     if (modelLoaders.isEmpty()) {
       throw new NoModelLoaderAvailableException(model);
     }
-    int size = modelLoaders.size();
-    boolean isEmpty = true;
-    List<ModelLoader<A, ?>> filteredLoaders = Collections.emptyList();
+    int startSize = result.size();
     //noinspection ForLoopReplaceableByForEach to improve perf
-    for (int i = 0; i < size; i++) {
+    for (int i = 0, size = modelLoaders.size(); i < size; i++) {
       ModelLoader<A, ?> loader = modelLoaders.get(i);
       if (loader.handles(model)) {
-        if (isEmpty) {
-          filteredLoaders = new ArrayList<>(size - i);
-          isEmpty = false;
-        }
-        filteredLoaders.add(loader);
+        result.add(loader);
       }
     }
-    if (filteredLoaders.isEmpty()) {
+    if (result.size() == startSize) {
       throw new NoModelLoaderAvailableException(model, modelLoaders);
     }
-    return filteredLoaders;
   }
 
   public synchronized <Model, Data> ModelLoader<Model, Data> build(
@@ -107,7 +111,14 @@ public class ModelLoaderRegistry {
   }
 
   @NonNull
-  private synchronized <A> List<ModelLoader<A, ?>> getModelLoadersForClass(
+  private <A> List<ModelLoader<A, ?>> getModelLoadersForClass(@NonNull Class<A> modelClass) {
+    // Loaders are built once per model class, after that they're read without locking.
+    List<ModelLoader<A, ?>> loaders = cache.get(modelClass);
+    return loaders != null ? loaders : buildModelLoadersForClass(modelClass);
+  }
+
+  @NonNull
+  private synchronized <A> List<ModelLoader<A, ?>> buildModelLoadersForClass(
       @NonNull Class<A> modelClass) {
     List<ModelLoader<A, ?>> loaders = cache.get(modelClass);
     if (loaders == null) {
@@ -123,21 +134,24 @@ public class ModelLoaderRegistry {
     return (Class<A>) model.getClass();
   }
 
+  // Written while holding the ModelLoaderRegistry's lock, read without it.
   private static class ModelLoaderCache {
-    private final Map<Class<?>, Entry<?>> cachedModelLoaders = new HashMap<>();
+    private volatile Map<Class<?>, Entry<?>> cachedModelLoaders = Collections.emptyMap();
 
     @Synthetic
     ModelLoaderCache() {}
 
     public void clear() {
-      cachedModelLoaders.clear();
+      cachedModelLoaders = Collections.emptyMap();
     }
 
     public <Model> void put(Class<Model> modelClass, List<ModelLoader<Model, ?>> loaders) {
-      Entry<?> previous = cachedModelLoaders.put(modelClass, new Entry<>(loaders));
+      Map<Class<?>, Entry<?>> updated = new HashMap<>(cachedModelLoaders);
+      Entry<?> previous = updated.put(modelClass, new Entry<>(loaders));
       if (previous != null) {
         throw new IllegalStateException("Already cached loaders for model: " + modelClass);
       }
+      cachedModelLoaders = updated;
     }
 
     @Nullable
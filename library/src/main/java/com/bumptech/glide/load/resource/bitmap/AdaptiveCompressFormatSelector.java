@@ -0,0 +1,105 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap.CompressFormat;
+import android.os.Build;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Picks the format for {@link BitmapEncoder.CompressFormatStrategy#ADAPTIVE} based on the encode
+ * time and size measured for earlier encodes.
+ *
+ * <p>Opaque {@link android.graphics.Bitmap}s are written with either {@link CompressFormat#JPEG} or
+ * {@link CompressFormat#WEBP_LOSSY}, and {@link android.graphics.Bitmap}s with alpha with either
+ * {@link CompressFormat#PNG} or {@link CompressFormat#WEBP_LOSSLESS}, so that lossless images stay
+ * lossless. Each format is tried a few times first. After that, the smallest format per pixel is
+ * picked unless it's more than {@link #MAX_ENCODE_SLOWDOWN} times slower per pixel than the fastest
+ * one. The other formats are still tried occasionally so that the measurements stay current.
+ */
+@RequiresApi(Build.VERSION_CODES.R)
+final class AdaptiveCompressFormatSelector {
+  @VisibleForTesting static final int MIN_SAMPLES = 3;
+  @VisibleForTesting static final int RESAMPLE_INTERVAL = 32;
+  private static final float MAX_ENCODE_SLOWDOWN = 2f;
+  // The weight of the previous average when a new measurement is added.
+  private static final float AVERAGE_DECAY = 0.8f;
+  private static final CompressFormat[] OPAQUE_FORMATS = {
+    CompressFormat.JPEG, CompressFormat.WEBP_LOSSY
+  };
+  private static final CompressFormat[] ALPHA_FORMATS = {
+    CompressFormat.PNG, CompressFormat.WEBP_LOSSLESS
+  };
+
+  @GuardedBy("this")
+  private final Map<CompressFormat, Stats> stats = new EnumMap<>(CompressFormat.class);
+
+  @GuardedBy("this")
+  private int selectionCount;
+
+  @NonNull
+  synchronized CompressFormat select(boolean hasAlpha) {
+    CompressFormat[] candidates = hasAlpha ? ALPHA_FORMATS : OPAQUE_FORMATS;
+    for (CompressFormat candidate : candidates) {
+      Stats candidateStats = stats.get(candidate);
+      if (candidateStats == null || candidateStats.samples < MIN_SAMPLES) {
+        return candidate;
+      }
+    }
+    selectionCount++;
+    if (selectionCount % RESAMPLE_INTERVAL == 0) {
+      return candidates[(selectionCount / RESAMPLE_INTERVAL) % candidates.length];
+    }
+
+    float fastestNanosPerPixel = Float.MAX_VALUE;
+    for (CompressFormat candidate : candidates) {
+      fastestNanosPerPixel = Math.min(fastestNanosPerPixel, stats.get(candidate).nanosPerPixel);
+    }
+    CompressFormat result = candidates[0];
+    float smallestBytesPerPixel = Float.MAX_VALUE;
+    for (CompressFormat candidate : candidates) {
+      Stats candidateStats = stats.get(candidate);
+      if (candidateStats.nanosPerPixel <= fastestNanosPerPixel * MAX_ENCODE_SLOWDOWN
+          && candidateStats.bytesPerPixel < smallestBytesPerPixel) {
+        smallestBytesPerPixel = candidateStats.bytesPerPixel;
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  synchronized void onEncoded(
+      @NonNull CompressFormat format, int pixelCount, long encodeNanos, long sizeBytes) {
+    if (pixelCount <= 0 || sizeBytes <= 0) {
+      return;
+    }
+    Stats formatStats = stats.get(format);
+    if (formatStats == null) {
+      formatStats = new Stats();
+      stats.put(format, formatStats);
+    }
+    formatStats.add(encodeNanos / (float) pixelCount, sizeBytes / (float) pixelCount);
+  }
+
+  private static final class Stats {
+    int samples;
+    float nanosPerPixel;
+    float bytesPerPixel;
+
+    void add(float nanosPerPixel, float bytesPerPixel) {
+      if (samples == 0) {
+        this.nanosPerPixel = nanosPerPixel;
+        this.bytesPerPixel = bytesPerPixel;
+      } else {
+        this.nanosPerPixel =
+            AVERAGE_DECAY * this.nanosPerPixel + (1 - AVERAGE_DECAY) * nanosPerPixel;
+        this.bytesPerPixel =
+            AVERAGE_DECAY * this.bytesPerPixel + (1 - AVERAGE_DECAY) * bytesPerPixel;
+      }
+      samples++;
+    }
+  }
+}
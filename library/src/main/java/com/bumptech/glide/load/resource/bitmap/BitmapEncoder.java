@@ -1,6 +1,7 @@
 package com.bumptech.glide.load.resource.bitmap;
 
 import android.graphics.Bitmap;
+import android.os.Build;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -23,9 +24,11 @@ import java.io.OutputStream;
  * An {@link com.bumptech.glide.load.ResourceEncoder} that writes {@link android.graphics.Bitmap}s
  * to {@link java.io.OutputStream}s.
  *
- * <p>{@link android.graphics.Bitmap}s that return true from {@link android.graphics.Bitmap#hasAlpha
- * ()}} are written using {@link android.graphics.Bitmap.CompressFormat#PNG} to preserve alpha and
- * all other bitmaps are written using {@link android.graphics.Bitmap.CompressFormat#JPEG}.
+ * <p>By default, {@link android.graphics.Bitmap}s that return true from {@link
+ * android.graphics.Bitmap#hasAlpha ()}} are written using {@link
+ * android.graphics.Bitmap.CompressFormat#PNG} to preserve alpha and all other bitmaps are written
+ * using {@link android.graphics.Bitmap.CompressFormat#JPEG}. See {@link #COMPRESSION_FORMAT} and
+ * {@link #COMPRESSION_FORMAT_STRATEGY} to choose other formats.
  *
  * @see android.graphics.Bitmap#compress(android.graphics.Bitmap.CompressFormat, int,
  *     java.io.OutputStream)
@@ -49,7 +52,24 @@ public class BitmapEncoder implements ResourceEncoder<Bitmap> {
   public static final Option<Bitmap.CompressFormat> COMPRESSION_FORMAT =
       Option.memory("com.bumptech.glide.load.resource.bitmap.BitmapEncoder.CompressionFormat");
 
+  /**
+   * A {@link CompressFormatStrategy} option used to choose the format to encode the {@link
+   * android.graphics.Bitmap} if {@link #COMPRESSION_FORMAT} isn't set.
+   *
+   * <p>Set it for a request with {@link
+   * com.bumptech.glide.request.BaseRequestOptions#set(Option, Object)}.
+   *
+   * <p>Defaults to {@link CompressFormatStrategy#JPEG_OR_PNG}.
+   */
+  public static final Option<CompressFormatStrategy> COMPRESSION_FORMAT_STRATEGY =
+      Option.memory(
+          "com.bumptech.glide.load.resource.bitmap.BitmapEncoder.CompressionFormatStrategy",
+          CompressFormatStrategy.JPEG_OR_PNG);
+
   private static final String TAG = "BitmapEncoder";
+  @Nullable
+  private static final AdaptiveCompressFormatSelector ADAPTIVE_SELECTOR =
+      Build.VERSION.SDK_INT >= Build.VERSION_CODES.R ? new AdaptiveCompressFormatSelector() : null;
   @Nullable private final ArrayPool arrayPool;
 
   public BitmapEncoder(@NonNull ArrayPool arrayPool) {
@@ -82,9 +102,17 @@ public class BitmapEncoder implements ResourceEncoder<Bitmap> {
         if (arrayPool != null) {
           os = new BufferedOutputStream(os, arrayPool);
         }
+        long startNanos = System.nanoTime();
         bitmap.compress(format, quality, os);
         os.close();
         success = true;
+        if (isAdaptive(options) && ADAPTIVE_SELECTOR != null) {
+          ADAPTIVE_SELECTOR.onEncoded(
+              format,
+              bitmap.getWidth() * bitmap.getHeight(),
+              System.nanoTime() - startNanos,
+              file.length());
+        }
       } catch (IOException e) {
         if (Log.isLoggable(TAG, Log.DEBUG)) {
           Log.d(TAG, "Failed to encode Bitmap", e);
@@ -123,16 +151,58 @@ public class BitmapEncoder implements ResourceEncoder<Bitmap> {
     Bitmap.CompressFormat format = options.get(COMPRESSION_FORMAT);
     if (format != null) {
       return format;
-    } else if (bitmap.hasAlpha()) {
+    }
+    CompressFormatStrategy strategy = options.get(COMPRESSION_FORMAT_STRATEGY);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+      if (strategy == CompressFormatStrategy.WEBP) {
+        return bitmap.hasAlpha()
+            ? Bitmap.CompressFormat.WEBP_LOSSLESS
+            : Bitmap.CompressFormat.WEBP_LOSSY;
+      } else if (strategy == CompressFormatStrategy.ADAPTIVE && ADAPTIVE_SELECTOR != null) {
+        return ADAPTIVE_SELECTOR.select(bitmap.hasAlpha());
+      }
+    }
+    if (bitmap.hasAlpha()) {
       return Bitmap.CompressFormat.PNG;
     } else {
       return Bitmap.CompressFormat.JPEG;
     }
   }
 
+  private static boolean isAdaptive(Options options) {
+    return options.get(COMPRESSION_FORMAT) == null
+        && options.get(COMPRESSION_FORMAT_STRATEGY) == CompressFormatStrategy.ADAPTIVE;
+  }
+
   @NonNull
   @Override
   public EncodeStrategy getEncodeStrategy(@NonNull Options options) {
     return EncodeStrategy.TRANSFORMED;
   }
+
+  /** Chooses the format used to write {@link Bitmap}s to the disk cache. */
+  public enum CompressFormatStrategy {
+    /**
+     * Writes {@link Bitmap}s with alpha as {@link Bitmap.CompressFormat#PNG} and all other {@link
+     * Bitmap}s as {@link Bitmap.CompressFormat#JPEG}.
+     */
+    JPEG_OR_PNG,
+    /**
+     * On API 30 and above, writes {@link Bitmap}s with alpha as {@link
+     * Bitmap.CompressFormat#WEBP_LOSSLESS} and all other {@link Bitmap}s as {@link
+     * Bitmap.CompressFormat#WEBP_LOSSY}, which are usually smaller than PNG and JPEG at the cost
+     * of slower encodes. Behaves like {@link #JPEG_OR_PNG} on older versions.
+     *
+     * <p>Useful for transformations that add alpha, like {@link CircleCrop} or {@link
+     * RoundedCorners}, whose output is otherwise written as large PNGs.
+     */
+    WEBP,
+    /**
+     * On API 30 and above, picks between JPEG and WEBP for opaque {@link Bitmap}s, and between PNG
+     * and lossless WEBP for {@link Bitmap}s with alpha, based on the encode time and size measured
+     * for earlier encodes in this process. Formats that encode much more slowly than the fastest
+     * aren't picked even if they're smaller. Behaves like {@link #JPEG_OR_PNG} on older versions.
+     */
+    ADAPTIVE,
+  }
 }
@@ -0,0 +1,67 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.util.pool.GlideTrace;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads {@link Bitmap}s written as uncompressed pixels by {@link RawBitmapEncoder} into {@link
+ * Bitmap}s from the {@link BitmapPool}.
+ *
+ * <p>Files in the disk cache are usually memory mapped into the given {@link ByteBuffer}s, so the
+ * pixels are copied straight from the page cache. The {@link Bitmap}s are returned at the size
+ * they were written at, regardless of the requested size and {@link Options}, which is what the
+ * resource cache they're written to expects.
+ */
+public final class RawBitmapDecoder implements ResourceDecoder<ByteBuffer, Bitmap> {
+  private final BitmapPool bitmapPool;
+
+  public RawBitmapDecoder(@NonNull BitmapPool bitmapPool) {
+    this.bitmapPool = bitmapPool;
+  }
+
+  @Override
+  public boolean handles(@NonNull ByteBuffer source, @NonNull Options options) {
+    return RawBitmapHeader.isRawBitmap(source);
+  }
+
+  @Override
+  public Resource<Bitmap> decode(
+      @NonNull ByteBuffer source, int width, int height, @NonNull Options options)
+      throws IOException {
+    RawBitmapHeader header = RawBitmapHeader.read(source);
+    GlideTrace.beginSectionFormat(
+        "decodeRaw: [%dx%d] %s", header.width, header.height, header.config);
+    try {
+      Bitmap bitmap = bitmapPool.getDirty(header.width, header.height, header.config);
+      if (bitmap.getByteCount() != header.byteCount) {
+        bitmapPool.put(bitmap);
+        throw new IOException(
+            "Expected "
+                + header.byteCount
+                + " bytes for "
+                + header.width
+                + "x"
+                + header.height
+                + " "
+                + header.config
+                + ", but got: "
+                + bitmap.getByteCount());
+      }
+      ByteBuffer pixels = source.duplicate();
+      pixels.position(pixels.position() + RawBitmapHeader.SIZE);
+      pixels.limit(pixels.position() + header.byteCount);
+      bitmap.copyPixelsFromBuffer(pixels);
+      header.applyTo(bitmap);
+      return BitmapResource.obtain(bitmap, bitmapPool);
+    } finally {
+      GlideTrace.endSection();
+    }
+  }
+}
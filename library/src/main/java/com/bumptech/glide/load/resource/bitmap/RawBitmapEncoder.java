@@ -0,0 +1,111 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.load.EncodeStrategy;
+import com.bumptech.glide.load.Option;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
+import com.bumptech.glide.util.LogTime;
+import com.bumptech.glide.util.pool.GlideTrace;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ResourceEncoder} that writes small {@link Bitmap}s as uncompressed pixels so that
+ * they're read back by {@link RawBitmapDecoder} with a single copy rather than decoded, and
+ * delegates all other {@link Bitmap}s to a wrapped encoder, usually a {@link BitmapEncoder}.
+ *
+ * <p>Uncompressed pixels take several times more space in the disk cache than JPEGs, so this is
+ * only useful for thumbnails that are shown repeatedly, like those in a scrolling grid. See {@link
+ * #MAX_PIXEL_COUNT}.
+ */
+public final class RawBitmapEncoder implements ResourceEncoder<Bitmap> {
+  /**
+   * The maximum number of pixels, width times height, in a {@link Bitmap} that is written as
+   * uncompressed pixels.
+   *
+   * <p>Set it for a request with {@link
+   * com.bumptech.glide.request.BaseRequestOptions#set(Option, Object)}, or for all requests in the
+   * default request options given to {@link com.bumptech.glide.GlideBuilder}.
+   *
+   * <p>Defaults to 0, which writes every {@link Bitmap} with the wrapped encoder.
+   */
+  public static final Option<Integer> MAX_PIXEL_COUNT =
+      Option.memory("com.bumptech.glide.load.resource.bitmap.RawBitmapEncoder.MaxPixelCount", 0);
+
+  private static final String TAG = "RawBitmapEncoder";
+  private final ResourceEncoder<Bitmap> compressedEncoder;
+  private final ArrayPool arrayPool;
+
+  public RawBitmapEncoder(
+      @NonNull ResourceEncoder<Bitmap> compressedEncoder, @NonNull ArrayPool arrayPool) {
+    this.compressedEncoder = compressedEncoder;
+    this.arrayPool = arrayPool;
+  }
+
+  @Override
+  public boolean encode(
+      @NonNull Resource<Bitmap> resource, @NonNull File file, @NonNull Options options) {
+    Bitmap bitmap = resource.get();
+    RawBitmapHeader header =
+        bitmap.getWidth() * bitmap.getHeight() <= options.get(MAX_PIXEL_COUNT)
+            ? RawBitmapHeader.forBitmap(bitmap)
+            : null;
+    if (header == null) {
+      return compressedEncoder.encode(resource, file, options);
+    }
+
+    GlideTrace.beginSectionFormat(
+        "encodeRaw: [%dx%d] %s", bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+    long start = LogTime.getLogTime();
+    int size = RawBitmapHeader.SIZE + header.byteCount;
+    byte[] buffer = arrayPool.get(size, byte[].class);
+    OutputStream os = null;
+    try {
+      header.writeTo(buffer);
+      bitmap.copyPixelsToBuffer(ByteBuffer.wrap(buffer, RawBitmapHeader.SIZE, header.byteCount));
+      os = new FileOutputStream(file);
+      os.write(buffer, 0, size);
+      os.close();
+      if (Log.isLoggable(TAG, Log.VERBOSE)) {
+        Log.v(
+            TAG,
+            "Wrote raw Bitmap of size "
+                + size
+                + " in "
+                + LogTime.getElapsedMillis(start)
+                + ", config: "
+                + header.config);
+      }
+      return true;
+    } catch (IOException e) {
+      if (Log.isLoggable(TAG, Log.DEBUG)) {
+        Log.d(TAG, "Failed to write raw Bitmap", e);
+      }
+      return false;
+    } finally {
+      if (os != null) {
+        try {
+          os.close();
+        } catch (IOException e) {
+          // Do nothing.
+        }
+      }
+      arrayPool.put(buffer);
+      GlideTrace.endSection();
+    }
+  }
+
+  @NonNull
+  @Override
+  public EncodeStrategy getEncodeStrategy(@NonNull Options options) {
+    return compressedEncoder.getEncodeStrategy(options);
+  }
+}
@@ -0,0 +1,213 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import android.graphics.Bitmap;
+import android.graphics.ColorSpace;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The header written before the pixels of {@link Bitmap}s stored by {@link RawBitmapEncoder}.
+ *
+ * <p>The header is {@link #SIZE} big endian bytes: a magic number, a version, the {@link
+ * Bitmap.Config}, whether or not the {@link Bitmap} has alpha, the id of its named {@link
+ * ColorSpace} or -1, the width, the height and the number of pixel bytes that follow.
+ */
+final class RawBitmapHeader {
+  static final int SIZE = 20;
+  // "GRAW", not a valid start for any format Downsampler decodes.
+  private static final int MAGIC = 0x47524157;
+  private static final byte VERSION = 1;
+  private static final int NO_COLOR_SPACE = -1;
+  private static final int UNNAMED_COLOR_SPACE = -2;
+
+  private static final byte CONFIG_ALPHA_8 = 1;
+  private static final byte CONFIG_RGB_565 = 2;
+  private static final byte CONFIG_ARGB_8888 = 3;
+  private static final byte CONFIG_RGBA_F16 = 4;
+
+  final Bitmap.Config config;
+  final boolean hasAlpha;
+  final int colorSpaceId;
+  final int width;
+  final int height;
+  final int byteCount;
+
+  private RawBitmapHeader(
+      Bitmap.Config config,
+      boolean hasAlpha,
+      int colorSpaceId,
+      int width,
+      int height,
+      int byteCount) {
+    this.config = config;
+    this.hasAlpha = hasAlpha;
+    this.colorSpaceId = colorSpaceId;
+    this.width = width;
+    this.height = height;
+    this.byteCount = byteCount;
+  }
+
+  /**
+   * Returns a header for the given {@link Bitmap}, or {@code null} if its pixels can't be stored
+   * and restored exactly.
+   */
+  @Nullable
+  static RawBitmapHeader forBitmap(@NonNull Bitmap bitmap) {
+    Bitmap.Config config = bitmap.getConfig();
+    if (config == null
+        || toConfigCode(config) == 0
+        // Pooled Bitmaps are premultiplied, so unpremultiplied pixels would be misread.
+        || (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1
+            && bitmap.hasAlpha()
+            && !bitmap.isPremultiplied())) {
+      return null;
+    }
+    int colorSpaceId = NO_COLOR_SPACE;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+      colorSpaceId = getColorSpaceId(bitmap);
+      if (!isColorSpaceRestorable(config, colorSpaceId)) {
+        return null;
+      }
+    }
+    return new RawBitmapHeader(
+        config,
+        bitmap.hasAlpha(),
+        colorSpaceId,
+        bitmap.getWidth(),
+        bitmap.getHeight(),
+        bitmap.getByteCount());
+  }
+
+  /** Returns {@code true} if the given data starts with a header this version can read. */
+  static boolean isRawBitmap(@NonNull ByteBuffer data) {
+    ByteBuffer header = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+    return header.remaining() >= SIZE
+        && header.getInt(header.position()) == MAGIC
+        && header.get(header.position() + 4) == VERSION;
+  }
+
+  /**
+   * Reads the header at the current position of the given data without changing the position.
+   *
+   * @throws IOException If the data doesn't start with a valid header.
+   */
+  @NonNull
+  static RawBitmapHeader read(@NonNull ByteBuffer data) throws IOException {
+    if (!isRawBitmap(data)) {
+      throw new IOException("Missing raw Bitmap header");
+    }
+    ByteBuffer header = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+    header.position(header.position() + 5);
+    Bitmap.Config config = fromConfigCode(header.get());
+    boolean hasAlpha = header.get() != 0;
+    int colorSpaceId = header.get();
+    int width = header.getInt();
+    int height = header.getInt();
+    int byteCount = header.getInt();
+    if (config == null
+        || colorSpaceId < NO_COLOR_SPACE
+        || width <= 0
+        || height <= 0
+        || byteCount <= 0
+        || header.remaining() < byteCount) {
+      throw new IOException(
+          "Invalid raw Bitmap header, config: "
+              + config
+              + ", width: "
+              + width
+              + ", height: "
+              + height
+              + ", byteCount: "
+              + byteCount
+              + ", remaining: "
+              + header.remaining());
+    }
+    return new RawBitmapHeader(config, hasAlpha, colorSpaceId, width, height, byteCount);
+  }
+
+  /** Writes this header to the start of the given array. */
+  void writeTo(@NonNull byte[] array) {
+    ByteBuffer.wrap(array, 0, SIZE)
+        .order(ByteOrder.BIG_ENDIAN)
+        .putInt(MAGIC)
+        .put(VERSION)
+        .put(toConfigCode(config))
+        .put((byte) (hasAlpha ? 1 : 0))
+        .put((byte) colorSpaceId)
+        .putInt(width)
+        .putInt(height)
+        .putInt(byteCount);
+  }
+
+  /** Restores the properties other than pixels recorded in this header to the given bitmap. */
+  void applyTo(@NonNull Bitmap bitmap) {
+    bitmap.setHasAlpha(hasAlpha);
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+        && colorSpaceId != NO_COLOR_SPACE
+        && colorSpaceId < ColorSpace.Named.values().length) {
+      ColorSpace colorSpace = ColorSpace.get(ColorSpace.Named.values()[colorSpaceId]);
+      if (!colorSpace.equals(bitmap.getColorSpace())) {
+        bitmap.setColorSpace(colorSpace);
+      }
+    }
+  }
+
+  private static byte toConfigCode(@NonNull Bitmap.Config config) {
+    if (config == Bitmap.Config.ALPHA_8) {
+      return CONFIG_ALPHA_8;
+    } else if (config == Bitmap.Config.RGB_565) {
+      return CONFIG_RGB_565;
+    } else if (config == Bitmap.Config.ARGB_8888) {
+      return CONFIG_ARGB_8888;
+    } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+        && config == Bitmap.Config.RGBA_F16) {
+      return CONFIG_RGBA_F16;
+    }
+    // HARDWARE Bitmaps have no accessible pixels and other configs are deprecated or rare.
+    return 0;
+  }
+
+  @Nullable
+  private static Bitmap.Config fromConfigCode(byte code) {
+    switch (code) {
+      case CONFIG_ALPHA_8:
+        return Bitmap.Config.ALPHA_8;
+      case CONFIG_RGB_565:
+        return Bitmap.Config.RGB_565;
+      case CONFIG_ARGB_8888:
+        return Bitmap.Config.ARGB_8888;
+      case CONFIG_RGBA_F16:
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.O ? Bitmap.Config.RGBA_F16 : null;
+      default:
+        return null;
+    }
+  }
+
+  private static int getColorSpaceId(@NonNull Bitmap bitmap) {
+    ColorSpace colorSpace = bitmap.getColorSpace();
+    if (colorSpace == null) {
+      return NO_COLOR_SPACE;
+    }
+    int id = colorSpace.getId();
+    // Only named color spaces have ids that refer to the same color space in every process.
+    return id >= 0 && id < ColorSpace.Named.values().length ? id : UNNAMED_COLOR_SPACE;
+  }
+
+  private static boolean isColorSpaceRestorable(@NonNull Bitmap.Config config, int colorSpaceId) {
+    if (colorSpaceId == NO_COLOR_SPACE) {
+      return true;
+    } else if (colorSpaceId == UNNAMED_COLOR_SPACE) {
+      return false;
+    } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+      return true;
+    }
+    // Before Q, the color space of pooled Bitmaps can't be changed, so only their default, sRGB
+    // for everything but RGBA_F16, can be restored.
+    return config != Bitmap.Config.RGBA_F16
+        && colorSpaceId == ColorSpace.Named.SRGB.ordinal();
+  }
+}
@@ -10,6 +10,7 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.gifdecoder.GifHeader;
 import com.bumptech.glide.gifdecoder.GifHeaderParser;
+import com.bumptech.glide.gifdecoder.SeekableGifDecoder;
 import com.bumptech.glide.gifdecoder.StandardGifDecoder;
 import com.bumptech.glide.load.DecodeFormat;
 import com.bumptech.glide.load.ImageHeaderParser;
@@ -22,11 +23,13 @@ import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.resource.UnitTransformation;
 import com.bumptech.glide.util.LogTime;
+import com.bumptech.glide.util.Preconditions;
 import com.bumptech.glide.util.Util;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Executor;
 
 /**
  * An {@link com.bumptech.glide.load.ResourceDecoder} that decodes {@link
@@ -42,6 +45,7 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
   private final GifHeaderParserPool parserPool;
   private final GifDecoderFactory gifDecoderFactory;
   private final GifBitmapProvider provider;
+  @Nullable private final Executor indexingExecutor;
 
   // Public API.
   @SuppressWarnings("unused")
@@ -53,6 +57,10 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
         Glide.get(context).getArrayPool());
   }
 
+  /**
+   * Creates a decoder that ignores {@link GifOptions#LAZY_HEADER_PARSING} and always parses all
+   * frames of GIFs before decoding the first frame.
+   */
   public ByteBufferGifDecoder(
       Context context,
       List<ImageHeaderParser> parsers,
@@ -61,6 +69,26 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
     this(context, parsers, bitmapPool, arrayPool, PARSER_POOL, GIF_DECODER_FACTORY);
   }
 
+  /**
+   * @param indexingExecutor The {@link Executor} used to index the remaining frames of GIFs when
+   *     {@link GifOptions#LAZY_HEADER_PARSING} is set.
+   */
+  public ByteBufferGifDecoder(
+      Context context,
+      List<ImageHeaderParser> parsers,
+      BitmapPool bitmapPool,
+      ArrayPool arrayPool,
+      @NonNull Executor indexingExecutor) {
+    this(
+        context,
+        parsers,
+        bitmapPool,
+        arrayPool,
+        PARSER_POOL,
+        GIF_DECODER_FACTORY,
+        Preconditions.checkNotNull(indexingExecutor));
+  }
+
   @VisibleForTesting
   ByteBufferGifDecoder(
       Context context,
@@ -69,11 +97,35 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
       ArrayPool arrayPool,
       GifHeaderParserPool parserPool,
       GifDecoderFactory gifDecoderFactory) {
+    this(
+        context,
+        parsers,
+        bitmapPool,
+        arrayPool,
+        parserPool,
+        gifDecoderFactory,
+        /* indexingExecutor= */ null);
+  }
+
+  /**
+   * @param indexingExecutor The {@link Executor} used to index the remaining frames of GIFs when
+   *     {@link GifOptions#LAZY_HEADER_PARSING} is set, or {@code null} to ignore the option.
+   */
+  @VisibleForTesting
+  ByteBufferGifDecoder(
+      Context context,
+      List<ImageHeaderParser> parsers,
+      BitmapPool bitmapPool,
+      ArrayPool arrayPool,
+      GifHeaderParserPool parserPool,
+      GifDecoderFactory gifDecoderFactory,
+      @Nullable Executor indexingExecutor) {
     this.context = context.getApplicationContext();
     this.parsers = parsers;
     this.gifDecoderFactory = gifDecoderFactory;
     this.provider = new GifBitmapProvider(bitmapPool, arrayPool);
     this.parserPool = parserPool;
+    this.indexingExecutor = indexingExecutor;
   }
 
   @Override
@@ -98,7 +150,9 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
       ByteBuffer byteBuffer, int width, int height, GifHeaderParser parser, Options options) {
     long startTime = LogTime.getLogTime();
     try {
-      final GifHeader header = parser.parseHeader();
+      boolean isLazy = indexingExecutor != null && options.get(GifOptions.LAZY_HEADER_PARSING);
+      // In lazy mode only the first frame is needed up front, the rest are indexed later.
+      final GifHeader header = isLazy ? parser.parseHeader(1 /*maxFrames*/) : parser.parseHeader();
       if (header.getNumFrames() <= 0 || header.getStatus() != GifDecoder.STATUS_OK) {
         // If we couldn't decode the GIF, we will end up with a frame count of 0.
         return null;
@@ -111,7 +165,23 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
 
       int sampleSize = getSampleSize(header, width, height);
       GifDecoder gifDecoder = gifDecoderFactory.build(provider, header, byteBuffer, sampleSize);
+      if (isLazy && !(gifDecoder instanceof SeekableGifDecoder)) {
+        // Only decoders that can update their header can start from the first frame alone.
+        isLazy = false;
+        parser.setData(byteBuffer);
+        GifHeader fullHeader = parser.parseHeader();
+        if (fullHeader.getStatus() != GifDecoder.STATUS_OK) {
+          return null;
+        }
+        gifDecoder.setData(fullHeader, byteBuffer, sampleSize);
+      }
       gifDecoder.setDefaultBitmapConfig(config);
+      if (gifDecoder instanceof SeekableGifDecoder) {
+        ((SeekableGifDecoder) gifDecoder)
+            .setKeyframeSnapshots(
+                options.get(GifOptions.KEYFRAME_SNAPSHOT_INTERVAL),
+                options.get(GifOptions.KEYFRAME_SNAPSHOT_MAX_BYTES));
+      }
       gifDecoder.advance();
       Bitmap firstFrame = gifDecoder.getNextFrame();
       if (firstFrame == null) {
@@ -122,6 +192,9 @@ public class ByteBufferGifDecoder implements ResourceDecoder<ByteBuffer, GifDraw
 
       GifDrawable gifDrawable =
           new GifDrawable(context, gifDecoder, unitTransformation, width, height, firstFrame);
+      if (isLazy) {
+        gifDrawable.indexFrames(indexingExecutor, byteBuffer.asReadOnlyBuffer());
+      }
 
       return new GifDrawableResource(gifDrawable);
     } finally {
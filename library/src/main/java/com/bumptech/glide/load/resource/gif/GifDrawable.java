@@ -13,17 +13,23 @@ import android.graphics.Rect;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
 import android.view.Gravity;
+import android.view.View;
+import android.view.ViewTreeObserver;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.vectordrawable.graphics.drawable.Animatable2Compat;
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.gifdecoder.AnimatedFrameSource;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.util.Preconditions;
+import com.bumptech.glide.util.Synthetic;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * An animated {@link android.graphics.drawable.Drawable} that plays the frames of an animated GIF.
@@ -65,6 +71,21 @@ public class GifDrawable extends Drawable
    */
   private boolean isVisible = true;
 
+  /**
+   * True if the drawable is running, but not loading frames because the View it's drawn in isn't
+   * on screen.
+   */
+  private boolean isPausedOffScreen;
+
+  /** The View whose pre draw callbacks resume the animation while it's paused off-screen. */
+  @Nullable private View offScreenView;
+
+  /**
+   * The observer {@link #resumeIfOnScreenListener} was added to, which may no longer be the
+   * observer returned by {@link #offScreenView} if the View was attached or detached since.
+   */
+  @Nullable private ViewTreeObserver offScreenObserver;
+
   /** The number of times we've looped over all the frames in the GIF. */
   private int loopCount;
 
@@ -74,6 +95,16 @@ public class GifDrawable extends Drawable
   private boolean applyGravity;
   private Paint paint;
   private Rect destRect;
+  private Rect visibleRect;
+
+  private final ViewTreeObserver.OnPreDrawListener resumeIfOnScreenListener =
+      new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+          resumeIfOnScreen();
+          return true;
+        }
+      };
 
   /** Callbacks to notify loop completion of a gif, where the loop count is explicitly specified. */
   private List<AnimationCallback> animationCallbacks;
@@ -132,12 +163,40 @@ public class GifDrawable extends Drawable
       int targetFrameWidth,
       int targetFrameHeight,
       Bitmap firstFrame) {
+    this(
+        context,
+        (AnimatedFrameSource) gifDecoder,
+        frameTransformation,
+        targetFrameWidth,
+        targetFrameHeight,
+        firstFrame);
+  }
+
+  /**
+   * Constructor for a GifDrawable that plays the frames of any animated image format.
+   *
+   * @param context A context.
+   * @param frameSource The decoder to use to decode frames.
+   * @param frameTransformation An {@link com.bumptech.glide.load.Transformation} that can be
+   *     applied to each frame.
+   * @param targetFrameWidth The desired width of the frames displayed by this drawable.
+   * @param targetFrameHeight The desired height of the frames displayed by this drawable.
+   * @param firstFrame The decoded and transformed first frame of the animation.
+   * @see #GifDrawable(Context, GifDecoder, Transformation, int, int, Bitmap)
+   */
+  public GifDrawable(
+      Context context,
+      AnimatedFrameSource frameSource,
+      Transformation<Bitmap> frameTransformation,
+      int targetFrameWidth,
+      int targetFrameHeight,
+      Bitmap firstFrame) {
     this(
         new GifState(
             new GifFrameLoader(
                 // TODO(b/27524013): Factor out this call to Glide.get()
                 Glide.get(context),
-                gifDecoder,
+                frameSource,
                 targetFrameWidth,
                 targetFrameHeight,
                 frameTransformation,
@@ -191,6 +250,37 @@ public class GifDrawable extends Drawable
     return state.frameLoader.getCurrentIndex();
   }
 
+  /**
+   * Jumps to the frame at the given index.
+   *
+   * <p>If the animation is running, the frame is shown as soon as it's decoded and the animation
+   * continues from there. Otherwise the frame is the first one shown when the animation is next
+   * started.
+   *
+   * <p>Frames may depend on earlier frames, so seeking may require decoding all frames since the
+   * nearest keyframe snapshot, see {@link GifOptions#KEYFRAME_SNAPSHOT_INTERVAL}.
+   *
+   * <p>Only supported if {@link #canSeek()} returns {@code true}.
+   *
+   * @param frameIndex The index of the frame in the range 0..{@link #getFrameCount()} - 1.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public void seekTo(int frameIndex) {
+    Preconditions.checkArgument(!isRecycled, "You cannot seek a recycled Drawable.");
+    state.frameLoader.seekTo(frameIndex);
+  }
+
+  /**
+   * Returns {@code true} if the decoder of this drawable implements {@link
+   * com.bumptech.glide.gifdecoder.SeekableFrameSource} and so supports {@link #seekTo(int)}.
+   */
+  // Public API.
+  @SuppressWarnings("WeakerAccess")
+  public boolean canSeek() {
+    return state.frameLoader.canSeek();
+  }
+
   private void resetLoopCount() {
     loopCount = 0;
   }
@@ -226,8 +316,9 @@ public class GifDrawable extends Drawable
         !isRecycled,
         "You cannot start a recycled Drawable. Ensure that"
             + "you clear any references to the Drawable when clearing the corresponding request.");
-    // If we have only a single frame, we don't want to decode it endlessly.
-    if (state.frameLoader.getFrameCount() == 1) {
+    // If we have only a single frame, we don't want to decode it endlessly. While the remaining
+    // frames are being indexed we don't know yet, so subscribe to start as soon as they're ready.
+    if (state.frameLoader.getFrameCount() == 1 && !state.frameLoader.isIndexing()) {
       invalidateSelf();
     } else if (!isRunning) {
       isRunning = true;
@@ -236,9 +327,90 @@ public class GifDrawable extends Drawable
     }
   }
 
+  void indexFrames(Executor executor, ByteBuffer data) {
+    state.frameLoader.indexFrames(executor, data);
+  }
+
   private void stopRunning() {
     isRunning = false;
+    clearPausedOffScreen();
+    state.frameLoader.unsubscribe(this);
+  }
+
+  /**
+   * Stops loading frames without stopping the animation until the View this drawable is drawn in
+   * is visible again. While paused, the View's visibility is only checked before its window draws,
+   * for example while the View is scrolled or attached again, which is much cheaper than decoding
+   * frames nobody sees.
+   *
+   * <p>Frames are only paused when the View isn't attached to a visible window or isn't shown,
+   * which is cheap enough to check for every frame. Whether the View is scrolled out of its
+   * parent's bounds is only checked while paused, before resuming.
+   */
+  private void pauseWhileOffScreen(View view) {
+    clearPausedOffScreen();
+    isPausedOffScreen = true;
     state.frameLoader.unsubscribe(this);
+    offScreenView = view;
+    // Views that aren't attached yet merge their observer into their window's when they're
+    // attached, so this also notices the View being attached again.
+    offScreenObserver = view.getViewTreeObserver();
+    offScreenObserver.addOnPreDrawListener(resumeIfOnScreenListener);
+  }
+
+  private void clearPausedOffScreen() {
+    isPausedOffScreen = false;
+    if (offScreenObserver == null) {
+      return;
+    }
+    // If the View was detached since, the listener is still registered with its old window's
+    // observer, which outlives the View and would otherwise keep this drawable and its frames.
+    if (offScreenObserver.isAlive()) {
+      offScreenObserver.removeOnPreDrawListener(resumeIfOnScreenListener);
+    }
+    // If the View was attached since, its old observer was merged into its window's.
+    ViewTreeObserver currentObserver =
+        Preconditions.checkNotNull(offScreenView).getViewTreeObserver();
+    if (currentObserver != offScreenObserver && currentObserver.isAlive()) {
+      currentObserver.removeOnPreDrawListener(resumeIfOnScreenListener);
+    }
+    offScreenObserver = null;
+    offScreenView = null;
+  }
+
+  @Synthetic
+  void resumeIfOnScreen() {
+    if (!isPausedOffScreen || isRecycled) {
+      return;
+    }
+    Callback callback = findCallback();
+    if (callback instanceof View && !isOnScreen((View) callback)) {
+      return;
+    }
+    clearPausedOffScreen();
+    if (isRunning) {
+      state.frameLoader.subscribe(this);
+      invalidateSelf();
+    }
+  }
+
+  // For testing.
+  boolean isPausedOffScreen() {
+    return isPausedOffScreen;
+  }
+
+  private static boolean isShown(View view) {
+    return view.getWindowVisibility() == View.VISIBLE && view.isShown();
+  }
+
+  private boolean isOnScreen(View view) {
+    if (!isShown(view)) {
+      return false;
+    }
+    if (visibleRect == null) {
+      visibleRect = new Rect();
+    }
+    return view.getGlobalVisibleRect(visibleRect);
   }
 
   @Override
@@ -253,6 +425,7 @@ public class GifDrawable extends Drawable
       stopRunning();
     } else if (isStarted) {
       startRunning();
+      resumeIfOnScreen();
     }
     return super.setVisible(visible, restart);
   }
@@ -296,6 +469,7 @@ public class GifDrawable extends Drawable
 
     Bitmap currentFrame = state.frameLoader.getCurrentFrame();
     canvas.drawBitmap(currentFrame, null, getDestRect(), getPaint());
+    state.frameLoader.onDrawn();
   }
 
   @Override
@@ -339,7 +513,8 @@ public class GifDrawable extends Drawable
 
   @Override
   public void onFrameReady() {
-    if (findCallback() == null) {
+    Callback callback = findCallback();
+    if (callback == null) {
       stop();
       invalidateSelf();
       return;
@@ -354,6 +529,8 @@ public class GifDrawable extends Drawable
     if (maxLoopCount != LOOP_FOREVER && loopCount >= maxLoopCount) {
       stop();
       notifyAnimationEndToListeners();
+    } else if (callback instanceof View && !isShown((View) callback)) {
+      pauseWhileOffScreen((View) callback);
     }
   }
 
@@ -373,6 +550,7 @@ public class GifDrawable extends Drawable
   /** Clears any resources for loading frames that are currently held on to by this object. */
   public void recycle() {
     isRecycled = true;
+    clearPausedOffScreen();
     state.frameLoader.clear();
   }
 
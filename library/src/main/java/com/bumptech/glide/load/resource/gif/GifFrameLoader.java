@@ -15,11 +15,17 @@ import androidx.annotation.VisibleForTesting;
 import com.bumptech.glide.Glide;
 import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.gifdecoder.AnimatedFrameSource;
 import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.GifHeader;
+import com.bumptech.glide.gifdecoder.GifHeaderParser;
+import com.bumptech.glide.gifdecoder.SeekableFrameSource;
+import com.bumptech.glide.gifdecoder.SeekableGifDecoder;
 import com.bumptech.glide.load.Key;
 import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.engine.DiskCacheStrategy;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.manager.AnimationThrottler;
 import com.bumptech.glide.request.RequestOptions;
 import com.bumptech.glide.request.target.CustomTarget;
 import com.bumptech.glide.request.transition.Transition;
@@ -30,9 +36,12 @@ import com.bumptech.glide.util.Util;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
-class GifFrameLoader {
-  private final GifDecoder gifDecoder;
+class GifFrameLoader implements AnimationThrottler.Animation {
+  private static final int NO_SEEK = -1;
+
+  private final AnimatedFrameSource frameSource;
   private final Handler handler;
   private final List<FrameCallback> callbacks = new ArrayList<>();
 
@@ -41,10 +50,14 @@ class GifFrameLoader {
   final RequestManager requestManager;
 
   private final BitmapPool bitmapPool;
+  private final AnimationThrottler animationThrottler;
 
   private boolean isRunning;
+  private boolean isThrottled;
   private boolean isLoadPending;
+  private boolean isIndexing;
   private boolean startFromFirstFrame;
+  private int seekFrameIndex = NO_SEEK;
   private RequestBuilder<Bitmap> requestBuilder;
   private DelayTarget current;
   private boolean isCleared;
@@ -63,7 +76,7 @@ class GifFrameLoader {
 
   GifFrameLoader(
       Glide glide,
-      GifDecoder gifDecoder,
+      AnimatedFrameSource frameSource,
       int width,
       int height,
       Transformation<Bitmap> transformation,
@@ -71,23 +84,45 @@ class GifFrameLoader {
     this(
         glide.getBitmapPool(),
         Glide.with(glide.getContext()),
-        gifDecoder,
+        frameSource,
         null /*handler*/,
         getRequestBuilder(Glide.with(glide.getContext()), width, height),
         transformation,
-        firstFrame);
+        firstFrame,
+        glide.getAnimationThrottler());
   }
 
-  @SuppressWarnings("PMD.ConstructorCallsOverridableMethod")
   GifFrameLoader(
       BitmapPool bitmapPool,
       RequestManager requestManager,
-      GifDecoder gifDecoder,
+      AnimatedFrameSource frameSource,
       Handler handler,
       RequestBuilder<Bitmap> requestBuilder,
       Transformation<Bitmap> transformation,
       Bitmap firstFrame) {
+    this(
+        bitmapPool,
+        requestManager,
+        frameSource,
+        handler,
+        requestBuilder,
+        transformation,
+        firstFrame,
+        new AnimationThrottler(AnimationThrottler.UNLIMITED));
+  }
+
+  @SuppressWarnings("PMD.ConstructorCallsOverridableMethod")
+  GifFrameLoader(
+      BitmapPool bitmapPool,
+      RequestManager requestManager,
+      AnimatedFrameSource frameSource,
+      Handler handler,
+      RequestBuilder<Bitmap> requestBuilder,
+      Transformation<Bitmap> transformation,
+      Bitmap firstFrame,
+      AnimationThrottler animationThrottler) {
     this.requestManager = requestManager;
+    this.animationThrottler = animationThrottler;
     if (handler == null) {
       handler = new Handler(Looper.getMainLooper(), new FrameLoaderCallback());
     }
@@ -95,7 +130,7 @@ class GifFrameLoader {
     this.handler = handler;
     this.requestBuilder = requestBuilder;
 
-    this.gifDecoder = gifDecoder;
+    this.frameSource = frameSource;
 
     setFrameTransformation(transformation, firstFrame);
   }
@@ -148,7 +183,7 @@ class GifFrameLoader {
   }
 
   int getSize() {
-    return gifDecoder.getByteSize() + firstFrameSize;
+    return frameSource.getByteSize() + firstFrameSize;
   }
 
   int getCurrentIndex() {
@@ -156,15 +191,59 @@ class GifFrameLoader {
   }
 
   ByteBuffer getBuffer() {
-    return gifDecoder.getData().asReadOnlyBuffer();
+    return frameSource.getData().asReadOnlyBuffer();
   }
 
   int getFrameCount() {
-    return gifDecoder.getFrameCount();
+    return frameSource.getFrameCount();
+  }
+
+  /**
+   * Returns {@code true} if the frames after the first frame are still being indexed, see {@link
+   * #indexFrames(Executor, ByteBuffer)}.
+   */
+  boolean isIndexing() {
+    return isIndexing;
+  }
+
+  /**
+   * Parses every frame of the given data on the given executor and then updates the decoder, which
+   * must be a {@link SeekableGifDecoder} created from a header containing only the first frame.
+   *
+   * <p>No frames are loaded until indexing completes, at which point the animation starts if it's
+   * running and if the GIF has more than one frame.
+   */
+  void indexFrames(Executor executor, final ByteBuffer data) {
+    Preconditions.checkArgument(!isIndexing, "Frames are already being indexed");
+    Preconditions.checkArgument(
+        frameSource instanceof SeekableGifDecoder, "Only SeekableGifDecoder frames can be indexed");
+    isIndexing = true;
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+            handler.obtainMessage(FrameLoaderCallback.MSG_INDEXED, header).sendToTarget();
+          }
+        });
+  }
+
+  @VisibleForTesting
+  void onFramesIndexed(GifHeader header) {
+    if (isCleared || !isIndexing) {
+      return;
+    }
+    isIndexing = false;
+    // If we failed to index the remaining frames, keep showing the first frame.
+    if (header.getStatus() == GifDecoder.STATUS_OK
+        && header.getNumFrames() > frameSource.getFrameCount()) {
+      ((SeekableGifDecoder) frameSource).updateHeader(header);
+      loadNextFrame();
+    }
   }
 
   int getLoopCount() {
-    return gifDecoder.getTotalIterationCount();
+    return frameSource.getTotalIterationCount();
   }
 
   private void start() {
@@ -173,12 +252,43 @@ class GifFrameLoader {
     }
     isRunning = true;
     isCleared = false;
+    isThrottled = !animationThrottler.onAnimationStarted(this);
 
     loadNextFrame();
   }
 
   private void stop() {
     isRunning = false;
+    isThrottled = false;
+    animationThrottler.onAnimationStopped(this);
+  }
+
+  /**
+   * Pauses or resumes loading frames while running, see {@link AnimationThrottler}.
+   *
+   * <p>Unlike stopping, throttling keeps the loader subscribed and resumes from the frame that was
+   * loaded last.
+   */
+  @Override
+  public void setThrottled(boolean isThrottled) {
+    if (this.isThrottled == isThrottled) {
+      return;
+    }
+    this.isThrottled = isThrottled;
+    if (!isThrottled) {
+      loadNextFrame();
+    }
+  }
+
+  boolean isThrottled() {
+    return isThrottled;
+  }
+
+  /** Called when the current frame is drawn so that rarely drawn animations are throttled first. */
+  void onDrawn() {
+    if (isRunning) {
+      animationThrottler.onAnimationDrawn(this);
+    }
   }
 
   void clear() {
@@ -197,7 +307,7 @@ class GifFrameLoader {
       requestManager.clear(pendingTarget);
       pendingTarget = null;
     }
-    gifDecoder.clear();
+    frameSource.clear();
     isCleared = true;
   }
 
@@ -206,13 +316,14 @@ class GifFrameLoader {
   }
 
   private void loadNextFrame() {
-    if (!isRunning || isLoadPending) {
+    // Until all frames are indexed the decoder only knows about the first frame.
+    if (!isRunning || isThrottled || isLoadPending || isIndexing) {
       return;
     }
     if (startFromFirstFrame) {
       Preconditions.checkArgument(
           pendingTarget == null, "Pending target must be null when starting from the first frame");
-      gifDecoder.resetFrameIndex();
+      frameSource.resetFrameIndex();
       startFromFirstFrame = false;
     }
     if (pendingTarget != null) {
@@ -222,14 +333,23 @@ class GifFrameLoader {
       return;
     }
     isLoadPending = true;
-    // Get the delay before incrementing the pointer because the delay indicates the amount of time
-    // we want to spend on the current frame.
-    int delay = gifDecoder.getNextDelay();
-    long targetTime = SystemClock.uptimeMillis() + delay;
-
-    gifDecoder.advance();
-    next = new DelayTarget(handler, gifDecoder.getCurrentFrameIndex(), targetTime);
-    requestBuilder.apply(signatureOf(getFrameSignature())).load(gifDecoder).into(next);
+    long targetTime;
+    if (seekFrameIndex != NO_SEEK) {
+      // Show the requested frame as soon as it's available. The decoder defers any work needed to
+      // reach the frame until it's decoded on a background thread.
+      targetTime = SystemClock.uptimeMillis();
+      ((SeekableFrameSource) frameSource).seekTo(seekFrameIndex);
+      seekFrameIndex = NO_SEEK;
+    } else {
+      // Get the delay before incrementing the pointer because the delay indicates the amount of
+      // time we want to spend on the current frame.
+      int delay = frameSource.getNextDelay();
+      targetTime = SystemClock.uptimeMillis() + delay;
+
+      frameSource.advance();
+    }
+    next = new DelayTarget(handler, frameSource.getCurrentFrameIndex(), targetTime);
+    requestBuilder.apply(signatureOf(getFrameSignature())).load(frameSource).into(next);
   }
 
   private void recycleFirstFrame() {
@@ -242,10 +362,30 @@ class GifFrameLoader {
   void setNextStartFromFirstFrame() {
     Preconditions.checkArgument(!isRunning, "Can't restart a running animation");
     startFromFirstFrame = true;
+    seekFrameIndex = NO_SEEK;
+    if (pendingTarget != null) {
+      requestManager.clear(pendingTarget);
+      pendingTarget = null;
+    }
+  }
+
+  boolean canSeek() {
+    return frameSource instanceof SeekableFrameSource;
+  }
+
+  void seekTo(int frameIndex) {
+    Preconditions.checkArgument(
+        canSeek(), "The frame source doesn't support seeking: " + frameSource);
+    Preconditions.checkArgument(
+        frameIndex >= 0 && frameIndex < getFrameCount(),
+        "Frame index must be >= 0 and < " + getFrameCount() + ", not: " + frameIndex);
+    seekFrameIndex = frameIndex;
+    startFromFirstFrame = false;
     if (pendingTarget != null) {
       requestManager.clear(pendingTarget);
       pendingTarget = null;
     }
+    loadNextFrame();
   }
 
   @VisibleForTesting
@@ -266,15 +406,22 @@ class GifFrameLoader {
     // If we're not running, notifying here will recycle the frame that we might currently be
     // showing, which breaks things (see #2526). We also can't discard this frame because we've
     // already incremented the frame pointer and can't decode the same frame again. Instead we'll
-    // just hang on to this next frame until start() or clear() are called.
-    if (!isRunning) {
-      if (startFromFirstFrame) {
+    // just hang on to this next frame until start() or clear() are called. The same is true while
+    // we're throttled, until we're allowed to continue.
+    if (!isRunning || isThrottled) {
+      if (startFromFirstFrame || seekFrameIndex != NO_SEEK) {
         handler.obtainMessage(FrameLoaderCallback.MSG_CLEAR, delayTarget).sendToTarget();
       } else {
         pendingTarget = delayTarget;
       }
       return;
     }
+    // A frame loaded before a seek was requested is stale, skip straight to the requested frame.
+    if (seekFrameIndex != NO_SEEK) {
+      handler.obtainMessage(FrameLoaderCallback.MSG_CLEAR, delayTarget).sendToTarget();
+      loadNextFrame();
+      return;
+    }
 
     if (delayTarget.getResource() != null) {
       recycleFirstFrame();
@@ -297,6 +444,7 @@ class GifFrameLoader {
   private class FrameLoaderCallback implements Handler.Callback {
     static final int MSG_DELAY = 1;
     static final int MSG_CLEAR = 2;
+    static final int MSG_INDEXED = 3;
 
     @Synthetic
     FrameLoaderCallback() {}
@@ -310,6 +458,9 @@ class GifFrameLoader {
       } else if (msg.what == MSG_CLEAR) {
         GifFrameLoader.DelayTarget target = (DelayTarget) msg.obj;
         requestManager.clear(target);
+      } else if (msg.what == MSG_INDEXED) {
+        onFramesIndexed((GifHeader) msg.obj);
+        return true;
       }
       return false;
     }
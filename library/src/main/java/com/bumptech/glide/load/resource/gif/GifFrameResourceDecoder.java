@@ -2,7 +2,7 @@ package com.bumptech.glide.load.resource.gif;
 
 import android.graphics.Bitmap;
 import androidx.annotation.NonNull;
-import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.AnimatedFrameSource;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.load.engine.Resource;
@@ -10,10 +10,11 @@ import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.resource.bitmap.BitmapResource;
 
 /**
- * Decodes {@link Bitmap}s from {@link GifDecoder}s representing a particular frame of a particular
- * GIF image.
+ * Decodes {@link Bitmap}s from {@link AnimatedFrameSource}s representing a particular frame of a
+ * particular GIF or other animated image.
  */
-public final class GifFrameResourceDecoder implements ResourceDecoder<GifDecoder, Bitmap> {
+public final class GifFrameResourceDecoder
+    implements ResourceDecoder<AnimatedFrameSource, Bitmap> {
   private final BitmapPool bitmapPool;
 
   public GifFrameResourceDecoder(BitmapPool bitmapPool) {
@@ -21,13 +22,13 @@ public final class GifFrameResourceDecoder implements ResourceDecoder<GifDecoder
   }
 
   @Override
-  public boolean handles(@NonNull GifDecoder source, @NonNull Options options) {
+  public boolean handles(@NonNull AnimatedFrameSource source, @NonNull Options options) {
     return true;
   }
 
   @Override
   public Resource<Bitmap> decode(
-      @NonNull GifDecoder source, int width, int height, @NonNull Options options) {
+      @NonNull AnimatedFrameSource source, int width, int height, @NonNull Options options) {
     Bitmap bitmap = source.getNextFrame();
     return BitmapResource.obtain(bitmap, bitmapPool);
   }
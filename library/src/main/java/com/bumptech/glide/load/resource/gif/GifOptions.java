@@ -25,6 +25,43 @@ public final class GifOptions {
   public static final Option<Boolean> DISABLE_ANIMATION =
       Option.memory("com.bumptech.glide.load.resource.gif.GifOptions.DisableAnimation", false);
 
+  /**
+   * The number of frames between the keyframe snapshots retained by the GIF decoder to speed up
+   * {@link GifDrawable#seekTo(int)}, or {@code 0} to disable snapshots. Defaults to {@code 0}.
+   *
+   * <p>Each snapshot costs one or two full canvas copies at the decoded size of the GIF, up to
+   * {@link #KEYFRAME_SNAPSHOT_MAX_BYTES} in total. Ignored unless the GIF decoder implements
+   * {@link com.bumptech.glide.gifdecoder.SeekableGifDecoder}.
+   *
+   * @see com.bumptech.glide.gifdecoder.SeekableGifDecoder#setKeyframeSnapshots(int, int)
+   */
+  public static final Option<Integer> KEYFRAME_SNAPSHOT_INTERVAL =
+      Option.memory("com.bumptech.glide.load.resource.gif.GifOptions.KeyframeSnapshotInterval", 0);
+
+  /**
+   * The maximum number of bytes that may be used by the keyframe snapshots of a single GIF when
+   * {@link #KEYFRAME_SNAPSHOT_INTERVAL} is set. Defaults to 4mb.
+   */
+  public static final Option<Integer> KEYFRAME_SNAPSHOT_MAX_BYTES =
+      Option.memory(
+          "com.bumptech.glide.load.resource.gif.GifOptions.KeyframeSnapshotMaxBytes",
+          4 * 1024 * 1024);
+
+  /**
+   * If set to {@code true}, only the first frame of each GIF is parsed before the first frame is
+   * decoded and displayed, and the remaining frames are indexed on a background thread owned by
+   * {@link com.bumptech.glide.Glide}. Defaults to {@code false}.
+   *
+   * <p>Reduces the time to first frame for large GIFs. {@link GifDrawable#getFrameCount()} returns
+   * {@code 1} and the GIF does not animate until all frames have been indexed.
+   *
+   * <p>Ignored unless the GIF decoder implements {@link
+   * com.bumptech.glide.gifdecoder.SeekableGifDecoder}, other decoders are given every frame up
+   * front.
+   */
+  public static final Option<Boolean> LAZY_HEADER_PARSING =
+      Option.memory("com.bumptech.glide.load.resource.gif.GifOptions.LazyHeaderParsing", false);
+
   private GifOptions() {
     // Utility class.
   }
@@ -0,0 +1,191 @@
+package com.bumptech.glide.manager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import com.bumptech.glide.util.Preconditions;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Decides which of the currently running animations, like {@link
+ * com.bumptech.glide.load.resource.gif.GifDrawable}s, are allowed to load new frames.
+ *
+ * <p>Animations are throttled while every {@link com.bumptech.glide.RequestManager} bound to an
+ * Activity or Fragment lifecycle is stopped, for example because the app is in the background.
+ * Animations loaded with the application {@link com.bumptech.glide.RequestManager} don't count
+ * towards this.
+ *
+ * <p>If a maximum number of running animations is set, starting another animation throttles the
+ * animation that was least recently drawn. Throttled animations are resumed, most recently drawn
+ * first, as running animations stop.
+ *
+ * <p>All methods must be called on the main thread.
+ */
+public final class AnimationThrottler {
+  /** Indicates that any number of animations may run at the same time. */
+  public static final int UNLIMITED = 0;
+
+  /** An animation that can be paused and resumed by an {@link AnimationThrottler}. */
+  public interface Animation {
+
+    /**
+     * Called when the animation should stop or may resume loading frames.
+     *
+     * <p>Throttling doesn't change whether or not the animation is started, the animation should
+     * resume where it left off once unthrottled.
+     */
+    void setThrottled(boolean isThrottled);
+  }
+
+  private final int maxRunningAnimations;
+  // Both ordered from least to most recently drawn.
+  private final LinkedHashSet<Animation> running = new LinkedHashSet<>();
+  private final LinkedHashSet<Animation> throttled = new LinkedHashSet<>();
+  private int startedLifecycles;
+  private boolean hasTrackedLifecycle;
+
+  /**
+   * @param maxRunningAnimations The maximum number of animations that may load frames at the same
+   *     time, or {@link #UNLIMITED}.
+   */
+  public AnimationThrottler(int maxRunningAnimations) {
+    Preconditions.checkArgument(
+        maxRunningAnimations >= 0, "maxRunningAnimations must be >= 0: " + maxRunningAnimations);
+    this.maxRunningAnimations = maxRunningAnimations;
+  }
+
+  /**
+   * Registers a started animation and throttles it if needed.
+   *
+   * @return {@code true} if the animation may load frames, {@code false} if it's throttled.
+   */
+  public boolean onAnimationStarted(@NonNull Animation animation) {
+    if (running.contains(animation)) {
+      return true;
+    } else if (throttled.contains(animation)) {
+      return false;
+    }
+    if (isInBackground()) {
+      throttled.add(animation);
+      return false;
+    }
+    running.add(animation);
+    throttleLeastRecentlyDrawnIfNeeded();
+    return running.contains(animation);
+  }
+
+  /** Unregisters a stopped or cleared animation and resumes throttled animations if possible. */
+  public void onAnimationStopped(@NonNull Animation animation) {
+    throttled.remove(animation);
+    if (running.remove(animation)) {
+      resumeMostRecentlyDrawn();
+    }
+  }
+
+  /** Marks the given animation as the most recently drawn one. */
+  public void onAnimationDrawn(@NonNull Animation animation) {
+    if (running.remove(animation)) {
+      running.add(animation);
+    } else if (throttled.remove(animation)) {
+      throttled.add(animation);
+    }
+  }
+
+  /**
+   * Called when an Activity or Fragment lifecycle with a {@link com.bumptech.glide.RequestManager}
+   * is started.
+   */
+  void onLifecycleStarted() {
+    hasTrackedLifecycle = true;
+    startedLifecycles++;
+    if (startedLifecycles == 1) {
+      resumeMostRecentlyDrawn();
+    }
+  }
+
+  /**
+   * Called when an Activity or Fragment lifecycle with a {@link com.bumptech.glide.RequestManager}
+   * that was previously started is stopped or destroyed.
+   */
+  void onLifecycleStopped() {
+    Preconditions.checkArgument(startedLifecycles > 0, "No lifecycles are started");
+    startedLifecycles--;
+    if (startedLifecycles == 0) {
+      throttleAll();
+    }
+  }
+
+  /** Returns a listener that reports the started state of a single lifecycle to this object. */
+  @NonNull
+  LifecycleListener newLifecycleListener() {
+    return new LifecycleListener() {
+      private boolean isStarted;
+
+      @Override
+      public void onStart() {
+        if (!isStarted) {
+          isStarted = true;
+          onLifecycleStarted();
+        }
+      }
+
+      @Override
+      public void onStop() {
+        if (isStarted) {
+          isStarted = false;
+          onLifecycleStopped();
+        }
+      }
+
+      @Override
+      public void onDestroy() {
+        onStop();
+      }
+    };
+  }
+
+  @VisibleForTesting
+  boolean isInBackground() {
+    return hasTrackedLifecycle && startedLifecycles == 0;
+  }
+
+  private void throttleLeastRecentlyDrawnIfNeeded() {
+    if (maxRunningAnimations == UNLIMITED) {
+      return;
+    }
+    while (running.size() > maxRunningAnimations) {
+      Iterator<Animation> iterator = running.iterator();
+      Animation leastRecentlyDrawn = iterator.next();
+      iterator.remove();
+      throttled.add(leastRecentlyDrawn);
+      leastRecentlyDrawn.setThrottled(true);
+    }
+  }
+
+  private void throttleAll() {
+    List<Animation> toThrottle = new ArrayList<>(running);
+    running.clear();
+    throttled.addAll(toThrottle);
+    for (Animation animation : toThrottle) {
+      animation.setThrottled(true);
+    }
+  }
+
+  private void resumeMostRecentlyDrawn() {
+    if (isInBackground()) {
+      return;
+    }
+    while (!throttled.isEmpty()
+        && (maxRunningAnimations == UNLIMITED || running.size() < maxRunningAnimations)) {
+      Animation mostRecentlyDrawn = null;
+      for (Animation animation : throttled) {
+        mostRecentlyDrawn = animation;
+      }
+      throttled.remove(mostRecentlyDrawn);
+      running.add(mostRecentlyDrawn);
+      mostRecentlyDrawn.setThrottled(false);
+    }
+  }
+}
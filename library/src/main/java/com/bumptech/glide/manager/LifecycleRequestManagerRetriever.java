@@ -59,6 +59,8 @@ final class LifecycleRequestManagerRetriever {
               lifecycleToRequestManager.remove(lifecycle);
             }
           });
+      // Lets animations pause while every Activity and Fragment with a RequestManager is stopped.
+      glideLifecycle.addListener(glide.getAnimationThrottler().newLifecycleListener());
       // This is a bit of hack, we're going to start the RequestManager, but not the
       // corresponding Lifecycle. It's safe to start the RequestManager, but starting the
       // Lifecycle might trigger memory leaks. See b/154405040
@@ -0,0 +1,103 @@
+package com.bumptech.glide.provider;
+
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A hash table keyed by three classes that's read without locking or allocating.
+ *
+ * <p>Writes copy the table and publish the copy, so they're relatively expensive. That suits the
+ * caches in this package, which are written once for each new combination of classes and then
+ * read for every load that uses it.
+ *
+ * @param <V> The type of the values.
+ */
+final class ClassTripleTable<V> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private volatile Entry<V>[] table = newTable(INITIAL_CAPACITY);
+
+  @GuardedBy("this")
+  private int size;
+
+  @Nullable
+  V get(@NonNull Class<?> first, @NonNull Class<?> second, @NonNull Class<?> third) {
+    Entry<V>[] current = table;
+    Entry<V> entry = current[indexFor(first, second, third, current.length)];
+    while (entry != null) {
+      if (entry.first == first && entry.second == second && entry.third == third) {
+        return entry.value;
+      }
+      entry = entry.next;
+    }
+    return null;
+  }
+
+  synchronized void put(
+      @NonNull Class<?> first,
+      @NonNull Class<?> second,
+      @NonNull Class<?> third,
+      @NonNull V value) {
+    Entry<V>[] current = table;
+    boolean isReplacement = get(first, second, third) != null;
+    int capacity = current.length;
+    if (!isReplacement && (size + 1) * 4 > capacity * 3) {
+      capacity *= 2;
+    }
+    Entry<V>[] updated = newTable(capacity);
+    for (Entry<V> head : current) {
+      for (Entry<V> entry = head; entry != null; entry = entry.next) {
+        if (entry.first != first || entry.second != second || entry.third != third) {
+          insert(updated, entry.first, entry.second, entry.third, entry.value);
+        }
+      }
+    }
+    insert(updated, first, second, third, value);
+    if (!isReplacement) {
+      size++;
+    }
+    table = updated;
+  }
+
+  synchronized void clear() {
+    table = newTable(INITIAL_CAPACITY);
+    size = 0;
+  }
+
+  private static <V> void insert(
+      Entry<V>[] table, Class<?> first, Class<?> second, Class<?> third, V value) {
+    int index = indexFor(first, second, third, table.length);
+    table[index] = new Entry<>(first, second, third, value, table[index]);
+  }
+
+  private static int indexFor(Class<?> first, Class<?> second, Class<?> third, int length) {
+    int hash = first.hashCode();
+    hash = 31 * hash + second.hashCode();
+    hash = 31 * hash + third.hashCode();
+    // Spread the high bits, identity hash codes often differ only there.
+    hash ^= hash >>> 16;
+    return hash & (length - 1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> Entry<V>[] newTable(int capacity) {
+    return (Entry<V>[]) new Entry<?>[capacity];
+  }
+
+  private static final class Entry<V> {
+    final Class<?> first;
+    final Class<?> second;
+    final Class<?> third;
+    final V value;
+    @Nullable final Entry<V> next;
+
+    Entry(Class<?> first, Class<?> second, Class<?> third, V value, @Nullable Entry<V> next) {
+      this.first = first;
+      this.second = second;
+      this.third = third;
+      this.value = value;
+      this.next = next;
+    }
+  }
+}
@@ -5,17 +5,22 @@ import androidx.annotation.Nullable;
 import com.bumptech.glide.load.Encoder;
 import com.bumptech.glide.util.Synthetic;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /** Contains an ordered list of {@link Encoder}s capable of encoding arbitrary data types. */
 public class EncoderRegistry {
   // TODO: This registry should probably contain a put, rather than a list.
-  private final List<Entry<?>> encoders = new ArrayList<>();
+  // Replaced rather than modified so that lookups, which happen during loads, don't lock.
+  private volatile List<Entry<?>> encoders = Collections.emptyList();
 
   @SuppressWarnings("unchecked")
   @Nullable
-  public synchronized <T> Encoder<T> getEncoder(@NonNull Class<T> dataClass) {
-    for (Entry<?> entry : encoders) {
+  public <T> Encoder<T> getEncoder(@NonNull Class<T> dataClass) {
+    List<Entry<?>> current = encoders;
+    //noinspection ForLoopReplaceableByForEach to improve perf
+    for (int i = 0, size = current.size(); i < size; i++) {
+      Entry<?> entry = current.get(i);
       if (entry.handles(dataClass)) {
         return (Encoder<T>) entry.encoder;
       }
@@ -24,11 +29,15 @@ public class EncoderRegistry {
   }
 
   public synchronized <T> void append(@NonNull Class<T> dataClass, @NonNull Encoder<T> encoder) {
-    encoders.add(new Entry<>(dataClass, encoder));
+    List<Entry<?>> updated = new ArrayList<>(encoders);
+    updated.add(new Entry<>(dataClass, encoder));
+    encoders = updated;
   }
 
   public synchronized <T> void prepend(@NonNull Class<T> dataClass, @NonNull Encoder<T> encoder) {
-    encoders.add(0, new Entry<>(dataClass, encoder));
+    List<Entry<?>> updated = new ArrayList<>(encoders);
+    updated.add(0, new Entry<>(dataClass, encoder));
+    encoders = updated;
   }
 
   private static final class Entry<T> {
@@ -2,19 +2,21 @@ package com.bumptech.glide.provider;
 
 import androidx.annotation.NonNull;
 import com.bumptech.glide.load.ImageHeaderParser;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /** Contains an unordered list of {@link ImageHeaderParser}s capable of parsing image headers. */
 public final class ImageHeaderParserRegistry {
-  private final List<ImageHeaderParser> parsers = new ArrayList<>();
+  // Copy on write so that decodes read parsers without locking, while callers that hold on to the
+  // list still see parsers that are added later.
+  private final List<ImageHeaderParser> parsers = new CopyOnWriteArrayList<>();
 
   @NonNull
-  public synchronized List<ImageHeaderParser> getParsers() {
+  public List<ImageHeaderParser> getParsers() {
     return parsers;
   }
 
-  public synchronized void add(@NonNull ImageHeaderParser parser) {
+  public void add(@NonNull ImageHeaderParser parser) {
     parsers.add(parser);
   }
 }
@@ -1,18 +1,17 @@
 package com.bumptech.glide.provider;
 
 import androidx.annotation.Nullable;
-import androidx.collection.ArrayMap;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.load.engine.DecodePath;
 import com.bumptech.glide.load.engine.LoadPath;
 import com.bumptech.glide.load.resource.transcode.UnitTranscoder;
-import com.bumptech.glide.util.MultiClassKey;
 import java.util.Collections;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Maintains a cache of data, resource, and transcode classes to available {@link
  * com.bumptech.glide.load.engine.LoadPath}s capable of decoding with the requested types.
+ *
+ * <p>Lookups for types that have been seen before don't lock or allocate.
  */
 public class LoadPathCache {
   private static final LoadPath<?, ?, ?> NO_PATHS_SIGNAL =
@@ -30,8 +29,7 @@ public class LoadPathCache {
                   /* listPool= */ null)),
           /* listPool= */ null);
 
-  private final ArrayMap<MultiClassKey, LoadPath<?, ?, ?>> cache = new ArrayMap<>();
-  private final AtomicReference<MultiClassKey> keyRef = new AtomicReference<>();
+  private final ClassTripleTable<LoadPath<?, ?, ?>> cache = new ClassTripleTable<>();
 
   /**
    * Returns {@code} true if the given {@link LoadPath} is the signal object returned from {@link
@@ -51,14 +49,8 @@ public class LoadPathCache {
   @Nullable
   public <Data, TResource, Transcode> LoadPath<Data, TResource, Transcode> get(
       Class<Data> dataClass, Class<TResource> resourceClass, Class<Transcode> transcodeClass) {
-    MultiClassKey key = getKey(dataClass, resourceClass, transcodeClass);
-    LoadPath<?, ?, ?> result;
-    synchronized (cache) {
-      result = cache.get(key);
-    }
-    keyRef.set(key);
-
-    return (LoadPath<Data, TResource, Transcode>) result;
+    return (LoadPath<Data, TResource, Transcode>)
+        cache.get(dataClass, resourceClass, transcodeClass);
   }
 
   public void put(
@@ -66,20 +58,7 @@ public class LoadPathCache {
       Class<?> resourceClass,
       Class<?> transcodeClass,
       @Nullable LoadPath<?, ?, ?> loadPath) {
-    synchronized (cache) {
-      cache.put(
-          new MultiClassKey(dataClass, resourceClass, transcodeClass),
-          loadPath != null ? loadPath : NO_PATHS_SIGNAL);
-    }
-  }
-
-  private MultiClassKey getKey(
-      Class<?> dataClass, Class<?> resourceClass, Class<?> transcodeClass) {
-    MultiClassKey key = keyRef.getAndSet(null);
-    if (key == null) {
-      key = new MultiClassKey();
-    }
-    key.set(dataClass, resourceClass, transcodeClass);
-    return key;
+    cache.put(
+        dataClass, resourceClass, transcodeClass, loadPath != null ? loadPath : NO_PATHS_SIGNAL);
   }
 }
@@ -1,9 +1,11 @@
 package com.bumptech.glide.provider;
 
+import androidx.annotation.GuardedBy;
 import androidx.annotation.NonNull;
 import com.bumptech.glide.load.ResourceDecoder;
 import com.bumptech.glide.util.Synthetic;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +18,8 @@ import java.util.Map;
 public class ResourceDecoderRegistry {
   private final List<String> bucketPriorityList = new ArrayList<>();
   private final Map<String, List<Entry<?, ?>>> decoders = new HashMap<>();
+  // All entries in bucket priority order, replaced after every change so that lookups don't lock.
+  private volatile List<Entry<?, ?>> orderedEntries = Collections.emptyList();
 
   public synchronized void setBucketPriorityList(@NonNull List<String> buckets) {
     List<String> previousBuckets = new ArrayList<>(bucketPriorityList);
@@ -32,22 +36,17 @@ public class ResourceDecoderRegistry {
         bucketPriorityList.add(previousBucket);
       }
     }
+    updateOrderedEntries();
   }
 
   @NonNull
   @SuppressWarnings("unchecked")
-  public synchronized <T, R> List<ResourceDecoder<T, R>> getDecoders(
+  public <T, R> List<ResourceDecoder<T, R>> getDecoders(
       @NonNull Class<T> dataClass, @NonNull Class<R> resourceClass) {
     List<ResourceDecoder<T, R>> result = new ArrayList<>();
-    for (String bucket : bucketPriorityList) {
-      List<Entry<?, ?>> entries = decoders.get(bucket);
-      if (entries == null) {
-        continue;
-      }
-      for (Entry<?, ?> entry : entries) {
-        if (entry.handles(dataClass, resourceClass)) {
-          result.add((ResourceDecoder<T, R>) entry.decoder);
-        }
+    for (Entry<?, ?> entry : orderedEntries) {
+      if (entry.handles(dataClass, resourceClass)) {
+        result.add((ResourceDecoder<T, R>) entry.decoder);
       }
     }
     // TODO: cache result list.
@@ -57,19 +56,13 @@ public class ResourceDecoderRegistry {
 
   @NonNull
   @SuppressWarnings("unchecked")
-  public synchronized <T, R> List<Class<R>> getResourceClasses(
+  public <T, R> List<Class<R>> getResourceClasses(
       @NonNull Class<T> dataClass, @NonNull Class<R> resourceClass) {
     List<Class<R>> result = new ArrayList<>();
-    for (String bucket : bucketPriorityList) {
-      List<Entry<?, ?>> entries = decoders.get(bucket);
-      if (entries == null) {
-        continue;
-      }
-      for (Entry<?, ?> entry : entries) {
-        if (entry.handles(dataClass, resourceClass)
-            && !result.contains((Class<R>) entry.resourceClass)) {
-          result.add((Class<R>) entry.resourceClass);
-        }
+    for (Entry<?, ?> entry : orderedEntries) {
+      if (entry.handles(dataClass, resourceClass)
+          && !result.contains((Class<R>) entry.resourceClass)) {
+        result.add((Class<R>) entry.resourceClass);
       }
     }
     return result;
@@ -81,6 +74,7 @@ public class ResourceDecoderRegistry {
       @NonNull Class<T> dataClass,
       @NonNull Class<R> resourceClass) {
     getOrAddEntryList(bucket).add(new Entry<>(dataClass, resourceClass, decoder));
+    updateOrderedEntries();
   }
 
   public synchronized <T, R> void prepend(
@@ -89,6 +83,7 @@ public class ResourceDecoderRegistry {
       @NonNull Class<T> dataClass,
       @NonNull Class<R> resourceClass) {
     getOrAddEntryList(bucket).add(0, new Entry<>(dataClass, resourceClass, decoder));
+    updateOrderedEntries();
   }
 
   @NonNull
@@ -105,6 +100,21 @@ public class ResourceDecoderRegistry {
     return entries;
   }
 
+  @GuardedBy("this")
+  private void updateOrderedEntries() {
+    List<Entry<?, ?>> updated = new ArrayList<>();
+    for (String bucket : bucketPriorityList) {
+      List<Entry<?, ?>> entries = decoders.get(bucket);
+      if (entries != null) {
+        // Avoid addAll, see #3296.
+        for (Entry<?, ?> entry : entries) {
+          updated.add(entry);
+        }
+      }
+    }
+    orderedEntries = updated;
+  }
+
   private static class Entry<T, R> {
     private final Class<T> dataClass;
     @Synthetic final Class<R> resourceClass;
@@ -5,6 +5,7 @@ import androidx.annotation.Nullable;
 import com.bumptech.glide.load.ResourceEncoder;
 import com.bumptech.glide.util.Synthetic;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -13,24 +14,30 @@ import java.util.List;
  */
 public class ResourceEncoderRegistry {
   // TODO: this should probably be a put.
-  private final List<Entry<?>> encoders = new ArrayList<>();
+  // Replaced rather than modified so that lookups, which happen during loads, don't lock.
+  private volatile List<Entry<?>> encoders = Collections.emptyList();
 
   public synchronized <Z> void append(
       @NonNull Class<Z> resourceClass, @NonNull ResourceEncoder<Z> encoder) {
-    encoders.add(new Entry<>(resourceClass, encoder));
+    List<Entry<?>> updated = new ArrayList<>(encoders);
+    updated.add(new Entry<>(resourceClass, encoder));
+    encoders = updated;
   }
 
   public synchronized <Z> void prepend(
       @NonNull Class<Z> resourceClass, @NonNull ResourceEncoder<Z> encoder) {
-    encoders.add(0, new Entry<>(resourceClass, encoder));
+    List<Entry<?>> updated = new ArrayList<>(encoders);
+    updated.add(0, new Entry<>(resourceClass, encoder));
+    encoders = updated;
   }
 
   @SuppressWarnings("unchecked")
   @Nullable
-  public synchronized <Z> ResourceEncoder<Z> get(@NonNull Class<Z> resourceClass) {
+  public <Z> ResourceEncoder<Z> get(@NonNull Class<Z> resourceClass) {
+    List<Entry<?>> current = encoders;
     //noinspection ForLoopReplaceableByForEach to improve perf
-    for (int i = 0, size = encoders.size(); i < size; i++) {
-      Entry<?> entry = encoders.get(i);
+    for (int i = 0, size = current.size(); i < size; i++) {
+      Entry<?> entry = current.get(i);
       if (entry.handles(resourceClass)) {
         return (ResourceEncoder<Z>) entry.encoder;
       }
@@ -91,6 +91,15 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
   @NonNull
   private Map<Class<?>, Transformation<?>> transformations = new CachedHashCodeArrayMap<>();
 
+  // Options and transformations that belong to locked options can't be modified, so they're
+  // shared with clones and with options they're applied to instead of being copied. Shared
+  // instances are copied before they're modified, so that a set of locked options can be applied
+  // to any number of requests without copying them or recomputing their hash codes. Options that
+  // aren't locked are always copied and the options they're cloned or applied from are never
+  // written to.
+  private boolean isOptionsShared;
+  private boolean isTransformationsShared;
+
   @NonNull private Class<?> resourceClass = Object.class;
   private boolean isLocked;
   @Nullable private Resources.Theme theme;
@@ -536,10 +545,18 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
   public T clone() {
     try {
       BaseRequestOptions<?> result = (BaseRequestOptions<?>) super.clone();
-      result.options = new Options();
-      result.options.putAll(options);
-      result.transformations = new CachedHashCodeArrayMap<>();
-      result.transformations.putAll(transformations);
+      if (isOptionsImmutable()) {
+        result.isOptionsShared = true;
+      } else {
+        result.options = new Options();
+        result.options.putAll(options);
+      }
+      if (isTransformationsImmutable()) {
+        result.isTransformationsShared = true;
+      } else {
+        result.transformations = new CachedHashCodeArrayMap<>();
+        result.transformations.putAll(transformations);
+      }
       result.isLocked = false;
       result.isAutoCloneEnabled = false;
       return (T) result;
@@ -557,7 +574,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
 
     Preconditions.checkNotNull(option);
     Preconditions.checkNotNull(value);
-    options.set(option, value);
+    getMutableOptions().set(option, value);
     return selfOrThrowIfLocked();
   }
 
@@ -565,7 +582,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
     if (isAutoCloneEnabled) {
       return clone().removeOption(option);
     }
-    options.remove(option);
+    getMutableOptions().remove(option);
     return selfOrThrowIfLocked();
   }
 
@@ -1028,7 +1045,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
 
     Preconditions.checkNotNull(resourceClass);
     Preconditions.checkNotNull(transformation);
-    transformations.put(resourceClass, transformation);
+    getMutableTransformations().put(resourceClass, transformation);
     fields |= TRANSFORMATION;
     isTransformationAllowed = true;
     fields |= TRANSFORMATION_ALLOWED;
@@ -1072,7 +1089,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
       return clone().dontTransform();
     }
 
-    transformations.clear();
+    clearTransformations();
     fields &= ~TRANSFORMATION;
     isTransformationRequired = false;
     fields &= ~TRANSFORMATION_REQUIRED;
@@ -1187,7 +1204,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
       isTransformationRequired = other.isTransformationRequired;
     }
     if (isSet(other.fields, TRANSFORMATION)) {
-      transformations.putAll(other.transformations);
+      putAllTransformations(other);
       isScaleOnlyOrNoTransform = other.isScaleOnlyOrNoTransform;
     }
     if (isSet(other.fields, ONLY_RETRIEVE_FROM_CACHE)) {
@@ -1196,7 +1213,7 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
 
     // Applying options with dontTransform() is expected to clear our transformations.
     if (!isTransformationAllowed) {
-      transformations.clear();
+      clearTransformations();
       fields &= ~TRANSFORMATION;
       isTransformationRequired = false;
       fields &= ~TRANSFORMATION_REQUIRED;
@@ -1204,11 +1221,79 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
     }
 
     fields |= other.fields;
-    options.putAll(other.options);
+    putAllOptions(other);
 
     return selfOrThrowIfLocked();
   }
 
+  private void putAllOptions(@NonNull BaseRequestOptions<?> other) {
+    if (other.options.isEmpty()) {
+      return;
+    }
+    if (options.isEmpty() && other.isOptionsImmutable()) {
+      options = other.options;
+      isOptionsShared = true;
+    } else {
+      getMutableOptions().putAll(other.options);
+    }
+  }
+
+  private void putAllTransformations(@NonNull BaseRequestOptions<?> other) {
+    if (other.transformations.isEmpty()) {
+      return;
+    }
+    if (transformations.isEmpty() && other.isTransformationsImmutable()) {
+      transformations = other.transformations;
+      isTransformationsShared = true;
+    } else {
+      getMutableTransformations().putAll(other.transformations);
+    }
+  }
+
+  private boolean isOptionsImmutable() {
+    return isLocked || isOptionsShared;
+  }
+
+  private boolean isTransformationsImmutable() {
+    return isLocked || isTransformationsShared;
+  }
+
+  private void clearTransformations() {
+    // Other options may share our transformations once we're locked.
+    throwIfLocked();
+    if (isTransformationsShared) {
+      transformations = new CachedHashCodeArrayMap<>();
+      isTransformationsShared = false;
+    } else {
+      transformations.clear();
+    }
+  }
+
+  @NonNull
+  private Options getMutableOptions() {
+    // Other options may share our options once we're locked.
+    throwIfLocked();
+    if (isOptionsShared) {
+      Options copy = new Options();
+      copy.putAll(options);
+      options = copy;
+      isOptionsShared = false;
+    }
+    return options;
+  }
+
+  @NonNull
+  private Map<Class<?>, Transformation<?>> getMutableTransformations() {
+    throwIfLocked();
+    if (isTransformationsShared) {
+      Map<Class<?>, Transformation<?>> copy = new CachedHashCodeArrayMap<>();
+      copy.putAll(transformations);
+      transformations = copy;
+      isTransformationsShared = false;
+    }
+    return transformations;
+  }
+
   /**
    * Returns {@code true} if this {@link BaseRequestOptions} is equivalent to the given {@link
    * BaseRequestOptions} (has all of the same options and sizes).
@@ -1310,10 +1395,14 @@ public abstract class BaseRequestOptions<T extends BaseRequestOptions<T>> implem
   @NonNull
   @SuppressWarnings("unchecked")
   protected final T selfOrThrowIfLocked() {
+    throwIfLocked();
+    return self();
+  }
+
+  private void throwIfLocked() {
     if (isLocked) {
       throw new IllegalStateException("You cannot modify locked T, consider clone()");
     }
-    return self();
   }
 
   protected final boolean isAutoCloneEnabled() {
@@ -14,10 +14,13 @@ import java.io.InputStream;
  */
 public final class ContentLengthInputStream extends FilterInputStream {
   private static final String TAG = "ContentLengthStream";
-  private static final int UNKNOWN = -1;
+  /** Returned by {@link #getRemainingByteCount()} if the content length isn't known. */
+  public static final int UNKNOWN = -1;
 
   private final long contentLength;
-  private int readSoFar;
+  // Written while holding the lock, but read without it so that reads blocked on the network don't
+  // block getRemainingByteCount().
+  private volatile int readSoFar;
 
   @NonNull
   public static InputStream obtain(
@@ -49,6 +52,19 @@ public final class ContentLengthInputStream extends FilterInputStream {
     this.contentLength = contentLength;
   }
 
+  /**
+   * Returns the number of bytes that have yet to be read according to the content length, or
+   * {@link #UNKNOWN} if the content length isn't known.
+   *
+   * <p>May be called on any thread, including while another thread is reading from this stream.
+   */
+  public long getRemainingByteCount() {
+    if (contentLength == UNKNOWN) {
+      return UNKNOWN;
+    }
+    return Math.max(0, contentLength - readSoFar);
+  }
+
   @Override
   public synchronized int available() throws IOException {
     return (int) Math.max(contentLength - readSoFar, in.available());
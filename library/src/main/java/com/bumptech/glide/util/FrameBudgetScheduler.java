@@ -0,0 +1,147 @@
+package com.bumptech.glide.util;
+
+import android.os.Build;
+import android.view.Choreographer;
+import androidx.annotation.GuardedBy;
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs commands posted from any thread on the main thread, spread across frames so that only part
+ * of each frame is spent running them.
+ *
+ * <p>When many loads finish at once, posting each of their results to the main thread runs them
+ * all in the same frame and drops frames if setting the resources and starting their transitions
+ * takes too long. Instead, commands are queued and run at the start of each frame, using {@link
+ * Choreographer}, until the frame's budget is spent. The rest wait for the next frame. At least one
+ * command runs in each frame so that a slow command can't stall the queue.
+ *
+ * <p>Commands posted to {@link #highPriorityExecutor()} run before those posted to {@link
+ * #lowPriorityExecutor()}. Otherwise commands run in the order they're posted.
+ */
+@RequiresApi(Build.VERSION_CODES.JELLY_BEAN)
+public final class FrameBudgetScheduler implements Choreographer.FrameCallback {
+  // About a quarter of a frame at 60fps, which leaves the rest for the app, layout and drawing.
+  private static final long DEFAULT_FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+  private static final FrameBudgetScheduler INSTANCE =
+      new FrameBudgetScheduler(DEFAULT_FRAME_BUDGET_NANOS);
+
+  private final long frameBudgetNanos;
+
+  @GuardedBy("this")
+  private final Queue<Runnable> highPriority = new ArrayDeque<>();
+
+  @GuardedBy("this")
+  private final Queue<Runnable> lowPriority = new ArrayDeque<>();
+
+  @GuardedBy("this")
+  private boolean isFrameCallbackPosted;
+
+  private final Executor highPriorityExecutor =
+      new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+          enqueue(command, /* isHighPriority= */ true);
+        }
+      };
+  private final Executor lowPriorityExecutor =
+      new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+          enqueue(command, /* isHighPriority= */ false);
+        }
+      };
+  private final Runnable postFrameCallback =
+      new Runnable() {
+        @Override
+        public void run() {
+          postFrameCallback();
+        }
+      };
+
+  /** Returns the scheduler shared by all requests. */
+  @NonNull
+  public static FrameBudgetScheduler get() {
+    return INSTANCE;
+  }
+
+  @VisibleForTesting
+  FrameBudgetScheduler(long frameBudgetNanos) {
+    this.frameBudgetNanos = frameBudgetNanos;
+  }
+
+  /** Runs commands on the main thread, before any posted to {@link #lowPriorityExecutor()}. */
+  @NonNull
+  public Executor highPriorityExecutor() {
+    return highPriorityExecutor;
+  }
+
+  /** Runs commands on the main thread, after any posted to {@link #highPriorityExecutor()}. */
+  @NonNull
+  public Executor lowPriorityExecutor() {
+    return lowPriorityExecutor;
+  }
+
+  @Synthetic
+  void enqueue(@NonNull Runnable command, boolean isHighPriority) {
+    boolean shouldPostFrameCallback;
+    synchronized (this) {
+      (isHighPriority ? highPriority : lowPriority).add(command);
+      shouldPostFrameCallback = !isFrameCallbackPosted;
+      isFrameCallbackPosted = true;
+    }
+    if (!shouldPostFrameCallback) {
+      return;
+    }
+    // Choreographer instances are per thread, we want the main thread's.
+    if (Util.isOnMainThread()) {
+      postFrameCallback();
+    } else {
+      Util.postOnUiThread(postFrameCallback);
+    }
+  }
+
+  @Synthetic
+  void postFrameCallback() {
+    Choreographer.getInstance().postFrameCallback(this);
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    // frameTimeNanos is the start of the frame, other callbacks may have used part of the frame
+    // already, so we measure our budget from when we start instead.
+    long deadlineNanos = System.nanoTime() + frameBudgetNanos;
+    do {
+      Runnable next;
+      synchronized (this) {
+        next = highPriority.poll();
+        if (next == null) {
+          next = lowPriority.poll();
+        }
+        if (next == null) {
+          isFrameCallbackPosted = false;
+          return;
+        }
+      }
+      next.run();
+    } while (System.nanoTime() < deadlineNanos);
+
+    synchronized (this) {
+      if (highPriority.isEmpty() && lowPriority.isEmpty()) {
+        isFrameCallbackPosted = false;
+        return;
+      }
+    }
+    postFrameCallback();
+  }
+
+  @VisibleForTesting
+  synchronized int getPendingCount() {
+    return highPriority.size() + lowPriority.size();
+  }
+}
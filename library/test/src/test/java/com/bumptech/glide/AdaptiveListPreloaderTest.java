@@ -0,0 +1,181 @@
+package com.bumptech.glide;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.bumptech.glide.request.target.Target;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK)
+public class AdaptiveListPreloaderTest {
+  private static final int MAX_PRELOAD = 10;
+
+  @Mock private RequestBuilder<Object> request;
+  @Mock private RequestManager requestManager;
+  private RecordingAdapter adapter;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    adapter = new RecordingAdapter();
+  }
+
+  @Test
+  public void onScroll_withoutMeasuredVelocity_preloadsMaxInFlightItems() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 2);
+
+    preloader.onScroll(null, 0, 5, 100);
+
+    assertThat(adapter.positions).containsExactly(5, 6).inOrder();
+    assertThat(preloader.getInFlightCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void onScroll_withFastScroll_growsWindowUpToMaxPreload() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 2);
+    preloader.onScroll(null, 0, 5, 100);
+    assertThat(preloader.getPreloadWindow()).isEqualTo(2);
+
+    SystemClock.sleep(10);
+    preloader.onScroll(null, 10, 5, 100);
+
+    assertThat(preloader.getPreloadWindow()).isEqualTo(MAX_PRELOAD);
+  }
+
+  @Test
+  public void onResourceReady_withRemainingWindow_startsNextPreload() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 1);
+    preloader.onScroll(null, 0, 5, 100);
+    SystemClock.sleep(10);
+    preloader.onScroll(null, 10, 5, 100);
+    adapter.positions.clear();
+    Target<Object> inFlight = getLastTarget();
+
+    inFlight.onResourceReady(new Object(), /* transition= */ null);
+
+    assertThat(adapter.positions).containsExactly(16);
+    assertThat(preloader.getInFlightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void onScroll_pastInFlightPreload_cancelsIt() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 1);
+    preloader.onScroll(null, 0, 5, 100);
+    Target<Object> inFlight = getLastTarget();
+
+    preloader.onScroll(null, 6, 5, 100);
+
+    // Once before the preload starts and once to cancel it.
+    verify(requestManager, times(2)).clear(inFlight);
+    assertThat(adapter.positions).containsExactly(5, 11).inOrder();
+  }
+
+  @Test
+  public void onScroll_withInFlightPreloadAhead_keepsIt() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 1);
+    preloader.onScroll(null, 0, 5, 100);
+    Target<Object> inFlight = getLastTarget();
+    // Clearing the target's previous request before starting the preload.
+    verify(requestManager, times(1)).clear(inFlight);
+
+    preloader.onScroll(null, 1, 5, 100);
+
+    verify(requestManager, times(1)).clear(inFlight);
+    assertThat(preloader.getInFlightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void onScroll_withDirectionChange_cancelsPreloadsBehindVisibleRange() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 1);
+    preloader.onScroll(null, 20, 5, 100);
+    Target<Object> inFlight = getLastTarget();
+
+    preloader.onScroll(null, 19, 5, 100);
+
+    verify(requestManager, times(2)).clear(inFlight);
+    assertThat(adapter.positions).containsExactly(25, 18).inOrder();
+  }
+
+  @Test
+  public void onLoadFailed_freesInFlightSlot() {
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ 1);
+    preloader.onScroll(null, 0, 5, 100);
+
+    getLastTarget().onLoadFailed(/* errorDrawable= */ null);
+
+    assertThat(preloader.getInFlightCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void onScroll_withTooFewIdleTargetsForPosition_waitsForPreloadToFinish() {
+    adapter.itemsPerPosition = 6;
+    AdaptiveListPreloader<Object> preloader = newPreloader(/* maxInFlight= */ MAX_PRELOAD);
+
+    preloader.onScroll(null, 0, 5, 100);
+
+    // The first position uses 6 of the 11 targets, which leaves too few for the next position.
+    assertThat(preloader.getInFlightCount()).isEqualTo(6);
+    verify(request, times(6)).into(any(Target.class));
+
+    getLastTarget().onResourceReady(new Object(), /* transition= */ null);
+
+    assertThat(adapter.positions).containsExactly(5, 6, 6).inOrder();
+    assertThat(preloader.getInFlightCount()).isEqualTo(11);
+    verify(request, times(12)).into(any(Target.class));
+  }
+
+  private AdaptiveListPreloader<Object> newPreloader(int maxInFlight) {
+    return new AdaptiveListPreloader<>(requestManager, adapter, adapter, MAX_PRELOAD, maxInFlight);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Target<Object> getLastTarget() {
+    ArgumentCaptor<Target<Object>> captor =
+        (ArgumentCaptor<Target<Object>>) (ArgumentCaptor<?>) ArgumentCaptor.forClass(Target.class);
+    verify(request, atLeastOnce()).into(captor.capture());
+    return captor.getValue();
+  }
+
+  private final class RecordingAdapter
+      implements ListPreloader.PreloadModelProvider<Object>,
+          ListPreloader.PreloadSizeProvider<Object> {
+    final List<Integer> positions = new ArrayList<>();
+    int itemsPerPosition = 1;
+
+    @NonNull
+    @Override
+    public List<Object> getPreloadItems(int position) {
+      positions.add(position);
+      return Collections.nCopies(itemsPerPosition, new Object());
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<Object> getPreloadRequestBuilder(@NonNull Object item) {
+      return request;
+    }
+
+    @Nullable
+    @Override
+    public int[] getPreloadSize(@NonNull Object item, int adapterPosition, int itemPosition) {
+      return new int[] {100, 100};
+    }
+  }
+}
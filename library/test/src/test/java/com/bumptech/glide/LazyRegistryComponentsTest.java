@@ -0,0 +1,68 @@
+package com.bumptech.glide;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import java.io.IOException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LazyRegistryComponentsTest {
+  private final Options options = new Options();
+  private final CountingSupplier supplier = new CountingSupplier();
+
+  @Test
+  public void decoder_whenNotLazy_createsDecoderImmediately() {
+    ResourceDecoder<Object, Object> decoder =
+        new LazyRegistryComponents(/* isLazy= */ false).decoder(supplier);
+
+    assertThat(supplier.count).isEqualTo(1);
+    assertThat(decoder).isSameInstanceAs(supplier.decoder);
+  }
+
+  @Test
+  public void decoder_whenLazy_createsDecoderOnFirstUseOnly() throws IOException {
+    Object source = new Object();
+    when(supplier.decoder.handles(source, options)).thenReturn(true);
+    ResourceDecoder<Object, Object> decoder =
+        new LazyRegistryComponents(/* isLazy= */ true).decoder(supplier);
+    assertThat(supplier.count).isEqualTo(0);
+
+    assertThat(decoder.handles(source, options)).isTrue();
+    decoder.decode(source, 100, 100, options);
+
+    assertThat(supplier.count).isEqualTo(1);
+    verify(supplier.decoder).decode(source, 100, 100, options);
+  }
+
+  @Test
+  public void shared_whenLazy_createsValueOnce() {
+    GlideSupplier<ResourceDecoder<Object, Object>> shared =
+        new LazyRegistryComponents(/* isLazy= */ true).shared(supplier);
+    assertThat(supplier.count).isEqualTo(0);
+
+    assertThat(shared.get()).isSameInstanceAs(shared.get());
+    assertThat(supplier.count).isEqualTo(1);
+  }
+
+  private static final class CountingSupplier
+      implements GlideSupplier<ResourceDecoder<Object, Object>> {
+    @SuppressWarnings("unchecked")
+    final ResourceDecoder<Object, Object> decoder = mock(ResourceDecoder.class);
+
+    int count;
+
+    @Override
+    public ResourceDecoder<Object, Object> get() {
+      count++;
+      return decoder;
+    }
+  }
+}
@@ -4,14 +4,17 @@ import static com.bumptech.glide.tests.Util.cast;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import com.bumptech.glide.request.target.SizeReadyCallback;
 import com.bumptech.glide.request.target.Target;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -34,6 +37,7 @@ import org.robolectric.annotation.Config;
 public class ListPreloaderTest {
 
   @Mock private RequestBuilder<Object> request;
+  @Mock private RequestBuilder<File> downloadOnlyRequest;
   @Mock private RequestManager requestManager;
 
   @Before
@@ -340,6 +344,57 @@ public class ListPreloaderTest {
     assertEquals(expected, allValues);
   }
 
+  @Test
+  public void testItemsBeyondMaxPreloadArePreloadedToDiskOnly() {
+    List<Integer> positions = new ArrayList<>();
+    ListPreloader<Object> preloader = newDiskOnlyPreloader(positions);
+
+    preloader.onScroll(null, 0, 5, 100);
+
+    assertThat(positions).containsExactly(5, 6, 7, 8, 9).inOrder();
+    verify(request, times(2)).into(any(Target.class));
+    verify(downloadOnlyRequest, times(3)).into(any(Target.class));
+  }
+
+  @Test
+  public void testItemsMovingIntoMaxPreloadArePreloadedToMemory() {
+    List<Integer> positions = new ArrayList<>();
+    ListPreloader<Object> preloader = newDiskOnlyPreloader(positions);
+    preloader.onScroll(null, 0, 5, 100);
+    positions.clear();
+
+    preloader.onScroll(null, 1, 5, 100);
+
+    assertThat(positions).containsExactly(7, 10).inOrder();
+    verify(request, times(3)).into(any(Target.class));
+    verify(downloadOnlyRequest, times(4)).into(any(Target.class));
+  }
+
+  private ListPreloader<Object> newDiskOnlyPreloader(final List<Integer> positions) {
+    when(request.getDownloadOnlyRequest()).thenReturn(downloadOnlyRequest);
+    ListPreloaderAdapter preloaderAdapter =
+        new ListPreloaderAdapter() {
+          @NonNull
+          @Override
+          public List<Object> getPreloadItems(int position) {
+            positions.add(position);
+            return Collections.<Object>singletonList(position);
+          }
+
+          @Nullable
+          @Override
+          public RequestBuilder<Object> getPreloadRequestBuilder(@NonNull Object item) {
+            return request;
+          }
+        };
+    return new ListPreloader<>(
+        requestManager,
+        preloaderAdapter,
+        preloaderAdapter,
+        /* maxPreload= */ 2,
+        /* maxDiskOnlyPreload= */ 3);
+  }
+
   private <Resource> List<Integer> getTargetsSizes(
       RequestBuilder<Resource> requestBuilder, VerificationMode mode) {
     ArgumentCaptor<Integer> integerArgumentCaptor = ArgumentCaptor.forClass(Integer.class);
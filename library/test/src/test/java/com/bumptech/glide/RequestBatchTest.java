@@ -0,0 +1,120 @@
+package com.bumptech.glide;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.bumptech.glide.load.engine.Engine;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.Target;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK)
+public class RequestBatchTest {
+  @Mock private Engine engine;
+  @Mock private RequestBuilder<Object> requestBuilder;
+  @Mock private RequestBuilder<Object> copy;
+  @Mock private RequestBuilder<Object> first;
+  @Mock private RequestBuilder<Object> second;
+  @Mock private Target<Object> firstTarget;
+  @Mock private Target<Object> secondTarget;
+  private RequestBatch<Object> batch;
+
+  @Before
+  public void setUp() {
+    MockitoAnnotations.initMocks(this);
+    when(requestBuilder.clone()).thenReturn(copy);
+    when(copy.autoClone()).thenReturn(copy);
+    when(copy.load((Object) "first")).thenReturn(first);
+    when(copy.load((Object) "second")).thenReturn(second);
+    batch = new RequestBatch<>(engine, requestBuilder);
+  }
+
+  @Test
+  public void add_doesNotStartLoads() {
+    batch.add("first", firstTarget);
+
+    assertThat(batch.size()).isEqualTo(1);
+    verify(first, never()).into(any(Target.class));
+    verify(engine, never()).beginBatch();
+  }
+
+  @Test
+  public void submit_startsAllLoadsWithinEngineBatch() {
+    batch.add("first", firstTarget).add("second", secondTarget);
+
+    batch.submit();
+
+    InOrder inOrder = inOrder(engine, first, second);
+    inOrder.verify(engine).beginBatch();
+    inOrder.verify(first).into(firstTarget);
+    inOrder.verify(second).into(secondTarget);
+    inOrder.verify(engine).endBatch();
+    assertThat(batch.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void submit_withOptions_appliesOptionsOnlyToTheirLoad() {
+    RequestOptions options = new RequestOptions().circleCrop();
+    when(second.apply(options)).thenReturn(second);
+    batch.add("first", firstTarget).add("second", secondTarget, options);
+
+    batch.submit();
+
+    verify(first, never()).apply(any(RequestOptions.class));
+    verify(second).apply(options);
+    verify(second).into(secondTarget);
+  }
+
+  @Test
+  public void submit_withFailingLoad_endsEngineBatch() {
+    when(first.into(firstTarget)).thenThrow(new IllegalArgumentException());
+    batch.add("first", firstTarget);
+
+    try {
+      batch.submit();
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+
+    verify(engine).endBatch();
+    assertThat(batch.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void submit_withFailingLoad_keepsLaterLoadsForNextSubmit() {
+    when(first.into(firstTarget)).thenThrow(new IllegalArgumentException());
+    batch.add("first", firstTarget).add("second", secondTarget);
+
+    try {
+      batch.submit();
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+
+    verify(second, never()).into(any(Target.class));
+    assertThat(batch.size()).isEqualTo(1);
+
+    batch.submit();
+
+    verify(first).into(firstTarget);
+    verify(second).into(secondTarget);
+    assertThat(batch.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void constructor_autoClonesCopyOfRequestBuilder() {
+    verify(copy).autoClone();
+  }
+}
@@ -3,15 +3,20 @@ package com.bumptech.glide.load.data;
 import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
 import static com.google.common.truth.Truth.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import androidx.annotation.NonNull;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.HttpException;
 import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
 import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -19,6 +24,10 @@ import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,6 +36,8 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
@@ -40,6 +51,14 @@ public class HttpUrlFetcherTest {
   @Mock private DataFetcher.DataCallback<InputStream> callback;
 
   private static final int TIMEOUT_MS = 100;
+  private final List<Runnable> pendingDisconnects = new ArrayList<>();
+  private final Executor disconnectExecutor =
+      new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+          pendingDisconnects.add(command);
+        }
+      };
   private HttpUrlFetcher fetcher;
 
   @Before
@@ -52,7 +71,23 @@ public class HttpUrlFetcherTest {
     when(urlConnection.getResponseCode()).thenReturn(200);
     when(glideUrl.toURL()).thenReturn(url);
 
-    fetcher = new HttpUrlFetcher(glideUrl, TIMEOUT_MS, connectionFactory);
+    fetcher =
+        new HttpUrlFetcher(
+            glideUrl,
+            TIMEOUT_MS,
+            connectionFactory,
+            new GlideSupplier<Executor>() {
+              @Override
+              public Executor get() {
+                return disconnectExecutor;
+              }
+            });
+    CancelledFetchMetrics.reset();
+  }
+
+  @After
+  public void tearDown() {
+    CancelledFetchMetrics.reset();
   }
 
   @Test
@@ -156,13 +191,87 @@ public class HttpUrlFetcherTest {
   }
 
   @Test
-  public void testCancelDoesNotDisconnectIfAlreadyConnected() {
+  public void testCancelDoesNotDisconnectOnCallingThreadIfAlreadyConnected() {
     fetcher.loadData(Priority.HIGH, callback);
     fetcher.cancel();
 
     verify(urlConnection, never()).disconnect();
   }
 
+  @Test
+  public void cancel_afterConnected_disconnectsOnDisconnectExecutor() {
+    fetcher.loadData(Priority.HIGH, callback);
+    fetcher.cancel();
+
+    for (Runnable runnable : pendingDisconnects) {
+      runnable.run();
+    }
+
+    verify(urlConnection).disconnect();
+  }
+
+  @Test
+  public void cancel_withDefaultDisconnectExecutor_disconnectsEachCancelledFetch() {
+    int fetchCount = 3;
+    for (int i = 0; i < fetchCount; i++) {
+      HttpUrlFetcher defaultFetcher = new HttpUrlFetcher(glideUrl, TIMEOUT_MS, connectionFactory);
+      defaultFetcher.loadData(Priority.HIGH, callback);
+      defaultFetcher.cancel();
+    }
+
+    verify(urlConnection, timeout(1000).times(fetchCount)).disconnect();
+  }
+
+  @Test
+  public void cancel_afterCleanup_doesNotDisconnectOrRecordCancellation() {
+    fetcher.loadData(Priority.HIGH, callback);
+    fetcher.cleanup();
+    fetcher.cancel();
+
+    assertThat(pendingDisconnects).isEmpty();
+    assertThat(CancelledFetchMetrics.getCancelledFetchCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void cancel_afterPartialRead_recordsRemainingBytesAsSaved() throws IOException {
+    when(urlConnection.getInputStream()).thenReturn(new ByteArrayInputStream(new byte[100]));
+    when(urlConnection.getContentLength()).thenReturn(100);
+    ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+    fetcher.loadData(Priority.HIGH, callback);
+    verify(callback).onDataReady(captor.capture());
+    assertThat(captor.getValue().read(new byte[40])).isEqualTo(40);
+
+    fetcher.cancel();
+
+    assertThat(CancelledFetchMetrics.getCancelledFetchCount()).isEqualTo(1);
+    assertThat(CancelledFetchMetrics.getBytesSaved()).isEqualTo(60);
+  }
+
+  @Test
+  public void cancel_beforeRedirectIsFollowed_doesNotConnectToRedirectUrl() throws IOException {
+    URL redirectUrl = new URL("http://www.google.com/redirect");
+    HttpURLConnection redirectConnection = mock(HttpURLConnection.class);
+    when(connectionFactory.build(eq(redirectUrl))).thenReturn(redirectConnection);
+    when(urlConnection.getResponseCode()).thenReturn(301);
+    when(urlConnection.getHeaderField(eq(HttpUrlFetcher.REDIRECT_HEADER_FIELD)))
+        .thenReturn(redirectUrl.toString());
+    doAnswer(
+            new Answer<Void>() {
+              @Override
+              public Void answer(InvocationOnMock invocation) {
+                fetcher.cancel();
+                return null;
+              }
+            })
+        .when(urlConnection)
+        .connect();
+
+    fetcher.loadData(Priority.HIGH, callback);
+
+    verify(redirectConnection, never()).connect();
+    verify(callback).onDataReady(ArgumentMatchers.<InputStream>isNull());
+  }
+
   @Test
   public void testClosesStreamInCleanupIfNotNull() throws IOException {
     fetcher.loadData(Priority.HIGH, callback);
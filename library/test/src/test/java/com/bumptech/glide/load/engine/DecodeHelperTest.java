@@ -0,0 +1,197 @@
+package com.bumptech.glide.load.engine;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import android.app.Application;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.Glide.RequestOptionsFactory;
+import com.bumptech.glide.GlideContext;
+import com.bumptech.glide.GlideExperiments;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.TransitionOptions;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.target.ImageViewTargetFactory;
+import com.bumptech.glide.signature.ObjectKey;
+import com.bumptech.glide.tests.AllocationCounter;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class DecodeHelperTest {
+  private static final String MODEL = "model";
+  // Generous enough to ignore the odd allocation by the JVM, small enough to catch any per-load
+  // list or iterator.
+  private static final long ALLOCATION_BUDGET_BYTES = 1024;
+  private static final int ITERATIONS = 1000;
+
+  private final Key sourceKey = new ObjectKey("source");
+  private final Key alternateKey = new ObjectKey("alternate");
+  private final ModelLoader.LoadData<Object> firstLoadData =
+      new ModelLoader.LoadData<>(
+          sourceKey, Collections.singletonList(alternateKey), mockFetcher());
+  private final ModelLoader.LoadData<Object> secondLoadData =
+      new ModelLoader.LoadData<>(sourceKey, mockFetcher());
+  private final DecodeHelper<Object> helper = new DecodeHelper<>();
+  private final Options options = new Options();
+  private final DecodeJob.DiskCacheProvider diskCacheProvider =
+      mock(DecodeJob.DiskCacheProvider.class);
+  private GlideContext glideContext;
+
+  @Before
+  public void setUp() {
+    Application app = ApplicationProvider.getApplicationContext();
+    final Registry registry = new Registry();
+    registry
+        .append(String.class, Object.class, new FakeModelLoaderFactory(firstLoadData, true))
+        .append(String.class, Object.class, new FakeModelLoaderFactory(null, false))
+        .append(String.class, Object.class, new FakeModelLoaderFactory(secondLoadData, true));
+
+    glideContext =
+        new GlideContext(
+            app,
+            new LruArrayPool(),
+            new GlideSupplier<Registry>() {
+              @Override
+              public Registry get() {
+                return registry;
+              }
+            },
+            new ImageViewTargetFactory(),
+            new RequestOptionsFactory() {
+              @NonNull
+              @Override
+              public RequestOptions build() {
+                return new RequestOptions();
+              }
+            },
+            Collections.<Class<?>, TransitionOptions<?, ?>>emptyMap(),
+            /* defaultRequestListeners= */ Collections.<RequestListener<Object>>emptyList(),
+            mock(Engine.class),
+            mock(GlideExperiments.class),
+            Log.DEBUG);
+  }
+
+  @Test
+  public void getLoadData_returnsLoadDataFromHandlingModelLoaders() {
+    initHelper();
+
+    assertThat(helper.getLoadData()).containsExactly(firstLoadData, secondLoadData).inOrder();
+  }
+
+  @Test
+  public void getCacheKeys_returnsDistinctKeys() {
+    initHelper();
+
+    assertThat(helper.getCacheKeys()).containsExactly(sourceKey, alternateKey).inOrder();
+  }
+
+  @Test
+  public void getLoadData_afterClearAndInit_returnsSameLoadData() {
+    initHelper();
+    helper.getLoadData();
+    helper.clear();
+    initHelper();
+
+    assertThat(helper.getLoadData()).containsExactly(firstLoadData, secondLoadData).inOrder();
+  }
+
+  @Test
+  public void getLoadDataAndCacheKeys_withReusedHelper_doesNotAllocate() {
+    assumeTrue(AllocationCounter.isSupported());
+    // Warm up so that the registry's caches are populated and the lists have grown.
+    runLoads();
+
+    long before = AllocationCounter.getAllocatedBytes();
+    runLoads();
+    long allocated = AllocationCounter.getAllocatedBytes() - before;
+
+    assertThat(allocated).isLessThan(ALLOCATION_BUDGET_BYTES);
+  }
+
+  private void runLoads() {
+    for (int i = 0; i < ITERATIONS; i++) {
+      initHelper();
+      helper.getLoadData();
+      helper.getCacheKeys();
+      helper.clear();
+    }
+  }
+
+  private void initHelper() {
+    helper.init(
+        glideContext,
+        MODEL,
+        sourceKey,
+        /* width= */ 100,
+        /* height= */ 100,
+        DiskCacheStrategy.AUTOMATIC,
+        Object.class,
+        Object.class,
+        Priority.NORMAL,
+        options,
+        Collections.<Class<?>, Transformation<?>>emptyMap(),
+        /* isTransformationRequired= */ false,
+        /* isScaleOnlyOrNoTransform= */ true,
+        diskCacheProvider);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static DataFetcher<Object> mockFetcher() {
+    return mock(DataFetcher.class);
+  }
+
+  private static final class FakeModelLoaderFactory implements ModelLoaderFactory<String, Object> {
+    @Nullable private final ModelLoader.LoadData<Object> loadData;
+    private final boolean handles;
+
+    FakeModelLoaderFactory(@Nullable ModelLoader.LoadData<Object> loadData, boolean handles) {
+      this.loadData = loadData;
+      this.handles = handles;
+    }
+
+    @NonNull
+    @Override
+    public ModelLoader<String, Object> build(@NonNull MultiModelLoaderFactory multiFactory) {
+      return new ModelLoader<String, Object>() {
+        @Nullable
+        @Override
+        public LoadData<Object> buildLoadData(
+            @NonNull String model, int width, int height, @NonNull Options options) {
+          return loadData;
+        }
+
+        @Override
+        public boolean handles(@NonNull String model) {
+          return handles;
+        }
+      };
+    }
+
+    @Override
+    public void teardown() {
+      // Do nothing.
+    }
+  }
+}
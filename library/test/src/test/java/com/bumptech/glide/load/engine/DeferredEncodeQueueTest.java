@@ -0,0 +1,193 @@
+package com.bumptech.glide.load.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.content.ComponentCallbacks2;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.engine.DecodeJob.DiskCacheProvider;
+import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.signature.ObjectKey;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK)
+public class DeferredEncodeQueueTest {
+  private final PendingExecutor executor = new PendingExecutor();
+  private final DiskCache diskCache = mock(DiskCache.class);
+  private final DiskCacheProvider diskCacheProvider = mock(DiskCacheProvider.class);
+  private final Options options = new Options();
+  private DeferredEncodeQueue queue;
+
+  @Before
+  public void setUp() {
+    when(diskCacheProvider.getDiskCache()).thenReturn(diskCache);
+    queue = newQueue(/* maxPendingEncodes= */ 2);
+  }
+
+  @Test
+  public void enqueue_doesNotEncodeOnCallingThread() {
+    enqueue(new ObjectKey("key"), mockResource());
+
+    verify(diskCache, never()).put(any(Key.class), any(DiskCache.Writer.class));
+    assertThat(queue.getPendingCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void enqueue_writesResourceOnExecutor() {
+    Key key = new ObjectKey("key");
+    enqueue(key, mockResource());
+
+    executor.runAll();
+
+    verify(diskCache).put(eq(key), any(DiskCache.Writer.class));
+    assertThat(queue.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void enqueue_recycledBeforeEncode_recyclesResourceOnlyAfterEncode() {
+    Resource<Object> resource = mockResource();
+    LockedResource<Object> locked = enqueue(new ObjectKey("key"), resource);
+
+    locked.recycle();
+    verify(resource, never()).recycle();
+
+    executor.runAll();
+    verify(resource).recycle();
+  }
+
+  @Test
+  public void enqueue_withResult_unlocksResultAfterEncode() {
+    Resource<Object> result = mockResource();
+    LockedResource<Object> lockedResult = LockedResource.obtain(result);
+    queue.enqueue(
+        diskCacheProvider,
+        new ObjectKey("key"),
+        mockEncoder(),
+        LockedResource.obtain(mockResource()),
+        options,
+        lockedResult);
+    lockedResult.recycle();
+    verify(result, never()).recycle();
+
+    executor.runAll();
+
+    verify(result).recycle();
+  }
+
+  @Test
+  public void enqueue_withQueuedKey_dropsDuplicateAndUnlocksIt() {
+    Key key = new ObjectKey("key");
+    enqueue(key, mockResource());
+    Resource<Object> duplicate = mockResource();
+    enqueue(key, duplicate).recycle();
+
+    verify(duplicate).recycle();
+    executor.runAll();
+    verify(diskCache).put(eq(key), any(DiskCache.Writer.class));
+  }
+
+  @Test
+  public void enqueue_withFullQueue_dropsEncode() {
+    enqueue(new ObjectKey("first"), mockResource());
+    enqueue(new ObjectKey("second"), mockResource());
+    Resource<Object> third = mockResource();
+    enqueue(new ObjectKey("third"), third).recycle();
+
+    verify(third).recycle();
+    assertThat(queue.getPendingCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void pause_stopsEncodesUntilResumed() {
+    queue.pause();
+    Key key = new ObjectKey("key");
+    enqueue(key, mockResource());
+
+    executor.runAll();
+    verify(diskCache, never()).put(any(Key.class), any(DiskCache.Writer.class));
+
+    queue.resume();
+    executor.runAll();
+    verify(diskCache).put(eq(key), any(DiskCache.Writer.class));
+  }
+
+  @Test
+  public void trimMemory_withLowMemory_dropsQueuedEncodes() {
+    Resource<Object> resource = mockResource();
+    enqueue(new ObjectKey("key"), resource).recycle();
+
+    queue.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+    verify(resource).recycle();
+    executor.runAll();
+    verify(diskCache, never()).put(any(Key.class), any(DiskCache.Writer.class));
+  }
+
+  @Test
+  public void trimMemory_withModerateMemory_keepsQueuedEncodes() {
+    enqueue(new ObjectKey("key"), mockResource());
+
+    queue.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+
+    assertThat(queue.getPendingCount()).isEqualTo(1);
+  }
+
+  private DeferredEncodeQueue newQueue(int maxPendingEncodes) {
+    return new DeferredEncodeQueue(
+        maxPendingEncodes,
+        new GlideSupplier<Executor>() {
+          @Override
+          public Executor get() {
+            return executor;
+          }
+        });
+  }
+
+  private LockedResource<Object> enqueue(Key key, Resource<Object> resource) {
+    LockedResource<Object> locked = LockedResource.obtain(resource);
+    queue.enqueue(diskCacheProvider, key, mockEncoder(), locked, options, /* result= */ null);
+    return locked;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Resource<Object> mockResource() {
+    return mock(Resource.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ResourceEncoder<Object> mockEncoder() {
+    return mock(ResourceEncoder.class);
+  }
+
+  private static final class PendingExecutor implements Executor {
+    private final List<Runnable> pending = new ArrayList<>();
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      pending.add(command);
+    }
+
+    void runAll() {
+      while (!pending.isEmpty()) {
+        pending.remove(0).run();
+      }
+    }
+  }
+}
@@ -0,0 +1,401 @@
+package com.bumptech.glide.load.engine;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import android.app.Application;
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.Glide.RequestOptionsFactory;
+import com.bumptech.glide.GlideContext;
+import com.bumptech.glide.GlideExperiments;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.TransitionOptions;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.EncodeStrategy;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.Transformation;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.engine.cache.DiskCache;
+import com.bumptech.glide.load.engine.cache.DiskLruCacheWrapper;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.executor.GlideExecutor;
+import com.bumptech.glide.load.engine.executor.MockGlideExecutor;
+import com.bumptech.glide.load.model.ByteBufferEncoder;
+import com.bumptech.glide.load.model.ByteBufferFileLoader;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.load.resource.bytes.ByteBufferRewinder;
+import com.bumptech.glide.load.resource.bytes.BytesResource;
+import com.bumptech.glide.request.RequestListener;
+import com.bumptech.glide.request.RequestOptions;
+import com.bumptech.glide.request.ResourceCallback;
+import com.bumptech.glide.request.target.ImageViewTargetFactory;
+import com.bumptech.glide.signature.ObjectKey;
+import com.bumptech.glide.tests.AllocationCounter;
+import com.bumptech.glide.util.Executors;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Guards against allocation regressions in the {@link Engine} load paths by asserting that the
+ * average number of bytes allocated per load stays within a budget for each path.
+ *
+ * <p>Loads run synchronously on the test thread using direct executors and a fake {@link
+ * DataFetcher}, so the thread's allocation counter sees everything allocated by the key, job,
+ * fetcher, decode and callback code for each load.
+ *
+ * <p>The budgets are roughly twice the allocations measured when each was last updated. If a
+ * change reduces allocations, lower the budget to lock in the improvement. If a change has to
+ * allocate more, raise it deliberately and explain why in the change.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class EngineAllocationTest {
+  private static final long MEMORY_CACHE_HIT_BUDGET_BYTES = 768;
+  private static final long ACTIVE_RESOURCES_HIT_BUDGET_BYTES = 384;
+  private static final long RESOURCE_CACHE_HIT_BUDGET_BYTES = 20 * 1024;
+  private static final long DATA_CACHE_HIT_BUDGET_BYTES = 20 * 1024;
+  private static final long SOURCE_LOAD_BUDGET_BYTES = 16 * 1024;
+
+  private static final int WARM_UP_LOADS = 200;
+  private static final int MEASURED_LOADS = 500;
+  private static final String MODEL = "model";
+  private static final byte[] DATA = new byte[64];
+
+  private final CallbackRecorder cb = new CallbackRecorder();
+  private final Options options = new Options();
+  private final Map<Class<?>, Transformation<?>> transformations = Collections.emptyMap();
+  private File cacheDir;
+  private GlideContext glideContext;
+  private Engine engine;
+
+  @Before
+  public void setUp() {
+    assumeTrue(AllocationCounter.isSupported());
+    Application app = ApplicationProvider.getApplicationContext();
+    cacheDir = new File(app.getCacheDir(), "engine_allocation_test");
+
+    final Registry registry = new Registry();
+    registry
+        .register(new ByteBufferRewinder.Factory())
+        .append(ByteBuffer.class, new ByteBufferEncoder())
+        .append(String.class, ByteBuffer.class, new FakeSourceLoaderFactory())
+        .append(File.class, ByteBuffer.class, new ByteBufferFileLoader.Factory())
+        .append(ByteBuffer.class, byte[].class, new BytesDecoder())
+        .append(byte[].class, new BytesEncoder());
+
+    glideContext =
+        new GlideContext(
+            app,
+            new LruArrayPool(),
+            new GlideSupplier<Registry>() {
+              @Override
+              public Registry get() {
+                return registry;
+              }
+            },
+            new ImageViewTargetFactory(),
+            new RequestOptionsFactory() {
+              @NonNull
+              @Override
+              public RequestOptions build() {
+                return new RequestOptions();
+              }
+            },
+            Collections.<Class<?>, TransitionOptions<?, ?>>emptyMap(),
+            /* defaultRequestListeners= */ Collections.<RequestListener<Object>>emptyList(),
+            mock(Engine.class),
+            mock(GlideExperiments.class),
+            Log.DEBUG);
+
+    GlideExecutor executor =
+        MockGlideExecutor.newTestExecutor(MoreExecutors.newDirectExecutorService());
+    engine =
+        new Engine(
+            new LruResourceCache(10 * 1024 * 1024),
+            new DiskCache.Factory() {
+              @Nullable
+              @Override
+              public DiskCache build() {
+                return DiskLruCacheWrapper.create(cacheDir, 10 * 1024 * 1024);
+              }
+            },
+            executor,
+            executor,
+            executor,
+            executor,
+            /* isActiveResourceRetentionAllowed= */ false);
+  }
+
+  @After
+  public void tearDown() {
+    if (engine != null) {
+      engine.clearDiskCache();
+      engine.shutdown();
+    }
+  }
+
+  @Test
+  public void load_fromMemoryCache_staysWithinBudget() {
+    assertWithinBudget(
+        "memory cache hit",
+        MEMORY_CACHE_HIT_BUDGET_BYTES,
+        DiskCacheStrategy.NONE,
+        /* isMemoryCacheable= */ true,
+        DataSource.MEMORY_CACHE);
+  }
+
+  @Test
+  public void load_fromActiveResources_staysWithinBudget() {
+    load(DiskCacheStrategy.NONE, /* isMemoryCacheable= */ true);
+    // Hold on to the first load's resource so that later loads are served from the active
+    // resources rather than the memory cache.
+    Resource<?> held = cb.takeResource();
+
+    assertWithinBudget(
+        "active resources hit",
+        ACTIVE_RESOURCES_HIT_BUDGET_BYTES,
+        DiskCacheStrategy.NONE,
+        /* isMemoryCacheable= */ true,
+        DataSource.MEMORY_CACHE);
+
+    engine.release(held);
+  }
+
+  @Test
+  public void load_fromResourceCache_staysWithinBudget() {
+    assertWithinBudget(
+        "resource cache hit",
+        RESOURCE_CACHE_HIT_BUDGET_BYTES,
+        DiskCacheStrategy.RESOURCE,
+        /* isMemoryCacheable= */ false,
+        DataSource.RESOURCE_DISK_CACHE);
+  }
+
+  @Test
+  public void load_fromDataCache_staysWithinBudget() {
+    assertWithinBudget(
+        "data cache hit",
+        DATA_CACHE_HIT_BUDGET_BYTES,
+        DiskCacheStrategy.DATA,
+        /* isMemoryCacheable= */ false,
+        DataSource.DATA_DISK_CACHE);
+  }
+
+  @Test
+  public void load_fromSource_staysWithinBudget() {
+    assertWithinBudget(
+        "source load",
+        SOURCE_LOAD_BUDGET_BYTES,
+        DiskCacheStrategy.NONE,
+        /* isMemoryCacheable= */ false,
+        DataSource.LOCAL);
+  }
+
+  private void assertWithinBudget(
+      String path,
+      long budgetBytes,
+      DiskCacheStrategy diskCacheStrategy,
+      boolean isMemoryCacheable,
+      DataSource expectedDataSource) {
+    // Populates the caches on the first load, then warms up the pools, caches and JIT.
+    for (int i = 0; i < WARM_UP_LOADS; i++) {
+      loadAndRelease(diskCacheStrategy, isMemoryCacheable);
+    }
+    assertThat(cb.dataSource).isEqualTo(expectedDataSource);
+
+    long before = AllocationCounter.getAllocatedBytes();
+    for (int i = 0; i < MEASURED_LOADS; i++) {
+      loadAndRelease(diskCacheStrategy, isMemoryCacheable);
+    }
+    long bytesPerLoad = (AllocationCounter.getAllocatedBytes() - before) / MEASURED_LOADS;
+
+    assertWithMessage("Bytes allocated per " + path).that(bytesPerLoad).isAtMost(budgetBytes);
+  }
+
+  private void loadAndRelease(DiskCacheStrategy diskCacheStrategy, boolean isMemoryCacheable) {
+    load(diskCacheStrategy, isMemoryCacheable);
+    engine.release(cb.takeResource());
+  }
+
+  private void load(DiskCacheStrategy diskCacheStrategy, boolean isMemoryCacheable) {
+    engine.load(
+        glideContext,
+        MODEL,
+        new ObjectKey(MODEL),
+        /* width= */ 100,
+        /* height= */ 100,
+        byte[].class,
+        byte[].class,
+        Priority.NORMAL,
+        diskCacheStrategy,
+        transformations,
+        /* isTransformationRequired= */ false,
+        /* isScaleOnlyOrNoTransform= */ true,
+        options,
+        isMemoryCacheable,
+        /* useUnlimitedSourceExecutorPool= */ false,
+        /* useAnimationPool= */ false,
+        /* onlyRetrieveFromCache= */ false,
+        cb,
+        Executors.directExecutor());
+  }
+
+  private static final class CallbackRecorder implements ResourceCallback {
+    @Nullable private Resource<?> resource;
+    @Nullable private DataSource dataSource;
+
+    @Override
+    public void onResourceReady(
+        Resource<?> resource, DataSource dataSource, boolean isLoadedFromAlternateCacheKey) {
+      this.resource = resource;
+      this.dataSource = dataSource;
+    }
+
+    @Override
+    public void onLoadFailed(GlideException e) {
+      throw new AssertionError(e);
+    }
+
+    @Override
+    public Object getLock() {
+      return this;
+    }
+
+    Resource<?> takeResource() {
+      Resource<?> result = resource;
+      if (result == null) {
+        throw new AssertionError("Load did not complete synchronously");
+      }
+      resource = null;
+      return result;
+    }
+  }
+
+  private static final class FakeSourceLoaderFactory
+      implements ModelLoaderFactory<String, ByteBuffer> {
+
+    @NonNull
+    @Override
+    public ModelLoader<String, ByteBuffer> build(@NonNull MultiModelLoaderFactory multiFactory) {
+      return new ModelLoader<String, ByteBuffer>() {
+        @Override
+        public LoadData<ByteBuffer> buildLoadData(
+            @NonNull String model, int width, int height, @NonNull Options options) {
+          return new LoadData<>(new ObjectKey(model), new FakeDataFetcher());
+        }
+
+        @Override
+        public boolean handles(@NonNull String model) {
+          return true;
+        }
+      };
+    }
+
+    @Override
+    public void teardown() {
+      // Do nothing.
+    }
+  }
+
+  private static final class FakeDataFetcher implements DataFetcher<ByteBuffer> {
+
+    @Override
+    public void loadData(
+        @NonNull Priority priority, @NonNull DataCallback<? super ByteBuffer> callback) {
+      callback.onDataReady(ByteBuffer.wrap(DATA));
+    }
+
+    @Override
+    public void cleanup() {
+      // Do nothing.
+    }
+
+    @Override
+    public void cancel() {
+      // Do nothing.
+    }
+
+    @NonNull
+    @Override
+    public Class<ByteBuffer> getDataClass() {
+      return ByteBuffer.class;
+    }
+
+    @NonNull
+    @Override
+    public DataSource getDataSource() {
+      return DataSource.LOCAL;
+    }
+  }
+
+  private static final class BytesDecoder implements ResourceDecoder<ByteBuffer, byte[]> {
+
+    @Override
+    public boolean handles(@NonNull ByteBuffer source, @NonNull Options options) {
+      return true;
+    }
+
+    @Override
+    public Resource<byte[]> decode(
+        @NonNull ByteBuffer source, int width, int height, @NonNull Options options) {
+      byte[] result = new byte[source.remaining()];
+      source.get(result);
+      return new BytesResource(result);
+    }
+  }
+
+  private static final class BytesEncoder implements ResourceEncoder<byte[]> {
+
+    @NonNull
+    @Override
+    public EncodeStrategy getEncodeStrategy(@NonNull Options options) {
+      return EncodeStrategy.TRANSFORMED;
+    }
+
+    @Override
+    public boolean encode(
+        @NonNull Resource<byte[]> data, @NonNull File file, @NonNull Options options) {
+      OutputStream os = null;
+      try {
+        os = new FileOutputStream(file);
+        os.write(data.get());
+        return true;
+      } catch (IOException e) {
+        return false;
+      } finally {
+        if (os != null) {
+          try {
+            os.close();
+          } catch (IOException e) {
+            // Ignored.
+          }
+        }
+      }
+    }
+  }
+}
@@ -19,6 +19,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import androidx.annotation.NonNull;
 import com.bumptech.glide.GlideContext;
 import com.bumptech.glide.Priority;
 import com.bumptech.glide.load.DataSource;
@@ -33,9 +34,13 @@ import com.bumptech.glide.load.engine.executor.MockGlideExecutor;
 import com.bumptech.glide.request.ResourceCallback;
 import com.bumptech.glide.tests.BackgroundUtil;
 import com.bumptech.glide.util.Executors;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -641,6 +646,163 @@ public class EngineTest {
     verify(harness.job, never()).start(anyDecodeJobOrNull());
   }
 
+  @Test
+  public void load_inBatch_doesNotStartJobUntilBatchEnds() {
+    harness.getEngine().beginBatch();
+    assertNotNull(harness.doLoad());
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+
+    harness.getEngine().endBatch();
+
+    verify(harness.job).start(anyDecodeJobOrNull());
+    verify(harness.job).addCallback(eq(harness.cb), any(Executor.class));
+  }
+
+  @Test
+  public void load_inBatch_withActiveResource_notifiesCallbackWhenBatchEnds() {
+    harness.activeResources.activate(harness.cacheKey, harness.resource);
+    harness.getEngine().beginBatch();
+    harness.doLoad();
+    verify(harness.cb, never()).onResourceReady(anyResource(), isADataSource(), anyBoolean());
+
+    harness.getEngine().endBatch();
+
+    verify(harness.cb)
+        .onResourceReady(eq(harness.resource), eq(DataSource.MEMORY_CACHE), eq(false));
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+  }
+
+  @Test
+  public void load_inBatch_cancelledBeforeBatchEnds_doesNotStartJob() {
+    harness.getEngine().beginBatch();
+    Engine.LoadStatus loadStatus = harness.doLoad();
+
+    loadStatus.cancel();
+    harness.getEngine().endBatch();
+
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+    assertThat(harness.jobs.getAll()).doesNotContainKey(harness.cacheKey);
+  }
+
+  @Test
+  public void load_inBatch_cancelledAfterBatchEnds_removesCallbackFromJob() {
+    harness.getEngine().beginBatch();
+    Engine.LoadStatus loadStatus = harness.doLoad();
+    harness.getEngine().endBatch();
+
+    loadStatus.cancel();
+
+    verify(harness.job).removeCallback(eq(harness.cb));
+  }
+
+  @Test
+  public void endBatch_withNestedBatch_startsJobsWhenOutermostBatchEnds() {
+    harness.getEngine().beginBatch();
+    harness.getEngine().beginBatch();
+    harness.doLoad();
+
+    harness.getEngine().endBatch();
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+    harness.getEngine().endBatch();
+
+    verify(harness.job).start(anyDecodeJobOrNull());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void endBatch_withoutBatch_throws() {
+    harness.getEngine().endBatch();
+  }
+
+  @Test
+  public void load_withLoadExecutor_startsJobOnLoadExecutor() {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+
+    assertNotNull(harness.doLoad());
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+
+    loadExecutor.runAll();
+
+    verify(harness.job).start(anyDecodeJobOrNull());
+    verify(harness.job).addCallback(eq(harness.cb), any(Executor.class));
+  }
+
+  @Test
+  public void load_withLoadExecutor_withActiveResource_postsResourceToCallbackExecutor() {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    PendingExecutorService callbackExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+    harness.callbackExecutor = callbackExecutor;
+    harness.activeResources.activate(harness.cacheKey, harness.resource);
+
+    assertNotNull(harness.doLoad());
+    loadExecutor.runAll();
+    verify(harness.cb, never()).onResourceReady(anyResource(), isADataSource(), anyBoolean());
+
+    callbackExecutor.runAll();
+
+    verify(harness.cb)
+        .onResourceReady(eq(harness.resource), eq(DataSource.MEMORY_CACHE), eq(false));
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+  }
+
+  @Test
+  public void load_withLoadExecutor_cancelledBeforeLoadExecutorRuns_doesNotStartJob() {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+
+    harness.doLoad().cancel();
+    loadExecutor.runAll();
+
+    verify(harness.job, never()).start(anyDecodeJobOrNull());
+    assertThat(harness.jobs.getAll()).doesNotContainKey(harness.cacheKey);
+  }
+
+  @Test
+  public void load_withLoadExecutor_cancelledAfterJobStarts_removesCallbackFromJob() {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+
+    Engine.LoadStatus loadStatus = harness.doLoad();
+    loadExecutor.runAll();
+    loadStatus.cancel();
+
+    verify(harness.job).removeCallback(eq(harness.cb));
+  }
+
+  @Test
+  public void load_withLoadExecutor_cancelledBeforeResourceIsDelivered_releasesResource() {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    PendingExecutorService callbackExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+    harness.callbackExecutor = callbackExecutor;
+    harness.activeResources.activate(harness.cacheKey, harness.resource);
+
+    Engine.LoadStatus loadStatus = harness.doLoad();
+    loadExecutor.runAll();
+    loadStatus.cancel();
+    callbackExecutor.runAll();
+
+    verify(harness.cb, never()).onResourceReady(anyResource(), isADataSource(), anyBoolean());
+    verify(harness.resource).release();
+  }
+
+  @Test
+  public void load_withLoadExecutor_offMainThread_loadsSynchronously() throws InterruptedException {
+    PendingExecutorService loadExecutor = new PendingExecutorService();
+    harness.loadExecutor = MockGlideExecutor.newTestExecutor(loadExecutor);
+
+    BackgroundUtil.testInBackground(
+        new BackgroundUtil.BackgroundTester() {
+          @Override
+          public void runTest() {
+            harness.doLoad();
+          }
+        });
+
+    verify(harness.job).start(anyDecodeJobOrNull());
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   private static DecodeJob anyDecodeJobOrNull() {
     return any();
@@ -676,6 +838,8 @@ public class EngineTest {
     boolean useUnlimitedSourceGeneratorPool = false;
     boolean onlyRetrieveFromCache = false;
     final boolean isScaleOnlyOrNoTransform = true;
+    Executor callbackExecutor = Executors.directExecutor();
+    GlideExecutor loadExecutor;
 
     EngineTestHarness() {
       when(keyFactory.buildKey(
@@ -722,7 +886,7 @@ public class EngineTest {
               /* useAnimationPool= */ false,
               onlyRetrieveFromCache,
               cb,
-              Executors.directExecutor());
+              callbackExecutor);
     }
 
     Engine getEngine() {
@@ -735,6 +899,7 @@ public class EngineTest {
                 MockGlideExecutor.newMainThreadExecutor(),
                 MockGlideExecutor.newMainThreadExecutor(),
                 MockGlideExecutor.newMainThreadExecutor(),
+                loadExecutor,
                 jobs,
                 keyFactory,
                 activeResources,
@@ -746,4 +911,50 @@ public class EngineTest {
       return engine;
     }
   }
+
+  /** Holds submitted tasks until {@link #runAll()} is called. */
+  private static final class PendingExecutorService extends AbstractExecutorService {
+    private final List<Runnable> pending = new ArrayList<>();
+
+    void runAll() {
+      List<Runnable> toRun = new ArrayList<>(pending);
+      pending.clear();
+      for (Runnable runnable : toRun) {
+        runnable.run();
+      }
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      pending.add(command);
+    }
+
+    @Override
+    public void shutdown() {
+      pending.clear();
+    }
+
+    @NonNull
+    @Override
+    public List<Runnable> shutdownNow() {
+      List<Runnable> result = new ArrayList<>(pending);
+      pending.clear();
+      return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return false;
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return false;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, @NonNull TimeUnit unit) {
+      return true;
+    }
+  }
 }
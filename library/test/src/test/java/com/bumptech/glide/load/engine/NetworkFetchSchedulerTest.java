@@ -0,0 +1,477 @@
+package com.bumptech.glide.load.engine;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import android.os.SystemClock;
+import androidx.annotation.NonNull;
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Key;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.data.DataFetcher.DataCallback;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.ModelLoader.LoadData;
+import com.bumptech.glide.signature.ObjectKey;
+import com.bumptech.glide.util.ContentLengthInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK)
+public class NetworkFetchSchedulerTest {
+  private final PendingExecutor executor = new PendingExecutor();
+
+  @Test
+  public void schedule_withLocalData_returnsLoadDataUnchanged() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    LoadData<ByteBuffer> loadData =
+        new LoadData<>(
+            new ObjectKey("local"), new FakeFetcher("local", DataSource.LOCAL, /* bytes= */ 0));
+
+    assertThat(scheduler.schedule(loadData)).isSameInstanceAs(loadData);
+  }
+
+  @Test
+  public void loadData_underLimit_startsImmediately() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 2);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+
+    load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+
+    assertThat(first.isStarted).isTrue();
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void loadData_overLimit_waitsForRunningFetchToBeCleanedUp() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+
+    DataFetcher<ByteBuffer> scheduledFirst =
+        load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+    assertThat(second.isStarted).isFalse();
+
+    scheduledFirst.cleanup();
+    assertThat(first.isCleanedUp).isTrue();
+    assertThat(second.isStarted).isFalse();
+
+    executor.runAll();
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void loadData_overLimit_startsQueuedFetchWhenRunningFetchFails() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+
+    load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+    first.fail();
+    executor.runAll();
+
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void loadData_overLimit_startsQueuedFetchesInPriorityOrder() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher running = new FakeFetcher("running");
+    List<String> started = new ArrayList<>();
+    FakeFetcher low = new FakeFetcher("low", started);
+    FakeFetcher high = new FakeFetcher("high", started);
+    FakeFetcher immediate = new FakeFetcher("immediate", started);
+
+    DataFetcher<ByteBuffer> scheduledRunning =
+        load(scheduler, "http://a.com/1", running, Priority.NORMAL);
+    DataFetcher<ByteBuffer> scheduledLow = load(scheduler, "http://a.com/2", low, Priority.LOW);
+    DataFetcher<ByteBuffer> scheduledHigh = load(scheduler, "http://a.com/3", high, Priority.HIGH);
+    load(scheduler, "http://a.com/4", immediate, Priority.IMMEDIATE);
+
+    scheduledRunning.cleanup();
+    executor.runAll();
+    assertThat(started).containsExactly("immediate");
+
+    // Fetches are only started when the previous one finishes.
+    immediate.succeed();
+    immediate.scheduled.cleanup();
+    executor.runAll();
+    scheduledHigh.cleanup();
+    executor.runAll();
+    scheduledLow.cleanup();
+
+    assertThat(started).containsExactly("immediate", "high", "low").inOrder();
+  }
+
+  @Test
+  public void loadData_withDifferentHosts_limitsEachHostSeparately() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+
+    load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://b.com/1", second, Priority.NORMAL);
+
+    assertThat(first.isStarted).isTrue();
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void cancel_withQueuedFetch_doesNotStartFetchAndNotifiesFailure() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+    DataFetcher<ByteBuffer> scheduledFirst =
+        load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    DataFetcher<ByteBuffer> scheduledSecond =
+        load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+
+    scheduledSecond.cancel();
+    executor.runAll();
+    verify(second.callback).onLoadFailed(isA(IOException.class));
+    assertThat(second.isCancelled).isFalse();
+
+    scheduledFirst.cleanup();
+    executor.runAll();
+    assertThat(second.isStarted).isFalse();
+  }
+
+  @Test
+  public void cancel_withRunningFetch_cancelsFetchAndStartsQueuedFetch() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+    DataFetcher<ByteBuffer> scheduledFirst =
+        load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+
+    scheduledFirst.cancel();
+    executor.runAll();
+
+    assertThat(first.isCancelled).isTrue();
+    verify(first.callback, never()).onLoadFailed(any(Exception.class));
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void cleanup_calledTwice_onlyReleasesOneSlot() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+    FakeFetcher third = new FakeFetcher("third");
+    DataFetcher<ByteBuffer> scheduledFirst =
+        load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+    load(scheduler, "http://a.com/3", third, Priority.NORMAL);
+
+    scheduledFirst.cleanup();
+    scheduledFirst.cleanup();
+    executor.runAll();
+
+    assertThat(second.isStarted).isTrue();
+    assertThat(third.isStarted).isFalse();
+  }
+
+  @Test
+  public void cleanup_withMeasuredThroughputMuchLowerThanBest_lowersLimit() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 4);
+    // Fast: about 1MB/ms since no time passes.
+    FakeFetcher fast = new FakeFetcher("fast", DataSource.REMOTE, /* bytes= */ 1024 * 1024);
+    DataFetcher<ByteBuffer> scheduledFast = load(scheduler, "http://a.com/1", fast, Priority.LOW);
+    fast.succeed();
+    scheduledFast.cleanup();
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(4);
+
+    // Slow: the minimum sample size over at least 1ms.
+    FakeFetcher slow =
+        new FakeFetcher("slow", DataSource.REMOTE, NetworkFetchScheduler.MIN_SAMPLE_BYTES);
+    DataFetcher<ByteBuffer> scheduledSlow = load(scheduler, "http://a.com/2", slow, Priority.LOW);
+    slow.succeed();
+    scheduledSlow.cleanup();
+
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(3);
+  }
+
+  @Test
+  public void cleanup_withSmallResponse_doesNotChangeLimit() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 4);
+    FakeFetcher fast = new FakeFetcher("fast", DataSource.REMOTE, /* bytes= */ 1024 * 1024);
+    DataFetcher<ByteBuffer> scheduledFast = load(scheduler, "http://a.com/1", fast, Priority.LOW);
+    fast.succeed();
+    scheduledFast.cleanup();
+
+    FakeFetcher small =
+        new FakeFetcher("small", DataSource.REMOTE, NetworkFetchScheduler.MIN_SAMPLE_BYTES - 1);
+    DataFetcher<ByteBuffer> scheduledSmall =
+        load(scheduler, "http://a.com/2", small, Priority.LOW);
+    small.succeed();
+    scheduledSmall.cleanup();
+
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(4);
+  }
+
+  @Test
+  public void loadData_withMoreThanMaxHosts_forgetsLeastRecentlyUsedIdleHost() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 4);
+    FakeFetcher fast = new FakeFetcher("fast", DataSource.REMOTE, /* bytes= */ 1024 * 1024);
+    DataFetcher<ByteBuffer> scheduledFast = load(scheduler, "http://a.com/1", fast, Priority.LOW);
+    fast.succeed();
+    scheduledFast.cleanup();
+    FakeFetcher slow =
+        new FakeFetcher("slow", DataSource.REMOTE, NetworkFetchScheduler.MIN_SAMPLE_BYTES);
+    DataFetcher<ByteBuffer> scheduledSlow = load(scheduler, "http://a.com/2", slow, Priority.LOW);
+    slow.succeed();
+    scheduledSlow.cleanup();
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(3);
+
+    for (int i = 0; i < NetworkFetchScheduler.MAX_HOSTS; i++) {
+      FakeFetcher fetcher = new FakeFetcher("other");
+      load(scheduler, "http://" + i + ".com/1", fetcher, Priority.NORMAL).cleanup();
+    }
+
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(4);
+  }
+
+  @Test
+  public void loadData_withMoreThanMaxHosts_keepsHostsWithRunningFetches() {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    FakeFetcher first = new FakeFetcher("first");
+    FakeFetcher second = new FakeFetcher("second");
+    DataFetcher<ByteBuffer> scheduledFirst =
+        load(scheduler, "http://a.com/1", first, Priority.NORMAL);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+
+    for (int i = 0; i < NetworkFetchScheduler.MAX_HOSTS; i++) {
+      FakeFetcher fetcher = new FakeFetcher("other");
+      load(scheduler, "http://" + i + ".com/1", fetcher, Priority.NORMAL).cleanup();
+    }
+    assertThat(second.isStarted).isFalse();
+
+    scheduledFirst.cleanup();
+    executor.runAll();
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void loadData_withStream_startsQueuedFetchAtEndOfStream() throws IOException {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 1);
+    StreamFetcher first = new StreamFetcher(/* bytes= */ 2);
+    FakeFetcher second = new FakeFetcher("second");
+    scheduler.schedule(first.loadData).fetcher.loadData(Priority.NORMAL, first.callback);
+    load(scheduler, "http://a.com/2", second, Priority.NORMAL);
+
+    first.succeed();
+    InputStream stream = first.callback.data;
+    assertThat(stream.read()).isEqualTo(0);
+    executor.runAll();
+    assertThat(second.isStarted).isFalse();
+
+    assertThat(stream.read()).isEqualTo(0);
+    executor.runAll();
+    assertThat(second.isStarted).isTrue();
+  }
+
+  @Test
+  public void loadData_withStream_measuresThroughputUntilEndOfStream() throws IOException {
+    NetworkFetchScheduler scheduler = newScheduler(/* maxFetchesPerHost= */ 4);
+    FakeFetcher fast =
+        new FakeFetcher("fast", DataSource.REMOTE, NetworkFetchScheduler.MIN_SAMPLE_BYTES);
+    DataFetcher<ByteBuffer> scheduledFast = load(scheduler, "http://a.com/1", fast, Priority.LOW);
+    fast.succeed();
+    scheduledFast.cleanup();
+
+    // Read as quickly as the first fetch.
+    StreamFetcher stream = new StreamFetcher(NetworkFetchScheduler.MIN_SAMPLE_BYTES);
+    DataFetcher<InputStream> scheduled = scheduler.schedule(stream.loadData).fetcher;
+    scheduled.loadData(Priority.LOW, stream.callback);
+    stream.succeed();
+    byte[] buffer = new byte[NetworkFetchScheduler.MIN_SAMPLE_BYTES];
+    assertThat(stream.callback.data.read(buffer)).isEqualTo(buffer.length);
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(4);
+
+    // Time spent decoding after the end of the stream doesn't slow down the measured throughput.
+    SystemClock.sleep(10_000);
+    scheduled.cleanup();
+
+    assertThat(scheduler.getLimit("a.com")).isEqualTo(4);
+  }
+
+  private NetworkFetchScheduler newScheduler(int maxFetchesPerHost) {
+    return new NetworkFetchScheduler(maxFetchesPerHost, executor);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static DataFetcher<ByteBuffer> load(
+      NetworkFetchScheduler scheduler, String url, FakeFetcher fetcher, Priority priority) {
+    Key key = new GlideUrl(url);
+    LoadData<ByteBuffer> loadData = scheduler.schedule(new LoadData<>(key, fetcher));
+    assertThat(loadData.fetcher).isNotSameInstanceAs(fetcher);
+    fetcher.scheduled = loadData.fetcher;
+    fetcher.callback = mock(DataCallback.class);
+    loadData.fetcher.loadData(priority, fetcher.callback);
+    return loadData.fetcher;
+  }
+
+  private static final class FakeFetcher implements DataFetcher<ByteBuffer> {
+    private final String name;
+    private final DataSource dataSource;
+    private final int bytes;
+    private final List<String> started;
+
+    DataFetcher<ByteBuffer> scheduled;
+    DataCallback<ByteBuffer> callback;
+    private DataCallback<? super ByteBuffer> delegateCallback;
+    boolean isStarted;
+    boolean isCleanedUp;
+    boolean isCancelled;
+
+    FakeFetcher(String name) {
+      this(name, DataSource.REMOTE, /* bytes= */ 0);
+    }
+
+    FakeFetcher(String name, List<String> started) {
+      this(name, DataSource.REMOTE, /* bytes= */ 0, started);
+    }
+
+    FakeFetcher(String name, DataSource dataSource, int bytes) {
+      this(name, dataSource, bytes, new ArrayList<String>());
+    }
+
+    FakeFetcher(String name, DataSource dataSource, int bytes, List<String> started) {
+      this.name = name;
+      this.dataSource = dataSource;
+      this.bytes = bytes;
+      this.started = started;
+    }
+
+    void succeed() {
+      delegateCallback.onDataReady(ByteBuffer.allocate(bytes));
+    }
+
+    void fail() {
+      delegateCallback.onLoadFailed(new IOException("Test"));
+    }
+
+    @Override
+    public void loadData(
+        @NonNull Priority priority, @NonNull DataCallback<? super ByteBuffer> callback) {
+      isStarted = true;
+      started.add(name);
+      delegateCallback = callback;
+    }
+
+    @Override
+    public void cleanup() {
+      isCleanedUp = true;
+    }
+
+    @Override
+    public void cancel() {
+      isCancelled = true;
+    }
+
+    @NonNull
+    @Override
+    public Class<ByteBuffer> getDataClass() {
+      return ByteBuffer.class;
+    }
+
+    @NonNull
+    @Override
+    public DataSource getDataSource() {
+      return dataSource;
+    }
+  }
+
+  /** Fetches a {@link ContentLengthInputStream} from a.com. */
+  private static final class StreamFetcher implements DataFetcher<InputStream> {
+    final LoadData<InputStream> loadData = new LoadData<>(new GlideUrl("http://a.com/s"), this);
+    final RecordingCallback callback = new RecordingCallback();
+    private final int bytes;
+    private DataCallback<? super InputStream> delegateCallback;
+
+    StreamFetcher(int bytes) {
+      this.bytes = bytes;
+    }
+
+    void succeed() {
+      delegateCallback.onDataReady(
+          ContentLengthInputStream.obtain(new ByteArrayInputStream(new byte[bytes]), bytes));
+    }
+
+    @Override
+    public void loadData(
+        @NonNull Priority priority, @NonNull DataCallback<? super InputStream> callback) {
+      delegateCallback = callback;
+    }
+
+    @Override
+    public void cleanup() {}
+
+    @Override
+    public void cancel() {}
+
+    @NonNull
+    @Override
+    public Class<InputStream> getDataClass() {
+      return InputStream.class;
+    }
+
+    @NonNull
+    @Override
+    public DataSource getDataSource() {
+      return DataSource.REMOTE;
+    }
+  }
+
+  private static final class RecordingCallback implements DataCallback<InputStream> {
+    InputStream data;
+
+    @Override
+    public void onDataReady(InputStream data) {
+      this.data = data;
+    }
+
+    @Override
+    public void onLoadFailed(@NonNull Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private static final class PendingExecutor implements Executor {
+    private final List<Runnable> pending = new ArrayList<>();
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+      pending.add(command);
+    }
+
+    void runAll() {
+      while (!pending.isEmpty()) {
+        List<Runnable> toRun = new ArrayList<>(pending);
+        pending.clear();
+        for (Runnable runnable : toRun) {
+          runnable.run();
+        }
+      }
+    }
+  }
+}
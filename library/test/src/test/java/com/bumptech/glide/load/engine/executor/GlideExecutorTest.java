@@ -2,14 +2,21 @@ package com.bumptech.glide.load.engine.executor;
 
 import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assume.assumeFalse;
+import static org.junit.Assume.assumeTrue;
 
 import androidx.annotation.NonNull;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
@@ -50,6 +57,83 @@ public class GlideExecutorTest {
     assertThat(resultPriorities).containsExactly(5, 1, 2, 3, 4).inOrder();
   }
 
+  @Test
+  public void newVirtualThreadSourceExecutor_whenSupported_runsJobsOnVirtualThreads()
+      throws InterruptedException {
+    assumeTrue(GlideExecutor.isVirtualThreadExecutorSupported());
+    final AtomicReference<Thread> thread = new AtomicReference<>();
+    GlideExecutor executor = GlideExecutor.newVirtualThreadSourceExecutor();
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            thread.set(Thread.currentThread());
+          }
+        });
+
+    executor.shutdown();
+    assertThat(executor.awaitTermination(500, TimeUnit.MILLISECONDS)).isTrue();
+
+    assertThat(thread.get().getName()).startsWith("glide-source-thread-");
+    assertThat(thread.get().toString()).contains("VirtualThread");
+  }
+
+  @Test
+  public void newVirtualThreadSourceExecutor_whenSupported_limitsConcurrentDecodes() {
+    assumeTrue(GlideExecutor.isVirtualThreadExecutorSupported());
+    GlideExecutor executor = GlideExecutor.newVirtualThreadSourceExecutor();
+
+    assertThat(executor.getDecodePermits().availablePermits())
+        .isEqualTo(GlideExecutor.calculateBestThreadCount());
+    executor.shutdown();
+  }
+
+  @Test
+  public void newSourceExecutor_doesNotHaveDecodePermits() {
+    GlideExecutor executor = GlideExecutor.newSourceExecutor();
+
+    assertThat(executor.getDecodePermits()).isNull();
+    executor.shutdown();
+  }
+
+  @Test
+  public void newVirtualThreadSourceExecutor_whenNotSupported_throws() {
+    assumeFalse(GlideExecutor.isVirtualThreadExecutorSupported());
+    assertThrows(
+        UnsupportedOperationException.class,
+        new ThrowingRunnable() {
+          @Override
+          public void run() {
+            GlideExecutor.newVirtualThreadSourceExecutor();
+          }
+        });
+  }
+
+  @Test
+  public void newBackgroundExecutor_runsCallablesOnNamedThreadsInParallel() throws Exception {
+    GlideExecutor executor = GlideExecutor.newBackgroundExecutor("test", /* threadCount= */ 2);
+    final CountDownLatch bothStarted = new CountDownLatch(2);
+    Callable<String> callable =
+        new Callable<String>() {
+          @Override
+          public String call() throws InterruptedException {
+            bothStarted.countDown();
+            assertThat(bothStarted.await(500, TimeUnit.MILLISECONDS)).isTrue();
+            return Thread.currentThread().getName();
+          }
+        };
+
+    Future<String> first = executor.submit(callable);
+    Future<String> second = executor.submit(callable);
+    Future<String> third = executor.submit(callable);
+
+    assertThat(first.get()).startsWith("glide-test-thread-");
+    assertThat(second.get()).startsWith("glide-test-thread-");
+    assertThat(first.get()).isNotEqualTo(second.get());
+    assertThat(third.get()).startsWith("glide-test-thread-");
+    executor.shutdown();
+  }
+
   private static final class MockRunnable implements Runnable, Comparable<MockRunnable> {
     private final int priority;
     private final OnRun onRun;
@@ -0,0 +1,246 @@
+package com.bumptech.glide.load.engine.prefill;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.ComponentCallbacks2;
+import android.graphics.Bitmap;
+import android.os.Looper;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.MemoryCacheAdapter;
+import com.bumptech.glide.util.Executors;
+import com.bumptech.glide.util.GlideSuppliers.GlideSupplier;
+import com.bumptech.glide.util.Util;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class AutoBitmapPreFillerTest {
+  private static final int SIZE = 100;
+  private static final Bitmap.Config CONFIG = Bitmap.Config.ARGB_8888;
+  private static final int BITMAP_BYTES = Util.getBitmapByteSize(SIZE, SIZE, CONFIG);
+  private static final int BITMAPS_IN_POOL = 20;
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final LruBitmapPool bitmapPool = new LruBitmapPool(BITMAPS_IN_POOL * BITMAP_BYTES);
+  private File file;
+  private AutoBitmapPreFiller preFiller;
+
+  @Before
+  public void setUp() throws IOException {
+    file = new File(temporaryFolder.newFolder(), AutoBitmapPreFiller.FILE_NAME);
+    preFiller = newPreFiller(/* maxPoolFraction= */ 0.5f);
+  }
+
+  @Test
+  public void onMiss_calledForPoolMissesOnly() {
+    preFiller.start();
+
+    bitmapPool.put(Bitmap.createBitmap(SIZE, SIZE, CONFIG));
+    bitmapPool.getDirty(SIZE, SIZE, CONFIG);
+    bitmapPool.getDirty(SIZE, SIZE, CONFIG);
+    bitmapPool.getDirty(SIZE, SIZE, CONFIG);
+
+    assertThat(preFiller.generateAllocationOrder().getSize()).isEqualTo(2);
+  }
+
+  @Test
+  public void stop_stopsRecordingMisses() {
+    preFiller.start();
+    preFiller.stop();
+
+    bitmapPool.getDirty(SIZE, SIZE, CONFIG);
+    bitmapPool.getDirty(SIZE, SIZE, CONFIG);
+
+    assertThat(preFiller.generateAllocationOrder().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void generateAllocationOrder_withTooFewMisses_isEmpty() {
+    miss(SIZE, SIZE, AutoBitmapPreFiller.MIN_MISSES - 1);
+
+    assertThat(preFiller.generateAllocationOrder().isEmpty()).isTrue();
+  }
+
+  @Test
+  public void generateAllocationOrder_allocatesAtMostAsManyBitmapsAsMisses() {
+    miss(SIZE, SIZE, 3);
+
+    assertThat(preFiller.generateAllocationOrder().getSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void generateAllocationOrder_staysWithinBudget() {
+    miss(SIZE, SIZE, BITMAPS_IN_POOL);
+
+    assertThat(preFiller.generateAllocationOrder().getSize()).isEqualTo(BITMAPS_IN_POOL / 2);
+  }
+
+  @Test
+  public void generateAllocationOrder_prefersMostMissedSizes() {
+    miss(SIZE, SIZE, 2);
+    miss(SIZE / 2, SIZE / 2, 12);
+
+    PreFillQueue allocationOrder = preFiller.generateAllocationOrder();
+
+    // The smaller size uses 3 of the 10 bitmaps in the budget, the larger size is capped by misses.
+    assertThat(allocationOrder.getSize()).isEqualTo(12 + 2);
+    int smaller = 0;
+    while (!allocationOrder.isEmpty()) {
+      if (allocationOrder.remove().getWidth() == SIZE / 2) {
+        smaller++;
+      }
+    }
+    assertThat(smaller).isEqualTo(12);
+  }
+
+  @Test
+  public void generateAllocationOrder_limitsNumberOfSizes() {
+    for (int i = 1; i <= AutoBitmapPreFiller.MAX_PRE_FILL_SIZES + 1; i++) {
+      miss(i, i, AutoBitmapPreFiller.MIN_MISSES);
+    }
+
+    assertThat(preFiller.generateAllocationOrder().getSize())
+        .isEqualTo(AutoBitmapPreFiller.MAX_PRE_FILL_SIZES * AutoBitmapPreFiller.MIN_MISSES);
+  }
+
+  @Test
+  public void onMiss_withTooManySizes_dropsLeastMissedSize() {
+    miss(SIZE, SIZE, AutoBitmapPreFiller.MIN_MISSES);
+    for (int i = 1; i <= AutoBitmapPreFiller.MAX_COUNTED_SIZES; i++) {
+      miss(i, i, 1);
+    }
+
+    assertThat(preFiller.generateAllocationOrder().getSize())
+        .isEqualTo(AutoBitmapPreFiller.MIN_MISSES);
+  }
+
+  @Test
+  public void start_afterTrimMemory_restoresHalfOfPreviousMisses() {
+    preFiller.start();
+    miss(SIZE, SIZE, 6);
+    preFiller.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    assertThat(file.exists()).isTrue();
+
+    AutoBitmapPreFiller restored = newPreFiller(/* maxPoolFraction= */ 0.5f);
+    restored.restoreMisses();
+
+    assertThat(restored.generateAllocationOrder().getSize()).isEqualTo(3);
+  }
+
+  @Test
+  public void trimMemory_belowUiHidden_doesNotWriteMisses() {
+    preFiller.start();
+    miss(SIZE, SIZE, 6);
+
+    preFiller.trimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+
+    assertThat(file.exists()).isFalse();
+  }
+
+  @Test
+  public void start_withCorruptFile_doesNotPreFill() throws IOException {
+    assertThat(file.createNewFile()).isTrue();
+
+    preFiller.start();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertThat(bitmapPool.getCurrentSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void start_withPreviousMisses_preFillsPoolWhenIdle() {
+    preFiller.start();
+    miss(SIZE, SIZE, 8);
+    preFiller.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+    newPreFiller(/* maxPoolFraction= */ 0.5f).start();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertThat(bitmapPool.getCurrentSize()).isEqualTo(4L * BITMAP_BYTES);
+  }
+
+  @Test
+  public void start_afterCancelPreFill_doesNotPreFill() {
+    preFiller.start();
+    miss(SIZE, SIZE, 8);
+    preFiller.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+
+    AutoBitmapPreFiller restored = newPreFiller(/* maxPoolFraction= */ 0.5f);
+    restored.start();
+    restored.cancelPreFill();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertThat(bitmapPool.getCurrentSize()).isEqualTo(0);
+  }
+
+  @Test
+  public void trimMemory_beforeMissesAreRestored_writesOnceRestored() {
+    preFiller.start();
+    miss(SIZE, SIZE, 8);
+    preFiller.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    final List<Runnable> diskTasks = new ArrayList<>();
+    AutoBitmapPreFiller restoring =
+        newPreFiller(
+            /* maxPoolFraction= */ 0.5f,
+            new Executor() {
+              @Override
+              public void execute(Runnable command) {
+                diskTasks.add(command);
+              }
+            });
+    restoring.start();
+    restoring.onMiss(SIZE, SIZE, CONFIG);
+    restoring.onMiss(SIZE, SIZE, CONFIG);
+
+    restoring.trimMemory(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN);
+    AutoBitmapPreFiller beforeRestore = newPreFiller(/* maxPoolFraction= */ 0.5f);
+    beforeRestore.restoreMisses();
+    assertThat(beforeRestore.generateAllocationOrder().getSize()).isEqualTo(4);
+
+    for (Runnable task : new ArrayList<>(diskTasks)) {
+      task.run();
+    }
+    // 8 / 2 misses restored and 2 new misses, halved again when restored by the next run.
+    AutoBitmapPreFiller afterRestore = newPreFiller(/* maxPoolFraction= */ 0.5f);
+    afterRestore.restoreMisses();
+    assertThat(afterRestore.generateAllocationOrder().getSize()).isEqualTo(3);
+  }
+
+  private void miss(int width, int height, int times) {
+    for (int i = 0; i < times; i++) {
+      preFiller.onMiss(width, height, CONFIG);
+    }
+  }
+
+  private AutoBitmapPreFiller newPreFiller(float maxPoolFraction) {
+    return newPreFiller(maxPoolFraction, Executors.directExecutor());
+  }
+
+  private AutoBitmapPreFiller newPreFiller(float maxPoolFraction, Executor diskExecutor) {
+    return new AutoBitmapPreFiller(
+        bitmapPool,
+        new MemoryCacheAdapter(),
+        new GlideSupplier<File>() {
+          @Override
+          public File get() {
+            return file;
+          }
+        },
+        diskExecutor,
+        maxPoolFraction);
+  }
+}
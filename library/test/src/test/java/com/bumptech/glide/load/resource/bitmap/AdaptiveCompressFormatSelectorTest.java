@@ -0,0 +1,68 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.graphics.Bitmap.CompressFormat;
+import android.os.Build;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.R)
+public class AdaptiveCompressFormatSelectorTest {
+  private static final int PIXELS = 100 * 100;
+  private final AdaptiveCompressFormatSelector selector = new AdaptiveCompressFormatSelector();
+
+  @Test
+  public void select_withoutSamples_triesEachFormatFirst() {
+    assertThat(selector.select(/* hasAlpha= */ false)).isEqualTo(CompressFormat.JPEG);
+    addSamples(CompressFormat.JPEG, /* encodeNanos= */ 1000, /* sizeBytes= */ 1000);
+
+    assertThat(selector.select(/* hasAlpha= */ false)).isEqualTo(CompressFormat.WEBP_LOSSY);
+  }
+
+  @Test
+  public void select_withAlpha_onlyPicksLosslessFormats() {
+    assertThat(selector.select(/* hasAlpha= */ true)).isEqualTo(CompressFormat.PNG);
+    addSamples(CompressFormat.PNG, /* encodeNanos= */ 1000, /* sizeBytes= */ 1000);
+
+    assertThat(selector.select(/* hasAlpha= */ true)).isEqualTo(CompressFormat.WEBP_LOSSLESS);
+  }
+
+  @Test
+  public void select_withSmallerFormatOfSimilarSpeed_picksSmallerFormat() {
+    addSamples(CompressFormat.PNG, /* encodeNanos= */ 1000, /* sizeBytes= */ 4000);
+    addSamples(CompressFormat.WEBP_LOSSLESS, /* encodeNanos= */ 1500, /* sizeBytes= */ 1000);
+
+    assertThat(selector.select(/* hasAlpha= */ true)).isEqualTo(CompressFormat.WEBP_LOSSLESS);
+  }
+
+  @Test
+  public void select_withSmallerButMuchSlowerFormat_picksFasterFormat() {
+    addSamples(CompressFormat.JPEG, /* encodeNanos= */ 1000, /* sizeBytes= */ 4000);
+    addSamples(CompressFormat.WEBP_LOSSY, /* encodeNanos= */ 5000, /* sizeBytes= */ 1000);
+
+    assertThat(selector.select(/* hasAlpha= */ false)).isEqualTo(CompressFormat.JPEG);
+  }
+
+  @Test
+  public void select_periodically_triesOtherFormats() {
+    addSamples(CompressFormat.JPEG, /* encodeNanos= */ 1000, /* sizeBytes= */ 4000);
+    addSamples(CompressFormat.WEBP_LOSSY, /* encodeNanos= */ 5000, /* sizeBytes= */ 1000);
+
+    boolean isWebpSelected = false;
+    for (int i = 0; i < AdaptiveCompressFormatSelector.RESAMPLE_INTERVAL; i++) {
+      isWebpSelected |= selector.select(/* hasAlpha= */ false) == CompressFormat.WEBP_LOSSY;
+    }
+
+    assertThat(isWebpSelected).isTrue();
+  }
+
+  private void addSamples(CompressFormat format, long encodeNanos, long sizeBytes) {
+    for (int i = 0; i < AdaptiveCompressFormatSelector.MIN_SAMPLES; i++) {
+      selector.onEncoded(format, PIXELS, encodeNanos, sizeBytes);
+    }
+  }
+}
@@ -9,12 +9,14 @@ import static org.mockito.Mockito.when;
 
 import android.graphics.Bitmap;
 import android.graphics.Bitmap.CompressFormat;
+import android.os.Build;
 import androidx.test.core.app.ApplicationProvider;
 import com.bumptech.glide.load.EncodeStrategy;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.engine.Resource;
 import com.bumptech.glide.load.engine.bitmap_recycle.ArrayPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.load.resource.bitmap.BitmapEncoder.CompressFormatStrategy;
 import com.bumptech.glide.util.ByteBufferUtil;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -81,6 +83,43 @@ public class BitmapEncoderTest {
     assertThat(harness.encode()).isEqualTo(harness.expectedData(CompressFormat.PNG, 90));
   }
 
+  @Test
+  @Config(sdk = Build.VERSION_CODES.R)
+  public void testEncoderEncodesWebpLosslessWithWebpStrategyAndBitmapWithAlpha()
+      throws IOException {
+    harness.setFormatStrategy(CompressFormatStrategy.WEBP);
+    harness.bitmap.setHasAlpha(true);
+
+    assertThat(harness.encode()).isEqualTo(harness.expectedData(CompressFormat.WEBP_LOSSLESS, 90));
+  }
+
+  @Test
+  @Config(sdk = Build.VERSION_CODES.R)
+  public void testEncoderEncodesWebpLossyWithWebpStrategyAndBitmapWithoutAlpha()
+      throws IOException {
+    harness.setFormatStrategy(CompressFormatStrategy.WEBP);
+    harness.bitmap.setHasAlpha(false);
+
+    assertThat(harness.encode()).isEqualTo(harness.expectedData(CompressFormat.WEBP_LOSSY, 90));
+  }
+
+  @Test
+  public void testEncoderEncodesPngWithWebpStrategyBeforeApi30() throws IOException {
+    harness.setFormatStrategy(CompressFormatStrategy.WEBP);
+    harness.bitmap.setHasAlpha(true);
+
+    assertThat(harness.encode()).isEqualTo(harness.expectedData(CompressFormat.PNG, 90));
+  }
+
+  @Test
+  @Config(sdk = Build.VERSION_CODES.R)
+  public void testEncoderObeysNonNullCompressFormatOverStrategy() throws IOException {
+    harness.setFormat(CompressFormat.JPEG);
+    harness.setFormatStrategy(CompressFormatStrategy.WEBP);
+
+    assertThat(harness.encode()).isEqualTo(harness.expectedData(CompressFormat.JPEG, 90));
+  }
+
   @Test
   public void testReturnsTrueFromWrite() {
     BitmapEncoder encoder = new BitmapEncoder(harness.arrayPool);
@@ -112,6 +151,10 @@ public class BitmapEncoderTest {
       options.set(BitmapEncoder.COMPRESSION_FORMAT, format);
     }
 
+    void setFormatStrategy(CompressFormatStrategy strategy) {
+      options.set(BitmapEncoder.COMPRESSION_FORMAT_STRATEGY, strategy);
+    }
+
     byte[] encode() throws IOException {
       BitmapEncoder encoder = new BitmapEncoder(arrayPool);
       encoder.encode(resource, file, options);
@@ -0,0 +1,127 @@
+package com.bumptech.glide.load.resource.bitmap;
+
+import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import androidx.test.core.app.ApplicationProvider;
+import com.bumptech.glide.load.EncodeStrategy;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceEncoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPoolAdapter;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
+import com.bumptech.glide.util.ByteBufferUtil;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = ROBOLECTRIC_SDK)
+public class RawBitmapEncoderTest {
+  private final Options options = new Options();
+  private ResourceEncoder<Bitmap> compressedEncoder;
+  private RawBitmapEncoder encoder;
+  private File file;
+
+  @SuppressWarnings("unchecked")
+  @Before
+  public void setUp() {
+    compressedEncoder = mock(ResourceEncoder.class);
+    encoder = new RawBitmapEncoder(compressedEncoder, new LruArrayPool());
+    file = new File(ApplicationProvider.getApplicationContext().getCacheDir(), "raw");
+  }
+
+  @After
+  public void tearDown() {
+    // GC before delete() to release files on Windows (https://stackoverflow.com/a/4213208/253468)
+    System.gc();
+    if (file.exists() && !file.delete()) {
+      throw new IllegalStateException("Failed to delete: " + file);
+    }
+  }
+
+  @Test
+  public void encode_withDefaultOptions_usesCompressedEncoder() {
+    Resource<Bitmap> resource = newResource(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+
+    encoder.encode(resource, file, options);
+
+    verify(compressedEncoder).encode(resource, file, options);
+  }
+
+  @Test
+  public void encode_withBitmapAboveMaxPixelCount_usesCompressedEncoder() {
+    options.set(RawBitmapEncoder.MAX_PIXEL_COUNT, 99);
+    Resource<Bitmap> resource = newResource(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+
+    encoder.encode(resource, file, options);
+
+    verify(compressedEncoder).encode(resource, file, options);
+  }
+
+  @Test
+  public void encode_withBitmapAtMaxPixelCount_writesRawBitmap() throws IOException {
+    options.set(RawBitmapEncoder.MAX_PIXEL_COUNT, 100);
+    Resource<Bitmap> resource = newResource(Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888));
+
+    assertThat(encoder.encode(resource, file, options)).isTrue();
+
+    verify(compressedEncoder, never())
+        .encode(any(Resource.class), any(File.class), any(Options.class));
+    ByteBuffer data = ByteBufferUtil.fromFile(file);
+    assertThat(RawBitmapHeader.isRawBitmap(data)).isTrue();
+    assertThat(data.remaining()).isEqualTo(RawBitmapHeader.SIZE + 10 * 10 * 4);
+  }
+
+  @Test
+  public void encode_thenDecode_restoresBitmap() throws IOException {
+    options.set(RawBitmapEncoder.MAX_PIXEL_COUNT, 100);
+    Bitmap bitmap = Bitmap.createBitmap(10, 5, Bitmap.Config.ARGB_8888);
+    bitmap.setHasAlpha(false);
+    encoder.encode(newResource(bitmap), file, options);
+
+    RawBitmapDecoder decoder = new RawBitmapDecoder(new BitmapPoolAdapter());
+    ByteBuffer data = ByteBufferUtil.fromFile(file);
+    assertThat(decoder.handles(data, options)).isTrue();
+    Bitmap decoded = decoder.decode(data, 100, 100, options).get();
+
+    assertThat(decoded.getWidth()).isEqualTo(10);
+    assertThat(decoded.getHeight()).isEqualTo(5);
+    assertThat(decoded.getConfig()).isEqualTo(Bitmap.Config.ARGB_8888);
+    assertThat(decoded.hasAlpha()).isFalse();
+  }
+
+  @Test
+  public void decoder_doesNotHandleCompressedData() {
+    RawBitmapDecoder decoder = new RawBitmapDecoder(new BitmapPoolAdapter());
+    byte[] jpegStart = new byte[RawBitmapHeader.SIZE];
+    jpegStart[0] = (byte) 0xFF;
+    jpegStart[1] = (byte) 0xD8;
+
+    assertThat(decoder.handles(ByteBuffer.wrap(jpegStart), options)).isFalse();
+  }
+
+  @Test
+  public void getEncodeStrategy_returnsCompressedEncoderStrategy() {
+    when(compressedEncoder.getEncodeStrategy(eq(options))).thenReturn(EncodeStrategy.TRANSFORMED);
+
+    assertThat(encoder.getEncodeStrategy(options)).isEqualTo(EncodeStrategy.TRANSFORMED);
+  }
+
+  private static Resource<Bitmap> newResource(Bitmap bitmap) {
+    return BitmapResource.obtain(bitmap, new BitmapPoolAdapter());
+  }
+}
@@ -7,23 +7,30 @@ import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import android.graphics.Bitmap;
 import androidx.test.core.app.ApplicationProvider;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.gifdecoder.GifHeader;
 import com.bumptech.glide.gifdecoder.GifHeaderParser;
+import com.bumptech.glide.gifdecoder.SeekableGifDecoder;
 import com.bumptech.glide.load.ImageHeaderParser;
 import com.bumptech.glide.load.Options;
 import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
 import com.bumptech.glide.load.engine.bitmap_recycle.LruArrayPool;
 import com.bumptech.glide.load.resource.bitmap.DefaultImageHeaderParser;
+import com.bumptech.glide.tests.TearDownGlide;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
@@ -35,6 +42,8 @@ import org.robolectric.annotation.Config;
 @RunWith(RobolectricTestRunner.class)
 @Config(sdk = ROBOLECTRIC_SDK)
 public class ByteBufferGifDecoderTest {
+  @Rule public final TearDownGlide tearDownGlide = new TearDownGlide();
+
   private static final byte[] GIF_HEADER = new byte[] {0x47, 0x49, 0x46};
   private static final int ARRAY_POOL_SIZE_BYTES = 4 * 1024 * 1024;
 
@@ -144,4 +153,78 @@ public class ByteBufferGifDecoderTest {
 
     assertNull(decoder.decode(ByteBuffer.allocate(10), 100, 100, options));
   }
+
+  @Test
+  public void testParsesAllFramesIfLazyHeaderParsingIsSetWithoutIndexingExecutor() {
+    options.set(GifOptions.LAZY_HEADER_PARSING, true);
+    when(gifHeader.getNumFrames()).thenReturn(1);
+    when(gifHeader.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    when(gifDecoder.getNextFrame())
+        .thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+
+    assertThat(decoder.decode(ByteBuffer.allocate(10), 100, 100, options)).isNotNull();
+
+    verify(parser).parseHeader();
+    verify(parser, never()).parseHeader(anyInt());
+  }
+
+  @Test
+  public void testParsesOnlyFirstFrameAndIndexesInBackgroundIfLazyHeaderParsingIsSet() {
+    Executor indexingExecutor = mock(Executor.class);
+    decoder = newDecoderWithIndexingExecutor(indexingExecutor);
+    options.set(GifOptions.LAZY_HEADER_PARSING, true);
+    when(parser.parseHeader(1)).thenReturn(gifHeader);
+    when(gifHeader.getNumFrames()).thenReturn(1);
+    when(gifHeader.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    SeekableGifDecoder seekableGifDecoder = mock(SeekableGifDecoder.class);
+    when(decoderFactory.build(
+            isA(GifDecoder.BitmapProvider.class), eq(gifHeader), isA(ByteBuffer.class), anyInt()))
+        .thenReturn(seekableGifDecoder);
+    when(seekableGifDecoder.getNextFrame())
+        .thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+
+    GifDrawableResource resource = decoder.decode(ByteBuffer.allocate(10), 100, 100, options);
+
+    assertThat(resource).isNotNull();
+    verify(parser, never()).parseHeader();
+    verify(indexingExecutor).execute(isA(Runnable.class));
+  }
+
+  @Test
+  public void testParsesAllFramesIfLazyHeaderParsingIsSetWithDecoderThatCannotUpdateHeader() {
+    Executor indexingExecutor = mock(Executor.class);
+    decoder = newDecoderWithIndexingExecutor(indexingExecutor);
+    options.set(GifOptions.LAZY_HEADER_PARSING, true);
+    GifHeader partialHeader = Mockito.spy(new GifHeader());
+    when(partialHeader.getNumFrames()).thenReturn(1);
+    when(partialHeader.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    when(parser.parseHeader(1)).thenReturn(partialHeader);
+    when(decoderFactory.build(
+            isA(GifDecoder.BitmapProvider.class),
+            eq(partialHeader),
+            isA(ByteBuffer.class),
+            anyInt()))
+        .thenReturn(gifDecoder);
+    when(gifHeader.getNumFrames()).thenReturn(3);
+    when(gifHeader.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    when(gifDecoder.getNextFrame())
+        .thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    ByteBuffer data = ByteBuffer.allocate(10);
+
+    assertThat(decoder.decode(data, 100, 100, options)).isNotNull();
+
+    verify(gifDecoder).setData(gifHeader, data, /* sampleSize= */ 1);
+    verify(indexingExecutor, never()).execute(isA(Runnable.class));
+  }
+
+  private ByteBufferGifDecoder newDecoderWithIndexingExecutor(Executor indexingExecutor) {
+    return new ByteBufferGifDecoder(
+        ApplicationProvider.getApplicationContext(),
+        new ArrayList<ImageHeaderParser>(),
+        bitmapPool,
+        new LruArrayPool(ARRAY_POOL_SIZE_BYTES),
+        parserPool,
+        decoderFactory,
+        indexingExecutor);
+  }
 }
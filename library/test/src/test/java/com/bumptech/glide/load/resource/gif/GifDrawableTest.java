@@ -6,6 +6,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -14,7 +15,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.robolectric.Shadows.shadowOf;
 
+import android.app.Activity;
 import android.app.Application;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -28,7 +31,9 @@ import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.TransitionDrawable;
 import android.os.Build;
+import android.os.Looper;
 import android.view.View;
+import android.widget.FrameLayout;
 import androidx.test.core.app.ApplicationProvider;
 import com.bumptech.glide.gifdecoder.GifDecoder;
 import com.bumptech.glide.load.Transformation;
@@ -43,6 +48,7 @@ import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 import org.robolectric.shadow.api.Shadow;
@@ -615,6 +621,119 @@ public class GifDrawableTest {
     assertThat(drawable.isRunning()).isTrue();
   }
 
+  @Test
+  public void onFrameReady_withOffScreenView_pausesWithoutStopping() {
+    // Views that aren't attached to a window are never on screen.
+    drawable.setCallback(new View(context));
+    drawable.start();
+    drawable.onFrameReady();
+
+    assertThat(drawable.isRunning()).isTrue();
+    assertThat(drawable.isPausedOffScreen()).isTrue();
+    verify(frameLoader).unsubscribe(drawable);
+  }
+
+  @Test
+  public void resumeIfOnScreen_afterPausedOffScreen_resubscribes() {
+    drawable.setCallback(new View(context));
+    drawable.start();
+    drawable.onFrameReady();
+    drawable.setCallback(cb);
+
+    drawable.resumeIfOnScreen();
+
+    assertThat(drawable.isPausedOffScreen()).isFalse();
+    verify(frameLoader, times(2)).subscribe(drawable);
+  }
+
+  @Test
+  public void onPreDraw_afterPausedOffScreen_resubscribesOnceOnScreen() {
+    View view = new View(context);
+    drawable.setCallback(view);
+    drawable.start();
+    drawable.onFrameReady();
+
+    view.getViewTreeObserver().dispatchOnPreDraw();
+    assertThat(drawable.isPausedOffScreen()).isTrue();
+
+    drawable.setCallback(cb);
+    view.getViewTreeObserver().dispatchOnPreDraw();
+    assertThat(drawable.isPausedOffScreen()).isFalse();
+    view.getViewTreeObserver().dispatchOnPreDraw();
+    verify(frameLoader, times(2)).subscribe(drawable);
+  }
+
+  @Test
+  public void setVisible_whilePausedOffScreenAndOnScreen_resubscribes() {
+    drawable.setCallback(new View(context));
+    drawable.start();
+    drawable.onFrameReady();
+    drawable.setCallback(cb);
+
+    drawable.setVisible(true, /* restart= */ false);
+
+    assertThat(drawable.isPausedOffScreen()).isFalse();
+    verify(frameLoader, times(2)).subscribe(drawable);
+  }
+
+  @Test
+  public void stop_whilePausedOffScreen_clearsPause() {
+    drawable.setCallback(new View(context));
+    drawable.start();
+    drawable.onFrameReady();
+
+    drawable.stop();
+    drawable.resumeIfOnScreen();
+
+    assertThat(drawable.isPausedOffScreen()).isFalse();
+    verify(frameLoader, times(1)).subscribe(drawable);
+  }
+
+  @Test
+  public void onFrameReady_withShownView_doesNotCheckVisibleRect() {
+    View view = mock(View.class);
+    when(view.getWindowVisibility()).thenReturn(View.VISIBLE);
+    when(view.isShown()).thenReturn(true);
+    drawable.setCallback(view);
+    drawable.start();
+
+    drawable.onFrameReady();
+
+    assertThat(drawable.isPausedOffScreen()).isFalse();
+    verify(view, never()).getGlobalVisibleRect(any(Rect.class));
+  }
+
+  @Test
+  public void stop_afterViewDetachedWhilePaused_removesListenerFromOldWindow() {
+    FrameLayout parent = attachToActivity();
+    View view = new View(context);
+    view.setVisibility(View.INVISIBLE);
+    parent.addView(view);
+    shadowOf(Looper.getMainLooper()).idle();
+    drawable.setCallback(view);
+    drawable.start();
+    drawable.onFrameReady();
+    assertThat(drawable.isPausedOffScreen()).isTrue();
+
+    parent.removeView(view);
+    drawable.stop();
+    drawable.start();
+    drawable.onFrameReady();
+    drawable.setCallback(cb);
+    // Only the listener added to the detached View's new observer should remain.
+    parent.getViewTreeObserver().dispatchOnPreDraw();
+
+    assertThat(drawable.isPausedOffScreen()).isTrue();
+  }
+
+  private FrameLayout attachToActivity() {
+    Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+    FrameLayout parent = new FrameLayout(activity);
+    activity.setContentView(parent);
+    shadowOf(Looper.getMainLooper()).idle();
+    return parent;
+  }
+
   private void verifyRanLoops(int loopCount, int frameCount) {
     // 1 for invalidate in start().
     verify(cb, times(1 + loopCount * frameCount)).invalidateDrawable(eq(drawable));
@@ -4,6 +4,7 @@ import static com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
@@ -24,9 +25,12 @@ import com.bumptech.glide.Glide;
 import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.RequestManager;
 import com.bumptech.glide.gifdecoder.GifDecoder;
+import com.bumptech.glide.gifdecoder.GifHeader;
+import com.bumptech.glide.gifdecoder.SeekableGifDecoder;
 import com.bumptech.glide.load.Transformation;
 import com.bumptech.glide.load.resource.gif.GifFrameLoader.DelayTarget;
 import com.bumptech.glide.load.resource.gif.GifFrameLoader.FrameCallback;
+import com.bumptech.glide.manager.AnimationThrottler;
 import com.bumptech.glide.request.Request;
 import com.bumptech.glide.request.RequestOptions;
 import com.bumptech.glide.request.target.Target;
@@ -34,6 +38,7 @@ import com.bumptech.glide.tests.TearDownGlide;
 import com.bumptech.glide.tests.Util.ReturnsSelfAnswer;
 import com.bumptech.glide.util.Util;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -52,7 +57,7 @@ public class GifFrameLoaderTest {
   @Rule public TearDownGlide tearDownGlide = new TearDownGlide();
 
   @Mock private GifFrameLoader.FrameCallback callback;
-  @Mock private GifDecoder gifDecoder;
+  @Mock private SeekableGifDecoder gifDecoder;
   @Mock private Handler handler;
   @Mock private Transformation<Bitmap> transformation;
   @Mock private RequestManager requestManager;
@@ -371,6 +376,181 @@ public class GifFrameLoaderTest {
     verify(callback, times(1)).onFrameReady();
   }
 
+  @Test
+  public void seekTo_whileRunning_seeksDecoderInsteadOfAdvancingForNextFrame() {
+    when(gifDecoder.getFrameCount()).thenReturn(10);
+    loader.seekTo(5);
+    // The in flight frame is stale, so it's discarded and the requested frame is loaded instead.
+    DelayTarget staleFrame = mock(DelayTarget.class);
+    when(staleFrame.getResource())
+        .thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    loader.onFrameReady(staleFrame);
+
+    verify(callback, never()).onFrameReady();
+    verify(gifDecoder).seekTo(5);
+    verify(gifDecoder, times(1)).advance();
+    verify(requestBuilder, times(2)).into(aTarget());
+  }
+
+  @Test
+  public void seekTo_whileNotRunning_withPendingFrame_clearsPendingFrame() {
+    when(gifDecoder.getFrameCount()).thenReturn(10);
+    loader = createGifFrameLoader(/* handler= */ null);
+    loader.unsubscribe(callback);
+    DelayTarget pendingFrame = mock(DelayTarget.class);
+    when(pendingFrame.getResource())
+        .thenReturn(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    loader.onFrameReady(pendingFrame);
+
+    loader.seekTo(3);
+    verify(requestManager).clear(pendingFrame);
+    verify(gifDecoder, never()).seekTo(anyInt());
+
+    loader.subscribe(callback);
+    verify(gifDecoder).seekTo(3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void seekTo_withFrameIndexOutOfRange_throws() {
+    when(gifDecoder.getFrameCount()).thenReturn(10);
+    loader.seekTo(10);
+  }
+
+  @Test
+  public void seekTo_withDecoderThatCannotSeek_throws() {
+    GifDecoder nonSeekableDecoder = mock(GifDecoder.class);
+    when(nonSeekableDecoder.getFrameCount()).thenReturn(10);
+    loader =
+        new GifFrameLoader(
+            getGlideSingleton().getBitmapPool(),
+            requestManager,
+            nonSeekableDecoder,
+            handler,
+            requestBuilder,
+            transformation,
+            firstFrame);
+    assertThat(loader.canSeek()).isFalse();
+
+    try {
+      loader.seekTo(1);
+      fail("Expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void indexFrames_whileRunning_doesNotLoadFramesUntilIndexed() {
+    loader = newUnsubscribedGifFrameLoader();
+    Executor executor = mock(Executor.class);
+    loader.indexFrames(executor, ByteBuffer.allocate(10));
+    verify(executor).execute(isA(Runnable.class));
+    assertThat(loader.isIndexing()).isTrue();
+
+    // The loader created in setUp shares the decoder and has already loaded one frame.
+    loader.subscribe(callback);
+    verify(gifDecoder, times(1)).advance();
+
+    GifHeader header = mock(GifHeader.class);
+    when(header.getStatus()).thenReturn(GifDecoder.STATUS_OK);
+    when(header.getNumFrames()).thenReturn(3);
+    when(gifDecoder.getFrameCount()).thenReturn(1);
+    loader.onFramesIndexed(header);
+
+    assertThat(loader.isIndexing()).isFalse();
+    verify(gifDecoder).updateHeader(header);
+    verify(gifDecoder, times(2)).advance();
+    verify(requestBuilder, times(2)).into(aTarget());
+  }
+
+  @Test
+  public void onFramesIndexed_withFailedHeader_keepsFirstFrameOnly() {
+    loader = newUnsubscribedGifFrameLoader();
+    loader.indexFrames(mock(Executor.class), ByteBuffer.allocate(10));
+    loader.subscribe(callback);
+
+    GifHeader header = mock(GifHeader.class);
+    when(header.getStatus()).thenReturn(GifDecoder.STATUS_FORMAT_ERROR);
+    when(header.getNumFrames()).thenReturn(3);
+    when(gifDecoder.getFrameCount()).thenReturn(1);
+    loader.onFramesIndexed(header);
+
+    assertThat(loader.isIndexing()).isFalse();
+    verify(gifDecoder, never()).updateHeader(isA(GifHeader.class));
+    // Only by the loader created in setUp.
+    verify(gifDecoder, times(1)).advance();
+  }
+
+  @Test
+  public void onFramesIndexed_afterClear_doesNotUpdateDecoder() {
+    loader = newUnsubscribedGifFrameLoader();
+    loader.indexFrames(mock(Executor.class), ByteBuffer.allocate(10));
+    loader.clear();
+
+    GifHeader header = mock(GifHeader.class);
+    when(header.getNumFrames()).thenReturn(3);
+    loader.onFramesIndexed(header);
+
+    verify(gifDecoder, never()).updateHeader(isA(GifHeader.class));
+  }
+
+  @Test
+  public void onFrameReady_whileThrottled_holdsFrameUntilUnthrottled() {
+    AnimationThrottler throttler = new AnimationThrottler(/* maxRunningAnimations= */ 1);
+    loader = newUnsubscribedGifFrameLoader(throttler);
+    loader.subscribe(callback);
+    // Starting another animation throttles the loader because it was drawn less recently.
+    AnimationThrottler.Animation other = mock(AnimationThrottler.Animation.class);
+    throttler.onAnimationStarted(other);
+    assertThat(loader.isThrottled()).isTrue();
+
+    DelayTarget target = mock(DelayTarget.class);
+    when(target.getResource()).thenReturn(Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888));
+    loader.onFrameReady(target);
+
+    verify(callback, never()).onFrameReady();
+    // Once by the loader created in setUp and once for the first frame of this loader.
+    verify(requestBuilder, times(2)).into(aTarget());
+
+    throttler.onAnimationStopped(other);
+
+    assertThat(loader.isThrottled()).isFalse();
+    verify(callback).onFrameReady();
+    verify(requestBuilder, times(3)).into(aTarget());
+  }
+
+  @Test
+  public void clear_whileRunning_resumesThrottledAnimations() {
+    AnimationThrottler throttler = new AnimationThrottler(/* maxRunningAnimations= */ 1);
+    loader = newUnsubscribedGifFrameLoader(throttler);
+    AnimationThrottler.Animation other = mock(AnimationThrottler.Animation.class);
+    throttler.onAnimationStarted(other);
+    loader.subscribe(callback);
+    verify(other).setThrottled(true);
+
+    loader.clear();
+
+    verify(other).setThrottled(false);
+  }
+
+  @NonNull
+  private GifFrameLoader newUnsubscribedGifFrameLoader() {
+    return newUnsubscribedGifFrameLoader(new AnimationThrottler(AnimationThrottler.UNLIMITED));
+  }
+
+  @NonNull
+  private GifFrameLoader newUnsubscribedGifFrameLoader(AnimationThrottler throttler) {
+    return new GifFrameLoader(
+        getGlideSingleton().getBitmapPool(),
+        requestManager,
+        gifDecoder,
+        handler,
+        requestBuilder,
+        transformation,
+        firstFrame,
+        throttler);
+  }
+
   private DelayTarget newDelayTarget() {
     return new DelayTarget(handler, /* index= */ 0, /* targetTime= */ 0);
   }
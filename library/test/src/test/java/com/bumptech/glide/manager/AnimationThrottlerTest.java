@@ -0,0 +1,104 @@
+package com.bumptech.glide.manager;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.bumptech.glide.manager.AnimationThrottler.Animation;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class AnimationThrottlerTest {
+
+  @Test
+  public void onAnimationStarted_withUnlimitedAnimations_neverThrottles() {
+    AnimationThrottler throttler = new AnimationThrottler(AnimationThrottler.UNLIMITED);
+    Animation first = mock(Animation.class);
+    Animation second = mock(Animation.class);
+
+    assertThat(throttler.onAnimationStarted(first)).isTrue();
+    assertThat(throttler.onAnimationStarted(second)).isTrue();
+    verify(first, never()).setThrottled(anyBoolean());
+  }
+
+  @Test
+  public void onAnimationStarted_overLimit_throttlesLeastRecentlyDrawn() {
+    AnimationThrottler throttler = new AnimationThrottler(/* maxRunningAnimations= */ 2);
+    Animation first = mock(Animation.class);
+    Animation second = mock(Animation.class);
+    Animation third = mock(Animation.class);
+    throttler.onAnimationStarted(first);
+    throttler.onAnimationStarted(second);
+    throttler.onAnimationDrawn(first);
+
+    assertThat(throttler.onAnimationStarted(third)).isTrue();
+
+    verify(second).setThrottled(true);
+    verify(first, never()).setThrottled(anyBoolean());
+  }
+
+  @Test
+  public void onAnimationStopped_withThrottledAnimations_resumesMostRecentlyDrawn() {
+    AnimationThrottler throttler = new AnimationThrottler(/* maxRunningAnimations= */ 1);
+    Animation first = mock(Animation.class);
+    Animation second = mock(Animation.class);
+    Animation third = mock(Animation.class);
+    throttler.onAnimationStarted(first);
+    throttler.onAnimationStarted(second);
+    throttler.onAnimationStarted(third);
+    throttler.onAnimationDrawn(first);
+
+    throttler.onAnimationStopped(third);
+
+    verify(first).setThrottled(false);
+    verify(second, never()).setThrottled(false);
+  }
+
+  @Test
+  public void onLifecycleStopped_withLastStartedLifecycle_throttlesAll() {
+    AnimationThrottler throttler = new AnimationThrottler(AnimationThrottler.UNLIMITED);
+    LifecycleListener listener = throttler.newLifecycleListener();
+    listener.onStart();
+    Animation animation = mock(Animation.class);
+    throttler.onAnimationStarted(animation);
+
+    listener.onStop();
+
+    verify(animation).setThrottled(true);
+    assertThat(throttler.onAnimationStarted(mock(Animation.class))).isFalse();
+  }
+
+  @Test
+  public void onLifecycleStopped_withOtherStartedLifecycle_doesNotThrottle() {
+    AnimationThrottler throttler = new AnimationThrottler(AnimationThrottler.UNLIMITED);
+    LifecycleListener first = throttler.newLifecycleListener();
+    LifecycleListener second = throttler.newLifecycleListener();
+    first.onStart();
+    second.onStart();
+    Animation animation = mock(Animation.class);
+    throttler.onAnimationStarted(animation);
+
+    first.onStop();
+    first.onDestroy();
+
+    verify(animation, never()).setThrottled(anyBoolean());
+  }
+
+  @Test
+  public void onLifecycleStarted_afterAllStopped_resumesThrottledAnimations() {
+    AnimationThrottler throttler = new AnimationThrottler(AnimationThrottler.UNLIMITED);
+    LifecycleListener listener = throttler.newLifecycleListener();
+    listener.onStart();
+    Animation animation = mock(Animation.class);
+    throttler.onAnimationStarted(animation);
+    listener.onStop();
+
+    listener.onStart();
+
+    verify(animation).setThrottled(false);
+  }
+}
@@ -0,0 +1,69 @@
+package com.bumptech.glide.provider;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ClassTripleTableTest {
+  private static final Class<?>[] CLASSES = {
+    Object.class, String.class, Integer.class, Long.class, Float.class, Double.class,
+  };
+
+  private final ClassTripleTable<String> table = new ClassTripleTable<>();
+
+  @Test
+  public void get_withMissingKey_returnsNull() {
+    assertThat(table.get(Object.class, String.class, Integer.class)).isNull();
+  }
+
+  @Test
+  public void get_afterPut_returnsValueOnlyForSameOrder() {
+    table.put(Object.class, String.class, Integer.class, "value");
+
+    assertThat(table.get(Object.class, String.class, Integer.class)).isEqualTo("value");
+    assertThat(table.get(Integer.class, String.class, Object.class)).isNull();
+  }
+
+  @Test
+  public void put_withExistingKey_replacesValue() {
+    table.put(Object.class, String.class, Integer.class, "first");
+    table.put(Object.class, String.class, Integer.class, "second");
+
+    assertThat(table.get(Object.class, String.class, Integer.class)).isEqualTo("second");
+  }
+
+  @Test
+  public void put_withManyKeys_keepsAllValues() {
+    for (Class<?> first : CLASSES) {
+      for (Class<?> second : CLASSES) {
+        for (Class<?> third : CLASSES) {
+          table.put(first, second, third, name(first, second, third));
+        }
+      }
+    }
+
+    for (Class<?> first : CLASSES) {
+      for (Class<?> second : CLASSES) {
+        for (Class<?> third : CLASSES) {
+          assertThat(table.get(first, second, third)).isEqualTo(name(first, second, third));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void clear_removesValues() {
+    table.put(Object.class, String.class, Integer.class, "value");
+
+    table.clear();
+
+    assertThat(table.get(Object.class, String.class, Integer.class)).isNull();
+  }
+
+  private static String name(Class<?> first, Class<?> second, Class<?> third) {
+    return first.getSimpleName() + second.getSimpleName() + third.getSimpleName();
+  }
+}
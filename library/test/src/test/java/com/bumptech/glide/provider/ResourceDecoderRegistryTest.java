@@ -0,0 +1,68 @@
+package com.bumptech.glide.provider;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.bumptech.glide.load.ResourceDecoder;
+import java.util.Arrays;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class ResourceDecoderRegistryTest {
+  private final ResourceDecoderRegistry registry = new ResourceDecoderRegistry();
+  private final ResourceDecoder<Object, Object> first = mockDecoder();
+  private final ResourceDecoder<Object, Object> second = mockDecoder();
+  private final ResourceDecoder<Object, Object> third = mockDecoder();
+
+  @Test
+  public void getDecoders_returnsDecodersInBucketPriorityOrder() {
+    registry.setBucketPriorityList(Arrays.asList("high", "low"));
+    registry.append("low", second, Object.class, Object.class);
+    registry.append("high", first, Object.class, Object.class);
+
+    assertThat(registry.getDecoders(Object.class, Object.class))
+        .containsExactly(first, second)
+        .inOrder();
+  }
+
+  @Test
+  public void getDecoders_afterPrepend_returnsPrependedDecoderFirstInBucket() {
+    registry.append("bucket", second, Object.class, Object.class);
+    registry.getDecoders(Object.class, Object.class);
+
+    registry.prepend("bucket", first, Object.class, Object.class);
+
+    assertThat(registry.getDecoders(Object.class, Object.class))
+        .containsExactly(first, second)
+        .inOrder();
+  }
+
+  @Test
+  public void getDecoders_afterBucketPriorityChange_returnsDecodersInNewOrder() {
+    registry.append("a", first, Object.class, Object.class);
+    registry.append("b", second, Object.class, Object.class);
+    registry.append("c", third, Object.class, Object.class);
+    registry.getDecoders(Object.class, Object.class);
+
+    registry.setBucketPriorityList(Arrays.asList("c", "a"));
+
+    assertThat(registry.getDecoders(Object.class, Object.class))
+        .containsExactly(third, first, second)
+        .inOrder();
+  }
+
+  @Test
+  public void getDecoders_withUnrelatedResourceClass_returnsEmpty() {
+    registry.append("bucket", first, Object.class, Object.class);
+    registry.append("bucket", mockDecoder(), String.class, Integer.class);
+
+    assertThat(registry.getDecoders(String.class, Long.class)).isEmpty();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T, R> ResourceDecoder<T, R> mockDecoder() {
+    return mock(ResourceDecoder.class);
+  }
+}
@@ -1,6 +1,7 @@
 package com.bumptech.glide.request;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertThrows;
 
 import android.app.Application;
 import android.graphics.Bitmap;
@@ -22,6 +23,7 @@ import com.bumptech.glide.util.Util;
 import com.google.common.testing.EqualsTester;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.function.ThrowingRunnable;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -42,6 +44,150 @@ public class RequestOptionsTest {
     app = ApplicationProvider.getApplicationContext();
   }
 
+  @Test
+  public void clone_sharesOptionsAndTransformations() {
+    options.set(Option.memory("test"), true).transform(Bitmap.class, transformation).lock();
+
+    RequestOptions clone = options.clone();
+
+    assertThat(clone.getOptions()).isSameInstanceAs(options.getOptions());
+    assertThat(clone.getTransformations()).isSameInstanceAs(options.getTransformations());
+  }
+
+  @Test
+  public void clone_thenModifyClone_doesNotModifyOriginal() {
+    Option<Boolean> first = Option.memory("first");
+    Option<Boolean> second = Option.memory("second");
+    options.set(first, true).transform(Bitmap.class, transformation);
+
+    RequestOptions clone = options.clone().set(second, true).dontTransform();
+
+    assertThat(options.getOptions().get(second)).isNull();
+    assertThat(options.getTransformations()).containsKey(Bitmap.class);
+    assertThat(clone.getOptions().get(first)).isTrue();
+    assertThat(clone.getOptions().get(second)).isTrue();
+    assertThat(clone.getTransformations()).isEmpty();
+  }
+
+  @Test
+  public void clone_thenModifyOriginal_doesNotModifyClone() {
+    Option<Boolean> first = Option.memory("first");
+    Option<Boolean> second = Option.memory("second");
+    options.set(first, true);
+
+    RequestOptions clone = options.clone();
+    options.set(second, true).transform(Bitmap.class, transformation);
+
+    assertThat(clone.getOptions().get(second)).isNull();
+    assertThat(clone.getTransformations()).isEmpty();
+  }
+
+  @Test
+  public void apply_toEmptyOptions_sharesOptionsAndTransformations() {
+    RequestOptions shared =
+        new RequestOptions()
+            .set(Option.memory("test"), true)
+            .transform(Bitmap.class, transformation)
+            .lock();
+
+    options.apply(shared);
+
+    assertThat(options.getOptions()).isSameInstanceAs(shared.getOptions());
+    assertThat(options.getTransformations()).isSameInstanceAs(shared.getTransformations());
+  }
+
+  @Test
+  public void apply_thenModify_doesNotModifyAppliedOptions() {
+    Option<Boolean> second = Option.memory("second");
+    RequestOptions shared =
+        new RequestOptions().set(Option.memory("first"), true).transform(transformation);
+
+    options.apply(shared).set(second, true).dontTransform();
+
+    assertThat(shared.getOptions().get(second)).isNull();
+    assertThat(shared.getTransformations()).isNotEmpty();
+  }
+
+  @Test
+  public void apply_toNonEmptyOptions_mergesOptions() {
+    Option<Boolean> first = Option.memory("first");
+    Option<Boolean> second = Option.memory("second");
+    RequestOptions shared = new RequestOptions().set(second, true).lock();
+    options.set(first, true);
+
+    options.apply(shared);
+
+    assertThat(options.getOptions().get(first)).isTrue();
+    assertThat(options.getOptions().get(second)).isTrue();
+    assertThat(shared.getOptions().get(first)).isNull();
+  }
+
+  @Test
+  public void apply_sameLockedOptionsToTwoInstances_thenModifyEach_doesNotModifyOthers() {
+    Option<Boolean> shared = Option.memory("shared");
+    Option<Boolean> first = Option.memory("first");
+    Option<Boolean> second = Option.memory("second");
+    RequestOptions locked =
+        new RequestOptions().set(shared, true).transform(Bitmap.class, transformation).lock();
+    RequestOptions firstOptions = new RequestOptions().apply(locked);
+    RequestOptions secondOptions = new RequestOptions().apply(locked);
+
+    firstOptions.set(first, true).dontTransform();
+    secondOptions.set(second, true);
+
+    assertThat(firstOptions.getOptions().get(shared)).isTrue();
+    assertThat(firstOptions.getOptions().get(second)).isNull();
+    assertThat(firstOptions.getTransformations()).isEmpty();
+    assertThat(secondOptions.getOptions().get(shared)).isTrue();
+    assertThat(secondOptions.getOptions().get(first)).isNull();
+    assertThat(secondOptions.getTransformations()).containsKey(Bitmap.class);
+    assertThat(locked.getOptions().get(first)).isNull();
+    assertThat(locked.getOptions().get(second)).isNull();
+    assertThat(locked.getTransformations()).containsKey(Bitmap.class);
+  }
+
+  @Test
+  public void apply_withUnlockedOptions_copiesOptionsAndTransformations() {
+    RequestOptions unlocked =
+        new RequestOptions().set(Option.memory("test"), true).transform(transformation);
+
+    options.apply(unlocked);
+
+    assertThat(options.getOptions()).isNotSameInstanceAs(unlocked.getOptions());
+    assertThat(options.getTransformations()).isNotSameInstanceAs(unlocked.getTransformations());
+  }
+
+  @Test
+  public void apply_withUnlockedOptions_thenModifyAppliedOptions_doesNotModifyOptions() {
+    Option<Boolean> second = Option.memory("second");
+    RequestOptions unlocked = new RequestOptions().set(Option.memory("first"), true);
+    options.apply(unlocked);
+
+    unlocked.set(second, true).transform(transformation);
+
+    assertThat(options.getOptions().get(second)).isNull();
+    assertThat(options.getTransformations()).isEmpty();
+  }
+
+  @Test
+  public void set_onLockedOptions_throwsWithoutModifyingSharedOptions() {
+    final Option<Boolean> other = Option.memory("other");
+    final RequestOptions locked = new RequestOptions().set(Option.memory("test"), true).lock();
+    options.apply(locked);
+
+    assertThrows(
+        IllegalStateException.class,
+        new ThrowingRunnable() {
+          @Override
+          public void run() {
+            locked.set(other, true);
+          }
+        });
+
+    assertThat(locked.getOptions().get(other)).isNull();
+    assertThat(options.getOptions().get(other)).isNull();
+  }
+
   @Test
   public void isScaleOnlyOrNoTransform_byDefault_isTrue() {
     assertThat(options.isScaleOnlyOrNoTransform()).isTrue();
@@ -0,0 +1,44 @@
+package com.bumptech.glide.tests;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the bytes allocated by the current thread so that tests can assert that hot paths don't
+ * allocate.
+ *
+ * <p>Relies on the JVM's {@link com.sun.management.ThreadMXBean}, so tests should skip themselves
+ * when {@link #isSupported()} returns {@code false}.
+ */
+public final class AllocationCounter {
+
+  private AllocationCounter() {
+    // Utility class.
+  }
+
+  public static boolean isSupported() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return false;
+    }
+    com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+    if (!sunBean.isThreadAllocatedMemorySupported()) {
+      return false;
+    }
+    if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+      sunBean.setThreadAllocatedMemoryEnabled(true);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the total number of bytes allocated by the current thread so far.
+   *
+   * <p>Only valid if {@link #isSupported()} returns {@code true}.
+   */
+  public static long getAllocatedBytes() {
+    com.sun.management.ThreadMXBean bean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+}
@@ -158,4 +158,24 @@ public class ContentLengthInputStreamTest {
     assertThat(is.read()).isEqualTo(0xFF);
     assertThat(is.read()).isEqualTo(-1);
   }
+
+  @Test
+  public void getRemainingByteCount_afterRead_returnsContentLengthOffsetByRead()
+      throws IOException {
+    ContentLengthInputStream is =
+        (ContentLengthInputStream)
+            ContentLengthInputStream.obtain(new ByteArrayInputStream(new byte[10]), 10);
+    assertThat(is.read(new byte[4])).isEqualTo(4);
+
+    assertThat(is.getRemainingByteCount()).isEqualTo(6);
+  }
+
+  @Test
+  public void getRemainingByteCount_withUnknownContentLength_returnsUnknown() {
+    ContentLengthInputStream is =
+        (ContentLengthInputStream)
+            ContentLengthInputStream.obtain(wrapped, null /*contentLengthHeader*/);
+
+    assertThat(is.getRemainingByteCount()).isEqualTo(ContentLengthInputStream.UNKNOWN);
+  }
 }
@@ -0,0 +1,108 @@
+package com.bumptech.glide.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = com.bumptech.glide.RobolectricConstants.ROBOLECTRIC_SDK)
+public class FrameBudgetSchedulerTest {
+  private final List<String> ran = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    shadowOf(Looper.getMainLooper()).pause();
+  }
+
+  @Test
+  public void execute_doesNotRunCommandUntilFrame() {
+    FrameBudgetScheduler scheduler = newScheduler(/* frameBudgetNanos= */ Long.MAX_VALUE / 2);
+    scheduler.lowPriorityExecutor().execute(record("first"));
+
+    assertThat(ran).isEmpty();
+    scheduler.doFrame(/* frameTimeNanos= */ 0);
+
+    assertThat(ran).containsExactly("first");
+  }
+
+  @Test
+  public void doFrame_withinBudget_runsAllCommandsInOrder() {
+    FrameBudgetScheduler scheduler = newScheduler(/* frameBudgetNanos= */ Long.MAX_VALUE / 2);
+    scheduler.lowPriorityExecutor().execute(record("first"));
+    scheduler.lowPriorityExecutor().execute(record("second"));
+    scheduler.lowPriorityExecutor().execute(record("third"));
+
+    scheduler.doFrame(/* frameTimeNanos= */ 0);
+
+    assertThat(ran).containsExactly("first", "second", "third").inOrder();
+    assertThat(scheduler.getPendingCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void doFrame_withBudgetExceeded_runsOneCommandPerFrame() {
+    FrameBudgetScheduler scheduler = newScheduler(/* frameBudgetNanos= */ 0);
+    scheduler.lowPriorityExecutor().execute(record("first"));
+    scheduler.lowPriorityExecutor().execute(record("second"));
+
+    scheduler.doFrame(/* frameTimeNanos= */ 0);
+    assertThat(ran).containsExactly("first");
+    assertThat(scheduler.getPendingCount()).isEqualTo(1);
+
+    scheduler.doFrame(/* frameTimeNanos= */ TimeUnit.MILLISECONDS.toNanos(16));
+    assertThat(ran).containsExactly("first", "second").inOrder();
+  }
+
+  @Test
+  public void doFrame_runsHighPriorityCommandsFirst() {
+    FrameBudgetScheduler scheduler = newScheduler(/* frameBudgetNanos= */ Long.MAX_VALUE / 2);
+    scheduler.lowPriorityExecutor().execute(record("low"));
+    scheduler.highPriorityExecutor().execute(record("high"));
+
+    scheduler.doFrame(/* frameTimeNanos= */ 0);
+
+    assertThat(ran).containsExactly("high", "low").inOrder();
+  }
+
+  @Test
+  public void execute_onBackgroundThread_runsCommandOnMainThreadFrame()
+      throws InterruptedException {
+    final FrameBudgetScheduler scheduler =
+        newScheduler(/* frameBudgetNanos= */ Long.MAX_VALUE / 2);
+    Thread thread =
+        new Thread(
+            new Runnable() {
+              @Override
+              public void run() {
+                scheduler.lowPriorityExecutor().execute(record("background"));
+              }
+            });
+    thread.start();
+    thread.join();
+
+    shadowOf(Looper.getMainLooper()).idleFor(1, TimeUnit.SECONDS);
+
+    assertThat(ran).containsExactly("background");
+  }
+
+  private static FrameBudgetScheduler newScheduler(long frameBudgetNanos) {
+    return new FrameBudgetScheduler(frameBudgetNanos);
+  }
+
+  private Runnable record(final String name) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        ran.add(name);
+      }
+    };
+  }
+}
@@ -0,0 +1,83 @@
+package com.bumptech.glide.gifdecoder;
+
+import android.graphics.Bitmap;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes the frames of an animated image one at a time.
+ *
+ * <p>This is the part of {@link GifDecoder} that's needed to play an animation, so that decoders
+ * for other animated formats can be played the same way as GIFs without implementing GIF specific
+ * methods.
+ */
+public interface AnimatedFrameSource {
+
+  /** The total iteration count which means repeat forever. */
+  int TOTAL_ITERATION_COUNT_FOREVER = 0;
+
+  /**
+   * Returns the encoded data the frames are decoded from.
+   */
+  @NonNull
+  ByteBuffer getData();
+
+  /**
+   * Move the animation frame counter forward.
+   */
+  void advance();
+
+  /**
+   * Gets display duration for the upcoming frame in ms.
+   */
+  int getNextDelay();
+
+  /**
+   * Gets the number of frames read from file.
+   *
+   * @return frame count.
+   */
+  int getFrameCount();
+
+  /**
+   * Gets the current index of the animation frame, or -1 if animation hasn't not yet started.
+   *
+   * @return frame index.
+   */
+  int getCurrentFrameIndex();
+
+  /**
+   * Resets the frame pointer to before the 0th frame, as if we'd never used this decoder to
+   * decode any frames.
+   */
+  void resetFrameIndex();
+
+  /**
+   * Gets the total count which represents how many times the animation sequence should be
+   * displayed. A count of 0 ({@link #TOTAL_ITERATION_COUNT_FOREVER}) means repeat indefinitely.
+   * It must not be a negative value.
+   *
+   * @return total iteration count.
+   */
+  int getTotalIterationCount();
+
+  /**
+   * Returns an estimated byte size for this decoder based on the data returned by
+   * {@link #getData()}, as well as internal buffers.
+   */
+  int getByteSize();
+
+  /**
+   * Get the next frame in the animation sequence.
+   *
+   * @return Bitmap representation of frame.
+   */
+  @Nullable
+  Bitmap getNextFrame();
+
+  /**
+   * Releases the resources held by this decoder.
+   */
+  void clear();
+}
@@ -12,7 +12,7 @@ import java.nio.ByteBuffer;
 /**
  * Shared interface for GIF decoders.
  */
-public interface GifDecoder {
+public interface GifDecoder extends AnimatedFrameSource {
 
   /** File read status: No errors. */
   int STATUS_OK = 0;
@@ -22,8 +22,6 @@ public interface GifDecoder {
   int STATUS_OPEN_ERROR = 2;
   /** Unable to fully decode the current frame. */
   int STATUS_PARTIAL_DECODE = 3;
-  /** The total iteration count which means repeat forever. */
-  int TOTAL_ITERATION_COUNT_FOREVER = 0;
 
   /** Android Lint annotation for status codes that can be used with a GIF decoder. */
   @Retention(RetentionPolicy.SOURCE)
@@ -81,9 +79,6 @@ public interface GifDecoder {
 
   int getHeight();
 
-  @NonNull
-  ByteBuffer getData();
-
   /**
    * Returns the current status of the decoder.
    *
@@ -94,11 +89,6 @@ public interface GifDecoder {
   @GifDecodeStatus
   int getStatus();
 
-  /**
-   * Move the animation frame counter forward.
-   */
-  void advance();
-
   /**
    * Gets display duration for specified frame.
    *
@@ -107,31 +97,6 @@ public interface GifDecoder {
    */
   int getDelay(int n);
 
-  /**
-   * Gets display duration for the upcoming frame in ms.
-   */
-  int getNextDelay();
-
-  /**
-   * Gets the number of frames read from file.
-   *
-   * @return frame count.
-   */
-  int getFrameCount();
-
-  /**
-   * Gets the current index of the animation frame, or -1 if animation hasn't not yet started.
-   *
-   * @return frame index.
-   */
-  int getCurrentFrameIndex();
-
-  /**
-   * Resets the frame pointer to before the 0th frame, as if we'd never used this decoder to
-   * decode any frames.
-   */
-  void resetFrameIndex();
-
   /**
    * Gets the "Netscape" loop count, if any. A count of 0 means repeat indefinitely.
    *
@@ -182,20 +147,6 @@ public interface GifDecoder {
    */
   int getTotalIterationCount();
 
-  /**
-   * Returns an estimated byte size for this decoder based on the data provided to {@link
-   * #setData(GifHeader, byte[])}, as well as internal buffers.
-   */
-  int getByteSize();
-
-  /**
-   * Get the next frame in the animation sequence.
-   *
-   * @return Bitmap representation of frame.
-   */
-  @Nullable
-  Bitmap getNextFrame();
-
   /**
    * Reads GIF image from stream.
    *
@@ -205,8 +156,6 @@ public interface GifDecoder {
   @GifDecodeStatus
   int read(@Nullable InputStream is, int contentLength);
 
-  void clear();
-
   void setData(@NonNull GifHeader header, @NonNull byte[] data);
 
   void setData(@NonNull GifHeader header, @NonNull ByteBuffer buffer);
@@ -156,6 +156,23 @@ public class GifHeaderParser {
 
   @NonNull
   public GifHeader parseHeader() {
+    return parseHeader(Integer.MAX_VALUE /* maxFrames */);
+  }
+
+  /**
+   * Parses the logical screen descriptor and at most {@code maxFrames} frames.
+   *
+   * <p>Stopping early avoids walking every frame of large GIFs when only the first few frames are
+   * needed right away. The returned header only describes the frames that were read, so callers
+   * that need the full frame count must parse the data again with {@link #parseHeader()}.
+   *
+   * @param maxFrames The maximum number of frames to read, must be greater than 0.
+   */
+  @NonNull
+  public GifHeader parseHeader(int maxFrames) {
+    if (maxFrames <= 0) {
+      throw new IllegalArgumentException("Max frames must be > 0, not: " + maxFrames);
+    }
     if (rawData == null) {
       throw new IllegalStateException("You must call setData() before parseHeader()");
     }
@@ -165,7 +182,7 @@ public class GifHeaderParser {
 
     readHeader();
     if (!err()) {
-      readContents();
+      readContents(maxFrames);
       if (header.frameCount < 0) {
         header.status = STATUS_FORMAT_ERROR;
       }
@@ -186,20 +203,13 @@ public class GifHeaderParser {
     return header.frameCount > 1;
   }
 
-  /**
-   * Main file parser. Reads GIF content blocks.
-   */
-  private void readContents() {
-    readContents(Integer.MAX_VALUE /* maxFrames */);
-  }
-
   /**
    * Main file parser. Reads GIF content blocks. Stops after reading maxFrames
    */
   private void readContents(int maxFrames) {
     // Read GIF file content blocks.
     boolean done = false;
-    while (!(done || err() || header.frameCount > maxFrames)) {
+    while (!(done || err() || header.frameCount >= maxFrames)) {
       int code = read();
       switch (code) {
         case IMAGE_SEPARATOR:
@@ -0,0 +1,23 @@
+package com.bumptech.glide.gifdecoder;
+
+/**
+ * An {@link AnimatedFrameSource} that can jump to an arbitrary frame.
+ *
+ * <p>Seeking is optional, callers should check whether a frame source implements this interface
+ * before seeking.
+ */
+public interface SeekableFrameSource extends AnimatedFrameSource {
+
+  /**
+   * Moves the frame pointer to the given frame so that the next call to {@link #getNextFrame()}
+   * returns it.
+   *
+   * <p>Frames can depend on the contents of earlier frames, so the next call to
+   * {@link #getNextFrame()} may need to decode the frames in between the closest keyframe and the
+   * requested frame.
+   *
+   * @param frameIndex The index of the frame to seek to, in the range 0..{@link #getFrameCount()}
+   *                   - 1.
+   */
+  void seekTo(int frameIndex);
+}
@@ -0,0 +1,52 @@
+package com.bumptech.glide.gifdecoder;
+
+import androidx.annotation.NonNull;
+
+/**
+ * A {@link GifDecoder} that can seek to arbitrary frames, retain keyframe snapshots to speed up
+ * seeking and replace its header with a more complete one without losing its place.
+ *
+ * <p>These methods are optional so that existing {@link GifDecoder} implementations don't have to
+ * provide them, callers should check whether a decoder implements this interface first.
+ */
+public interface SeekableGifDecoder extends GifDecoder, SeekableFrameSource {
+
+  /**
+   * Moves the frame pointer to the given frame so that the next call to {@link #getNextFrame()}
+   * returns it.
+   *
+   * <p>Frames can depend on the contents of earlier frames, so the next call to
+   * {@link #getNextFrame()} may need to decode the frames in between the closest keyframe snapshot
+   * (see {@link #setKeyframeSnapshots(int, int)}) and the requested frame.
+   *
+   * @param frameIndex The index of the frame to seek to, in the range 0..{@link #getFrameCount()}
+   *                   - 1.
+   */
+  @Override
+  void seekTo(int frameIndex);
+
+  /**
+   * Sets how often a copy of the composited canvas is retained while decoding so that
+   * {@link #seekTo(int)} only needs to replay frames from the nearest copy.
+   *
+   * <p>Disabled by default. If the new limits no longer allow the snapshots that are already
+   * retained, the snapshots of the latest frames are released until they do.
+   *
+   * @param frameInterval    The number of frames between snapshots, or 0 to disable snapshots.
+   * @param maxSnapshotBytes The maximum number of bytes used by all retained snapshots combined.
+   */
+  void setKeyframeSnapshots(int frameInterval, int maxSnapshotBytes);
+
+  /**
+   * Replaces the header of the current data with a more complete header parsed from the same data,
+   * for example once every frame has been read after the decoder was created from a header
+   * produced by {@link GifHeaderParser#parseHeader(int)}.
+   *
+   * <p>Unlike {@link #setData(GifHeader, java.nio.ByteBuffer, int)}, the current frame and the decoded
+   * canvas are retained.
+   *
+   * @param header A header for the current data that contains at least as many frames as the
+   *               current header.
+   */
+  void updateHeader(@NonNull GifHeader header);
+}
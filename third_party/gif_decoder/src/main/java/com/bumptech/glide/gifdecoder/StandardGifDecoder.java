@@ -39,7 +39,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * Reads frame data from a GIF image source and decodes it into individual frames for animation
@@ -54,12 +56,17 @@ import java.util.Arrays;
  * next frame.  This method must also be called before you request the first frame or an error
  * will occur.
  *
+ * <p>Arbitrary frames can be reached with {@link #seekTo(int)}. Because frames may depend on the
+ * contents of earlier frames via their disposal methods, seeking replays every frame between the
+ * closest known canvas state and the requested frame. Enabling keyframe snapshots via
+ * {@link #setKeyframeSnapshots(int, int)} bounds that replay to the snapshot interval.
+ *
  * <p>Implementation adapted from sample code published in Lyons. (2004). <em>Java for
  * Programmers</em>, republished under the MIT Open Source License
  *
  * @see <a href="https://www.w3.org/Graphics/GIF/spec-gif89a.txt">GIF 89a Specification</a>
  */
-public class StandardGifDecoder implements GifDecoder {
+public class StandardGifDecoder implements SeekableGifDecoder {
   private static final String TAG = StandardGifDecoder.class.getSimpleName();
 
   /** Maximum pixel stack size for decoding LZW compressed data. */
@@ -119,6 +126,17 @@ public class StandardGifDecoder implements GifDecoder {
   @NonNull
   private Bitmap.Config bitmapConfig = Config.ARGB_8888;
 
+  // Seeking and keyframe snapshot state.
+  /** The index of the frame whose composited pixels are currently held in mainScratch. */
+  private int composedFramePointer = INITIAL_FRAME_POINTER;
+  /** True if the frame pointer was moved by seekTo and the canvas has yet to catch up. */
+  private boolean isSeekPending;
+  private int snapshotInterval;
+  private int maxSnapshotBytes;
+  private int snapshotBytes;
+  /** Snapshots ordered by ascending frame index. */
+  private final List<Snapshot> snapshots = new ArrayList<>();
+
   // Public API.
   @SuppressWarnings("unused")
   public StandardGifDecoder(
@@ -223,9 +241,36 @@ public class StandardGifDecoder implements GifDecoder {
     return header.loopCount + 1;
   }
 
+  @Override
+  public synchronized void seekTo(int frameIndex) {
+    if (frameIndex < 0 || frameIndex >= header.frameCount) {
+      throw new IllegalArgumentException(
+          "Frame index must be >= 0 and < " + header.frameCount + ", not: " + frameIndex);
+    }
+    framePointer = frameIndex;
+    isSeekPending = true;
+  }
+
+  @Override
+  public synchronized void setKeyframeSnapshots(int frameInterval, int maxSnapshotBytes) {
+    if (frameInterval < 0) {
+      throw new IllegalArgumentException("Frame interval must be >= 0, not: " + frameInterval);
+    }
+    if (frameInterval != snapshotInterval) {
+      releaseSnapshots();
+    }
+    this.snapshotInterval = frameInterval;
+    this.maxSnapshotBytes = maxSnapshotBytes;
+    // Snapshots are taken in frame order until the budget runs out, so trim from the end too.
+    while (snapshotBytes > maxSnapshotBytes && !snapshots.isEmpty()) {
+      releaseSnapshot(snapshots.remove(snapshots.size() - 1));
+    }
+  }
+
   @Override
   public int getByteSize() {
-    return rawData.limit() + mainPixels.length + (mainScratch.length * BYTES_PER_INTEGER);
+    return rawData.limit() + mainPixels.length + (mainScratch.length * BYTES_PER_INTEGER)
+        + snapshotBytes;
   }
 
   @Nullable
@@ -252,6 +297,63 @@ public class StandardGifDecoder implements GifDecoder {
       block = bitmapProvider.obtainByteArray(255);
     }
 
+    if (isSeekPending) {
+      isSeekPending = false;
+      if (!replayUpTo(framePointer)) {
+        return null;
+      }
+    }
+
+    if (!composeCurrentFrame()) {
+      return null;
+    }
+
+    // Set pixels for current image.
+    Bitmap result = getNextBitmap();
+    result.setPixels(
+        mainScratch, 0, downsampledWidth, 0, 0, downsampledWidth, downsampledHeight);
+    return result;
+  }
+
+  /**
+   * Brings the canvas up to date with the frame immediately before {@code targetFrameIndex} so
+   * that the target frame can be composited on top of it, starting from whichever is closest of
+   * the current canvas, the nearest keyframe snapshot or the first frame.
+   */
+  private boolean replayUpTo(int targetFrameIndex) {
+    // The first frame always starts from a cleared canvas.
+    if (targetFrameIndex == 0) {
+      return true;
+    }
+    int startFrameIndex = INITIAL_FRAME_POINTER;
+    if (composedFramePointer < targetFrameIndex) {
+      startFrameIndex = composedFramePointer;
+    }
+    Snapshot snapshot = findSnapshotBefore(targetFrameIndex);
+    if (snapshot != null && snapshot.frameIndex > startFrameIndex) {
+      restoreSnapshot(snapshot);
+      startFrameIndex = snapshot.frameIndex;
+    }
+    if (Log.isLoggable(TAG, Log.VERBOSE)) {
+      Log.v(TAG, "Seeking to frame #" + targetFrameIndex + ", replaying from frame #"
+          + (startFrameIndex + 1));
+    }
+    for (int i = startFrameIndex + 1; i < targetFrameIndex; i++) {
+      framePointer = i;
+      if (!composeCurrentFrame()) {
+        framePointer = targetFrameIndex;
+        return false;
+      }
+    }
+    framePointer = targetFrameIndex;
+    return true;
+  }
+
+  /**
+   * Composites the frame at the current frame pointer into {@link #mainScratch}, taking a keyframe
+   * snapshot afterwards if one is due.
+   */
+  private boolean composeCurrentFrame() {
     GifFrame currentFrame = header.frames.get(framePointer);
     GifFrame previousFrame = null;
     int previousIndex = framePointer - 1;
@@ -267,7 +369,7 @@ public class StandardGifDecoder implements GifDecoder {
       }
       // No color table defined.
       status = STATUS_FORMAT_ERROR;
-      return null;
+      return false;
     }
 
     // Reset the transparent pixel in the color table
@@ -287,8 +389,84 @@ public class StandardGifDecoder implements GifDecoder {
       }
     }
 
-    // Transfer pixel data to image.
-    return setPixels(currentFrame, previousFrame);
+    // Transfer pixel data to the canvas.
+    setPixels(currentFrame, previousFrame);
+    composedFramePointer = framePointer;
+    maybeTakeSnapshot();
+    return true;
+  }
+
+  @Nullable
+  private Snapshot findSnapshotBefore(int frameIndex) {
+    Snapshot result = null;
+    for (int i = 0, size = snapshots.size(); i < size; i++) {
+      Snapshot snapshot = snapshots.get(i);
+      if (snapshot.frameIndex >= frameIndex) {
+        break;
+      }
+      result = snapshot;
+    }
+    return result;
+  }
+
+  private void maybeTakeSnapshot() {
+    if (snapshotInterval <= 0 || framePointer == 0 || framePointer % snapshotInterval != 0) {
+      return;
+    }
+    int insertIndex = 0;
+    for (int size = snapshots.size(); insertIndex < size; insertIndex++) {
+      int existingFrameIndex = snapshots.get(insertIndex).frameIndex;
+      if (existingFrameIndex == framePointer) {
+        return;
+      } else if (existingFrameIndex > framePointer) {
+        break;
+      }
+    }
+    int pixelCount = downsampledWidth * downsampledHeight;
+    int snapshotSize = pixelCount * BYTES_PER_INTEGER * (previousImage != null ? 2 : 1);
+    if (snapshotBytes + snapshotSize > maxSnapshotBytes) {
+      return;
+    }
+
+    int[] pixels = bitmapProvider.obtainIntArray(pixelCount);
+    System.arraycopy(mainScratch, 0, pixels, 0, pixelCount);
+    int[] previousPixels = null;
+    if (previousImage != null) {
+      previousPixels = bitmapProvider.obtainIntArray(pixelCount);
+      previousImage.getPixels(previousPixels, 0, downsampledWidth, 0, 0, downsampledWidth,
+          downsampledHeight);
+    }
+    snapshots.add(insertIndex, new Snapshot(framePointer, pixels, previousPixels, snapshotSize));
+    snapshotBytes += snapshotSize;
+  }
+
+  private void restoreSnapshot(@NonNull Snapshot snapshot) {
+    System.arraycopy(snapshot.pixels, 0, mainScratch, 0, downsampledWidth * downsampledHeight);
+    if (snapshot.previousPixels != null) {
+      if (previousImage == null) {
+        previousImage = getNextBitmap();
+      }
+      previousImage.setPixels(snapshot.previousPixels, 0, downsampledWidth, 0, 0,
+          downsampledWidth, downsampledHeight);
+    } else if (previousImage != null) {
+      bitmapProvider.release(previousImage);
+      previousImage = null;
+    }
+    composedFramePointer = snapshot.frameIndex;
+  }
+
+  private void releaseSnapshots() {
+    for (int i = snapshots.size() - 1; i >= 0; i--) {
+      releaseSnapshot(snapshots.remove(i));
+    }
+  }
+
+  private void releaseSnapshot(@NonNull Snapshot snapshot) {
+    bitmapProvider.release(snapshot.pixels);
+    if (snapshot.previousPixels != null) {
+      bitmapProvider.release(snapshot.previousPixels);
+    }
+    snapshotBytes -= snapshot.byteSize;
   }
 
   @Override
@@ -341,6 +519,7 @@ public class StandardGifDecoder implements GifDecoder {
     if (block != null) {
       bitmapProvider.release(block);
     }
+    releaseSnapshots();
   }
 
   @Override
@@ -364,6 +543,9 @@ public class StandardGifDecoder implements GifDecoder {
     this.status = STATUS_OK;
     this.header = header;
     framePointer = INITIAL_FRAME_POINTER;
+    composedFramePointer = INITIAL_FRAME_POINTER;
+    isSeekPending = false;
+    releaseSnapshots();
     // Initialize the raw data buffer.
     rawData = buffer.asReadOnlyBuffer();
     rawData.position(0);
@@ -387,6 +569,36 @@ public class StandardGifDecoder implements GifDecoder {
     mainScratch = bitmapProvider.obtainIntArray(downsampledWidth * downsampledHeight);
   }
 
+  @Override
+  public synchronized void updateHeader(@NonNull GifHeader header) {
+    if (header.width != this.header.width || header.height != this.header.height
+        || header.frameCount < this.header.frameCount) {
+      throw new IllegalArgumentException("Header does not match the current data");
+    }
+    this.header = header;
+    if (savePrevious) {
+      return;
+    }
+    for (GifFrame frame : header.frames) {
+      if (frame.dispose == DISPOSAL_PREVIOUS) {
+        savePrevious = true;
+        break;
+      }
+    }
+    // Frames composed so far weren't saved because the partial header had no frames that restore
+    // the previous canvas, so save the current canvas now as if we had known all along.
+    if (savePrevious && composedFramePointer >= 0) {
+      GifFrame composedFrame = header.frames.get(composedFramePointer);
+      if (composedFrame.dispose == DISPOSAL_UNSPECIFIED || composedFrame.dispose == DISPOSAL_NONE) {
+        if (previousImage == null) {
+          previousImage = getNextBitmap();
+        }
+        previousImage.setPixels(mainScratch, 0, downsampledWidth, 0, 0, downsampledWidth,
+            downsampledHeight);
+      }
+    }
+  }
+
   @NonNull
   private GifHeaderParser getHeaderParser() {
     if (parser == null) {
@@ -417,10 +629,10 @@ public class StandardGifDecoder implements GifDecoder {
   }
 
   /**
-   * Creates new frame image from current data (and previous frames as specified by their
-   * disposition codes).
+   * Composites the current frame into the canvas held by {@link #mainScratch} from current data
+   * (and previous frames as specified by their disposition codes).
    */
-  private Bitmap setPixels(GifFrame currentFrame, GifFrame previousFrame) {
+  private void setPixels(GifFrame currentFrame, GifFrame previousFrame) {
     // Final location of blended pixels.
     final int[] dest = mainScratch;
 
@@ -492,11 +704,6 @@ public class StandardGifDecoder implements GifDecoder {
       previousImage.setPixels(dest, 0, downsampledWidth, 0, 0, downsampledWidth,
           downsampledHeight);
     }
-
-    // Set pixels for current image.
-    Bitmap result = getNextBitmap();
-    result.setPixels(dest, 0, downsampledWidth, 0, 0, downsampledWidth, downsampledHeight);
-    return result;
   }
 
   @SuppressWarnings("checkstyle:UnnecessaryParentheses") // Readability
@@ -849,4 +1056,26 @@ public class StandardGifDecoder implements GifDecoder {
     result.setHasAlpha(true);
     return result;
   }
+
+  /**
+   * A copy of the canvas, and of the image saved for {@link GifFrame#DISPOSAL_PREVIOUS} if any,
+   * taken immediately after a given frame was composited.
+   */
+  private static final class Snapshot {
+    final int frameIndex;
+    @ColorInt
+    final int[] pixels;
+    @Nullable
+    @ColorInt
+    final int[] previousPixels;
+    final int byteSize;
+
+    Snapshot(int frameIndex, @ColorInt int[] pixels, @Nullable @ColorInt int[] previousPixels,
+        int byteSize) {
+      this.frameIndex = frameIndex;
+      this.pixels = pixels;
+      this.previousPixels = previousPixels;
+      this.byteSize = byteSize;
+    }
+  }
 }
@@ -6,8 +6,12 @@ import static org.junit.Assert.assertTrue;
 
 import android.graphics.Bitmap;
 import androidx.annotation.NonNull;
+import com.bumptech.glide.gifdecoder.test.GifBytesTestUtil;
 import com.bumptech.glide.testutil.TestUtil;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -170,6 +174,228 @@ public class GifDecoderTest {
     assertTrue(firstFrame.sameAs(firstFrameTwice));
   }
 
+  @Test
+  public void testSeekToDecodesSameFrameAsAdvancing() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    GifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.advance();
+    decoder.getNextFrame();
+    decoder.advance();
+    Bitmap secondFrame = decoder.getNextFrame();
+
+    SeekableGifDecoder seekingDecoder = new StandardGifDecoder(provider);
+    seekingDecoder.setData(header, data);
+    seekingDecoder.seekTo(1);
+    assertEquals(1, seekingDecoder.getCurrentFrameIndex());
+    Bitmap seekedFrame = seekingDecoder.getNextFrame();
+    assertTrue(secondFrame.sameAs(seekedFrame));
+  }
+
+  @Test
+  public void testSeekToFirstFrameAfterPlaying() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.advance();
+    Bitmap firstFrame = decoder.getNextFrame();
+    decoder.advance();
+    decoder.getNextFrame();
+
+    decoder.seekTo(0);
+    Bitmap seekedFrame = decoder.getNextFrame();
+    assertTrue(firstFrame.sameAs(seekedFrame));
+  }
+
+  @Test
+  public void testSeekToWithKeyframeSnapshotsDecodesSameFrameAsAdvancing() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 1, /*maxSnapshotBytes=*/ Integer.MAX_VALUE);
+    int sizeWithoutSnapshots = decoder.getByteSize();
+    decoder.advance();
+    decoder.getNextFrame();
+    decoder.advance();
+    Bitmap secondFrame = decoder.getNextFrame();
+    assertTrue(decoder.getByteSize() > sizeWithoutSnapshots);
+
+    decoder.seekTo(0);
+    decoder.getNextFrame();
+    decoder.seekTo(1);
+    Bitmap seekedFrame = decoder.getNextFrame();
+    assertTrue(secondFrame.sameAs(seekedFrame));
+  }
+
+  @Test
+  public void testSeekToAcrossKeyframeSnapshotsDecodesSameFramesAsAdvancing() {
+    byte[] data = createGifWithDisposals(
+        GifFrame.DISPOSAL_NONE,
+        GifFrame.DISPOSAL_BACKGROUND,
+        GifFrame.DISPOSAL_PREVIOUS,
+        GifFrame.DISPOSAL_NONE,
+        GifFrame.DISPOSAL_PREVIOUS,
+        GifFrame.DISPOSAL_BACKGROUND,
+        GifFrame.DISPOSAL_NONE,
+        GifFrame.DISPOSAL_PREVIOUS);
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    assertEquals(8, header.getNumFrames());
+    GifDecoder advancingDecoder = new StandardGifDecoder(provider);
+    advancingDecoder.setData(header, data);
+    Bitmap[] frames = new Bitmap[header.getNumFrames()];
+    for (int i = 0; i < frames.length; i++) {
+      advancingDecoder.advance();
+      frames[i] = advancingDecoder.getNextFrame();
+    }
+
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 2, /*maxSnapshotBytes=*/ Integer.MAX_VALUE);
+    // Takes snapshots after frames 2, 4 and 6.
+    for (int i = 0; i < frames.length; i++) {
+      decoder.advance();
+      decoder.getNextFrame();
+    }
+
+    // Seeks backwards and forwards past the current frame so that each seek restores the closest
+    // snapshot before the frame. Frames 2 and 4 are disposed to the previous canvas, which the
+    // snapshots also have to restore, and frame 5 is disposed to the background.
+    for (int frameIndex : new int[] {3, 7, 5, 1, 6, 2, 4}) {
+      decoder.seekTo(frameIndex);
+      assertTrue("frame " + frameIndex, frames[frameIndex].sameAs(decoder.getNextFrame()));
+    }
+  }
+
+  @Test
+  public void testKeyframeSnapshotsRespectMaxBytes() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_background.gif");
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 1, /*maxSnapshotBytes=*/ 0);
+    int sizeWithoutSnapshots = decoder.getByteSize();
+    decoder.advance();
+    decoder.getNextFrame();
+    decoder.advance();
+    decoder.getNextFrame();
+    assertEquals(sizeWithoutSnapshots, decoder.getByteSize());
+  }
+
+  @Test
+  public void testLoweringKeyframeSnapshotMaxBytesReleasesLatestSnapshots() {
+    byte[] data = createGifWithDisposals(
+        GifFrame.DISPOSAL_NONE,
+        GifFrame.DISPOSAL_BACKGROUND,
+        GifFrame.DISPOSAL_NONE,
+        GifFrame.DISPOSAL_BACKGROUND,
+        GifFrame.DISPOSAL_NONE);
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    GifDecoder advancingDecoder = new StandardGifDecoder(provider);
+    advancingDecoder.setData(header, data);
+    Bitmap[] frames = new Bitmap[header.getNumFrames()];
+    for (int i = 0; i < frames.length; i++) {
+      advancingDecoder.advance();
+      frames[i] = advancingDecoder.getNextFrame();
+    }
+
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    int sizeWithoutSnapshots = decoder.getByteSize();
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 1, /*maxSnapshotBytes=*/ Integer.MAX_VALUE);
+    // Takes snapshots after frames 1 to 4.
+    for (int i = 0; i < frames.length; i++) {
+      decoder.advance();
+      decoder.getNextFrame();
+    }
+    int snapshotSize = (decoder.getByteSize() - sizeWithoutSnapshots) / 4;
+    assertTrue(snapshotSize > 0);
+
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 1, /*maxSnapshotBytes=*/ 2 * snapshotSize);
+    assertEquals(sizeWithoutSnapshots + 2 * snapshotSize, decoder.getByteSize());
+    // The snapshots of frames 1 and 2 are kept, later frames are replayed from them.
+    for (int frameIndex : new int[] {4, 1, 3}) {
+      decoder.seekTo(frameIndex);
+      assertTrue("frame " + frameIndex, frames[frameIndex].sameAs(decoder.getNextFrame()));
+    }
+
+    decoder.setKeyframeSnapshots(/*frameInterval=*/ 1, /*maxSnapshotBytes=*/ 0);
+    assertEquals(sizeWithoutSnapshots, decoder.getByteSize());
+  }
+
+  @Test
+  public void testUpdateHeaderAfterFirstFrameDecodesSameFramesAsFullHeader() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    GifHeader header = new GifHeaderParser().setData(data).parseHeader();
+    GifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(header, data);
+    decoder.advance();
+    decoder.getNextFrame();
+    decoder.advance();
+    Bitmap secondFrame = decoder.getNextFrame();
+
+    GifHeader partialHeader = new GifHeaderParser().setData(data).parseHeader(1 /*maxFrames*/);
+    SeekableGifDecoder lazyDecoder = new StandardGifDecoder(provider);
+    lazyDecoder.setData(partialHeader, data);
+    assertEquals(1, lazyDecoder.getFrameCount());
+    lazyDecoder.advance();
+    lazyDecoder.getNextFrame();
+
+    lazyDecoder.updateHeader(new GifHeaderParser().setData(data).parseHeader());
+    assertEquals(header.getNumFrames(), lazyDecoder.getFrameCount());
+    assertEquals(0, lazyDecoder.getCurrentFrameIndex());
+    lazyDecoder.advance();
+    assertTrue(secondFrame.sameAs(lazyDecoder.getNextFrame()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUpdateHeaderThrowsIfHeaderHasFewerFrames() throws IOException {
+    byte[] data = TestUtil.resourceToBytes(getClass(), "transparent_disposal_none.gif");
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(new GifHeaderParser().setData(data).parseHeader(), data);
+    decoder.updateHeader(new GifHeaderParser().setData(data).parseHeader(1 /*maxFrames*/));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSeekToThrowsIfFrameIndexIsOutOfRange() {
+    GifHeader gifheader = new GifHeader();
+    gifheader.frameCount = 2;
+    SeekableGifDecoder decoder = new StandardGifDecoder(provider);
+    decoder.setData(gifheader, new byte[0]);
+    decoder.seekTo(2);
+  }
+
+  /**
+   * Returns a 4x4 GIF with one frame per disposal method where each frame draws a different
+   * pattern into a different part of the canvas.
+   */
+  private static byte[] createGifWithDisposals(int... disposals) {
+    int size = 4;
+    int numColors = 4;
+    ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, size, size, /*hasGct=*/ true, /*gctSize=*/ 1);
+    GifBytesTestUtil.writeColorTable(buffer, numColors);
+    for (int i = 0; i < disposals.length; i++) {
+      int left = i % 3;
+      int top = (i / 2) % 3;
+      int width = size - left;
+      int height = size - top - (i % 2);
+      byte[] colorIndices = new byte[width * height];
+      for (int pixel = 0; pixel < colorIndices.length; pixel++) {
+        colorIndices[pixel] = (byte) ((i + pixel) % numColors);
+      }
+      GifBytesTestUtil.writeGraphicsControlExtension(buffer, /*delayTime=*/ 10, disposals[i]);
+      GifBytesTestUtil.writeImageDescriptor(
+          buffer, left, top, width, height, /*hasLct=*/ false, /*numColors=*/ 0);
+      GifBytesTestUtil.writeImageData(buffer, colorIndices);
+    }
+    // Trailer.
+    buffer.put((byte) 0x3B);
+    return Arrays.copyOf(buffer.array(), buffer.position());
+  }
+
   private static class MockProvider implements GifDecoder.BitmapProvider {
 
     @NonNull
@@ -307,6 +307,37 @@ public class GifHeaderParserTest {
     assertFalse(parser.isAnimated());
   }
 
+  @Test
+  public void testParseHeaderWithMaxFramesStopsAfterMaxFrames() {
+    final int numFrames = 3;
+    final int frameSize =
+        GifBytesTestUtil.IMAGE_DESCRIPTOR_LENGTH
+            + GifBytesTestUtil.getImageDataSize();
+    ByteBuffer buffer =
+        ByteBuffer.allocate(GifBytesTestUtil.HEADER_LENGTH + numFrames * frameSize)
+            .order(ByteOrder.LITTLE_ENDIAN);
+
+    GifBytesTestUtil.writeHeaderAndLsd(buffer, 1, 1, false, 0);
+    for (int i = 0; i < numFrames; i++) {
+      GifBytesTestUtil.writeImageDescriptor(buffer, 0, 0, 1, 1, false /*hasLct*/, 0 /*numColors*/);
+      GifBytesTestUtil.writeFakeImageData(buffer, 2);
+    }
+
+    parser.setData(buffer.array());
+    GifHeader header = parser.parseHeader(1 /*maxFrames*/);
+    assertEquals(GifDecoder.STATUS_OK, header.getStatus());
+    assertEquals(1, header.frameCount);
+    assertEquals(1, header.frames.size());
+
+    parser.setData(buffer.array());
+    assertEquals(numFrames, parser.parseHeader().frameCount);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseHeaderThrowsIfMaxFramesIsNotPositive() {
+    parser.setData(new byte[0]);
+    parser.parseHeader(0 /*maxFrames*/);
+  }
 
   @Test(expected = IllegalStateException.class)
   public void testThrowsIfParseHeaderCalledBeforeSetData() {
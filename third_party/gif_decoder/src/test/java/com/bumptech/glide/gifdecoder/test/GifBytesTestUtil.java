@@ -36,6 +36,60 @@ public class GifBytesTestUtil {
     out.put((byte) 0x00);
   }
 
+  /**
+   * Writes LZW compressed image data for the given indices into a color table with 4 colors.
+   *
+   * <p>A clear code is written before every other index so that the codes never grow beyond 3
+   * bits, which is simple to write at the cost of compression.
+   */
+  public static void writeImageData(ByteBuffer out, byte[] colorIndices) {
+    int lzwMinCodeSize = 2;
+    int clearCode = 1 << lzwMinCodeSize;
+    int endOfInformationCode = clearCode + 1;
+    int codeSize = lzwMinCodeSize + 1;
+
+    ByteBuffer codes = ByteBuffer.allocate(colorIndices.length * 2 * codeSize / 8 + 2);
+    int bits = 0;
+    int bitCount = 0;
+    for (int i = 0; i <= colorIndices.length; i++) {
+      int code;
+      if (i == colorIndices.length) {
+        code = endOfInformationCode;
+      } else if (colorIndices[i] < 0 || colorIndices[i] >= clearCode) {
+        throw new IllegalArgumentException("Color index must be < 4, not: " + colorIndices[i]);
+      } else {
+        code = colorIndices[i];
+      }
+      if (i % 2 == 0 && i < colorIndices.length) {
+        bits |= clearCode << bitCount;
+        bitCount += codeSize;
+      }
+      bits |= code << bitCount;
+      bitCount += codeSize;
+      while (bitCount >= 8) {
+        codes.put((byte) bits);
+        bits >>>= 8;
+        bitCount -= 8;
+      }
+    }
+    if (bitCount > 0) {
+      codes.put((byte) bits);
+    }
+
+    verifyRemaining(out, 1 + codes.position() + (codes.position() / 255 + 1) + 1);
+    out.put((byte) lzwMinCodeSize);
+    codes.flip();
+    while (codes.hasRemaining()) {
+      int blockSize = Math.min(255, codes.remaining());
+      out.put((byte) blockSize);
+      for (int i = 0; i < blockSize; i++) {
+        out.put(codes.get());
+      }
+    }
+    // Block terminator.
+    out.put((byte) 0x00);
+  }
+
   public static void writeColorTable(ByteBuffer out, int numColors) {
     verifyRemaining(out, getColorTableLength(numColors));
     for (int i = 0; i < numColors; i++) {
@@ -104,8 +158,15 @@ public class GifBytesTestUtil {
   }
 
   public static void writeGraphicsControlExtension(ByteBuffer out, int delayTime) {
+    writeGraphicsControlExtension(out, delayTime, /*disposal=*/ 0);
+  }
+
+  public static void writeGraphicsControlExtension(ByteBuffer out, int delayTime, int disposal) {
     verifyRemaining(out, GRAPHICS_CONTROL_EXTENSION_LENGTH);
     verifyShortValues(delayTime);
+    if (disposal < 0 || disposal > 7) {
+      throw new IllegalArgumentException("Disposal must be between 0 and 7, not: " + disposal);
+    }
 
     // Extension inducer (constant).
     out.put((byte) 0x21);
@@ -114,7 +175,7 @@ public class GifBytesTestUtil {
     // Block size (constant).
     out.put((byte) 0x04);
     // Packed (disposal method, user input, transparent color flag)
-    out.put((byte) 0x00);
+    out.put((byte) (disposal << 2));
 
     // Frame delay in 100ths of a second.
     out.putShort((short) delayTime);
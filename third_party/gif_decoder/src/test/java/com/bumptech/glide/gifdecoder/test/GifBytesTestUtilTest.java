@@ -139,6 +139,30 @@ public class GifBytesTestUtilTest {
     assertEquals(expected, buffer);
   }
 
+  @Test
+  public void testWritesGraphicsControlExtensionWithDisposal() {
+    short delay = 20;
+    ByteBuffer buffer = ByteBuffer.allocate(GifBytesTestUtil.GRAPHICS_CONTROL_EXTENSION_LENGTH);
+    byte[] expected = new byte[] {
+        // Extension inducer.
+        0x21,
+        // Graphic control label.
+        (byte) 0xF9,
+        // Block size.
+        0x04,
+        // Packed byte, disposal method 3.
+        0x0C,
+        // Frame delay.
+        0x00, 0x14,
+        // Transparent color index.
+        0x00,
+        // block terminator.
+        0x00 };
+
+    GifBytesTestUtil.writeGraphicsControlExtension(buffer, delay, /*disposal=*/ 3);
+    assertEquals(expected, buffer);
+  }
+
   private static void assertEquals(byte[] expected, ByteBuffer buffer) {
     assertArrayEquals(
         "expected=" + Arrays.toString(expected) + " received=" + Arrays.toString(buffer.array()),
@@ -8,9 +8,11 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * Class AnimatedGifEncoder - Encodes a GIF file consisting of one or more
@@ -44,6 +46,9 @@ public class AnimatedGifEncoder {
     // automatically.
     private static final double MIN_TRANSPARENT_PERCENTAGE = 4d;
 
+    /** The default sample interval for the quantizer, see {@link #setQuality(int)}. */
+    public static final int DEFAULT_QUALITY = 10;
+
     private int width; // image size
 
     private int height;
@@ -86,7 +91,7 @@ public class AnimatedGifEncoder {
 
     private boolean sizeSet = false; // if false, get size from first frame
 
-    private int sample = 10; // default sample interval for quantizer
+    private int sample = DEFAULT_QUALITY; // default sample interval for quantizer
 
     private boolean hasTransparentPixels;
 
@@ -199,8 +204,9 @@ public class AnimatedGifEncoder {
                     writeNetscapeExt();
                 }
             }
-            writeGraphicCtrlExt(); // write graphic control extension
-            writeImageDesc(x, y); // image descriptor
+            // write graphic control extension
+            writeGraphicCtrlExt(transparent != null || hasTransparentPixels);
+            writeImageDesc(x, y, !firstFrame); // image descriptor
             if (!firstFrame) {
                 writePalette(); // local color table
             }
@@ -213,6 +219,52 @@ public class AnimatedGifEncoder {
         return ok;
     }
 
+    /**
+     * Writes a frame that was previously quantized and compressed by
+     * {@link #encodeFrame(Bitmap, Palette, int, int[], byte[], byte[])}. The frame is written
+     * immediately using the delay and disposal code set on this encoder. The size of the first
+     * frame is used as the size of the GIF.
+     *
+     * <p>Either all frames or none of the frames written to a single GIF must share the same
+     * {@link Palette}. Transparency is detected from the frame, the color set by
+     * {@link #setTransparent(int)} is not used.
+     *
+     * @param frame
+     *          The encoded frame.
+     * @return true if successful.
+     */
+    public boolean addFrame(@NonNull EncodedFrame frame) {
+        if (!started) {
+            return false;
+        }
+        boolean ok = true;
+        try {
+            setFrameSize(frame.width, frame.height);
+            colorTab = frame.colorTab;
+            if (firstFrame) {
+                writeLSD(); // logical screen descriptor
+                writePalette(); // global color table
+                if (repeat >= 0) {
+                    // use NS app extension to indicate reps
+                    writeNetscapeExt();
+                }
+            }
+            transIndex = frame.transIndex;
+            writeGraphicCtrlExt(frame.hasTransparency);
+            // Frames sharing a palette use the global color table written for the first frame.
+            boolean hasLct = !firstFrame && !frame.usesSharedPalette;
+            writeImageDesc(0, 0, hasLct);
+            if (hasLct) {
+                writePalette(); // local color table
+            }
+            frame.pixelData.writeTo(out);
+            firstFrame = false;
+        } catch (IOException e) {
+            ok = false;
+        }
+        return ok;
+    }
+
     /**
      * Flushes any pending data and closes output file. If writing to an
      * OutputStream, the stream is not closed.
@@ -362,30 +414,44 @@ public class AnimatedGifEncoder {
         indexedPixels = new byte[nPix];
         NeuQuant nq = new NeuQuant(pixels, len, sample);
         // initialize quantizer
-        colorTab = nq.process(); // create reduced palette
-        // convert map from BGR to RGB
+        colorTab = toRgb(nq.process()); // create reduced palette
+        mapPixels(nq, pixels, nPix, indexedPixels, usedEntry);
+        pixels = null;
+        colorDepth = 8;
+        palSize = 7;
+        // get closest match to transparent color if specified
+        if (transparent != null) {
+            transIndex = findClosest(transparent);
+        } else if (hasTransparentPixels) {
+            transIndex = findClosest(Color.TRANSPARENT);
+        }
+    }
+
+    /**
+     * Converts a color map from BGR to RGB in place.
+     */
+    private static byte[] toRgb(byte[] colorTab) {
         for (int i = 0; i < colorTab.length; i += 3) {
             byte temp = colorTab[i];
             colorTab[i] = colorTab[i + 2];
             colorTab[i + 2] = temp;
-            usedEntry[i / 3] = false;
         }
-        // map image pixels to new palette
+        return colorTab;
+    }
+
+    /**
+     * Maps BGR image pixels to the palette of the given quantizer and records the palette entries
+     * that are used.
+     */
+    private static void mapPixels(NeuQuant nq, byte[] bgrPixels, int nPix, byte[] indexedPixels,
+            boolean[] usedEntry) {
+        Arrays.fill(usedEntry, false);
         int k = 0;
         for (int i = 0; i < nPix; i++) {
-            int index = nq.map(pixels[k++] & 0xff, pixels[k++] & 0xff, pixels[k++] & 0xff);
+            int index = nq.map(bgrPixels[k++] & 0xff, bgrPixels[k++] & 0xff, bgrPixels[k++] & 0xff);
             usedEntry[index] = true;
             indexedPixels[i] = (byte) index;
         }
-        pixels = null;
-        colorDepth = 8;
-        palSize = 7;
-        // get closest match to transparent color if specified
-        if (transparent != null) {
-            transIndex = findClosest(transparent);
-        } else if (hasTransparentPixels) {
-            transIndex = findClosest(Color.TRANSPARENT);
-        }
     }
 
     /**
@@ -393,6 +459,10 @@ public class AnimatedGifEncoder {
      *
      */
     private int findClosest(int color) {
+        return findClosest(color, colorTab, usedEntry);
+    }
+
+    private static int findClosest(int color, @Nullable byte[] colorTab, boolean[] usedEntry) {
         if (colorTab == null)
             return -1;
         int r = Color.red(color);
@@ -431,42 +501,130 @@ public class AnimatedGifEncoder {
             image = temp;
         }
         int[] pixelsInt = new int[w * h];
-        image.getPixels(pixelsInt, 0, w, 0, 0, w, h);
-
         // The algorithm requires 3 bytes per pixel as RGB.
         pixels = new byte[pixelsInt.length * 3];
+        hasTransparentPixels = readPixels(image, pixelsInt, pixels);
+    }
+
+    /**
+     * Extracts the pixels of the image into the given arrays, which may be larger than the image.
+     *
+     * @param argbPixels Scratch array with at least width * height entries.
+     * @param bgrPixels Receives 3 bytes per pixel in BGR order.
+     * @return true if enough pixels are transparent to assume the image has transparency.
+     */
+    private static boolean readPixels(Bitmap image, int[] argbPixels, byte[] bgrPixels) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int nPix = w * h;
+        image.getPixels(argbPixels, 0, w, 0, 0, w, h);
 
         int pixelsIndex = 0;
-        hasTransparentPixels = false;
         int totalTransparentPixels = 0;
-        for (final int pixel : pixelsInt) {
+        for (int i = 0; i < nPix; i++) {
+            int pixel = argbPixels[i];
             if (pixel == Color.TRANSPARENT) {
                 totalTransparentPixels++;
             }
-            pixels[pixelsIndex++] = (byte) (pixel & 0xFF);
-            pixels[pixelsIndex++] = (byte) ((pixel >> 8) & 0xFF);
-            pixels[pixelsIndex++] = (byte) ((pixel >> 16) & 0xFF);
+            bgrPixels[pixelsIndex++] = (byte) (pixel & 0xFF);
+            bgrPixels[pixelsIndex++] = (byte) ((pixel >> 8) & 0xFF);
+            bgrPixels[pixelsIndex++] = (byte) ((pixel >> 16) & 0xFF);
         }
 
-        double transparentPercentage = 100 * totalTransparentPixels / (double) pixelsInt.length;
-        // Assume images with greater where more than n% of the pixels are transparent actually have
-        // transparency. See issue #214.
-        hasTransparentPixels = transparentPercentage > MIN_TRANSPARENT_PERCENTAGE;
+        double transparentPercentage = 100 * totalTransparentPixels / (double) nPix;
         if (Log.isLoggable(TAG, Log.DEBUG)) {
             Log.d(TAG, "got pixels for frame with " + transparentPercentage
                 + "% transparent pixels");
         }
+        // Assume images with greater where more than n% of the pixels are transparent actually have
+        // transparency. See issue #214.
+        return transparentPercentage > MIN_TRANSPARENT_PERCENTAGE;
+    }
+
+    /**
+     * Builds a palette from the given image that can be shared by every frame passed to
+     * {@link #encodeFrame(Bitmap, Palette, int, int[], byte[], byte[])}. Sharing a palette
+     * avoids quantizing each frame, but colors that don't appear in the given image are
+     * approximated.
+     *
+     * <p>May be called on any thread.
+     *
+     * @param image
+     *          The image to build the palette from, typically the first frame.
+     * @param quality
+     *          The sample interval of the quantizer, see {@link #setQuality(int)}.
+     * @param argbBuffer
+     *          Scratch array with at least width * height entries.
+     * @param bgrBuffer
+     *          Scratch array with at least width * height * 3 entries.
+     */
+    @NonNull
+    public static Palette buildPalette(@NonNull Bitmap image, int quality,
+            @NonNull int[] argbBuffer, @NonNull byte[] bgrBuffer) {
+        readPixels(image, argbBuffer, bgrBuffer);
+        int len = image.getWidth() * image.getHeight() * 3;
+        NeuQuant nq = new NeuQuant(bgrBuffer, len, Math.max(1, quality));
+        return new Palette(nq, toRgb(nq.process()));
+    }
+
+    /**
+     * Quantizes and compresses a single frame so that it can later be written with
+     * {@link #addFrame(EncodedFrame)}.
+     *
+     * <p>Unlike {@link #addFrame(Bitmap)}, this method doesn't use any state of an encoder and may
+     * be called for multiple frames in parallel as long as each call has its own buffers.
+     *
+     * @param image
+     *          The frame to encode.
+     * @param palette
+     *          A palette shared by all frames, or null to build a palette for this frame.
+     * @param quality
+     *          The sample interval of the quantizer, see {@link #setQuality(int)}. Ignored if a
+     *          palette is given.
+     * @param argbBuffer
+     *          Scratch array with at least width * height entries.
+     * @param bgrBuffer
+     *          Scratch array with at least width * height * 3 entries.
+     * @param indexBuffer
+     *          Scratch array with at least width * height entries.
+     */
+    @NonNull
+    public static EncodedFrame encodeFrame(@NonNull Bitmap image, @Nullable Palette palette,
+            int quality, @NonNull int[] argbBuffer, @NonNull byte[] bgrBuffer,
+            @NonNull byte[] indexBuffer) throws IOException {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int nPix = w * h;
+        boolean hasTransparency = readPixels(image, argbBuffer, bgrBuffer);
+        NeuQuant nq;
+        byte[] frameColorTab;
+        if (palette != null) {
+            nq = palette.quantizer;
+            frameColorTab = palette.colorTab;
+        } else {
+            nq = new NeuQuant(bgrBuffer, nPix * 3, Math.max(1, quality));
+            frameColorTab = toRgb(nq.process());
+        }
+        boolean[] frameUsedEntry = new boolean[256];
+        mapPixels(nq, bgrBuffer, nPix, indexBuffer, frameUsedEntry);
+        int frameTransIndex =
+            hasTransparency ? findClosest(Color.TRANSPARENT, frameColorTab, frameUsedEntry) : 0;
+
+        ByteArrayOutputStream pixelData = new ByteArrayOutputStream(nPix / 2);
+        new LZWEncoder(w, h, indexBuffer, 8 /*colorDepth*/).encode(pixelData);
+        return new EncodedFrame(w, h, frameColorTab, palette != null, hasTransparency,
+            frameTransIndex, pixelData);
     }
 
     /**
      * Writes Graphic Control Extension
      */
-    private void writeGraphicCtrlExt() throws IOException {
+    private void writeGraphicCtrlExt(boolean hasTransparency) throws IOException {
         out.write(0x21); // extension introducer
         out.write(0xf9); // GCE label
         out.write(4); // data block size
         int transp, disp;
-        if (transparent == null && !hasTransparentPixels) {
+        if (!hasTransparency) {
             transp = 0;
             disp = 0; // dispose = no action
         } else {
@@ -492,14 +650,14 @@ public class AnimatedGifEncoder {
     /**
      * Writes Image Descriptor
      */
-    private void writeImageDesc(int x, int y) throws IOException {
+    private void writeImageDesc(int x, int y, boolean hasLct) throws IOException {
         out.write(0x2c); // image separator
         writeShort(x); // image position
         writeShort(y);
         writeShort(width); // image size
         writeShort(height);
         // packed fields
-        if (firstFrame) {
+        if (!hasLct) {
             // no LCT - GCT is used for first (or only) frame
             out.write(0);
         } else {
@@ -578,4 +736,43 @@ public class AnimatedGifEncoder {
             out.write((byte) s.charAt(i));
         }
     }
+
+    /**
+     * A color palette shared by multiple frames, see
+     * {@link #buildPalette(Bitmap, int, int[], byte[])}.
+     */
+    public static final class Palette {
+        final NeuQuant quantizer;
+        final byte[] colorTab;
+
+        Palette(NeuQuant quantizer, byte[] colorTab) {
+            this.quantizer = quantizer;
+            this.colorTab = colorTab;
+        }
+    }
+
+    /**
+     * A quantized and compressed frame, see
+     * {@link #encodeFrame(Bitmap, Palette, int, int[], byte[], byte[])}.
+     */
+    public static final class EncodedFrame {
+        final int width;
+        final int height;
+        final byte[] colorTab;
+        final boolean usesSharedPalette;
+        final boolean hasTransparency;
+        final int transIndex;
+        final ByteArrayOutputStream pixelData;
+
+        EncodedFrame(int width, int height, byte[] colorTab, boolean usesSharedPalette,
+                boolean hasTransparency, int transIndex, ByteArrayOutputStream pixelData) {
+            this.width = width;
+            this.height = height;
+            this.colorTab = colorTab;
+            this.usesSharedPalette = usesSharedPalette;
+            this.hasTransparency = hasTransparency;
+            this.transIndex = transIndex;
+            this.pixelData = pixelData;
+        }
+    }
 }